@@ -0,0 +1,145 @@
+package de.larssh.maven.jarrunner.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+
+import de.larssh.maven.jarrunner.Parameters;
+
+/**
+ * Helpers shared by benchmarks.
+ */
+final class Benchmarks {
+	/**
+	 * Log writing warnings and errors only, so that benchmark output stays
+	 * readable
+	 */
+	private static final Log LOG = new SystemStreamLog() {
+		@Override
+		public boolean isDebugEnabled() {
+			return false;
+		}
+
+		@Override
+		public boolean isInfoEnabled() {
+			return false;
+		}
+	};
+
+	/**
+	 * Creates a parameters object the same way as the {@code run} goal does.
+	 * Arguments not given are left at their defaults.
+	 *
+	 * @param repositorySystem        Aether Repository System or {@code null}
+	 * @param repositorySystemSession Aether Repository System Session or
+	 *                                {@code null}
+	 * @param artifact                Artifact
+	 * @param mainClass               Main Class or {@code null}
+	 * @param arguments               Arguments or {@code null}
+	 * @param repositories            List of Repositories or {@code null}
+	 * @param cacheDirectory          Cache Directory
+	 * @return the parameters object
+	 */
+	@SuppressWarnings("checkstyle:ParameterNumber")
+	static Parameters newParameters(final RepositorySystem repositorySystem,
+			final RepositorySystemSession repositorySystemSession,
+			final String artifact,
+			final String mainClass,
+			final String arguments,
+			final String repositories,
+			final Path cacheDirectory) {
+		return new Parameters(LOG,
+				null,
+				repositorySystem,
+				repositorySystemSession,
+				artifact,
+				mainClass,
+				arguments,
+				false,
+				null,
+				null,
+				null,
+				repositories,
+				true,
+				null,
+				cacheDirectory.toString(),
+				false,
+				null,
+				false,
+				false,
+				0,
+				null,
+				null,
+				null,
+				null,
+				null,
+				null,
+				null,
+				null,
+				0,
+				null,
+				false,
+				null,
+				null,
+				null,
+				null,
+				null,
+				null,
+				false,
+				null,
+				null,
+				false,
+				null,
+				false,
+				false,
+				false,
+				null,
+				null,
+				null,
+				false,
+				null,
+				false);
+	}
+
+	/**
+	 * Deletes {@code directory} including its content.
+	 *
+	 * @param directory the directory to delete
+	 * @throws IOException if any IO failure occurred
+	 */
+	static void deleteRecursively(final Path directory) throws IOException {
+		if (!Files.exists(directory)) {
+			return;
+		}
+		Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+			@Override
+			public FileVisitResult visitFile(final Path file, final BasicFileAttributes attributes)
+					throws IOException {
+				Files.delete(file);
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult postVisitDirectory(final Path dir, final IOException exception)
+					throws IOException {
+				Files.delete(dir);
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+
+	/**
+	 * Utility class
+	 */
+	private Benchmarks() {
+		// private constructor
+	}
+}
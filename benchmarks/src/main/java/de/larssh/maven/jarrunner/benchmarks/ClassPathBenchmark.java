@@ -0,0 +1,121 @@
+package de.larssh.maven.jarrunner.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.larssh.maven.jarrunner.ClassPathFiles;
+import de.larssh.maven.jarrunner.ClassPathMode;
+
+/**
+ * Benchmarks creating class path arguments for large synthetic dependency
+ * trees.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ClassPathBenchmark {
+	/**
+	 * Number of class path files
+	 */
+	@Param({ "10", "400", "2000" })
+	int size;
+
+	/**
+	 * Class path files located the same way as inside a local repository
+	 */
+	List<Path> classPath;
+
+	/**
+	 * Directory to store class path files in
+	 */
+	Path directory;
+
+	/**
+	 * Creates the class path and the directory to store class path files in.
+	 *
+	 * @throws IOException if any IO failure occurred
+	 */
+	@Setup
+	public void setup() throws IOException {
+		final Path repository = Paths.get(System.getProperty("user.home"), ".m2", "repository");
+		classPath = new ArrayList<>(size);
+		for (int index = 0; index < size; index += 1) {
+			final String artifactId = "artifact-" + index;
+			classPath.add(repository.resolve("com")
+					.resolve("example")
+					.resolve("group" + index % 10)
+					.resolve(artifactId)
+					.resolve("1.0." + index)
+					.resolve(artifactId + "-1.0." + index + ".jar"));
+		}
+		directory = Files.createTempDirectory("jar-runner-benchmark-");
+	}
+
+	/**
+	 * Deletes the directory to store class path files in.
+	 *
+	 * @throws IOException if any IO failure occurred
+	 */
+	@TearDown
+	public void tearDown() throws IOException {
+		Benchmarks.deleteRecursively(directory);
+	}
+
+	/**
+	 * Joins the class path to a single argument.
+	 *
+	 * @return class path string
+	 */
+	@Benchmark
+	public String argument() {
+		return ClassPathFiles.toClassPath(classPath, Optional.empty());
+	}
+
+	/**
+	 * Creates the arguments referencing a Java argument file. The file itself is
+	 * written during the first invocation only.
+	 *
+	 * @return JVM arguments
+	 * @throws IOException if any IO failure occurred
+	 */
+	@Benchmark
+	public List<String> argumentFile() throws IOException {
+		return new ClassPathFiles(directory, ClassPathMode.ARGUMENT_FILE, Optional.empty())
+				.getJavaArguments(new ArrayList<>(), classPath);
+	}
+
+	/**
+	 * Creates the arguments referencing a pathing JAR. The JAR itself is written
+	 * during the first invocation only.
+	 *
+	 * @return JVM arguments
+	 * @throws IOException if any IO failure occurred
+	 */
+	@Benchmark
+	public List<String> pathingJar() throws IOException {
+		return new ClassPathFiles(directory, ClassPathMode.PATHING_JAR, Optional.empty())
+				.getJavaArguments(new ArrayList<>(), classPath);
+	}
+}
@@ -0,0 +1,106 @@
+package de.larssh.maven.jarrunner.benchmarks;
+
+import java.io.IOException;
+import java.lang.ProcessBuilder.Redirect;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.larssh.maven.jarrunner.JavaRuntime;
+import de.larssh.maven.jarrunner.LaunchProfile;
+import de.larssh.maven.jarrunner.Processes;
+import de.larssh.maven.jarrunner.SupportedJvmOptions;
+
+/**
+ * Benchmarks the wall clock time of a short-running application launched using
+ * the default JVM options compared to the options of a launch profile.
+ *
+ * <p>
+ * The application writes a few lines and stops. Its class path is the
+ * benchmarks JAR, so that the JVM opens a large JAR as real tools do. Class
+ * data sharing archives are not part of this benchmark.
+ */
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class LaunchProfileBenchmark {
+	/**
+	 * Name of the launch profile
+	 */
+	@Param({ "default", "startup" })
+	String launchProfile;
+
+	/**
+	 * Directory containing stored supported JVM options
+	 */
+	Path directory;
+
+	/**
+	 * Command to launch the application
+	 */
+	List<String> command;
+
+	/**
+	 * Validates the options of the launch profile and creates the command.
+	 *
+	 * @throws IOException if any IO failure occurred
+	 */
+	@Setup
+	public void setup() throws IOException {
+		directory = Files.createTempDirectory("jar-runner-benchmark-");
+		final Path javaExecutable = Paths.get(System.getProperty("java.home"), "bin", "java");
+		final JavaRuntime javaRuntime = JavaRuntime.forExecutable(javaExecutable);
+
+		command = new ArrayList<>();
+		command.add(javaExecutable.toString());
+		command.addAll(new SupportedJvmOptions(directory)
+				.filter(javaRuntime, LaunchProfile.fromName(launchProfile).getJavaOptions(javaRuntime)));
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		command.add(OutputWriter.class.getName());
+		command.add("10");
+	}
+
+	/**
+	 * Deletes the stored supported JVM options.
+	 *
+	 * @throws IOException if any IO failure occurred
+	 */
+	@TearDown
+	public void tearDown() throws IOException {
+		Benchmarks.deleteRecursively(directory);
+	}
+
+	/**
+	 * Launches the application and waits for it to stop.
+	 *
+	 * @return exit value of the application
+	 * @throws IOException if any IO failure occurred
+	 */
+	@Benchmark
+	public int launch() throws IOException {
+		final Process process = new ProcessBuilder(command).redirectErrorStream(true)
+				.redirectOutput(Redirect.appendTo(directory.resolve("output.log").toFile()))
+				.start();
+		return Processes.waitForWithoutInterrupting(process);
+	}
+}
@@ -0,0 +1,139 @@
+package de.larssh.maven.jarrunner.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.Attributes.Name;
+import java.util.jar.JarEntry;
+import java.util.jar.JarInputStream;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.larssh.maven.jarrunner.JarMetadata;
+import de.larssh.maven.jarrunner.JarMetadataIndex;
+
+/**
+ * Benchmarks reading the main class and launch attributes of big JARs.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ManifestBenchmark {
+	/**
+	 * Size of each JAR entry in bytes
+	 */
+	private static final int ENTRY_SIZE = 4096;
+
+	/**
+	 * Number of JAR entries besides the manifest
+	 */
+	@Param({ "100", "20000" })
+	int entries;
+
+	/**
+	 * The JAR file
+	 */
+	Path jarFile;
+
+	/**
+	 * The directory of the JAR metadata index
+	 */
+	Path indexDirectory;
+
+	/**
+	 * Creates a JAR with a main class manifest and random content.
+	 *
+	 * @throws IOException if any IO failure occurred
+	 */
+	@Setup
+	public void setup() throws IOException {
+		final Manifest manifest = new Manifest();
+		manifest.getMainAttributes().put(Name.MANIFEST_VERSION, "1.0");
+		manifest.getMainAttributes().put(Name.MAIN_CLASS, "com.example.Main");
+		manifest.getMainAttributes().putValue("Add-Opens", "java.base/java.lang java.base/java.util");
+
+		jarFile = Files.createTempFile("jar-runner-benchmark-", ".jar");
+		indexDirectory = Files.createTempDirectory("jar-runner-benchmark-");
+		final Random random = new Random(0);
+		final byte[] content = new byte[ENTRY_SIZE];
+		try (OutputStream outputStream = Files.newOutputStream(jarFile);
+				JarOutputStream jarOutputStream = new JarOutputStream(outputStream, manifest)) {
+			for (int index = 0; index < entries; index += 1) {
+				random.nextBytes(content);
+				jarOutputStream.putNextEntry(new JarEntry("com/example/Class" + index + ".class"));
+				jarOutputStream.write(content);
+				jarOutputStream.closeEntry();
+			}
+		}
+	}
+
+	/**
+	 * Deletes the JAR file.
+	 *
+	 * @throws IOException if any IO failure occurred
+	 */
+	@TearDown
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(jarFile);
+		Benchmarks.deleteRecursively(indexDirectory);
+	}
+
+	/**
+	 * Reads the manifest using the ZIP central directory, bypassing the index.
+	 *
+	 * @return the JARs metadata
+	 * @throws IOException if any IO failure occurred
+	 */
+	@Benchmark
+	public JarMetadata jarMetadataCold() throws IOException {
+		return JarMetadata.read(jarFile);
+	}
+
+	/**
+	 * Returns the indexed metadata after checking the file for changes.
+	 *
+	 * @return the JARs metadata
+	 * @throws IOException if any IO failure occurred
+	 */
+	@Benchmark
+	public JarMetadata jarMetadataCached() throws IOException {
+		return new JarMetadataIndex(indexDirectory).get(jarFile);
+	}
+
+	/**
+	 * Reads the main class using a streaming {@link JarInputStream}, as done by
+	 * earlier versions.
+	 *
+	 * @return the main class
+	 * @throws IOException if any IO failure occurred
+	 */
+	@Benchmark
+	public Optional<String> jarInputStream() throws IOException {
+		try (JarInputStream jarInputStream = new JarInputStream(Files.newInputStream(jarFile))) {
+			final Manifest manifest = jarInputStream.getManifest();
+			return manifest == null
+					? Optional.empty()
+					: Optional.ofNullable(manifest.getMainAttributes().getValue(Name.MAIN_CLASS));
+		}
+	}
+}
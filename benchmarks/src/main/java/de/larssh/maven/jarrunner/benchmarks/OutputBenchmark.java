@@ -0,0 +1,138 @@
+package de.larssh.maven.jarrunner.benchmarks;
+
+import java.io.IOException;
+import java.lang.ProcessBuilder.Redirect;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.larssh.maven.jarrunner.LogDrainer;
+import de.larssh.maven.jarrunner.LogLevel;
+import de.larssh.maven.jarrunner.OutputTail;
+import de.larssh.maven.jarrunner.Processes;
+
+/**
+ * Benchmarks running a high-volume child process with its output captured into
+ * a log compared to output passed on by the operating system.
+ *
+ * <p>
+ * The baseline redirects the output to a file, which costs the same as
+ * {@link ProcessBuilder#inheritIO()} without flooding the benchmark output.
+ * The captured variant uses a log, which accepts all lines but discards them,
+ * so that the costs of the pump are measured instead of the console.
+ */
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class OutputBenchmark {
+	/**
+	 * Log accepting all lines on info level and discarding them
+	 */
+	private static final Log DISCARDING_LOG = new SystemStreamLog() {
+		@Override
+		public boolean isInfoEnabled() {
+			return true;
+		}
+
+		@Override
+		public void info(@SuppressWarnings("unused") final CharSequence content) {
+			// discard
+		}
+	};
+
+	/**
+	 * Number of lines written by the child process
+	 */
+	@Param({ "10000", "1000000" })
+	int lines;
+
+	/**
+	 * File the baseline redirects output to
+	 */
+	Path outputFile;
+
+	/**
+	 * Creates the output file.
+	 *
+	 * @throws IOException if any IO failure occurred
+	 */
+	@Setup
+	public void setup() throws IOException {
+		outputFile = Files.createTempFile("jar-runner-benchmark-", ".log");
+	}
+
+	/**
+	 * Deletes the output file.
+	 *
+	 * @throws IOException if any IO failure occurred
+	 */
+	@TearDown
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(outputFile);
+	}
+
+	/**
+	 * Runs the child process, its output passed on by the operating system.
+	 *
+	 * @return exit value of the child process
+	 * @throws IOException if any IO failure occurred
+	 */
+	@Benchmark
+	public int redirected() throws IOException {
+		return Processes.waitForWithoutInterrupting(
+				newProcessBuilder().redirectError(Redirect.INHERIT).redirectOutput(outputFile.toFile()).start());
+	}
+
+	/**
+	 * Runs the child process, its output captured into the log line by line.
+	 *
+	 * @return exit value of the child process
+	 * @throws IOException if any IO failure occurred
+	 */
+	@Benchmark
+	public int captured() throws IOException {
+		final Process process = newProcessBuilder().redirectError(Redirect.INHERIT).start();
+		final LogDrainer drainer = LogDrainer.start(process.getInputStream(),
+				"output",
+				DISCARDING_LOG,
+				LogLevel.INFO,
+				Optional.empty(),
+				new OutputTail(20));
+		final int exitStatus = Processes.waitForWithoutInterrupting(process);
+		drainer.await();
+		return exitStatus;
+	}
+
+	/**
+	 * Creates a process builder for a JVM running {@link OutputWriter}.
+	 *
+	 * @return the process builder
+	 */
+	private ProcessBuilder newProcessBuilder() {
+		return new ProcessBuilder(Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+				"-cp",
+				System.getProperty("java.class.path"),
+				OutputWriter.class.getName(),
+				Integer.toString(lines));
+	}
+}
@@ -0,0 +1,41 @@
+package de.larssh.maven.jarrunner.benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+
+/**
+ * Application writing a given number of lines to its standard output stream,
+ * used as high-volume child process by {@link OutputBenchmark}.
+ */
+public final class OutputWriter {
+	/**
+	 * Content of each line
+	 */
+	private static final String LINE = "[INFO] Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod";
+
+	/**
+	 * Writes the number of lines given by the first argument.
+	 *
+	 * @param arguments the number of lines to write
+	 * @throws IOException if writing failed
+	 */
+	public static void main(final String... arguments) throws IOException {
+		final int lines = Integer.parseInt(arguments[0]);
+		try (Writer writer = new BufferedWriter(new OutputStreamWriter(System.out, Charset.defaultCharset()))) {
+			for (int index = 0; index < lines; index += 1) {
+				writer.write(LINE);
+				writer.write('\n');
+			}
+		}
+	}
+
+	/**
+	 * Utility class
+	 */
+	private OutputWriter() {
+		// private constructor
+	}
+}
@@ -0,0 +1,106 @@
+package de.larssh.maven.jarrunner.benchmarks;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.larssh.maven.jarrunner.Parameters;
+
+/**
+ * Benchmarks parsing user arguments, mainly comma delimited argument lists and
+ * repository URIs.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ParametersBenchmark {
+	/**
+	 * Number of arguments and repositories
+	 */
+	@Param({ "10", "1000" })
+	int size;
+
+	/**
+	 * Comma delimited arguments, containing escaped commas
+	 */
+	String arguments;
+
+	/**
+	 * Comma delimited repository URIs with authentication and ID
+	 */
+	String repositories;
+
+	/**
+	 * Cache directory, which is never written to
+	 */
+	Path cacheDirectory = Paths.get("target", "benchmark-cache");
+
+	/**
+	 * Creates the argument and repository strings.
+	 */
+	@Setup
+	public void setup() {
+		final StringBuilder argumentsBuilder = new StringBuilder();
+		final StringBuilder repositoriesBuilder = new StringBuilder();
+		for (int index = 0; index < size; index += 1) {
+			if (index > 0) {
+				argumentsBuilder.append(',');
+				repositoriesBuilder.append(',');
+			}
+			argumentsBuilder.append("--option-").append(index).append("=value[,]with[,]commas");
+			repositoriesBuilder.append("https://user:base64:cGFzc3dvcmQ=@repository")
+					.append(index)
+					.append(".example.com/maven2#repository-")
+					.append(index);
+		}
+		arguments = argumentsBuilder.toString();
+		repositories = repositoriesBuilder.toString();
+	}
+
+	/**
+	 * Parses a long argument list.
+	 *
+	 * @return the parameters object
+	 */
+	@Benchmark
+	public Parameters arguments() {
+		return Benchmarks.newParameters(null,
+				null,
+				"com.example:example:1.0",
+				null,
+				arguments,
+				null,
+				cacheDirectory);
+	}
+
+	/**
+	 * Parses a long list of repository URIs.
+	 *
+	 * @return the parameters object
+	 */
+	@Benchmark
+	public Parameters repositories() {
+		return Benchmarks.newParameters(null,
+				null,
+				"com.example:example:1.0",
+				null,
+				null,
+				repositories,
+				cacheDirectory);
+	}
+}
@@ -0,0 +1,139 @@
+package de.larssh.maven.jarrunner.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.repository.internal.MavenRepositorySystemUtils;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.repository.LocalRepository;
+import org.eclipse.aether.supplier.RepositorySystemSupplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.larssh.maven.jarrunner.JarRunner;
+import de.larssh.maven.jarrunner.LaunchTimings;
+
+/**
+ * Benchmarks resolving dependencies and building the launch command end to end
+ * against a file based repository containing a synthetic dependency tree.
+ *
+ * <p>
+ * Each invocation uses a new repository system session, so that the session
+ * scoped dependency result cache does not apply. The launched application is
+ * never started.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class ResolutionBenchmark {
+	/**
+	 * Number of direct dependencies per artifact, resulting in
+	 * {@code 1 + width + width * width} artifacts
+	 */
+	@Param({ "5", "20" })
+	int width;
+
+	/**
+	 * Start each invocation with an empty local repository, so that all artifacts
+	 * are copied from the remote repository
+	 */
+	@Param({ "false", "true" })
+	boolean emptyLocalRepository;
+
+	/**
+	 * Aether Repository System
+	 */
+	RepositorySystem repositorySystem;
+
+	/**
+	 * Directory containing all temporary files
+	 */
+	Path directory;
+
+	/**
+	 * File based remote repository
+	 */
+	Path remoteRepository;
+
+	/**
+	 * Local repository
+	 */
+	Path localRepository;
+
+	/**
+	 * Creates the repository system and the remote repository.
+	 *
+	 * @throws IOException if any IO failure occurred
+	 */
+	@Setup(Level.Trial)
+	public void setupTrial() throws IOException {
+		repositorySystem = new RepositorySystemSupplier().get();
+		directory = Files.createTempDirectory("jar-runner-benchmark-");
+		remoteRepository = directory.resolve("remote");
+		SyntheticRepository.create(remoteRepository, width);
+		localRepository = directory.resolve("local");
+	}
+
+	/**
+	 * Empties the local repository if requested.
+	 *
+	 * @throws IOException if any IO failure occurred
+	 */
+	@Setup(Level.Invocation)
+	public void setupInvocation() throws IOException {
+		if (emptyLocalRepository) {
+			Benchmarks.deleteRecursively(localRepository);
+		}
+	}
+
+	/**
+	 * Deletes all temporary files and shuts down the repository system.
+	 *
+	 * @throws IOException if any IO failure occurred
+	 */
+	@TearDown(Level.Trial)
+	public void tearDownTrial() throws IOException {
+		repositorySystem.shutdown();
+		Benchmarks.deleteRecursively(directory);
+	}
+
+	/**
+	 * Resolves the root artifact and builds the launch command.
+	 *
+	 * @return the JAR runner
+	 * @throws Exception if resolving failed
+	 */
+	@Benchmark
+	@SuppressWarnings("checkstyle:IllegalThrows")
+	public JarRunner resolve() throws Exception {
+		final DefaultRepositorySystemSession session = MavenRepositorySystemUtils.newSession();
+		session.setLocalRepositoryManager(
+				repositorySystem.newLocalRepositoryManager(session, new LocalRepository(localRepository.toFile())));
+
+		return new JarRunner(Benchmarks.newParameters(repositorySystem,
+				session,
+				SyntheticRepository.GROUP_ID + ":" + SyntheticRepository.ROOT_ARTIFACT_ID + ":"
+						+ SyntheticRepository.VERSION,
+				null,
+				null,
+				remoteRepository.toUri() + "#synthetic",
+				directory.resolve("cache")), new LaunchTimings());
+	}
+}
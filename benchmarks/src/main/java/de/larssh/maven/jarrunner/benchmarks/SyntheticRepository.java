@@ -0,0 +1,150 @@
+package de.larssh.maven.jarrunner.benchmarks;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.jar.Attributes.Name;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+/**
+ * File based Maven repository containing a synthetic dependency tree.
+ *
+ * <p>
+ * The root artifact depends on {@code width} artifacts, each of which depends on
+ * {@code width} further artifacts. All artifacts contain a POM, a small JAR and
+ * SHA-1 checksums.
+ */
+final class SyntheticRepository {
+	/**
+	 * Group ID of all artifacts
+	 */
+	static final String GROUP_ID = "de.lars-sh.benchmark";
+
+	/**
+	 * Artifact ID of the root artifact
+	 */
+	static final String ROOT_ARTIFACT_ID = "root";
+
+	/**
+	 * Version of all artifacts
+	 */
+	static final String VERSION = "1.0";
+
+	/**
+	 * Main class of the root artifact
+	 */
+	static final String MAIN_CLASS = "de.larssh.benchmark.Main";
+
+	/**
+	 * Creates the repository inside {@code directory}.
+	 *
+	 * @param directory the repository directory
+	 * @param width     number of direct dependencies per artifact
+	 * @throws IOException if any IO failure occurred
+	 */
+	static void create(final Path directory, final int width) throws IOException {
+		final List<String> children = new ArrayList<>(width);
+		for (int child = 0; child < width; child += 1) {
+			final String childId = "child-" + child;
+			children.add(childId);
+
+			final List<String> leaves = new ArrayList<>(width);
+			for (int leaf = 0; leaf < width; leaf += 1) {
+				final String leafId = childId + "-leaf-" + leaf;
+				leaves.add(leafId);
+				writeArtifact(directory, leafId, new ArrayList<>(), null);
+			}
+			writeArtifact(directory, childId, leaves, null);
+		}
+		writeArtifact(directory, ROOT_ARTIFACT_ID, children, MAIN_CLASS);
+	}
+
+	/**
+	 * Writes POM, JAR and checksums of a single artifact.
+	 *
+	 * @param directory    the repository directory
+	 * @param artifactId   the artifact ID
+	 * @param dependencies the artifact IDs of dependencies
+	 * @param mainClass    the main class or {@code null}
+	 * @throws IOException if any IO failure occurred
+	 */
+	private static void writeArtifact(final Path directory,
+			final String artifactId,
+			final List<String> dependencies,
+			final String mainClass) throws IOException {
+		final Path artifactDirectory = directory.resolve(GROUP_ID.replace('.', '/')).resolve(artifactId).resolve(VERSION);
+		Files.createDirectories(artifactDirectory);
+		final String baseName = artifactId + "-" + VERSION;
+
+		final StringBuilder pom = new StringBuilder();
+		pom.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+				.append("<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n")
+				.append("\t<modelVersion>4.0.0</modelVersion>\n")
+				.append("\t<groupId>").append(GROUP_ID).append("</groupId>\n")
+				.append("\t<artifactId>").append(artifactId).append("</artifactId>\n")
+				.append("\t<version>").append(VERSION).append("</version>\n")
+				.append("\t<dependencies>\n");
+		for (final String dependency : dependencies) {
+			pom.append("\t\t<dependency>\n")
+					.append("\t\t\t<groupId>").append(GROUP_ID).append("</groupId>\n")
+					.append("\t\t\t<artifactId>").append(dependency).append("</artifactId>\n")
+					.append("\t\t\t<version>").append(VERSION).append("</version>\n")
+					.append("\t\t</dependency>\n");
+		}
+		pom.append("\t</dependencies>\n").append("</project>\n");
+		writeWithChecksum(artifactDirectory.resolve(baseName + ".pom"), pom.toString().getBytes(UTF_8));
+
+		final Manifest manifest = new Manifest();
+		manifest.getMainAttributes().put(Name.MANIFEST_VERSION, "1.0");
+		if (mainClass != null) {
+			manifest.getMainAttributes().put(Name.MAIN_CLASS, mainClass);
+		}
+		final Path jarFile = artifactDirectory.resolve(baseName + ".jar");
+		try (OutputStream outputStream = Files.newOutputStream(jarFile);
+				JarOutputStream jarOutputStream = new JarOutputStream(outputStream, manifest)) {
+			jarOutputStream.putNextEntry(new JarEntry(artifactId + ".txt"));
+			jarOutputStream.write(artifactId.getBytes(UTF_8));
+			jarOutputStream.closeEntry();
+		}
+		writeWithChecksum(jarFile, Files.readAllBytes(jarFile));
+	}
+
+	/**
+	 * Writes {@code content} to {@code file} and its SHA-1 checksum next to it.
+	 *
+	 * @param file    the file to write
+	 * @param content the files content
+	 * @throws IOException if any IO failure occurred
+	 */
+	private static void writeWithChecksum(final Path file, final byte[] content) throws IOException {
+		Files.write(file, content);
+
+		final byte[] digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-1").digest(content);
+		} catch (final NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+		final StringBuilder checksum = new StringBuilder(digest.length * 2);
+		for (final byte value : digest) {
+			checksum.append(String.format("%02x", value));
+		}
+		Files.write(file.resolveSibling(file.getFileName() + ".sha1"), checksum.toString().getBytes(UTF_8));
+	}
+
+	/**
+	 * Utility class
+	 */
+	private SyntheticRepository() {
+		// private constructor
+	}
+}
@@ -0,0 +1,114 @@
+package de.larssh.maven.jarrunner;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.unmodifiableList;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads arguments out of files, which contain one argument per line or
+ * arguments separated by NUL characters.
+ *
+ * <p>
+ * The separator is determined by the first separator found: If it is a NUL
+ * character, the file is read as NUL separated, so that arguments may contain
+ * line breaks (e.g. as written by {@code git diff --name-only -z}). Else the
+ * file is read line by line, ignoring carriage returns at the end of lines.
+ * Empty arguments are ignored in both cases. No escaping is applied.
+ *
+ * <p>
+ * Files are read using a single character buffer, so that reading thousands of
+ * arguments allocates their strings only.
+ */
+public final class ArgumentsFile {
+	/**
+	 * Size of the character buffer
+	 */
+	private static final int BUFFER_SIZE = 8192;
+
+	/**
+	 * Separator of NUL separated files
+	 */
+	private static final char NUL = '\0';
+
+	/**
+	 * Separator of line separated files
+	 */
+	private static final char LINE_FEED = '\n';
+
+	/**
+	 * Character ignored at the end of lines
+	 */
+	private static final char CARRIAGE_RETURN = '\r';
+
+	/**
+	 * Separator value while the separator is still unknown
+	 */
+	private static final int UNKNOWN_SEPARATOR = -1;
+
+	/**
+	 * Reads the arguments of {@code file} using UTF-8.
+	 *
+	 * @param file the file to read
+	 * @return list of arguments
+	 * @throws IOException if reading the file failed
+	 */
+	public static List<String> read(final Path file) throws IOException {
+		final List<String> arguments = new ArrayList<>();
+		final StringBuilder argument = new StringBuilder();
+		final char[] buffer = new char[BUFFER_SIZE];
+		int separator = UNKNOWN_SEPARATOR;
+		try (Reader reader = Files.newBufferedReader(file, UTF_8)) {
+			int length = reader.read(buffer);
+			while (length != -1) {
+				int start = 0;
+				for (int index = 0; index < length; index += 1) {
+					final char character = buffer[index];
+					if (separator == UNKNOWN_SEPARATOR && (character == NUL || character == LINE_FEED)) {
+						separator = character;
+					}
+					if (character == separator) {
+						argument.append(buffer, start, index - start);
+						addArgument(arguments, argument, separator);
+						start = index + 1;
+					}
+				}
+				argument.append(buffer, start, length - start);
+				length = reader.read(buffer);
+			}
+		}
+		addArgument(arguments, argument, separator);
+		return unmodifiableList(arguments);
+	}
+
+	/**
+	 * Adds the content of {@code argument} to {@code arguments} unless it is empty
+	 * and clears {@code argument} afterwards.
+	 *
+	 * @param arguments the list of arguments
+	 * @param argument  the current argument
+	 * @param separator the separator of the file
+	 */
+	private static void addArgument(final List<String> arguments, final StringBuilder argument, final int separator) {
+		final int length = argument.length();
+		if (separator != NUL && length > 0 && argument.charAt(length - 1) == CARRIAGE_RETURN) {
+			argument.setLength(length - 1);
+		}
+		if (argument.length() > 0) {
+			arguments.add(argument.toString());
+			argument.setLength(0);
+		}
+	}
+
+	/**
+	 * Utility class
+	 */
+	private ArgumentsFile() {
+		// utility class
+	}
+}
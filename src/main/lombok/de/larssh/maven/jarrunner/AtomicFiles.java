@@ -0,0 +1,106 @@
+package de.larssh.maven.jarrunner;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+import de.larssh.utils.text.Strings;
+
+/**
+ * Writes files of the cache directory using a temporary file next to them,
+ * which is moved afterwards, so concurrent readers never see partially written
+ * files.
+ */
+public final class AtomicFiles {
+	/**
+	 * File extension of temporary files while writing files
+	 */
+	private static final String TEMPORARY_FILE_EXTENSION = ".tmp";
+
+	/**
+	 * Writes {@code file}, creating its parent directories if necessary.
+	 *
+	 * @param file   the file to write
+	 * @param writer writes the files content
+	 * @throws IOException if any IO failure occurred
+	 */
+	public static void write(final Path file, final ContentWriter writer) throws IOException {
+		final Path directory = file.toAbsolutePath().getParent();
+		Files.createDirectories(directory);
+		final Path temporaryFile
+				= Files.createTempFile(directory, Strings.format("%s.", file.getFileName()), TEMPORARY_FILE_EXTENSION);
+		try {
+			try (OutputStream outputStream = Files.newOutputStream(temporaryFile)) {
+				writer.write(outputStream);
+			}
+			Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+		} catch (final IOException e) {
+			Files.deleteIfExists(temporaryFile);
+			throw e;
+		}
+	}
+
+	/**
+	 * Writes {@code properties} to {@code file} using UTF-8, creating its parent
+	 * directories if necessary.
+	 *
+	 * @param file       the file to write
+	 * @param properties the properties to store
+	 * @throws IOException if any IO failure occurred
+	 */
+	public static void write(final Path file, final Properties properties) throws IOException {
+		write(file, outputStream -> {
+			final Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, UTF_8));
+			properties.store(writer, null);
+			writer.flush();
+		});
+	}
+
+	/**
+	 * Writes {@code lines} to {@code file} using UTF-8, each terminated by the line
+	 * separator of the platform, creating its parent directories if necessary.
+	 *
+	 * @param file  the file to write
+	 * @param lines the lines to write
+	 * @throws IOException if any IO failure occurred
+	 */
+	public static void writeLines(final Path file, final Iterable<?> lines) throws IOException {
+		write(file, outputStream -> {
+			final BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(outputStream, UTF_8));
+			for (final Object line : lines) {
+				writer.write(line.toString());
+				writer.newLine();
+			}
+			writer.flush();
+		});
+	}
+
+	/**
+	 * Utility class
+	 */
+	private AtomicFiles() {
+		// utility class
+	}
+
+	/**
+	 * Writes the content of a file.
+	 */
+	@FunctionalInterface
+	public interface ContentWriter {
+		/**
+		 * Writes the content of a file to {@code outputStream}.
+		 *
+		 * @param outputStream the output stream to write to
+		 * @throws IOException if any IO failure occurred
+		 */
+		void write(OutputStream outputStream) throws IOException;
+	}
+}
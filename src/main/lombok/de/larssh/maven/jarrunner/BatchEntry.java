@@ -0,0 +1,110 @@
+package de.larssh.maven.jarrunner;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.unmodifiableList;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import de.larssh.utils.text.Strings;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Single application to run as part of a batch, as read from a batch file.
+ *
+ * <p>
+ * Each non-blank line of a batch file describes one application. Lines starting
+ * with {@code #} are ignored. Values are separated by semicolon: the artifact,
+ * the optional main class and the optional arguments. Arguments use the same
+ * format as the user argument "arguments".
+ *
+ * <p>
+ * Example: {@code com.puppycrawl.tools:checkstyle:9.3;;--version}
+ */
+@Getter
+@RequiredArgsConstructor
+public final class BatchEntry {
+	/**
+	 * Prefix of comment lines inside batch files
+	 */
+	private static final String COMMENT_PREFIX = "#";
+
+	/**
+	 * Pattern to split lines of batch files into values
+	 */
+	private static final Pattern VALUE_SEPARATOR_PATTERN = Pattern.compile(";");
+
+	/**
+	 * Maximum number of values per line of batch files
+	 */
+	private static final int VALUES_MAX = 3;
+
+	/**
+	 * Reads the entries of the batch file {@code file}.
+	 *
+	 * @param file the batch file
+	 * @return list of batch entries
+	 * @throws IOException if reading the batch file failed
+	 */
+	public static List<BatchEntry> read(final Path file) throws IOException {
+		final List<BatchEntry> entries = new ArrayList<>();
+		try (BufferedReader reader = Files.newBufferedReader(file, UTF_8)) {
+			String line = reader.readLine();
+			while (line != null) {
+				final String trimmedLine = line.trim();
+				if (!trimmedLine.isEmpty() && !trimmedLine.startsWith(COMMENT_PREFIX)) {
+					entries.add(parse(trimmedLine));
+				}
+				line = reader.readLine();
+			}
+		}
+		if (entries.isEmpty()) {
+			throw new IllegalArgumentException(Strings.format("The batch file \"%s\" contains no entries.", file));
+		}
+		return unmodifiableList(entries);
+	}
+
+	/**
+	 * Parses a single line of a batch file.
+	 *
+	 * @param line the non-blank line
+	 * @return the batch entry
+	 */
+	private static BatchEntry parse(final String line) {
+		final String[] values = VALUE_SEPARATOR_PATTERN.split(line, VALUES_MAX);
+		return new BatchEntry(values[0].trim(),
+				values.length > 1 ? values[1].trim() : null,
+				values.length > 2 ? values[2] : null);
+	}
+
+	/**
+	 * Artifact to load
+	 *
+	 * @return Artifact to load
+	 */
+	String artifact;
+
+	/**
+	 * Main class to execute or {@code null} to use the artifacts JARs main class
+	 *
+	 * @return Main class to execute
+	 */
+	@Nullable
+	String mainClass;
+
+	/**
+	 * List of arguments for the to-be-executed application in the format of the
+	 * user argument "arguments" or {@code null}
+	 *
+	 * @return List of arguments for the to-be-executed application
+	 */
+	@Nullable
+	String arguments;
+}
@@ -0,0 +1,272 @@
+package de.larssh.maven.jarrunner;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.ProcessBuilder.Redirect;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.Callable;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugin.logging.Log;
+
+import de.larssh.maven.jarrunner.LaunchTimings.Phase;
+import de.larssh.utils.SystemUtils;
+import de.larssh.utils.text.Strings;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Runs multiple applications concurrently with bounded parallelism.
+ *
+ * <p>
+ * Dependencies of all applications are resolved concurrently, sharing the
+ * caches of the Maven session. The output of each application is buffered to a
+ * temporary file and streamed to the Maven log line by line as soon as all
+ * applications stopped, so that outputs of concurrent applications do not
+ * interleave and are not held in memory.
+ */
+@Getter
+@RequiredArgsConstructor
+public final class BatchRunner {
+	/**
+	 * Prefix of temporary files buffering the output of applications
+	 */
+	private static final String OUTPUT_FILE_PREFIX = "jar-runner-";
+
+	/**
+	 * Suffix of temporary files buffering the output of applications
+	 */
+	private static final String OUTPUT_FILE_SUFFIX = ".log";
+
+	/**
+	 * Path of the null device on Windows
+	 */
+	private static final String NULL_DEVICE_WINDOWS = "NUL";
+
+	/**
+	 * Path of the null device on Unix
+	 */
+	private static final String NULL_DEVICE_UNIX = "/dev/null";
+
+	/**
+	 * Resolves and runs a single application, buffering its output to
+	 * {@code outputFile}. The input stream is read from the null device, as there
+	 * is no input to share between concurrent applications.
+	 *
+	 * @param runParameters the parameters of the application
+	 * @param outputFile    the temporary file to buffer the output to
+	 * @return the result of the application
+	 * @throws Exception if resolving or running the application failed
+	 */
+	@SuppressWarnings("checkstyle:IllegalThrows")
+	@SuppressFBWarnings(value = "COMMAND_INJECTION", justification = "command is meant to be injected")
+	private static Result run(final Parameters runParameters, final Path outputFile) throws Exception {
+		final LaunchTimings timings = new LaunchTimings();
+		final JarRunner jarRunner = new JarRunner(runParameters, timings);
+		final Process process = timings.measure(Phase.SPAWN,
+				() -> jarRunner.getProcessBuilder()
+						.redirectInput(Redirect
+								.from(new File(SystemUtils.isWindows() ? NULL_DEVICE_WINDOWS : NULL_DEVICE_UNIX)))
+						.redirectErrorStream(true)
+						.redirectOutput(outputFile.toFile())
+						.start());
+		final int exitStatus = timings.measure(Phase.RUN, () -> Processes.waitForWithoutInterrupting(process));
+		jarRunner.deleteTemporaryFiles();
+		jarRunner.storeClassDataSharingArchive();
+		timings.report(runParameters, OptionalInt.of(exitStatus));
+		return new Result(jarRunner.getCommandLine(), outputFile, exitStatus);
+	}
+
+	/**
+	 * Validates that {@code parameters} can be run as part of a batch.
+	 *
+	 * @param parameters the parameters object of {@link RunMojo}
+	 * @throws MojoExecutionException if arguments cannot be combined with batch
+	 *                                runs
+	 */
+	@SuppressFBWarnings(value = "WEM_WEAK_EXCEPTION_MESSAGING", justification = "message is clear without values")
+	private static void validate(final Parameters parameters) throws MojoExecutionException {
+		if (parameters.isRunAsync()
+				|| parameters.isInProcess()
+				|| parameters.getWorkerPoolSize() > 0
+				|| parameters.getReplicas() > 1
+				|| parameters.isRedirecting()
+				|| parameters.getLockFile().isPresent()) {
+			throw new MojoExecutionException(
+					"Batch files cannot be combined with running asynchronously, running in-process, worker JVMs, replicas, redirected streams or lock files.");
+		}
+	}
+
+	/**
+	 * Maven Log
+	 *
+	 * @return Maven Log
+	 */
+	Log log;
+
+	/**
+	 * Parameters objects of the applications to run
+	 *
+	 * @return parameters objects of the applications to run
+	 */
+	List<Parameters> parameters;
+
+	/**
+	 * Maximum number of applications to run concurrently
+	 *
+	 * @return maximum number of applications to run concurrently
+	 */
+	int parallelism;
+
+	/**
+	 * Handling of non-zero exit values
+	 *
+	 * @return exit mode
+	 */
+	ExitMode exitMode;
+
+	/**
+	 * Resolves and runs all applications and waits for them to stop. Afterwards the
+	 * output and exit value of each application is logged in batch order.
+	 *
+	 * <p>
+	 * In case any application stops with an exit value not equal to zero, either
+	 * the Maven JVM is terminated passing the first non-zero exit value or a
+	 * {@link MojoFailureException} is thrown, depending on {@link #getExitMode()}.
+	 *
+	 * @throws IOException            if any IO failure occurred
+	 * @throws MojoExecutionException if arguments cannot be combined with batch
+	 *                                runs
+	 * @throws MojoFailureException   if any application stopped with an exit value
+	 *                                not equal to zero
+	 */
+	@SuppressWarnings("PMD.DoNotTerminateVM")
+	@SuppressFBWarnings(value = "DM_EXIT", justification = "exit code need to be passed")
+	public void execute() throws IOException, MojoExecutionException, MojoFailureException {
+		for (final Parameters runParameters : getParameters()) {
+			validate(runParameters);
+		}
+
+		final List<Path> outputFiles = new ArrayList<>(getParameters().size());
+		final List<Result> results;
+		try {
+			for (int index = 0; index < getParameters().size(); index += 1) {
+				outputFiles.add(Files.createTempFile(OUTPUT_FILE_PREFIX, OUTPUT_FILE_SUFFIX));
+			}
+			results = runAll(outputFiles);
+			for (final Result result : results) {
+				logResult(result);
+			}
+		} finally {
+			for (final Path outputFile : outputFiles) {
+				Files.deleteIfExists(outputFile);
+			}
+		}
+
+		int firstExitStatus = 0;
+		int failures = 0;
+		for (final Result result : results) {
+			if (result.getExitStatus() != 0) {
+				if (failures == 0) {
+					firstExitStatus = result.getExitStatus();
+				}
+				failures += 1;
+			}
+		}
+
+		if (failures > 0) {
+			if (getExitMode().isTerminatingVm()) {
+				System.exit(firstExitStatus);
+			}
+			throw new MojoFailureException(Strings.format(
+					"%d of %d applications stopped with an exit value not equal to zero. First exit value: %d",
+					failures,
+					results.size(),
+					firstExitStatus));
+		}
+	}
+
+	/**
+	 * Runs all applications using a thread pool of {@link #getParallelism()}
+	 * threads and waits for them to stop.
+	 *
+	 * @param outputFiles the temporary files to buffer outputs to in batch order
+	 * @return results in batch order
+	 * @throws IOException          if any IO failure occurred
+	 * @throws MojoFailureException if no main class is given and an artifacts JAR
+	 *                              does not contain a main class in its manifest
+	 */
+	private List<Result> runAll(final List<Path> outputFiles) throws IOException, MojoFailureException {
+		final List<Callable<Result>> tasks = new ArrayList<>(getParameters().size());
+		for (int index = 0; index < getParameters().size(); index += 1) {
+			final Parameters runParameters = getParameters().get(index);
+			final Path outputFile = outputFiles.get(index);
+			tasks.add(() -> run(runParameters, outputFile));
+		}
+		return ParallelTasks.invokeAll(getParallelism(), tasks);
+	}
+
+	/**
+	 * Writes the command, output and exit value of {@code result} to the Maven log.
+	 * The output is streamed line by line, decoded using the default charset just
+	 * like captured output of single applications.
+	 *
+	 * @param result the result of an application
+	 * @throws IOException if reading the output failed
+	 */
+	private void logResult(final Result result) throws IOException {
+		if (getLog().isInfoEnabled()) {
+			getLog().info("Command: " + result.getCommandLine());
+			try (BufferedReader reader = new BufferedReader(
+					new InputStreamReader(Files.newInputStream(result.getOutputFile()), Charset.defaultCharset()))) {
+				for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+					getLog().info(line);
+				}
+			}
+		}
+		if (result.getExitStatus() == 0) {
+			if (getLog().isInfoEnabled()) {
+				getLog().info("Exit value: 0");
+			}
+		} else if (getLog().isErrorEnabled()) {
+			getLog().error(Strings.format("Exit value: %d", result.getExitStatus()));
+		}
+	}
+
+	/**
+	 * Result of a single application of a batch
+	 */
+	@Getter
+	@RequiredArgsConstructor
+	private static final class Result {
+		/**
+		 * The escaped command
+		 *
+		 * @return the escaped command
+		 */
+		String commandLine;
+
+		/**
+		 * Temporary file buffering the applications standard output and standard error
+		 *
+		 * @return output file
+		 */
+		Path outputFile;
+
+		/**
+		 * Exit value of the application
+		 *
+		 * @return exit value
+		 */
+		int exitStatus;
+	}
+}
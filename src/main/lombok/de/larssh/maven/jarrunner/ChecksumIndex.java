@@ -0,0 +1,135 @@
+package de.larssh.maven.jarrunner;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import de.larssh.utils.text.Strings;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Index of the SHA-256 checksums of files.
+ *
+ * <p>
+ * Checksums are stored inside a directory per file, its size, modification
+ * time, file key (such as the inode) and status change time, so that later
+ * Maven invocations do not need to hash unchanged files again. Other than the
+ * modification time, the status change time cannot be set by users, so files
+ * replaced or rewritten in place are hashed again even if their size and
+ * modification time are restored. Files are hashed on each call on file systems
+ * not providing file keys and status change times.
+ */
+@Getter
+@RequiredArgsConstructor
+public final class ChecksumIndex {
+	/**
+	 * File extension of stored checksums
+	 */
+	private static final String FILE_EXTENSION = ".sha256";
+
+	/**
+	 * Format of the string to hash for checksum file names
+	 */
+	private static final String KEY_FORMAT = "%s%n%d%n%d%n%s%n%d";
+
+	/**
+	 * Name of the file attribute view providing the status change time
+	 */
+	private static final String UNIX_VIEW = "unix";
+
+	/**
+	 * Name of the status change time file attribute
+	 */
+	private static final String CTIME_ATTRIBUTE = UNIX_VIEW + ":ctime";
+
+	/**
+	 * Pattern matching hexadecimal SHA-256 checksums
+	 */
+	private static final Pattern CHECKSUM_PATTERN = Pattern.compile("^[0-9a-f]{64}$");
+
+	/**
+	 * Loads the checksum stored inside {@code file}.
+	 *
+	 * @param file the checksum file
+	 * @return the checksum or empty if {@code file} does not exist or is malformed
+	 * @throws IOException if any IO failure occurred
+	 */
+	private static Optional<String> load(final Path file) throws IOException {
+		if (!Files.isRegularFile(file)) {
+			return Optional.empty();
+		}
+		final String checksum = new String(Files.readAllBytes(file), UTF_8).trim();
+		return CHECKSUM_PATTERN.matcher(checksum).matches() ? Optional.of(checksum) : Optional.empty();
+	}
+
+	/**
+	 * Creates the string identifying the current state of {@code file}, made of its
+	 * absolute path, size, modification time, file key and status change time.
+	 *
+	 * @param file the file
+	 * @return the identity or empty if the file system does not provide file keys
+	 *         or status change times
+	 * @throws IOException if any IO failure occurred
+	 */
+	private static Optional<String> getIdentity(final Path file) throws IOException {
+		final Path absoluteFile = file.toAbsolutePath();
+		if (!absoluteFile.getFileSystem().supportedFileAttributeViews().contains(UNIX_VIEW)) {
+			return Optional.empty();
+		}
+		final BasicFileAttributes attributes = Files.readAttributes(absoluteFile, BasicFileAttributes.class);
+		final Object fileKey = attributes.fileKey();
+		final Object statusChangeTime = Files.getAttribute(absoluteFile, CTIME_ATTRIBUTE);
+		if (fileKey == null || !(statusChangeTime instanceof FileTime)) {
+			return Optional.empty();
+		}
+		return Optional.of(Strings.format(KEY_FORMAT,
+				absoluteFile,
+				attributes.size(),
+				attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS),
+				fileKey,
+				((FileTime) statusChangeTime).to(TimeUnit.NANOSECONDS)));
+	}
+
+	/**
+	 * Directory to store checksums in
+	 *
+	 * @return directory to store checksums in
+	 */
+	Path directory;
+
+	/**
+	 * Returns the hexadecimal SHA-256 checksum of {@code file}, preferring stored
+	 * checksums as long as the file is unchanged. Checksums are stored only if the
+	 * file did not change while hashing it.
+	 *
+	 * @param file the file
+	 * @return the hexadecimal checksum
+	 * @throws IOException if any IO failure occurred
+	 */
+	public String get(final Path file) throws IOException {
+		final Optional<String> identity = getIdentity(file);
+		if (!identity.isPresent()) {
+			return Hashes.sha256(file);
+		}
+
+		final Path checksumFile = getDirectory().resolve(Hashes.sha256(identity.get()) + FILE_EXTENSION);
+		final Optional<String> storedChecksum = load(checksumFile);
+		if (storedChecksum.isPresent()) {
+			return storedChecksum.get();
+		}
+
+		final String checksum = Hashes.sha256(file);
+		if (identity.equals(getIdentity(file))) {
+			AtomicFiles.write(checksumFile, outputStream -> outputStream.write(checksum.getBytes(UTF_8)));
+		}
+		return checksum;
+	}
+}
@@ -0,0 +1,205 @@
+package de.larssh.maven.jarrunner;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import de.larssh.utils.text.Strings;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Manages class data sharing archives of launched JVMs to reduce their startup
+ * time.
+ *
+ * <p>
+ * Archives are stored per Java runtime and class path, including the size and
+ * modification time of each class path file. The first launch records an
+ * archive, while later launches use it. Depending on the Java version of the
+ * launched JVM either a dynamic CDS archive (Java 13 and later) or an AOT cache
+ * (Java 25 and later) is used.
+ *
+ * <p>
+ * Archives are recorded to a temporary file, which is moved into place after
+ * the launched JVM stopped, so that concurrently launched JVMs never dump to or
+ * read from partially written archives.
+ */
+@Getter
+@RequiredArgsConstructor
+public final class ClassDataSharing {
+	/**
+	 * Minimum Java version supporting dynamic CDS archives
+	 */
+	private static final int MINIMUM_VERSION_DYNAMIC_ARCHIVE = 13;
+
+	/**
+	 * Minimum Java version supporting creating AOT caches in a single run
+	 */
+	private static final int MINIMUM_VERSION_AOT_CACHE = 25;
+
+	/**
+	 * File extension of dynamic CDS archives
+	 */
+	private static final String DYNAMIC_ARCHIVE_FILE_EXTENSION = ".jsa";
+
+	/**
+	 * File extension of AOT caches
+	 */
+	private static final String AOT_CACHE_FILE_EXTENSION = ".aot";
+
+	/**
+	 * Format of the string to hash for archive file names
+	 */
+	private static final String KEY_FORMAT = "%s%n%s%n%s";
+
+	/**
+	 * Format of the state of a class path file as part of the string to hash for
+	 * archive file names
+	 */
+	private static final String FILE_KEY_FORMAT = "%n%s%n%d%n%d";
+
+	/**
+	 * Name of the JVM option to use a dynamic CDS archive
+	 */
+	private static final String SHARED_ARCHIVE_FILE_OPTION = "SharedArchiveFile";
+
+	/**
+	 * Format of a JVM option taking a file path
+	 */
+	private static final String OPTION_FORMAT = "-XX:%s=%s";
+
+	/**
+	 * Checks if class data sharing archives are supported for {@code javaRuntime}.
+	 *
+	 * @param javaRuntime the Java runtime
+	 * @return {@code true} if archives are supported
+	 */
+	public static boolean isSupported(final JavaRuntime javaRuntime) {
+		return javaRuntime.isAtLeast(MINIMUM_VERSION_DYNAMIC_ARCHIVE);
+	}
+
+	/**
+	 * Java runtime of the launched JVM
+	 *
+	 * @return Java runtime of the launched JVM
+	 */
+	JavaRuntime javaRuntime;
+
+	/**
+	 * Directory to store archives in
+	 *
+	 * @return directory to store archives in
+	 */
+	Path directory;
+
+	/**
+	 * Determines the archive of {@code classPath}, which is either used if it
+	 * exists or else recorded, if {@code recordMissing} is {@code true}.
+	 *
+	 * @param classPath      the class path of the launched JVM as passed to it
+	 * @param classPathFiles the class path files, which are part of
+	 *                       {@code classPath}
+	 * @param recordMissing  {@code true} to record a missing archive, which
+	 *                       requires {@link Archive#store()} to be called as soon
+	 *                       as the launched JVM stopped
+	 * @return the archive
+	 * @throws IOException if any IO failure occurred
+	 */
+	public Archive getArchive(final String classPath, final List<Path> classPathFiles, final boolean recordMissing)
+			throws IOException {
+		if (!isSupported(getJavaRuntime())) {
+			return new Archive(emptyList(), Optional.empty(), getDirectory());
+		}
+		Files.createDirectories(getDirectory());
+
+		final StringBuilder key = new StringBuilder(Strings.format(KEY_FORMAT,
+				getJavaRuntime().getExecutable().toAbsolutePath(),
+				getJavaRuntime().getVersion().orElse(""),
+				classPath));
+		for (final Path file : classPathFiles) {
+			key.append(Strings.format(FILE_KEY_FORMAT,
+					file.toAbsolutePath(),
+					Files.isRegularFile(file) ? Files.size(file) : 0,
+					Files.getLastModifiedTime(file).toMillis()));
+		}
+		final String hash = Hashes.sha256(key.toString());
+
+		final boolean aotCache = getJavaRuntime().isAtLeast(MINIMUM_VERSION_AOT_CACHE);
+		final String extension = aotCache ? AOT_CACHE_FILE_EXTENSION : DYNAMIC_ARCHIVE_FILE_EXTENSION;
+		final Path file = getDirectory().resolve(hash + extension);
+		if (Files.isRegularFile(file)) {
+			return new Archive(
+					singletonList(
+							Strings.format(OPTION_FORMAT, aotCache ? "AOTCache" : SHARED_ARCHIVE_FILE_OPTION, file)),
+					Optional.empty(),
+					file);
+		}
+		if (!recordMissing) {
+			return new Archive(emptyList(), Optional.empty(), file);
+		}
+
+		final Path recordingFile
+				= getDirectory().resolve(Strings.format("%s.%s%s", hash, UUID.randomUUID(), extension));
+		return new Archive(
+				singletonList(Strings
+						.format(OPTION_FORMAT, aotCache ? "AOTCacheOutput" : "ArchiveClassesAtExit", recordingFile)),
+				Optional.of(recordingFile),
+				file);
+	}
+
+	/**
+	 * Class data sharing archive of a single launch
+	 */
+	@Getter
+	@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+	public static final class Archive {
+		/**
+		 * JVM options to either use or record the archive
+		 *
+		 * @return JVM options or an empty list if the archive is neither used nor
+		 *         recorded
+		 */
+		List<String> javaOptions;
+
+		/**
+		 * Temporary file the launched JVM records the archive to
+		 *
+		 * @return temporary file or empty if the archive is not recorded
+		 */
+		Optional<Path> recordingFile;
+
+		/**
+		 * Archive file
+		 *
+		 * @return archive file
+		 */
+		Path file;
+
+		/**
+		 * Moves the recorded archive into place. This method is expected to be called
+		 * as soon as the launched JVM stopped. Nothing happens if the archive was not
+		 * recorded.
+		 *
+		 * @throws IOException if any IO failure occurred
+		 */
+		public void store() throws IOException {
+			if (!getRecordingFile().isPresent() || !Files.isRegularFile(getRecordingFile().get())) {
+				return;
+			}
+			try {
+				Files.move(getRecordingFile().get(), getFile(), StandardCopyOption.REPLACE_EXISTING);
+			} catch (final IOException e) {
+				Files.deleteIfExists(getRecordingFile().get());
+				throw e;
+			}
+		}
+	}
+}
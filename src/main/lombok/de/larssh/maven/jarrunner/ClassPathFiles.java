@@ -0,0 +1,273 @@
+package de.larssh.maven.jarrunner;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.joining;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Creates the JVM arguments to pass the class path to launched JVMs depending
+ * on the {@link ClassPathMode}.
+ *
+ * <p>
+ * Files used to keep command lines short are named by the hash of their
+ * content. Existing files are reused, so that launching the same class path
+ * again does not write any file. Such files contain the class path only.
+ *
+ * <p>
+ * Java options and application arguments, which need to be passed using a Java
+ * argument file, are written to temporary files per launch instead, as they
+ * might contain secrets and would pile up otherwise. These files are deleted
+ * using {@link #deleteTemporaryFiles()}.
+ */
+@Getter
+@RequiredArgsConstructor
+public final class ClassPathFiles {
+	/**
+	 * Prefix of Java arguments referencing a Java argument file
+	 */
+	private static final String ARGUMENT_FILE_PREFIX = "@";
+
+	/**
+	 * Java option to set the class path
+	 */
+	private static final String CLASS_PATH_OPTION = "-classpath";
+
+	/**
+	 * File extension of Java argument files
+	 */
+	private static final String ARGUMENT_FILE_EXTENSION = ".args";
+
+	/**
+	 * Prefix of temporary Java argument files per launch
+	 */
+	private static final String TEMPORARY_ARGUMENT_FILE_PREFIX = "launch-";
+
+	/**
+	 * File extension of pathing JARs
+	 */
+	private static final String PATHING_JAR_EXTENSION = ".jar";
+
+	/**
+	 * Line separator inside Java argument files
+	 */
+	private static final String LINE_SEPARATOR = "\n";
+
+	/**
+	 * Manifest version of pathing JARs
+	 */
+	private static final String MANIFEST_VERSION = "1.0";
+
+	/**
+	 * Combines {@code classPathFiles} with the optional class path format user
+	 * argument.
+	 *
+	 * @param classPathFiles  the class path files
+	 * @param classPathFormat formatter value allowing modifying the class path
+	 * @return class path string
+	 */
+	public static String toClassPath(final List<Path> classPathFiles, final Optional<String> classPathFormat) {
+		final String classPath = classPathFiles.stream().map(Path::toString).collect(joining(File.pathSeparator));
+		return classPathFormat.map(format -> String.format(format, classPath)).orElse(classPath);
+	}
+
+	/**
+	 * Converts {@code arguments} to the content of a Java argument file.
+	 *
+	 * <p>
+	 * Each argument is quoted and written to its own line. Backslashes, quotes and
+	 * line breaks are escaped, as the Java launcher interprets escape characters
+	 * inside quotes and quotes cannot span multiple lines.
+	 *
+	 * @param arguments the arguments
+	 * @return content of a Java argument file
+	 */
+	private static String toArgumentFileContent(final List<String> arguments) {
+		return arguments.stream()
+				.map(argument -> '"'
+						+ argument.replace("\\", "\\\\")
+								.replace("\"", "\\\"")
+								.replace(LINE_SEPARATOR, "\\n")
+								.replace("\r", "\\r")
+						+ '"')
+				.collect(joining(LINE_SEPARATOR, "", LINE_SEPARATOR));
+	}
+
+	/**
+	 * Directory to store files in
+	 *
+	 * @return directory to store files in
+	 */
+	Path directory;
+
+	/**
+	 * Way to pass the class path
+	 *
+	 * @return way to pass the class path
+	 */
+	ClassPathMode classPathMode;
+
+	/**
+	 * Formatter value allowing modifying the class path
+	 *
+	 * @return formatter value allowing modifying the class path
+	 */
+	Optional<String> classPathFormat;
+
+	/**
+	 * Temporary Java argument files created per launch
+	 */
+	@Getter(AccessLevel.NONE)
+	List<Path> temporaryFiles = new ArrayList<>();
+
+	/**
+	 * Creates the JVM arguments consisting of {@code javaOptions} and the class
+	 * path. Depending on the class path mode, the class path is passed as argument,
+	 * using a pathing JAR or using a Java argument file.
+	 *
+	 * @param javaOptions the JVM options
+	 * @param classPath   the class path files
+	 * @return JVM arguments
+	 * @throws IOException if any IO failure occurred
+	 */
+	public List<String> getJavaArguments(final List<String> javaOptions, final List<Path> classPath)
+			throws IOException {
+		final List<String> arguments = new ArrayList<>(javaOptions);
+		if (getClassPathMode() == ClassPathMode.ARGUMENT_FILE) {
+			arguments.add(ARGUMENT_FILE_PREFIX
+					+ getArgumentFile(asList(CLASS_PATH_OPTION, toClassPath(classPath, getClassPathFormat()))));
+			return arguments;
+		}
+
+		arguments.add(CLASS_PATH_OPTION);
+		arguments.add(toClassPath(
+				getClassPathMode() == ClassPathMode.PATHING_JAR ? singletonList(getPathingJar(classPath)) : classPath,
+				getClassPathFormat()));
+		return arguments;
+	}
+
+	/**
+	 * Creates the JVM arguments consisting of {@code javaOptions}, the class path
+	 * and {@code applicationArguments}, which are the main class followed by the
+	 * arguments of the application.
+	 *
+	 * <p>
+	 * In argument file mode, all arguments are written to a temporary argument
+	 * file, as the Java launcher does not expand argument files after the main
+	 * class. The file is deleted by {@link #deleteTemporaryFiles()}.
+	 *
+	 * @param javaOptions          the JVM options
+	 * @param classPath            the class path files
+	 * @param applicationArguments the main class followed by the arguments of the
+	 *                             application
+	 * @return JVM arguments
+	 * @throws IOException if any IO failure occurred
+	 */
+	public List<String> getJavaArguments(final List<String> javaOptions,
+			final List<Path> classPath,
+			final List<String> applicationArguments) throws IOException {
+		if (getClassPathMode() != ClassPathMode.ARGUMENT_FILE) {
+			final List<String> arguments = new ArrayList<>(getJavaArguments(javaOptions, classPath));
+			arguments.addAll(applicationArguments);
+			return arguments;
+		}
+
+		final List<String> arguments = new ArrayList<>(javaOptions);
+		arguments.add(CLASS_PATH_OPTION);
+		arguments.add(toClassPath(classPath, getClassPathFormat()));
+		arguments.addAll(applicationArguments);
+		return singletonList(ARGUMENT_FILE_PREFIX + createTemporaryArgumentFile(arguments));
+	}
+
+	/**
+	 * Returns a Java argument file containing {@code arguments}, creating it if
+	 * necessary.
+	 *
+	 * @param arguments the arguments
+	 * @return path of the argument file
+	 * @throws IOException if any IO failure occurred
+	 */
+	private Path getArgumentFile(final List<String> arguments) throws IOException {
+		final String content = toArgumentFileContent(arguments);
+		final Path file = getDirectory().resolve(Hashes.sha256(content) + ARGUMENT_FILE_EXTENSION);
+		if (!Files.isRegularFile(file)) {
+			AtomicFiles.write(file, outputStream -> outputStream.write(content.getBytes(UTF_8)));
+		}
+		return file;
+	}
+
+	/**
+	 * Creates a temporary Java argument file containing {@code arguments}, which is
+	 * readable by the current user only on file systems supporting POSIX
+	 * permissions.
+	 *
+	 * <p>
+	 * The file is deleted by {@link #deleteTemporaryFiles()} or as soon as the
+	 * Maven JVM stops.
+	 *
+	 * @param arguments the arguments
+	 * @return path of the argument file
+	 * @throws IOException if any IO failure occurred
+	 */
+	private Path createTemporaryArgumentFile(final List<String> arguments) throws IOException {
+		Files.createDirectories(getDirectory());
+		final Path file = Files.createTempFile(getDirectory(), TEMPORARY_ARGUMENT_FILE_PREFIX, ARGUMENT_FILE_EXTENSION);
+		temporaryFiles.add(file);
+		file.toFile().deleteOnExit();
+		Files.write(file, toArgumentFileContent(arguments).getBytes(UTF_8));
+		return file;
+	}
+
+	/**
+	 * Deletes the temporary Java argument files created so far. This method is
+	 * expected to be called as soon as the launched JVMs stopped.
+	 *
+	 * @throws IOException if deleting any file failed
+	 */
+	public void deleteTemporaryFiles() throws IOException {
+		for (final Path file : temporaryFiles) {
+			Files.deleteIfExists(file);
+		}
+		temporaryFiles.clear();
+	}
+
+	/**
+	 * Returns a pathing JAR referencing {@code classPath}, creating it if
+	 * necessary.
+	 *
+	 * <p>
+	 * The JARs manifest contains absolute file URIs, so that it does not depend on
+	 * the location of the pathing JAR.
+	 *
+	 * @param classPath the class path files
+	 * @return path of the pathing JAR
+	 * @throws IOException if any IO failure occurred
+	 */
+	public Path getPathingJar(final List<Path> classPath) throws IOException {
+		final String manifestClassPath
+				= classPath.stream().map(path -> path.toAbsolutePath().toUri().toString()).collect(joining(" "));
+		final Path file = getDirectory().resolve(Hashes.sha256(manifestClassPath) + PATHING_JAR_EXTENSION);
+		if (!Files.isRegularFile(file)) {
+			final Manifest manifest = new Manifest();
+			manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, MANIFEST_VERSION);
+			manifest.getMainAttributes().put(Attributes.Name.CLASS_PATH, manifestClassPath);
+			AtomicFiles.write(file, outputStream -> new JarOutputStream(outputStream, manifest).finish());
+		}
+		return file;
+	}
+}
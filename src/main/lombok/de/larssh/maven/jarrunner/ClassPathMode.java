@@ -0,0 +1,49 @@
+package de.larssh.maven.jarrunner;
+
+import de.larssh.utils.text.Strings;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * Ways to pass the class path to launched JVMs.
+ */
+public enum ClassPathMode {
+	/**
+	 * Passes the class path as command line argument.
+	 */
+	ARGUMENT,
+
+	/**
+	 * Passes the class path using a Java argument file ({@code @argfile}). Requires
+	 * Java 9 or later.
+	 */
+	ARGUMENT_FILE,
+
+	/**
+	 * Passes the class path using a pathing JAR, which contains a manifest with a
+	 * {@code Class-Path} attribute only.
+	 */
+	PATHING_JAR;
+
+	/**
+	 * Determines the class path mode by its name, ignoring case. Dashes can be used
+	 * instead of underscores.
+	 *
+	 * @param name the class path modes name or {@code null}
+	 * @return the class path mode or {@link #ARGUMENT} if {@code name} is blank
+	 * @throws IllegalArgumentException if {@code name} is unknown
+	 */
+	public static ClassPathMode fromName(@Nullable final String name) {
+		if (name == null || Strings.isBlank(name)) {
+			return ARGUMENT;
+		}
+		final String normalizedName = name.replace('-', '_');
+		for (final ClassPathMode classPathMode : values()) {
+			if (Strings.equalsIgnoreCaseAscii(classPathMode.name(), normalizedName)) {
+				return classPathMode;
+			}
+		}
+		throw new IllegalArgumentException(Strings.format(
+				"Unknown class path mode given. Allowed values: \"argument\", \"argument-file\" or \"pathing-jar\". Given: \"%s\"",
+				name));
+	}
+}
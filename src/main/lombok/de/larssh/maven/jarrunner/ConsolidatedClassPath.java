@@ -0,0 +1,385 @@
+package de.larssh.maven.jarrunner;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.unmodifiableList;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+
+import de.larssh.utils.text.SplitLimit;
+import de.larssh.utils.text.Strings;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Merges the JARs of a class path into a single uncompressed JAR, so that
+ * launched JVMs open and search one file instead of hundreds.
+ *
+ * <p>
+ * Entries of earlier JARs win over equal entries of later JARs, just like class
+ * loading from a class path. Versioned entries of multi-release JARs are
+ * dropped if their base entry came from an earlier JAR, so that they cannot
+ * shadow it. Service files inside {@code META-INF/services} are concatenated.
+ * Module descriptors, signature files and JAR indexes are dropped. Signed JARs,
+ * JARs with a {@code Class-Path} manifest attribute and directories are not
+ * merged, but stay on the class path at their position. The consolidated JAR
+ * takes the position of the first merged JAR.
+ *
+ * <p>
+ * Consolidated JARs are named by the hash of the class path files, their sizes
+ * and modification times. The merged files are listed next to them, so that
+ * launching the same class path again neither inspects nor writes any file.
+ * Lists are kept in memory as long as the Maven JVM runs, too.
+ */
+@Getter
+@RequiredArgsConstructor
+public final class ConsolidatedClassPath {
+	/**
+	 * File extension of consolidated JARs
+	 */
+	private static final String JAR_EXTENSION = ".jar";
+
+	/**
+	 * File extension of lists of merged files
+	 */
+	private static final String LIST_EXTENSION = ".txt";
+
+	/**
+	 * Format of the string to hash per class path file
+	 */
+	private static final String KEY_FORMAT = "%s%n%d%n%d%n";
+
+	/**
+	 * Manifest version of consolidated JARs
+	 */
+	private static final String MANIFEST_VERSION = "1.0";
+
+	/**
+	 * Manifest attribute marking multi-release JARs
+	 */
+	private static final Attributes.Name MULTI_RELEASE = new Attributes.Name("Multi-Release");
+
+	/**
+	 * Prefix of versioned entries of multi-release JARs
+	 */
+	private static final String VERSIONS_PREFIX = "META-INF/versions/";
+
+	/**
+	 * Merged files by list file, kept as long as the Maven JVM runs
+	 */
+	private static final FileMemo<List<Path>> LOADED_MERGED_FILES = new FileMemo<>(256);
+
+	/**
+	 * Prefix of service files
+	 */
+	private static final String SERVICES_PREFIX = "META-INF/services/";
+
+	/**
+	 * Pattern matching entries not to be merged: manifests, signature files, JAR
+	 * indexes and module descriptors
+	 */
+	private static final Pattern DROPPED_ENTRIES_PATTERN = Pattern.compile(
+			"^(META-INF/(MANIFEST\\.MF|INDEX\\.LIST|[^/]+\\.(SF|RSA|DSA|EC)|SIG-[^/]+)|(META-INF/versions/\\d+/)?module-info\\.class)$",
+			Pattern.CASE_INSENSITIVE);
+
+	/**
+	 * Pattern matching line separators inside service files
+	 */
+	private static final Pattern LINE_SEPARATOR_PATTERN = Pattern.compile("\\R");
+
+	/**
+	 * Pattern matching comments inside service files
+	 */
+	private static final Pattern COMMENT_PATTERN = Pattern.compile("#.*");
+
+	/**
+	 * Line separator inside merged service files
+	 */
+	private static final String LINE_SEPARATOR = "\n";
+
+	/**
+	 * Pattern matching signature files of signed JARs
+	 */
+	private static final Pattern SIGNATURE_FILE_PATTERN = Pattern.compile("^META-INF/[^/]+\\.SF$");
+
+	/**
+	 * Size of the byte buffer used to copy entries
+	 */
+	private static final int BUFFER_SIZE = 8192;
+
+	/**
+	 * Checks if {@code file} can be merged. Directories, signed JARs and JARs
+	 * referencing further files using their manifest cannot.
+	 *
+	 * @param jarMetadataIndex the index of JAR metadata
+	 * @param file             the class path file
+	 * @return {@code true} if {@code file} can be merged
+	 * @throws IOException if reading {@code file} failed
+	 */
+	private static boolean isMergeable(final JarMetadataIndex jarMetadataIndex, final Path file) throws IOException {
+		if (!Files.isRegularFile(file) || !jarMetadataIndex.get(file).getClassPath().isEmpty()) {
+			return false;
+		}
+		try (JarFile jarFile = new JarFile(file.toFile(), false)) {
+			return jarFile.stream()
+					.noneMatch(entry -> SIGNATURE_FILE_PATTERN.matcher(entry.getName().toUpperCase(Locale.ROOT))
+							.matches());
+		}
+	}
+
+	/**
+	 * Checks if {@code name} is a versioned entry of a multi-release JAR, whose
+	 * base entry was taken from another JAR than {@code file}.
+	 *
+	 * @param name    the entries name
+	 * @param file    the JAR containing the entry
+	 * @param origins JARs by the names of entries taken from them
+	 * @return {@code true} if the entry would shadow an entry of an earlier JAR
+	 */
+	private static boolean isShadowingVersion(final String name, final Path file, final Map<String, Path> origins) {
+		if (!name.startsWith(VERSIONS_PREFIX)) {
+			return false;
+		}
+		final int slash = name.indexOf('/', VERSIONS_PREFIX.length());
+		if (slash == -1) {
+			return false;
+		}
+		final Path origin = origins.get(name.substring(slash + 1));
+		return origin != null && !origin.equals(file);
+	}
+
+	/**
+	 * Reads the content of {@code entry}.
+	 *
+	 * @param jarFile the JAR file
+	 * @param entry   the entry to read
+	 * @return the entries content
+	 * @throws IOException if reading failed
+	 */
+	private static byte[] read(final JarFile jarFile, final JarEntry entry) throws IOException {
+		final ByteArrayOutputStream outputStream
+				= new ByteArrayOutputStream(entry.getSize() > 0 ? (int) entry.getSize() : BUFFER_SIZE);
+		try (InputStream inputStream = jarFile.getInputStream(entry)) {
+			final byte[] buffer = new byte[BUFFER_SIZE];
+			int length = inputStream.read(buffer);
+			while (length != -1) {
+				outputStream.write(buffer, 0, length);
+				length = inputStream.read(buffer);
+			}
+		}
+		return outputStream.toByteArray();
+	}
+
+	/**
+	 * Writes {@code content} as uncompressed entry {@code name}.
+	 *
+	 * @param outputStream the JAR to write to
+	 * @param name         the entries name
+	 * @param content      the entries content
+	 * @throws IOException if writing failed
+	 */
+	private static void writeStored(final JarOutputStream outputStream, final String name, final byte[] content)
+			throws IOException {
+		final CRC32 crc = new CRC32();
+		crc.update(content);
+
+		final JarEntry entry = new JarEntry(name);
+		entry.setMethod(ZipEntry.STORED);
+		entry.setSize(content.length);
+		entry.setCompressedSize(content.length);
+		entry.setCrc(crc.getValue());
+		outputStream.putNextEntry(entry);
+		outputStream.write(content);
+		outputStream.closeEntry();
+	}
+
+	/**
+	 * Directory to store consolidated JARs in
+	 *
+	 * @return directory to store consolidated JARs in
+	 */
+	Path directory;
+
+	/**
+	 * Index of JAR metadata
+	 *
+	 * @return index of JAR metadata
+	 */
+	JarMetadataIndex jarMetadataIndex;
+
+	/**
+	 * Replaces the mergeable files of {@code classPath} by a consolidated JAR,
+	 * creating it if necessary.
+	 *
+	 * <p>
+	 * If less than two files can be merged, {@code classPath} is returned as is.
+	 *
+	 * @param classPath the class path files
+	 * @return the consolidated class path
+	 * @throws IOException if any IO failure occurred
+	 */
+	public List<Path> consolidate(final List<Path> classPath) throws IOException {
+		final StringBuilder key = new StringBuilder();
+		for (final Path file : classPath) {
+			key.append(Strings.format(KEY_FORMAT,
+					file.toAbsolutePath(),
+					Files.isRegularFile(file) ? Files.size(file) : 0,
+					Files.getLastModifiedTime(file).toMillis()));
+		}
+		final String hash = Hashes.sha256(key.toString());
+		final Path jar = getDirectory().resolve(hash + JAR_EXTENSION);
+		final Path listFile = getDirectory().resolve(hash + LIST_EXTENSION);
+
+		final Optional<List<Path>> storedMergeableFiles = loadMergedFiles(listFile);
+		final List<Path> mergeableFiles;
+		if (storedMergeableFiles.isPresent()) {
+			mergeableFiles = storedMergeableFiles.get();
+		} else {
+			mergeableFiles = new ArrayList<>();
+			for (final Path file : classPath) {
+				if (isMergeable(getJarMetadataIndex(), file)) {
+					mergeableFiles.add(file);
+				}
+			}
+		}
+		if (mergeableFiles.size() >= 2 && !Files.isRegularFile(jar)) {
+			AtomicFiles.write(jar, outputStream -> merge(getJarMetadataIndex(), outputStream, mergeableFiles));
+		}
+		if (!storedMergeableFiles.isPresent()) {
+			storeMergedFiles(listFile, mergeableFiles);
+		}
+		if (mergeableFiles.size() < 2) {
+			return classPath;
+		}
+
+		final List<Path> consolidatedClassPath = new ArrayList<>(classPath.size() - mergeableFiles.size() + 1);
+		for (final Path file : classPath) {
+			if (file.equals(mergeableFiles.get(0))) {
+				consolidatedClassPath.add(jar);
+			} else if (!mergeableFiles.contains(file)) {
+				consolidatedClassPath.add(file);
+			}
+		}
+		return unmodifiableList(consolidatedClassPath);
+	}
+
+	/**
+	 * Loads the merged files listed inside {@code listFile}, preferring the
+	 * in-memory copy of earlier loads inside the same JVM.
+	 *
+	 * @param listFile the list file
+	 * @return the merged files or empty if {@code listFile} does not exist
+	 * @throws IOException if any IO failure occurred
+	 */
+	private static Optional<List<Path>> loadMergedFiles(final Path listFile) throws IOException {
+		final Optional<List<Path>> loadedFiles = LOADED_MERGED_FILES.get(listFile);
+		if (loadedFiles.isPresent() || !Files.isRegularFile(listFile)) {
+			return loadedFiles;
+		}
+		final List<Path> storedFiles
+				= unmodifiableList(Files.readAllLines(listFile, UTF_8).stream().map(Paths::get).collect(toList()));
+		LOADED_MERGED_FILES.put(listFile, storedFiles);
+		return Optional.of(storedFiles);
+	}
+
+	/**
+	 * Stores the list of {@code mergedFiles} inside {@code listFile} using a
+	 * temporary file, which is moved afterwards, so concurrent readers never see
+	 * partially written files.
+	 *
+	 * @param listFile    the list file
+	 * @param mergedFiles the merged files
+	 * @throws IOException if any IO failure occurred
+	 */
+	private void storeMergedFiles(final Path listFile, final List<Path> mergedFiles) throws IOException {
+		final String content = mergedFiles.stream().map(file -> file + LINE_SEPARATOR).collect(joining());
+		AtomicFiles.write(listFile, outputStream -> outputStream.write(content.getBytes(UTF_8)));
+		LOADED_MERGED_FILES.put(listFile, unmodifiableList(new ArrayList<>(mergedFiles)));
+	}
+
+	/**
+	 * Merges the entries of {@code files} into a JAR written to
+	 * {@code outputStream}.
+	 *
+	 * @param jarMetadataIndex the index of JAR metadata
+	 * @param outputStream     the output stream to write to
+	 * @param files            the files to merge in order
+	 * @throws IOException if any IO failure occurred
+	 */
+	private static void merge(final JarMetadataIndex jarMetadataIndex,
+			final OutputStream outputStream,
+			final List<Path> files) throws IOException {
+		final Manifest manifest = new Manifest();
+		manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, MANIFEST_VERSION);
+		boolean multiRelease = false;
+		for (final Path file : files) {
+			multiRelease = multiRelease || jarMetadataIndex.get(file).isMultiRelease();
+		}
+		if (multiRelease) {
+			manifest.getMainAttributes().put(MULTI_RELEASE, Boolean.TRUE.toString());
+		}
+
+		final Map<String, Path> origins = new HashMap<>();
+		final Map<String, Set<String>> services = new LinkedHashMap<>();
+		try (JarOutputStream jarOutputStream = new JarOutputStream(outputStream, manifest)) {
+			for (final Path file : files) {
+				try (JarFile jarFile = new JarFile(file.toFile(), false)) {
+					final Enumeration<JarEntry> entries = jarFile.entries();
+					while (entries.hasMoreElements()) {
+						final JarEntry entry = entries.nextElement();
+						final String name = entry.getName();
+						if (DROPPED_ENTRIES_PATTERN.matcher(name).matches()
+								|| isShadowingVersion(name, file, origins)) {
+							// not merged
+						} else if (name.startsWith(SERVICES_PREFIX) && !entry.isDirectory()) {
+							final Set<String> providers = services.computeIfAbsent(name, key -> new LinkedHashSet<>());
+							for (final String line : LINE_SEPARATOR_PATTERN
+									.split(new String(read(jarFile, entry), UTF_8), SplitLimit.NO_LIMIT)) {
+								final String provider = Strings.replaceFirst(line, COMMENT_PATTERN, "").trim();
+								if (!provider.isEmpty()) {
+									providers.add(provider);
+								}
+							}
+						} else if (origins.putIfAbsent(name, file) == null) {
+							writeStored(jarOutputStream,
+									name,
+									entry.isDirectory() ? new byte[0] : read(jarFile, entry));
+						}
+					}
+				}
+			}
+			for (final Map.Entry<String, Set<String>> service : services.entrySet()) {
+				if (!origins.containsKey(service.getKey())) {
+					writeStored(jarOutputStream,
+							service.getKey(),
+							(String.join(LINE_SEPARATOR, service.getValue()) + LINE_SEPARATOR).getBytes(UTF_8));
+				}
+			}
+		}
+	}
+}
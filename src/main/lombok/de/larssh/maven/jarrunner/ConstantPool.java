@@ -0,0 +1,201 @@
+package de.larssh.maven.jarrunner;
+
+import static java.util.Arrays.asList;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import de.larssh.utils.text.Strings;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The constant pool of a class file, reduced to the strings and the references
+ * to strings.
+ *
+ * <p>
+ * Class files are parsed manually, as the plugin must not depend on a bytecode
+ * library and module descriptors cannot be read using the APIs of Java 8.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ConstantPool {
+	/**
+	 * Magic number of class files
+	 */
+	private static final int CLASS_FILE_MAGIC = 0xCAFEBABE;
+
+	/**
+	 * Constant pool tag of UTF-8 strings
+	 */
+	private static final int CONSTANT_UTF8 = 1;
+
+	/**
+	 * Constant pool tag of classes
+	 */
+	private static final int CONSTANT_CLASS = 7;
+
+	/**
+	 * Constant pool tag of string literals
+	 */
+	private static final int CONSTANT_STRING = 8;
+
+	/**
+	 * Constant pool tag of method types
+	 */
+	private static final int CONSTANT_METHOD_TYPE = 16;
+
+	/**
+	 * Constant pool tag of modules
+	 */
+	private static final int CONSTANT_MODULE = 19;
+
+	/**
+	 * Constant pool tag of packages
+	 */
+	private static final int CONSTANT_PACKAGE = 20;
+
+	/**
+	 * Sizes of constant pool entries in bytes by tag, excluding the tag and UTF-8
+	 * strings
+	 */
+	private static final int[] CONSTANT_SIZES = { 0, 0, 0, 4, 4, 8, 8, 2, 2, 4, 4, 4, 4, 0, 0, 3, 2, 4, 4, 2, 2 };
+
+	/**
+	 * Constant pool tags taking two entries
+	 */
+	private static final List<Integer> WIDE_CONSTANTS = asList(5, 6);
+
+	/**
+	 * Constant pool tags referencing a single UTF-8 string
+	 */
+	private static final List<Integer> STRING_REFERENCE_CONSTANTS
+			= asList(CONSTANT_CLASS, CONSTANT_STRING, CONSTANT_METHOD_TYPE, CONSTANT_MODULE, CONSTANT_PACKAGE);
+
+	/**
+	 * Pattern matching class names inside type descriptors and signatures
+	 */
+	private static final Pattern DESCRIPTOR_CLASS_NAME_PATTERN = Pattern.compile("L(?<name>[^;<>:.\\[]+)[;<]");
+
+	/**
+	 * Pattern matching string literals looking like binary class names
+	 */
+	private static final Pattern BINARY_CLASS_NAME_PATTERN = Pattern.compile(
+			"^\\p{javaJavaIdentifierStart}[\\p{javaJavaIdentifierPart}$]*(\\.\\p{javaJavaIdentifierStart}[\\p{javaJavaIdentifierPart}$]*)+$");
+
+	/**
+	 * Reads the constant pool of a class file, leaving {@code dataInputStream}
+	 * positioned at the access flags of the class.
+	 *
+	 * @param dataInputStream the class file
+	 * @return the constant pool
+	 * @throws IOException if the class file is malformed or any IO failure occurred
+	 */
+	@SuppressWarnings("PMD.AvoidLiteralsInIfCondition")
+	public static ConstantPool read(final DataInputStream dataInputStream) throws IOException {
+		if (dataInputStream.readInt() != CLASS_FILE_MAGIC) {
+			throw new IOException("Not a class file.");
+		}
+		dataInputStream.readInt(); // minor and major version
+
+		final int count = dataInputStream.readUnsignedShort();
+		final int[] tags = new int[count];
+		final String[] utf8 = new String[count];
+		final int[] references = new int[count];
+		for (int index = 1; index < count; index += 1) {
+			final int tag = dataInputStream.readUnsignedByte();
+			tags[index] = tag;
+			if (tag == CONSTANT_UTF8) {
+				utf8[index] = dataInputStream.readUTF();
+			} else if (STRING_REFERENCE_CONSTANTS.contains(tag)) {
+				references[index] = dataInputStream.readUnsignedShort();
+			} else if (tag < CONSTANT_SIZES.length && CONSTANT_SIZES[tag] > 0) {
+				dataInputStream.readFully(new byte[CONSTANT_SIZES[tag]]);
+				if (WIDE_CONSTANTS.contains(tag)) {
+					index += 1;
+				}
+			} else {
+				throw new IOException(Strings.format("Unknown constant pool tag %d.", tag));
+			}
+		}
+		return new ConstantPool(tags, utf8, references);
+	}
+
+	/**
+	 * Adds the class names inside a type descriptor or signature to {@code names}.
+	 *
+	 * @param names      the names to add to
+	 * @param descriptor the type descriptor or signature
+	 */
+	private static void addDescriptorClassNames(final Set<String> names, final String descriptor) {
+		final Matcher matcher = DESCRIPTOR_CLASS_NAME_PATTERN.matcher(descriptor);
+		while (matcher.find()) {
+			names.add(matcher.group("name"));
+		}
+	}
+
+	/**
+	 * Tags by index
+	 */
+	int[] tags;
+
+	/**
+	 * UTF-8 strings by index
+	 */
+	String[] utf8;
+
+	/**
+	 * Indexes of referenced UTF-8 strings by index
+	 */
+	int[] references;
+
+	/**
+	 * Returns the UTF-8 string at {@code index}.
+	 *
+	 * @param index the constant pool index
+	 * @return the UTF-8 string or empty if there is none at {@code index}
+	 */
+	public Optional<String> getUtf8(final int index) {
+		return index > 0 && index < utf8.length ? Optional.ofNullable(utf8[index]) : Optional.empty();
+	}
+
+	/**
+	 * Returns the name of the module constant at {@code index}.
+	 *
+	 * @param index the constant pool index
+	 * @return the module name or empty if there is no module at {@code index}
+	 */
+	public Optional<String> getModuleName(final int index) {
+		return index > 0 && index < tags.length && tags[index] == CONSTANT_MODULE
+				? getUtf8(references[index])
+				: Optional.empty();
+	}
+
+	/**
+	 * Collects the internal names of all classes the class file refers to:
+	 * referenced classes, classes inside type descriptors and signatures and string
+	 * literals looking like class names, e.g. for {@link Class#forName}.
+	 *
+	 * @return internal class names
+	 */
+	public Set<String> getReferencedClassNames() {
+		final Set<String> names = new LinkedHashSet<>();
+		for (int index = 1; index < tags.length; index += 1) {
+			if (tags[index] == CONSTANT_CLASS) {
+				// array classes are covered by their descriptor
+				getUtf8(references[index]).filter(name -> !name.startsWith("[")).ifPresent(names::add);
+			} else if (tags[index] == CONSTANT_STRING) {
+				getUtf8(references[index]).filter(value -> BINARY_CLASS_NAME_PATTERN.matcher(value).matches())
+						.ifPresent(value -> names.add(value.replace('.', '/')));
+			} else if (tags[index] == CONSTANT_UTF8) {
+				addDescriptorClassNames(names, utf8[index]);
+			}
+		}
+		return names;
+	}
+}
@@ -0,0 +1,220 @@
+package de.larssh.maven.jarrunner;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
+
+import de.larssh.utils.text.SplitLimit;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Memory and CPUs available to processes of the current container or machine.
+ *
+ * <p>
+ * Limits are read from the cgroup file system (v2 or v1) as mounted inside
+ * containers. Without limits, the physical memory and available processors are
+ * used.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ContainerLimits {
+	/**
+	 * Memory limit of cgroup v2
+	 */
+	private static final Path CGROUP_V2_MEMORY_MAX = Paths.get("/sys/fs/cgroup/memory.max");
+
+	/**
+	 * CPU quota and period of cgroup v2
+	 */
+	private static final Path CGROUP_V2_CPU_MAX = Paths.get("/sys/fs/cgroup/cpu.max");
+
+	/**
+	 * Memory limit of cgroup v1
+	 */
+	private static final Path CGROUP_V1_MEMORY_LIMIT = Paths.get("/sys/fs/cgroup/memory/memory.limit_in_bytes");
+
+	/**
+	 * CPU quota of cgroup v1
+	 */
+	private static final Path CGROUP_V1_CPU_QUOTA = Paths.get("/sys/fs/cgroup/cpu/cpu.cfs_quota_us");
+
+	/**
+	 * CPU period of cgroup v1
+	 */
+	private static final Path CGROUP_V1_CPU_PERIOD = Paths.get("/sys/fs/cgroup/cpu/cpu.cfs_period_us");
+
+	/**
+	 * Value of cgroup v2 files without limit
+	 */
+	private static final String CGROUP_V2_UNLIMITED = "max";
+
+	/**
+	 * Reads the limits of the current container or machine.
+	 *
+	 * @return the limits
+	 * @throws IOException if reading the cgroup file system failed
+	 */
+	public static ContainerLimits read() throws IOException {
+		final long physicalMemory = getPhysicalMemory();
+		final OptionalLong memoryLimit = getMemoryLimit();
+		final long memory = memoryLimit.isPresent() && memoryLimit.getAsLong() < physicalMemory
+				? memoryLimit.getAsLong()
+				: physicalMemory;
+
+		final int availableProcessors = Runtime.getRuntime().availableProcessors();
+		final OptionalDouble cpuLimit = getCpuLimit();
+		final int processors = cpuLimit.isPresent()
+				? Math.max(1, Math.min(availableProcessors, (int) Math.ceil(cpuLimit.getAsDouble())))
+				: availableProcessors;
+
+		return new ContainerLimits(memory, processors);
+	}
+
+	/**
+	 * Determines the memory the Maven JVM may use, which is its maximum heap plus
+	 * its current non-heap memory.
+	 *
+	 * @return memory of the Maven JVM in bytes
+	 */
+	public static long getMavenFootprint() {
+		final Runtime runtime = Runtime.getRuntime();
+		final long heap = runtime.maxMemory() == Long.MAX_VALUE ? runtime.totalMemory() : runtime.maxMemory();
+		return heap + ManagementFactory.getMemoryMXBean().getNonHeapMemoryUsage().getCommitted();
+	}
+
+	/**
+	 * Determines the physical memory of the machine.
+	 *
+	 * @return physical memory in bytes or {@link Long#MAX_VALUE} if unknown
+	 */
+	@SuppressWarnings("deprecation")
+	private static long getPhysicalMemory() {
+		final OperatingSystemMXBean bean = ManagementFactory.getOperatingSystemMXBean();
+		return bean instanceof com.sun.management.OperatingSystemMXBean
+				? ((com.sun.management.OperatingSystemMXBean) bean).getTotalPhysicalMemorySize()
+				: Long.MAX_VALUE;
+	}
+
+	/**
+	 * Reads the memory limit of cgroup v2 or v1.
+	 *
+	 * @return memory limit in bytes or empty if not limited
+	 * @throws IOException if reading the cgroup file system failed
+	 */
+	private static OptionalLong getMemoryLimit() throws IOException {
+		return readFirst(CGROUP_V2_MEMORY_MAX, CGROUP_V1_MEMORY_LIMIT).map(ContainerLimits::parseMemoryLimit)
+				.orElseGet(OptionalLong::empty);
+	}
+
+	/**
+	 * Parses the memory limit of cgroup v2 or v1.
+	 *
+	 * @param limit the content of the memory limit file
+	 * @return memory limit in bytes or empty if not limited
+	 */
+	static OptionalLong parseMemoryLimit(final String limit) {
+		return CGROUP_V2_UNLIMITED.equals(limit) ? OptionalLong.empty() : OptionalLong.of(Long.parseLong(limit));
+	}
+
+	/**
+	 * Reads the CPU limit of cgroup v2 or v1 as quota divided by period.
+	 *
+	 * @return number of CPUs or empty if not limited
+	 * @throws IOException if reading the cgroup file system failed
+	 */
+	private static OptionalDouble getCpuLimit() throws IOException {
+		final Optional<String> cpuMax = readFile(CGROUP_V2_CPU_MAX);
+		if (cpuMax.isPresent()) {
+			return parseCpuMax(cpuMax.get());
+		}
+
+		final Optional<String> quota = readFile(CGROUP_V1_CPU_QUOTA);
+		final Optional<String> period = readFile(CGROUP_V1_CPU_PERIOD);
+		return quota.isPresent() && period.isPresent()
+				? parseCpuQuota(quota.get(), period.get())
+				: OptionalDouble.empty();
+	}
+
+	/**
+	 * Parses the CPU limit of cgroup v2, formatted as quota and period separated by
+	 * whitespace.
+	 *
+	 * @param cpuMax the content of the CPU limit file
+	 * @return number of CPUs or empty if not limited
+	 */
+	static OptionalDouble parseCpuMax(final String cpuMax) {
+		final String[] values = cpuMax.trim().split("\\s+", SplitLimit.NO_LIMIT);
+		return values.length != 2 || CGROUP_V2_UNLIMITED.equals(values[0])
+				? OptionalDouble.empty()
+				: parseCpuQuota(values[0], values[1]);
+	}
+
+	/**
+	 * Parses the CPU limit of cgroup v1 as quota divided by period.
+	 *
+	 * @param quota  the CPU quota, which is negative if not limited
+	 * @param period the CPU period
+	 * @return number of CPUs or empty if not limited
+	 */
+	static OptionalDouble parseCpuQuota(final String quota, final String period) {
+		final long quotaValue = Long.parseLong(quota.trim());
+		final long periodValue = Long.parseLong(period.trim());
+		return quotaValue <= 0 || periodValue <= 0
+				? OptionalDouble.empty()
+				: OptionalDouble.of((double) quotaValue / periodValue);
+	}
+
+	/**
+	 * Reads the trimmed content of the first existing file.
+	 *
+	 * @param files the files to try
+	 * @return the content of the first existing file or empty if none exists
+	 * @throws IOException if reading failed
+	 */
+	private static Optional<String> readFirst(final Path... files) throws IOException {
+		for (final Path file : files) {
+			final Optional<String> content = readFile(file);
+			if (content.isPresent()) {
+				return content;
+			}
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * Reads the trimmed content of {@code file}.
+	 *
+	 * @param file the file to read
+	 * @return the content or empty if {@code file} does not exist
+	 * @throws IOException if reading failed
+	 */
+	private static Optional<String> readFile(final Path file) throws IOException {
+		return Files.isRegularFile(file)
+				? Optional.of(new String(Files.readAllBytes(file), UTF_8).trim())
+				: Optional.empty();
+	}
+
+	/**
+	 * Memory available to the container or machine
+	 *
+	 * @return memory in bytes
+	 */
+	long memory;
+
+	/**
+	 * CPUs available to the container or machine
+	 *
+	 * @return number of CPUs
+	 */
+	int processors;
+}
@@ -0,0 +1,135 @@
+package de.larssh.maven.jarrunner;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.SessionData;
+import org.eclipse.aether.resolution.DependencyResolutionException;
+import org.eclipse.aether.resolution.DependencyResult;
+
+import de.larssh.utils.Nullables;
+import de.larssh.utils.SneakyException;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * In-memory cache of {@link DependencyResult} objects, scoped to a single
+ * {@link RepositorySystemSession} and therefore to a single Maven session.
+ *
+ * <p>
+ * Concurrent requests for the same {@link ResolutionKey} are de-duplicated: the
+ * first caller resolves, while all others wait for its result.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class DependencyResultCache {
+	/**
+	 * Key of the cache inside the repository system sessions data
+	 */
+	private static final Object SESSION_DATA_KEY = DependencyResultCache.class.getName();
+
+	/**
+	 * Returns the cache of {@code repositorySystemSession}, creating it if
+	 * necessary.
+	 *
+	 * <p>
+	 * The cache is stored inside the sessions {@link SessionData}. Its
+	 * compare-and-set semantic is used to stay compatible with older Maven
+	 * versions.
+	 *
+	 * @param repositorySystemSession Aether Repository System Session
+	 * @return the sessions cache
+	 */
+	@SuppressWarnings("unchecked")
+	public static DependencyResultCache forSession(final RepositorySystemSession repositorySystemSession) {
+		final SessionData sessionData = repositorySystemSession.getData();
+		Object results = sessionData.get(SESSION_DATA_KEY);
+		if (results == null) {
+			sessionData.set(SESSION_DATA_KEY, null, new ConcurrentHashMap<>());
+			results = sessionData.get(SESSION_DATA_KEY);
+		}
+		return new DependencyResultCache((ConcurrentMap<ResolutionKey, CompletableFuture<DependencyResult>>) results);
+	}
+
+	/**
+	 * Waits for {@code future} to complete, unwrapping the exception of a failed
+	 * resolution.
+	 *
+	 * @param future the future to wait for
+	 * @return the dependency result
+	 * @throws DependencyResolutionException if resolving dependencies failed
+	 */
+	@SuppressWarnings({ "PMD.DoNotUseThreads", "PMD.PreserveStackTrace" })
+	@SuppressFBWarnings(value = { "EXS_EXCEPTION_SOFTENING_NO_CONSTRAINTS", "LEST_LOST_EXCEPTION_STACK_TRACE" },
+			justification = "rethrowing the original exception of the resolving thread")
+	private static DependencyResult join(final Future<DependencyResult> future) throws DependencyResolutionException {
+		try {
+			return Nullables.orElseThrow(future.get());
+		} catch (final ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof DependencyResolutionException) {
+				throw (DependencyResolutionException) cause;
+			}
+			throw new SneakyException(cause);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SneakyException(e);
+		}
+	}
+
+	/**
+	 * Resolved and currently resolving dependencies
+	 */
+	ConcurrentMap<ResolutionKey, CompletableFuture<DependencyResult>> results;
+
+	/**
+	 * Returns the dependency result for {@code key}. If it was not resolved before
+	 * inside the current session, {@code resolver} is called.
+	 *
+	 * <p>
+	 * Failed resolutions are not cached, so that later calls retry. Concurrent
+	 * callers waiting for a failed resolution receive its exception, including
+	 * errors.
+	 *
+	 * @param key      the resolution key
+	 * @param resolver the resolver to call if the result is not cached yet
+	 * @return the dependency result
+	 * @throws DependencyResolutionException if resolving dependencies failed
+	 */
+	@SuppressWarnings({ "checkstyle:IllegalCatch", "PMD.AvoidCatchingGenericException", "PMD.AvoidCatchingThrowable" })
+	public DependencyResult get(final ResolutionKey key, final Resolver resolver) throws DependencyResolutionException {
+		final CompletableFuture<DependencyResult> future = new CompletableFuture<>();
+		final CompletableFuture<DependencyResult> existingFuture = results.putIfAbsent(key, future);
+		if (existingFuture != null) {
+			return join(existingFuture);
+		}
+
+		try {
+			final DependencyResult dependencyResult = resolver.resolve();
+			future.complete(dependencyResult);
+			return dependencyResult;
+		} catch (final Throwable e) {
+			results.remove(key, future);
+			future.completeExceptionally(e);
+			throw e;
+		}
+	}
+
+	/**
+	 * Resolves dependencies in case they are not cached, yet.
+	 */
+	@FunctionalInterface
+	public interface Resolver {
+		/**
+		 * Resolves dependencies.
+		 *
+		 * @return the resolved dependencies
+		 * @throws DependencyResolutionException if resolving dependencies failed
+		 */
+		DependencyResult resolve() throws DependencyResolutionException;
+	}
+}
@@ -1,5 +1,6 @@
 package de.larssh.maven.jarrunner;
 
+import de.larssh.utils.text.Strings;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
@@ -62,6 +63,25 @@ public enum DependencyScope {
 	 */
 	IMPORT("import");
 
+	/**
+	 * Determines the dependency scope by its value inside POMs, ignoring case.
+	 * {@link #IMPORT} is no scope of dependencies and therefore not accepted.
+	 *
+	 * @param value the scopes value
+	 * @return the dependency scope
+	 * @throws IllegalArgumentException if {@code value} is unknown
+	 */
+	public static DependencyScope fromValue(final String value) {
+		for (final DependencyScope dependencyScope : values()) {
+			if (dependencyScope != IMPORT && Strings.equalsIgnoreCaseAscii(dependencyScope.getValue(), value)) {
+				return dependencyScope;
+			}
+		}
+		throw new IllegalArgumentException(Strings.format(
+				"Unknown dependency scope given. Allowed values: \"compile\", \"provided\", \"runtime\", \"test\" or \"system\". Given: \"%s\"",
+				value));
+	}
+
 	/**
 	 * Value inside POM
 	 *
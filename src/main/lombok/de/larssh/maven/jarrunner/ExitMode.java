@@ -0,0 +1,83 @@
+package de.larssh.maven.jarrunner;
+
+import java.util.function.BooleanSupplier;
+
+import de.larssh.utils.text.Strings;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Handling of non-zero exit values of synchronously launched applications.
+ */
+@RequiredArgsConstructor
+public enum ExitMode {
+	/**
+	 * Behaves like {@link #FAIL} when running inside a Maven Daemon (mvnd) and like
+	 * {@link #EXIT} else.
+	 */
+	AUTO(() -> !isMavenDaemon()),
+
+	/**
+	 * Terminates the Maven JVM, passing the applications exit value.
+	 *
+	 * <p>
+	 * This allows calling scripts to check for the applications exit value, though
+	 * it tears down long-lived JVMs as used by the Maven Daemon (mvnd).
+	 */
+	EXIT(() -> true),
+
+	/**
+	 * Fails the Maven execution, mentioning the applications exit value inside the
+	 * error message. The Maven JVM keeps running.
+	 */
+	FAIL(() -> false);
+
+	/**
+	 * System property, which is set inside Maven Daemon (mvnd) processes
+	 */
+	private static final String MAVEN_DAEMON_PROPERTY = "mvnd.home";
+
+	/**
+	 * Determines the exit mode by its name, ignoring case.
+	 *
+	 * @param name the exit modes name or {@code null}
+	 * @return the exit mode or {@link #AUTO} if {@code name} is blank
+	 * @throws IllegalArgumentException if {@code name} is unknown
+	 */
+	public static ExitMode fromName(@Nullable final String name) {
+		if (Strings.isBlank(name)) {
+			return AUTO;
+		}
+		for (final ExitMode exitMode : values()) {
+			if (Strings.equalsIgnoreCaseAscii(exitMode.name(), name)) {
+				return exitMode;
+			}
+		}
+		throw new IllegalArgumentException(
+				Strings.format("Unknown exit mode given. Allowed values: \"auto\", \"exit\" or \"fail\". Given: \"%s\"",
+						name));
+	}
+
+	/**
+	 * Checks if the current JVM is a Maven Daemon (mvnd) process.
+	 *
+	 * @return {@code true} if running inside a Maven Daemon
+	 */
+	private static boolean isMavenDaemon() {
+		return System.getProperty(MAVEN_DAEMON_PROPERTY) != null;
+	}
+
+	/**
+	 * Supplier checking if the Maven JVM shall be terminated
+	 */
+	BooleanSupplier terminatingVm;
+
+	/**
+	 * Checks if the Maven JVM shall be terminated in case of non-zero exit values
+	 *
+	 * @return {@code true} if the Maven JVM shall be terminated
+	 */
+	public boolean isTerminatingVm() {
+		return terminatingVm.getAsBoolean();
+	}
+}
@@ -0,0 +1,159 @@
+package de.larssh.maven.jarrunner;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Bounded in-memory memo of values read from or derived from files, kept as
+ * long as the Maven JVM runs.
+ *
+ * <p>
+ * Long-lived JVMs, such as the Maven Daemon (mvnd), keep the classes of this
+ * plugin loaded across builds, so that values are read or derived only once. A
+ * value is returned only as long as its file keeps the size and modification
+ * time it had when the value was memoized. The least recently used values are
+ * dropped as soon as more than {@link #getMaximumSize()} values are memoized.
+ *
+ * <p>
+ * This class is thread safe.
+ *
+ * @param <V> type of the memoized values
+ */
+@Getter
+@RequiredArgsConstructor
+public final class FileMemo<V> {
+	/**
+	 * Initial capacity of the map of values
+	 */
+	private static final int INITIAL_CAPACITY = 16;
+
+	/**
+	 * Load factor of the map of values
+	 */
+	private static final float LOAD_FACTOR = 0.75f;
+
+	/**
+	 * Reads the attributes of {@code file}.
+	 *
+	 * @param file the file
+	 * @return the attributes or empty if {@code file} is no regular file or its
+	 *         attributes cannot be read
+	 */
+	private static Optional<BasicFileAttributes> readAttributes(final Path file) {
+		try {
+			final BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+			return attributes.isRegularFile() ? Optional.of(attributes) : Optional.empty();
+		} catch (@SuppressWarnings("unused") final IOException e) {
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * Maximum number of memoized values
+	 *
+	 * @return maximum number of memoized values
+	 */
+	int maximumSize;
+
+	/**
+	 * Memoized values by absolute file path in order of their last access, guarded
+	 * by itself
+	 */
+	@Getter(AccessLevel.NONE)
+	Map<Path, Value<V>> values = new LinkedHashMap<>(INITIAL_CAPACITY, LOAD_FACTOR, true);
+
+	/**
+	 * Returns the value memoized for {@code file}, as long as {@code file} is
+	 * unchanged since.
+	 *
+	 * @param file the file
+	 * @return the memoized value or empty if no value is memoized or {@code file}
+	 *         changed
+	 */
+	public Optional<V> get(final Path file) {
+		final Path absoluteFile = file.toAbsolutePath();
+		final Value<V> value;
+		synchronized (values) {
+			value = values.get(absoluteFile);
+		}
+		if (value == null) {
+			return Optional.empty();
+		}
+
+		final Optional<BasicFileAttributes> attributes = readAttributes(absoluteFile);
+		if (attributes.isPresent()
+				&& attributes.get().size() == value.getSize()
+				&& attributes.get().lastModifiedTime().toMillis() == value.getLastModified()) {
+			return Optional.of(value.getValue());
+		}
+		synchronized (values) {
+			values.remove(absoluteFile, value);
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * Memoizes {@code value} for the current state of {@code file}. Nothing is
+	 * memoized if {@code file} is no regular file.
+	 *
+	 * @param file  the file
+	 * @param value the value
+	 */
+	public void put(final Path file, final V value) {
+		final Path absoluteFile = file.toAbsolutePath();
+		final Optional<BasicFileAttributes> attributes = readAttributes(absoluteFile);
+		if (!attributes.isPresent()) {
+			return;
+		}
+
+		synchronized (values) {
+			values.put(absoluteFile,
+					new Value<>(attributes.get().size(), attributes.get().lastModifiedTime().toMillis(), value));
+			final Iterator<Path> eldest = values.keySet().iterator();
+			while (values.size() > getMaximumSize()) {
+				eldest.next();
+				eldest.remove();
+			}
+		}
+	}
+
+	/**
+	 * Memoized value including the state of its file
+	 *
+	 * @param <V> type of the memoized value
+	 */
+	@Getter
+	@RequiredArgsConstructor
+	private static final class Value<V> {
+		/**
+		 * Size of the file
+		 *
+		 * @return size of the file
+		 */
+		long size;
+
+		/**
+		 * Modification time of the file in milliseconds
+		 *
+		 * @return modification time of the file in milliseconds
+		 */
+		long lastModified;
+
+		/**
+		 * The memoized value
+		 *
+		 * @return the memoized value
+		 */
+		V value;
+	}
+}
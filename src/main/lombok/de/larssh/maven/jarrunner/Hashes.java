@@ -0,0 +1,102 @@
+package de.larssh.maven.jarrunner;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import de.larssh.utils.SneakyException;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+/**
+ * Hash functions used to create stable keys for cached files and to verify file
+ * contents.
+ */
+public final class Hashes {
+	/**
+	 * Algorithm used for hashing
+	 */
+	private static final String ALGORITHM = "SHA-256";
+
+	/**
+	 * Format of a single byte as hexadecimal string
+	 */
+	private static final String HEX_FORMAT = "%02x";
+
+	/**
+	 * Size of the byte buffer used to hash files
+	 */
+	private static final int BUFFER_SIZE = 8192;
+
+	/**
+	 * Calculates the SHA-256 hash of {@code value} and formats it as lower case
+	 * hexadecimal string.
+	 *
+	 * @param value the value to hash
+	 * @return the hexadecimal hash string
+	 */
+	public static String sha256(final String value) {
+		return toHexString(newMessageDigest().digest(value.getBytes(UTF_8)));
+	}
+
+	/**
+	 * Calculates the SHA-256 hash of the content of {@code file} and formats it as
+	 * lower case hexadecimal string.
+	 *
+	 * @param file the file to hash
+	 * @return the hexadecimal hash string
+	 * @throws IOException if reading {@code file} failed
+	 */
+	public static String sha256(final Path file) throws IOException {
+		final MessageDigest messageDigest = newMessageDigest();
+		try (InputStream inputStream = Files.newInputStream(file)) {
+			final byte[] buffer = new byte[BUFFER_SIZE];
+			int length = inputStream.read(buffer);
+			while (length != -1) {
+				messageDigest.update(buffer, 0, length);
+				length = inputStream.read(buffer);
+			}
+		}
+		return toHexString(messageDigest.digest());
+	}
+
+	/**
+	 * Creates a new SHA-256 {@link MessageDigest}.
+	 *
+	 * @return new message digest
+	 */
+	@SuppressFBWarnings(value = "EXS_EXCEPTION_SOFTENING_NO_CONSTRAINTS",
+			justification = "converting checked to unchecked exceptions that must not be thrown")
+	public static MessageDigest newMessageDigest() {
+		try {
+			return MessageDigest.getInstance(ALGORITHM);
+		} catch (final NoSuchAlgorithmException e) {
+			throw new SneakyException(e);
+		}
+	}
+
+	/**
+	 * Formats {@code bytes} as lower case hexadecimal string.
+	 *
+	 * @param bytes the bytes to format
+	 * @return the hexadecimal string
+	 */
+	private static String toHexString(final byte[] bytes) {
+		final StringBuilder builder = new StringBuilder(bytes.length * 2);
+		for (final byte value : bytes) {
+			builder.append(String.format(HEX_FORMAT, value));
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * Utility class
+	 */
+	private Hashes() {
+		// utility class
+	}
+}
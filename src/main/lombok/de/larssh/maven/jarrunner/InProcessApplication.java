@@ -0,0 +1,695 @@
+package de.larssh.maven.jarrunner;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import org.apache.maven.plugin.MojoFailureException;
+
+import de.larssh.utils.SneakyException;
+import de.larssh.utils.text.Strings;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Runs an application inside the Maven JVM instead of launching a new JVM.
+ *
+ * <p>
+ * The application is loaded by an isolated class loader, which does not see any
+ * of Mavens classes, and its main method is invoked on a dedicated thread.
+ * Standard streams are shared with Maven, similar to the inherited streams of
+ * launched JVMs, unless they are redirected from or to files. Redirected
+ * streams apply to the threads of the application only.
+ *
+ * <p>
+ * The class loader and redirected streams are closed as soon as all threads of
+ * the application stopped, which might be later than {@link #run(Runnable)}
+ * returns.
+ *
+ * <p>
+ * Calls to {@link System#exit(int)} by the application cannot be trapped
+ * in-process, as trapping them would require a security manager, which is not
+ * supported by current Java versions. Such calls stop the Maven JVM.
+ * Applications calling {@link System#exit(int)} need to run inside a launched
+ * or worker JVM instead.
+ */
+@Getter
+@RequiredArgsConstructor
+@SuppressWarnings({ "PMD.AvoidThreadGroup", "PMD.DoNotUseThreads" })
+public final class InProcessApplication {
+	/**
+	 * Exit status of applications that stopped because of an uncaught exception
+	 */
+	private static final int EXIT_STATUS_UNCAUGHT_EXCEPTION = 1;
+
+	/**
+	 * Name of the main method
+	 */
+	private static final String MAIN_METHOD_NAME = "main";
+
+	/**
+	 * Prefix of the name of threads closing the resources of applications, which
+	 * stopped
+	 */
+	private static final String CLOSING_THREAD_NAME_PREFIX = "close ";
+
+	/**
+	 * Number of in-process applications with redirected streams running at the
+	 * moment, used to install the redirecting standard streams only once
+	 */
+	private static final AtomicInteger REDIRECTING_APPLICATIONS = new AtomicInteger(0);
+
+	/**
+	 * Lock guarding installing and uninstalling the redirecting standard streams
+	 */
+	private static final Lock STREAMS_LOCK = new ReentrantLock();
+
+	/**
+	 * Replaces the standard streams by streams redirecting the threads of
+	 * in-process applications to their redirected streams, if not replaced yet.
+	 */
+	@SuppressFBWarnings(value = "MDM_WAIT_WITHOUT_TIMEOUT", justification = "the lock is held for a short time only")
+	private static void installStreams() {
+		STREAMS_LOCK.lock();
+		try {
+			if (REDIRECTING_APPLICATIONS.getAndIncrement() == 0) {
+				System.setIn(new RedirectingInputStream(System.in));
+				System.setOut(new RedirectingPrintStream(System.out, ApplicationStreams::getOutput));
+				System.setErr(new RedirectingPrintStream(System.err, ApplicationStreams::getError));
+			}
+		} finally {
+			STREAMS_LOCK.unlock();
+		}
+	}
+
+	/**
+	 * Restores the original standard streams after the last in-process application
+	 * with redirected streams stopped.
+	 */
+	@SuppressFBWarnings(value = "MDM_WAIT_WITHOUT_TIMEOUT", justification = "the lock is held for a short time only")
+	private static void uninstallStreams() {
+		STREAMS_LOCK.lock();
+		try {
+			if (REDIRECTING_APPLICATIONS.decrementAndGet() == 0) {
+				if (System.in instanceof RedirectingInputStream) {
+					System.setIn(((RedirectingInputStream) System.in).getOriginal());
+				}
+				if (System.out instanceof RedirectingPrintStream) {
+					System.setOut(((RedirectingPrintStream) System.out).getOriginal());
+				}
+				if (System.err instanceof RedirectingPrintStream) {
+					System.setErr(((RedirectingPrintStream) System.err).getOriginal());
+				}
+			}
+		} finally {
+			STREAMS_LOCK.unlock();
+		}
+	}
+
+	/**
+	 * Closes the resources of {@code threadGroup} as soon as all of its threads
+	 * stopped. Threads still running, such as daemon threads, are waited for in the
+	 * background, as they might still load classes or write to redirected streams.
+	 *
+	 * @param threadGroup the applications thread group
+	 * @throws IOException if closing the resources failed
+	 */
+	@SuppressFBWarnings(value = "EXS_EXCEPTION_SOFTENING_NO_CONSTRAINTS",
+			justification = "closing in the background cannot report failures")
+	private static void closeWhenStopped(final ApplicationThreadGroup threadGroup) throws IOException {
+		if (!threadGroup.findAliveThread(true).isPresent()) {
+			threadGroup.close();
+			return;
+		}
+
+		final Thread thread = new Thread(() -> {
+			if (threadGroup.awaitStopped()) {
+				try {
+					threadGroup.close();
+				} catch (@SuppressWarnings("unused") final IOException e) {
+					// nothing to report to in the background
+				}
+			}
+		}, CLOSING_THREAD_NAME_PREFIX + threadGroup.getName());
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Class path files of the application
+	 *
+	 * @return class path files
+	 */
+	List<Path> classPath;
+
+	/**
+	 * Main class to execute
+	 *
+	 * @return main class to execute
+	 */
+	String mainClass;
+
+	/**
+	 * List of arguments for the application
+	 *
+	 * @return list of arguments
+	 */
+	List<String> arguments;
+
+	/**
+	 * File to redirect the applications input stream from
+	 *
+	 * @return input file or empty to share the input stream with Maven
+	 */
+	Optional<Path> inputFile;
+
+	/**
+	 * File to append the applications output stream to
+	 *
+	 * @return output file or empty to share the output stream with Maven
+	 */
+	Optional<Path> outputFile;
+
+	/**
+	 * File to append the applications error stream to. The output stream and error
+	 * stream are merged if equal to {@link #getOutputFile()}.
+	 *
+	 * @return error file or empty to share the error stream with Maven
+	 */
+	Optional<Path> errorFile;
+
+	/**
+	 * Runs the application and waits for it to stop.
+	 *
+	 * <p>
+	 * Just like a launched JVM, the application is considered stopped after all of
+	 * its non-daemon threads stopped.
+	 *
+	 * @return exit value of the application (By convention, the value 0 indicates
+	 *         normal termination.)
+	 * @throws IOException          if any IO failure occurred
+	 * @throws MojoFailureException if the main class or its main method could not
+	 *                              be loaded
+	 */
+	@SuppressFBWarnings(value = "DP_CREATE_CLASSLOADER_INSIDE_DO_PRIVILEGED",
+			justification = "no security manager is expected while creating the class loader")
+	public int run() throws IOException, MojoFailureException {
+		final URL[] urls = new URL[classPath.size()];
+		for (int index = 0; index < urls.length; index += 1) {
+			urls[index] = classPath.get(index).toUri().toURL();
+		}
+
+		// The parent of the system class loader is the extension class loader (Java 8)
+		// or the platform class loader (Java 9 and later).
+		final ApplicationStreams streams = ApplicationStreams.open(inputFile, outputFile, errorFile);
+		final ApplicationThreadGroup threadGroup = new ApplicationThreadGroup(mainClass,
+				new URLClassLoader(urls, ClassLoader.getSystemClassLoader().getParent()),
+				streams);
+		if (streams.isRedirecting()) {
+			installStreams();
+		}
+		try {
+			final Method mainMethod = getMainMethod(threadGroup.getClassLoader());
+			final Thread thread = new Thread(threadGroup, () -> invoke(mainMethod), MAIN_METHOD_NAME);
+			thread.setContextClassLoader(threadGroup.getClassLoader());
+
+			thread.start();
+			return threadGroup.waitFor(thread);
+		} finally {
+			closeWhenStopped(threadGroup);
+		}
+	}
+
+	/**
+	 * Loads the main method of {@link #getMainClass()} using {@code classLoader}.
+	 *
+	 * @param classLoader the application class loader
+	 * @return the main method
+	 * @throws MojoFailureException if the main class or its main method could not
+	 *                              be loaded
+	 */
+	@SuppressWarnings("PMD.AvoidAccessibilityAlteration")
+	@SuppressFBWarnings(
+			value = { "DP_DO_INSIDE_DO_PRIVILEGED", "EXS_EXCEPTION_SOFTENING_HAS_CHECKED", "RFI_SET_ACCESSIBLE" },
+			justification = "no security manager is expected while loading the main class, which does not need to be public")
+	private Method getMainMethod(final ClassLoader classLoader) throws MojoFailureException {
+		try {
+			final Method mainMethod
+					= Class.forName(mainClass, false, classLoader).getDeclaredMethod(MAIN_METHOD_NAME, String[].class);
+			if (!Modifier.isStatic(mainMethod.getModifiers()) || mainMethod.getReturnType() != void.class) {
+				throw new MojoFailureException(Strings.format(
+						"The main method of class %s needs to be declared as \"static void main(String[])\".",
+						mainClass));
+			}
+			mainMethod.setAccessible(true);
+			return mainMethod;
+		} catch (final ClassNotFoundException | LinkageError e) {
+			throw new MojoFailureException(Strings.format("Could not find or load main class %s.", mainClass), e);
+		} catch (final NoSuchMethodException e) {
+			throw new MojoFailureException(
+					Strings.format("Could not find a main method inside main class %s.", mainClass),
+					e);
+		}
+	}
+
+	/**
+	 * Invokes {@code mainMethod} with the applications arguments. Exceptions thrown
+	 * by the application are rethrown unwrapped, so that they are handled as
+	 * uncaught exceptions of the applications main thread.
+	 *
+	 * @param mainMethod the main method
+	 */
+	@SuppressFBWarnings(value = "EXS_EXCEPTION_SOFTENING_NO_CONSTRAINTS",
+			justification = "rethrowing exceptions of the application as uncaught exceptions")
+	private void invoke(final Method mainMethod) {
+		try {
+			mainMethod.invoke(null, (Object) arguments.toArray(new String[0]));
+		} catch (final IllegalAccessException e) {
+			throw new SneakyException(e);
+		} catch (final InvocationTargetException e) {
+			throw new SneakyException(e.getCause());
+		}
+	}
+
+	/**
+	 * Thread group of an in-process application, keeping track of its exit status
+	 * and the resources to close as soon as all of its threads stopped.
+	 */
+	@Getter
+	private static final class ApplicationThreadGroup extends ThreadGroup {
+		/**
+		 * {@code true} if the main thread stopped because of an uncaught exception
+		 */
+		@Getter(AccessLevel.NONE)
+		AtomicBoolean mainThreadFailed = new AtomicBoolean(false);
+
+		/**
+		 * Class loader of the application
+		 *
+		 * @return class loader of the application
+		 */
+		URLClassLoader classLoader;
+
+		/**
+		 * Redirected streams of the application
+		 *
+		 * @return redirected streams of the application
+		 */
+		ApplicationStreams streams;
+
+		/**
+		 * Constructs a new thread group for the application with main class
+		 * {@code mainClass}.
+		 *
+		 * @param mainClass   the main class
+		 * @param classLoader the applications class loader
+		 * @param streams     the applications redirected streams
+		 */
+		/* package */ ApplicationThreadGroup(final String mainClass,
+				final URLClassLoader classLoader,
+				final ApplicationStreams streams) {
+			super(mainClass);
+			this.classLoader = classLoader;
+			this.streams = streams;
+		}
+
+		/**
+		 * Finds the application thread group {@code thread} belongs to.
+		 *
+		 * @param thread the thread
+		 * @return the application thread group or empty if {@code thread} does not
+		 *         belong to an in-process application
+		 */
+		public static Optional<ApplicationThreadGroup> forThread(final Thread thread) {
+			@Nullable
+			ThreadGroup threadGroup = thread.getThreadGroup();
+			while (threadGroup != null) {
+				if (threadGroup instanceof ApplicationThreadGroup) {
+					return Optional.of((ApplicationThreadGroup) threadGroup);
+				}
+				threadGroup = threadGroup.getParent();
+			}
+			return Optional.empty();
+		}
+
+		/**
+		 * Waits for the main thread and all other non-daemon threads of this group to
+		 * stop.
+		 *
+		 * <p>
+		 * Instead of rethrowing an {@link InterruptedException} all threads of this
+		 * group are interrupted, before waiting for them to stop.
+		 *
+		 * @param mainThread the applications main thread
+		 * @return exit status of the application
+		 */
+		@SuppressWarnings("java:S2142")
+		public int waitFor(final Thread mainThread) {
+			Optional<Thread> thread = Optional.of(mainThread);
+			while (thread.isPresent()) {
+				try {
+					thread.get().join();
+				} catch (@SuppressWarnings("unused") final InterruptedException ignore) {
+					interrupt();
+				}
+				thread = mainThread.isAlive() ? Optional.of(mainThread) : findAliveThread(false);
+			}
+			return mainThreadFailed.get() ? EXIT_STATUS_UNCAUGHT_EXCEPTION : 0;
+		}
+
+		/**
+		 * Waits for all threads of this group to stop, including daemon threads.
+		 *
+		 * @return {@code true} if all threads stopped or {@code false} if waiting has
+		 *         been interrupted
+		 */
+		public boolean awaitStopped() {
+			Optional<Thread> thread = findAliveThread(true);
+			while (thread.isPresent()) {
+				try {
+					thread.get().join();
+				} catch (@SuppressWarnings("unused") final InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return false;
+				}
+				thread = findAliveThread(true);
+			}
+			return true;
+		}
+
+		/**
+		 * Finds any alive thread of this group.
+		 *
+		 * @param daemons {@code true} to find daemon threads, too
+		 * @return any alive thread or empty if there is none
+		 */
+		public Optional<Thread> findAliveThread(final boolean daemons) {
+			final Thread[] threads = new Thread[activeCount() + 1];
+			final int count = enumerate(threads);
+			for (int index = 0; index < count; index += 1) {
+				if (threads[index].isAlive() && (daemons || !threads[index].isDaemon())) {
+					return Optional.of(threads[index]);
+				}
+			}
+			return Optional.empty();
+		}
+
+		/**
+		 * Closes the redirected streams and the class loader of the application. This
+		 * method is expected to be called after all threads of this group stopped.
+		 *
+		 * @throws IOException if closing failed
+		 */
+		public void close() throws IOException {
+			try {
+				if (getStreams().isRedirecting()) {
+					uninstallStreams();
+				}
+				getStreams().close();
+			} finally {
+				getClassLoader().close();
+			}
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public void uncaughtException(@Nullable final Thread thread, @Nullable final Throwable throwable) {
+			if (thread != null && MAIN_METHOD_NAME.equals(thread.getName()) && equals(thread.getThreadGroup())) {
+				mainThreadFailed.set(true);
+			}
+			super.uncaughtException(thread, throwable);
+		}
+	}
+
+	/**
+	 * Redirected streams of an in-process application
+	 */
+	@Getter
+	@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+	private static final class ApplicationStreams {
+		/**
+		 * Opens the streams of the given files. The output and error stream are shared
+		 * if both files are equal.
+		 *
+		 * @param inputFile  the input file or empty
+		 * @param outputFile the output file or empty
+		 * @param errorFile  the error file or empty
+		 * @return the opened streams
+		 * @throws IOException if opening any stream failed
+		 */
+		@SuppressWarnings("PMD.CloseResource")
+		public static ApplicationStreams open(final Optional<Path> inputFile,
+				final Optional<Path> outputFile,
+				final Optional<Path> errorFile) throws IOException {
+			final Optional<InputStream> input = inputFile.isPresent()
+					? Optional.of(new BufferedInputStream(Files.newInputStream(inputFile.get())))
+					: Optional.empty();
+			try {
+				final Optional<OutputStream> output = openAppending(outputFile);
+				try {
+					final Optional<OutputStream> error
+							= errorFile.isPresent() && errorFile.equals(outputFile) ? output : openAppending(errorFile);
+					return new ApplicationStreams(input, output, error);
+				} catch (final IOException e) {
+					if (output.isPresent()) {
+						output.get().close();
+					}
+					throw e;
+				}
+			} catch (final IOException e) {
+				if (input.isPresent()) {
+					input.get().close();
+				}
+				throw e;
+			}
+		}
+
+		/**
+		 * Opens a stream appending to {@code file}, creating it if necessary.
+		 *
+		 * @param file the file or empty
+		 * @return the opened stream or empty if {@code file} is empty
+		 * @throws IOException if opening the stream failed
+		 */
+		private static Optional<OutputStream> openAppending(final Optional<Path> file) throws IOException {
+			if (!file.isPresent()) {
+				return Optional.empty();
+			}
+			return Optional.of(new BufferedOutputStream(
+					Files.newOutputStream(file.get(), StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+		}
+
+		/**
+		 * Input stream redirected from a file
+		 *
+		 * @return input stream or empty if not redirected
+		 */
+		Optional<InputStream> input;
+
+		/**
+		 * Output stream redirected to a file
+		 *
+		 * @return output stream or empty if not redirected
+		 */
+		Optional<OutputStream> output;
+
+		/**
+		 * Error stream redirected to a file
+		 *
+		 * @return error stream or empty if not redirected
+		 */
+		Optional<OutputStream> error;
+
+		/**
+		 * Determines if any stream is redirected.
+		 *
+		 * @return {@code true} if any stream is redirected
+		 */
+		public boolean isRedirecting() {
+			return input.isPresent() || output.isPresent() || error.isPresent();
+		}
+
+		/**
+		 * Closes all redirected streams.
+		 *
+		 * @throws IOException if closing any stream failed
+		 */
+		public void close() throws IOException {
+			try {
+				if (input.isPresent()) {
+					input.get().close();
+				}
+			} finally {
+				try {
+					if (output.isPresent()) {
+						output.get().close();
+					}
+				} finally {
+					if (error.isPresent() && !error.equals(output)) {
+						error.get().close();
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Standard input stream, which reads from the redirected input stream of the
+	 * current in-process application or from the original standard input stream
+	 * otherwise.
+	 */
+	@Getter
+	@RequiredArgsConstructor
+	private static final class RedirectingInputStream extends InputStream {
+		/**
+		 * The original standard input stream
+		 *
+		 * @return the original standard input stream
+		 */
+		InputStream original;
+
+		/**
+		 * Determines the input stream of the current thread.
+		 *
+		 * @return the input stream of the current thread
+		 */
+		private InputStream getInputStream() {
+			return ApplicationThreadGroup.forThread(Thread.currentThread())
+					.flatMap(threadGroup -> threadGroup.getStreams().getInput())
+					.orElse(original);
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public int read() throws IOException {
+			return getInputStream().read();
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public int read(@Nullable final byte[] buffer, final int offset, final int length) throws IOException {
+			return getInputStream().read(buffer, offset, length);
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public int available() throws IOException {
+			return getInputStream().available();
+		}
+
+		/**
+		 * Does not close any stream, as the redirected streams are closed as soon as
+		 * the application stopped.
+		 */
+		@Override
+		public void close() {
+			// nothing to close
+		}
+	}
+
+	/**
+	 * Standard output or error stream, which writes to the redirected stream of the
+	 * current in-process application or to the original stream otherwise.
+	 */
+	@Getter
+	private static final class RedirectingPrintStream extends PrintStream {
+		/**
+		 * The original standard stream
+		 *
+		 * @return the original standard stream
+		 */
+		PrintStream original;
+
+		/**
+		 * Constructs a new redirecting stream.
+		 *
+		 * @param original the original standard stream
+		 * @param selector selects the redirected stream of an application
+		 */
+		@SuppressFBWarnings(value = "DM_DEFAULT_ENCODING",
+				justification = "the original standard streams use the default encoding as well")
+		/* package */ RedirectingPrintStream(final PrintStream original,
+				final Function<ApplicationStreams, Optional<OutputStream>> selector) {
+			super(new RedirectingOutputStream(original, selector), true);
+			this.original = original;
+		}
+	}
+
+	/**
+	 * Output stream, which writes to the redirected stream of the current
+	 * in-process application or to the original stream otherwise.
+	 */
+	@RequiredArgsConstructor
+	private static final class RedirectingOutputStream extends OutputStream {
+		/**
+		 * The original stream
+		 */
+		OutputStream original;
+
+		/**
+		 * Selects the redirected stream of an application
+		 */
+		Function<ApplicationStreams, Optional<OutputStream>> selector;
+
+		/**
+		 * Determines the output stream of the current thread.
+		 *
+		 * @return the output stream of the current thread
+		 */
+		private OutputStream getOutputStream() {
+			return ApplicationThreadGroup.forThread(Thread.currentThread())
+					.flatMap(threadGroup -> selector.apply(threadGroup.getStreams()))
+					.orElse(original);
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public void write(final int value) throws IOException {
+			getOutputStream().write(value);
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public void write(@Nullable final byte[] buffer, final int offset, final int length) throws IOException {
+			getOutputStream().write(buffer, offset, length);
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public void flush() throws IOException {
+			getOutputStream().flush();
+		}
+
+		/**
+		 * Flushes instead of closing, as the redirected streams are closed as soon as
+		 * the application stopped.
+		 *
+		 * @throws IOException if flushing failed
+		 */
+		@Override
+		public void close() throws IOException {
+			flush();
+		}
+	}
+}
@@ -0,0 +1,426 @@
+package de.larssh.maven.jarrunner;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.jar.Attributes;
+import java.util.jar.Attributes.Name;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.regex.Pattern;
+
+import de.larssh.utils.Optionals;
+import de.larssh.utils.text.SplitLimit;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Launch related attributes of a JAR manifest and the name and required modules
+ * of the module the JAR contains, if any.
+ *
+ * <p>
+ * Manifests are read using {@link JarFile}, which looks up the manifest entry
+ * using the ZIP central directory instead of streaming through the JAR.
+ * {@link JarMetadataIndex} keeps read metadata, so that each JAR is read only
+ * once.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class JarMetadata {
+	/**
+	 * Manifest attribute naming an agent to start before the main class
+	 */
+	private static final Name LAUNCHER_AGENT_CLASS = new Name("Launcher-Agent-Class");
+
+	/**
+	 * Manifest attribute listing packages to open to unnamed modules
+	 */
+	private static final Name ADD_OPENS = new Name("Add-Opens");
+
+	/**
+	 * Manifest attribute listing packages to export to unnamed modules
+	 */
+	private static final Name ADD_EXPORTS = new Name("Add-Exports");
+
+	/**
+	 * Manifest attribute marking multi-release JARs
+	 */
+	private static final Name MULTI_RELEASE = new Name("Multi-Release");
+
+	/**
+	 * Manifest attribute naming the automatic module of non-modular JARs
+	 */
+	private static final Name AUTOMATIC_MODULE_NAME = new Name("Automatic-Module-Name");
+
+	/**
+	 * Name of the module descriptor entry
+	 */
+	private static final String MODULE_INFO_ENTRY = "module-info.class";
+
+	/**
+	 * Pattern matching module descriptor entries of multi-release JARs
+	 */
+	private static final Pattern VERSIONED_MODULE_INFO_ENTRY_PATTERN
+			= Pattern.compile("^META-INF/versions/\\d+/" + Pattern.quote(MODULE_INFO_ENTRY) + "$");
+
+	/**
+	 * Size of access flags, this class, super class, interfaces, fields and methods
+	 * of module descriptors in bytes, which contain no interfaces, fields and
+	 * methods
+	 */
+	private static final int MODULE_INFO_CLASS_SIZE = 12;
+
+	/**
+	 * Name of the class file attribute describing a module
+	 */
+	private static final String MODULE_ATTRIBUTE = "Module";
+
+	/**
+	 * Bit of the flag of module requirements needed at compile time only
+	 * ({@code ACC_STATIC_PHASE})
+	 */
+	private static final int STATIC_PHASE_BIT = 6;
+
+	/**
+	 * Pattern to split space separated manifest attribute values
+	 */
+	private static final Pattern SPACES_PATTERN = Pattern.compile("\\s+");
+
+	/**
+	 * Target of access granted to the class path
+	 */
+	private static final String ALL_UNNAMED = "ALL-UNNAMED";
+
+	/**
+	 * Property key of the main class
+	 */
+	private static final String KEY_MAIN_CLASS = "mainClass";
+
+	/**
+	 * Property key of the launcher agent class
+	 */
+	private static final String KEY_LAUNCHER_AGENT_CLASS = "launcherAgentClass";
+
+	/**
+	 * Property key of packages to open
+	 */
+	private static final String KEY_ADD_OPENS = "addOpens";
+
+	/**
+	 * Property key of packages to export
+	 */
+	private static final String KEY_ADD_EXPORTS = "addExports";
+
+	/**
+	 * Property key of the multi-release state
+	 */
+	private static final String KEY_MULTI_RELEASE = "multiRelease";
+
+	/**
+	 * Property key of class path URLs
+	 */
+	private static final String KEY_CLASS_PATH = "classPath";
+
+	/**
+	 * Property key of the module name
+	 */
+	private static final String KEY_MODULE_NAME = "moduleName";
+
+	/**
+	 * Property key of the required modules
+	 */
+	private static final String KEY_REQUIRED_MODULES = "requiredModules";
+
+	/**
+	 * Separator of list values inside properties
+	 */
+	private static final String LIST_SEPARATOR = " ";
+
+	/**
+	 * Restores metadata stored using {@link #toProperties()}.
+	 *
+	 * @param properties the stored properties
+	 * @return the metadata or empty if {@code properties} are incomplete
+	 */
+	public static Optional<JarMetadata> fromProperties(final Properties properties) {
+		final String multiRelease = properties.getProperty(KEY_MULTI_RELEASE);
+		final String requiredModules = properties.getProperty(KEY_REQUIRED_MODULES);
+		if (multiRelease == null || requiredModules == null) {
+			return Optional.empty();
+		}
+		return Optional.of(new JarMetadata(Optionals.ofNonBlank(properties.getProperty(KEY_MAIN_CLASS)),
+				Optionals.ofNonBlank(properties.getProperty(KEY_LAUNCHER_AGENT_CLASS)),
+				split(properties.getProperty(KEY_ADD_OPENS)),
+				split(properties.getProperty(KEY_ADD_EXPORTS)),
+				Boolean.parseBoolean(multiRelease),
+				split(properties.getProperty(KEY_CLASS_PATH)),
+				Optionals.ofNonBlank(properties.getProperty(KEY_MODULE_NAME)),
+				split(requiredModules)));
+	}
+
+	/**
+	 * Reads the metadata out of the manifest of {@code file}.
+	 *
+	 * @param file the JAR file
+	 * @return the JARs metadata
+	 * @throws IOException if any IO failure occurred
+	 */
+	public static JarMetadata read(final Path file) throws IOException {
+		try (JarFile jarFile = new JarFile(file.toFile(), false)) {
+			final Manifest manifest = jarFile.getManifest();
+			final Attributes attributes = manifest == null ? new Attributes() : manifest.getMainAttributes();
+			final boolean multiRelease = Boolean.parseBoolean(attributes.getValue(MULTI_RELEASE));
+			final Optional<JarEntry> moduleInfo = getModuleInfo(jarFile, multiRelease);
+			final Optional<ModuleInfo> module;
+			if (moduleInfo.isPresent()) {
+				try (InputStream inputStream = jarFile.getInputStream(moduleInfo.get())) {
+					module = readModuleInfo(inputStream);
+				}
+			} else {
+				module = Optional.empty();
+			}
+			return new JarMetadata(Optionals.ofNonBlank(attributes.getValue(Name.MAIN_CLASS)),
+					Optionals.ofNonBlank(attributes.getValue(LAUNCHER_AGENT_CLASS)),
+					split(attributes.getValue(ADD_OPENS)),
+					split(attributes.getValue(ADD_EXPORTS)),
+					multiRelease,
+					split(attributes.getValue(Name.CLASS_PATH)),
+					module.isPresent()
+							? module.map(ModuleInfo::getName)
+							: Optionals.ofNonBlank(attributes.getValue(AUTOMATIC_MODULE_NAME)),
+					module.map(ModuleInfo::getRequiredModules).orElse(emptyList()));
+		}
+	}
+
+	/**
+	 * Looks up the module descriptor of {@code jarFile}. Multi-release JARs might
+	 * contain module descriptors inside versioned directories only.
+	 *
+	 * @param jarFile      the JAR file
+	 * @param multiRelease {@code true} if {@code jarFile} is a multi-release JAR
+	 * @return the module descriptor entry or empty if {@code jarFile} is not
+	 *         modular
+	 */
+	private static Optional<JarEntry> getModuleInfo(final JarFile jarFile, final boolean multiRelease) {
+		final JarEntry moduleInfo = jarFile.getJarEntry(MODULE_INFO_ENTRY);
+		if (moduleInfo != null || !multiRelease) {
+			return Optional.ofNullable(moduleInfo);
+		}
+		return jarFile.stream()
+				.filter(entry -> VERSIONED_MODULE_INFO_ENTRY_PATTERN.matcher(entry.getName()).matches())
+				.findFirst();
+	}
+
+	/**
+	 * Reads the module name and the modules required at runtime out of a module
+	 * descriptor class file.
+	 *
+	 * @param inputStream the module descriptor class file
+	 * @return the module or empty if the class file contains no module
+	 * @throws IOException if the class file is malformed or any IO failure occurred
+	 */
+	static Optional<ModuleInfo> readModuleInfo(final InputStream inputStream) throws IOException {
+		final DataInputStream dataInputStream = new DataInputStream(inputStream);
+		final ConstantPool constantPool = ConstantPool.read(dataInputStream);
+
+		// Access flags, this class, super class, interfaces, fields and methods
+		dataInputStream.readFully(new byte[MODULE_INFO_CLASS_SIZE]);
+
+		// Attributes
+		final int attributesCount = dataInputStream.readUnsignedShort();
+		for (int attribute = 0; attribute < attributesCount; attribute += 1) {
+			final Optional<String> name = constantPool.getUtf8(dataInputStream.readUnsignedShort());
+			final int length = dataInputStream.readInt();
+			if (name.filter(MODULE_ATTRIBUTE::equals).isPresent()) {
+				return readModuleAttribute(dataInputStream, constantPool);
+			}
+			dataInputStream.readFully(new byte[length]);
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * Reads the name and the modules required at runtime out of the {@code Module}
+	 * attribute of a module descriptor. Modules required at compile time only are
+	 * skipped.
+	 *
+	 * @param dataInputStream the module descriptor positioned at the attributes
+	 *                        content
+	 * @param constantPool    the constant pool of the module descriptor
+	 * @return the module or empty if the attribute does not name a module
+	 * @throws IOException if the class file is malformed or any IO failure occurred
+	 */
+	private static Optional<ModuleInfo> readModuleAttribute(final DataInputStream dataInputStream,
+			final ConstantPool constantPool) throws IOException {
+		final Optional<String> name = constantPool.getModuleName(dataInputStream.readUnsignedShort());
+
+		// Module flags and version
+		dataInputStream.readUnsignedShort();
+		dataInputStream.readUnsignedShort();
+
+		final int requiresCount = dataInputStream.readUnsignedShort();
+		final List<String> requiredModules = new ArrayList<>(requiresCount);
+		for (int requires = 0; requires < requiresCount; requires += 1) {
+			final Optional<String> requiredModule = constantPool.getModuleName(dataInputStream.readUnsignedShort());
+			final int flags = dataInputStream.readUnsignedShort();
+			dataInputStream.readUnsignedShort();
+			if (!BigInteger.valueOf(flags).testBit(STATIC_PHASE_BIT)) {
+				requiredModule.ifPresent(requiredModules::add);
+			}
+		}
+		return name.map(module -> new ModuleInfo(module, unmodifiableList(requiredModules)));
+	}
+
+	/**
+	 * Splits a space separated manifest attribute value.
+	 *
+	 * @param value the attribute value or {@code null}
+	 * @return list of values
+	 */
+	private static List<String> split(@Nullable final String value) {
+		if (value == null || value.trim().isEmpty()) {
+			return emptyList();
+		}
+		return unmodifiableList(asList(SPACES_PATTERN.split(value.trim(), SplitLimit.NO_LIMIT)));
+	}
+
+	/**
+	 * Main class as given by the {@code Main-Class} attribute
+	 *
+	 * @return main class
+	 */
+	Optional<String> mainClass;
+
+	/**
+	 * Agent class as given by the {@code Launcher-Agent-Class} attribute
+	 *
+	 * @return launcher agent class
+	 */
+	Optional<String> launcherAgentClass;
+
+	/**
+	 * Packages to open to unnamed modules as given by the {@code Add-Opens}
+	 * attribute, formatted as {@code module/package}
+	 *
+	 * @return packages to open
+	 */
+	List<String> addOpens;
+
+	/**
+	 * Packages to export to unnamed modules as given by the {@code Add-Exports}
+	 * attribute, formatted as {@code module/package}
+	 *
+	 * @return packages to export
+	 */
+	List<String> addExports;
+
+	/**
+	 * Multi-release state as given by the {@code Multi-Release} attribute
+	 *
+	 * @return {@code true} if the JAR is a multi-release JAR
+	 */
+	boolean multiRelease;
+
+	/**
+	 * Relative URLs as given by the {@code Class-Path} attribute
+	 *
+	 * @return class path URLs
+	 */
+	List<String> classPath;
+
+	/**
+	 * Name of the module as given by the module descriptor or the
+	 * {@code Automatic-Module-Name} attribute
+	 *
+	 * @return module name or empty if the JAR is neither modular nor names an
+	 *         automatic module
+	 */
+	Optional<String> moduleName;
+
+	/**
+	 * Names of the modules required at runtime as given by the module descriptor
+	 *
+	 * @return required module names or an empty list if the JAR contains no module
+	 *         descriptor
+	 */
+	List<String> requiredModules;
+
+	/**
+	 * Creates the JVM options granting the access requested by the
+	 * {@code Add-Opens} and {@code Add-Exports} attributes to the launched
+	 * application.
+	 *
+	 * <p>
+	 * The Java launcher honors these attributes for {@code java -jar} only. Passing
+	 * them as options grants the same access to JARs launched using a class path or
+	 * module path. Requires Java 9 or later.
+	 *
+	 * @param module the module of the launched application or empty if it is
+	 *               launched using the class path
+	 * @return JVM options
+	 */
+	public List<String> getJavaOptions(final Optional<String> module) {
+		final String target = "=" + module.orElse(ALL_UNNAMED);
+		final List<String> javaOptions = new ArrayList<>(getAddOpens().size() + getAddExports().size());
+		for (final String addOpens : getAddOpens()) {
+			javaOptions.add("--add-opens=" + addOpens + target);
+		}
+		for (final String addExports : getAddExports()) {
+			javaOptions.add("--add-exports=" + addExports + target);
+		}
+		return javaOptions;
+	}
+
+	/**
+	 * Converts this metadata to properties, which can be restored using
+	 * {@link #fromProperties(Properties)}.
+	 *
+	 * @return the properties
+	 */
+	public Properties toProperties() {
+		final Properties properties = new Properties();
+		getMainClass().ifPresent(value -> properties.setProperty(KEY_MAIN_CLASS, value));
+		getLauncherAgentClass().ifPresent(value -> properties.setProperty(KEY_LAUNCHER_AGENT_CLASS, value));
+		properties.setProperty(KEY_ADD_OPENS, String.join(LIST_SEPARATOR, getAddOpens()));
+		properties.setProperty(KEY_ADD_EXPORTS, String.join(LIST_SEPARATOR, getAddExports()));
+		properties.setProperty(KEY_MULTI_RELEASE, Boolean.toString(isMultiRelease()));
+		properties.setProperty(KEY_CLASS_PATH, String.join(LIST_SEPARATOR, getClassPath()));
+		getModuleName().ifPresent(value -> properties.setProperty(KEY_MODULE_NAME, value));
+		properties.setProperty(KEY_REQUIRED_MODULES, String.join(LIST_SEPARATOR, getRequiredModules()));
+		return properties;
+	}
+
+	/**
+	 * Name and required modules of a module descriptor
+	 */
+	@Getter
+	@RequiredArgsConstructor
+	static final class ModuleInfo {
+		/**
+		 * Name of the module
+		 *
+		 * @return name of the module
+		 */
+		String name;
+
+		/**
+		 * Names of the modules required at runtime
+		 *
+		 * @return names of the modules required at runtime
+		 */
+		List<String> requiredModules;
+	}
+}
@@ -0,0 +1,98 @@
+package de.larssh.maven.jarrunner;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Properties;
+
+import de.larssh.utils.text.Strings;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Index of the metadata of JAR files.
+ *
+ * <p>
+ * Metadata is stored inside a directory per JAR file, its size and modification
+ * time, so that later Maven invocations do not need to open unchanged JARs
+ * again. Metadata is kept in memory as long as the Maven JVM runs, too.
+ */
+@Getter
+@RequiredArgsConstructor
+public final class JarMetadataIndex {
+	/**
+	 * File extension of stored metadata
+	 */
+	private static final String FILE_EXTENSION = ".properties";
+
+	/**
+	 * Format of the string to hash for metadata file names
+	 */
+	private static final String KEY_FORMAT = "%s%n%d%n%d";
+
+	/**
+	 * Metadata by JAR file, kept as long as the Maven JVM runs
+	 */
+	private static final FileMemo<JarMetadata> LOADED_METADATA = new FileMemo<>(4096);
+
+	/**
+	 * Directory to store metadata in
+	 *
+	 * @return directory to store metadata in
+	 */
+	Path directory;
+
+	/**
+	 * Returns the metadata of {@code jarFile}, preferring the in-memory copy of
+	 * earlier reads inside the same JVM and stored metadata as long as the file is
+	 * unchanged.
+	 *
+	 * @param jarFile the JAR file
+	 * @return the JARs metadata
+	 * @throws IOException if any IO failure occurred
+	 */
+	public JarMetadata get(final Path jarFile) throws IOException {
+		final Optional<JarMetadata> loadedMetadata = LOADED_METADATA.get(jarFile);
+		if (loadedMetadata.isPresent()) {
+			return loadedMetadata.get();
+		}
+
+		final Path absoluteFile = jarFile.toAbsolutePath();
+		final Path file = getDirectory().resolve(Hashes.sha256(Strings.format(KEY_FORMAT,
+				absoluteFile,
+				Files.size(absoluteFile),
+				Files.getLastModifiedTime(absoluteFile).toMillis())) + FILE_EXTENSION);
+		final Optional<JarMetadata> storedMetadata = load(file);
+		if (storedMetadata.isPresent()) {
+			LOADED_METADATA.put(jarFile, storedMetadata.get());
+			return storedMetadata.get();
+		}
+
+		final JarMetadata metadata = JarMetadata.read(jarFile);
+		AtomicFiles.write(file, metadata.toProperties());
+		LOADED_METADATA.put(jarFile, metadata);
+		return metadata;
+	}
+
+	/**
+	 * Loads metadata stored inside {@code file}.
+	 *
+	 * @param file the metadata file
+	 * @return the metadata or empty if {@code file} does not exist or is incomplete
+	 * @throws IOException if any IO failure occurred
+	 */
+	private static Optional<JarMetadata> load(final Path file) throws IOException {
+		if (!Files.isRegularFile(file)) {
+			return Optional.empty();
+		}
+		final Properties properties = new Properties();
+		try (Reader reader = Files.newBufferedReader(file, UTF_8)) {
+			properties.load(reader);
+		}
+		return JarMetadata.fromProperties(properties);
+	}
+}
@@ -1,31 +1,44 @@
 package de.larssh.maven.jarrunner;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
 import static java.util.Collections.unmodifiableList;
+import static java.util.stream.Collectors.toList;
 
 import java.io.IOException;
-import java.nio.file.Files;
+import java.lang.ProcessBuilder.Redirect;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.Set;
+import java.util.function.UnaryOperator;
 import java.util.jar.Attributes.Name;
-import java.util.jar.JarInputStream;
 
 import org.apache.maven.RepositoryUtils;
 import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugin.logging.Log;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.collection.CollectResult;
+import org.eclipse.aether.collection.DependencyCollectionException;
+import org.eclipse.aether.collection.DependencySelector;
 import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyFilter;
 import org.eclipse.aether.repository.RemoteRepository;
 import org.eclipse.aether.resolution.DependencyRequest;
 import org.eclipse.aether.resolution.DependencyResolutionException;
 import org.eclipse.aether.resolution.DependencyResult;
 import org.eclipse.aether.util.filter.ScopeDependencyFilter;
-import org.eclipse.aether.util.graph.visitor.PreorderNodeListGenerator;
+import org.eclipse.aether.util.graph.selector.AndDependencySelector;
+import org.eclipse.aether.util.graph.selector.ExclusionDependencySelector;
 
+import de.larssh.maven.jarrunner.LaunchTimings.Phase;
 import de.larssh.utils.SystemUtils;
 import de.larssh.utils.io.ProcessBuilders;
 import de.larssh.utils.text.Strings;
@@ -42,28 +55,684 @@ import lombok.Getter;
 @Getter
 public final class JarRunner {
 	/**
-	 * Combines the class paths of {@code dependencyResult} with the optional class
-	 * path format user argument.
+	 * Name of the checksums directory inside the cache directory
+	 */
+	private static final String CHECKSUMS_DIRECTORY = "checksums";
+
+	/**
+	 * Name of the class data sharing archives directory inside the cache directory
+	 */
+	private static final String CLASS_DATA_SHARING_DIRECTORY = "class-data-sharing";
+
+	/**
+	 * Name of the class path files directory inside the cache directory
+	 */
+	private static final String CLASS_PATH_DIRECTORY = "class-path";
+
+	/**
+	 * Name of the consolidated class path directory inside the cache directory
+	 */
+	private static final String CONSOLIDATED_CLASS_PATH_DIRECTORY = "consolidated-class-path";
+
+	/**
+	 * Name of the JAR metadata directory inside the cache directory
+	 */
+	private static final String JAR_METADATA_DIRECTORY = "jar-metadata";
+
+	/**
+	 * Name of the reachable class path directory inside the cache directory
+	 */
+	private static final String REACHABLE_CLASS_PATH_DIRECTORY = "reachable-class-path";
+
+	/**
+	 * Minimum Java version supporting Java argument files
+	 */
+	private static final int MINIMUM_VERSION_ARGUMENT_FILE = 9;
+
+	/**
+	 * Minimum Java version supporting the module path
+	 */
+	private static final int MINIMUM_VERSION_MODULE_PATH = 9;
+
+	/**
+	 * Minimum Java version supporting opening and exporting packages
+	 */
+	private static final int MINIMUM_VERSION_ADD_OPENS = 9;
+
+	/**
+	 * Minimum Java version supporting overriding the number of processors
+	 */
+	private static final int MINIMUM_VERSION_ACTIVE_PROCESSOR_COUNT = 10;
+
+	/**
+	 * Smallest maximum heap to set when sizing JVMs
+	 */
+	private static final long MINIMUM_HEAP = 16L * 1024 * 1024;
+
+	/**
+	 * Bytes per megabyte
+	 */
+	private static final long MEGABYTE = 1024L * 1024;
+
+	/**
+	 * Prefix of the option setting the maximum heap
+	 */
+	private static final String MAXIMUM_HEAP_OPTION_PREFIX = "-Xmx";
+
+	/**
+	 * Prefixes of user given options, which set the maximum heap
+	 */
+	private static final List<String> HEAP_OPTION_PREFIXES = unmodifiableList(
+			asList(MAXIMUM_HEAP_OPTION_PREFIX, "-XX:MaxHeapSize=", "-XX:MaxRAM=", "-XX:MaxRAMPercentage="));
+
+	/**
+	 * Prefix of user given options, which set the number of processors
+	 */
+	private static final String ACTIVE_PROCESSOR_COUNT_OPTION_PREFIX = "-XX:ActiveProcessorCount=";
+
+	/**
+	 * Prefix of user given options, which select a garbage collector
+	 */
+	private static final String GARBAGE_COLLECTOR_OPTION_PREFIX = "-XX:+Use";
+
+	/**
+	 * Suffix of user given options, which select a garbage collector
+	 */
+	private static final String GARBAGE_COLLECTOR_OPTION_SUFFIX = "GC";
+
+	/**
+	 * Separator of JVM options inside log messages
+	 */
+	private static final String OPTIONS_SEPARATOR = " ";
+
+	/**
+	 * Placeholder for unknown Java versions inside log messages
+	 */
+	private static final String UNKNOWN_VERSION = "unknown";
+
+	/**
+	 * Name of the supported JVM options directory inside the cache directory
+	 */
+	private static final String JVM_OPTIONS_DIRECTORY = "jvm-options";
+
+	/**
+	 * Name of the runtime images directory inside the cache directory
+	 */
+	private static final String RUNTIME_IMAGES_DIRECTORY = "runtime-images";
+
+	/**
+	 * Name of the launch plan cache directory inside the cache directory
+	 */
+	private static final String LAUNCH_PLAN_CACHE_DIRECTORY = "launch-plans";
+
+	/**
+	 * Name of the repository latencies directory inside the cache directory
+	 */
+	private static final String REPOSITORY_LATENCIES_DIRECTORY = "repository-latencies";
+
+	/**
+	 * Prefix of captured lines of replicas unless another prefix is given
+	 */
+	private static final String REPLICA_PREFIX_DEFAULT = "[replica " + Replicas.REPLICA_PLACEHOLDER + "] ";
+
+	/**
+	 * Creates the class path files helper for the class path mode given by user
+	 * argument. Java argument files fall back to passing the class path as argument
+	 * for Java versions not supporting them.
+	 *
+	 * @param parameters     the parameters object of {@link RunMojo}
+	 * @param javaExecutable the path to the Java executable
+	 * @return class path files helper
+	 * @throws IOException if any IO failure occurred
+	 */
+	private static ClassPathFiles getClassPathFiles(final Parameters parameters, final Path javaExecutable)
+			throws IOException {
+		return new ClassPathFiles(parameters.getCacheDirectory().resolve(CLASS_PATH_DIRECTORY),
+				getClassPathMode(parameters, javaExecutable),
+				parameters.getClassPathFormat());
+	}
+
+	/**
+	 * Determines the class path mode by user argument. Java argument files fall
+	 * back to passing the class path as argument for Java versions not supporting
+	 * them.
+	 *
+	 * <p>
+	 * Arguments or Java options read from files are passed using Java argument
+	 * files if supported, unless a pathing JAR is requested.
+	 *
+	 * @param parameters     the parameters object of {@link RunMojo}
+	 * @param javaExecutable the path to the Java executable
+	 * @return class path mode
+	 * @throws IOException if any IO failure occurred
+	 */
+	private static ClassPathMode getClassPathMode(final Parameters parameters, final Path javaExecutable)
+			throws IOException {
+		final boolean argumentsFromFile
+				= parameters.getArgumentsFile().isPresent() || parameters.getJavaOptionsFile().isPresent();
+		if (parameters.getClassPathMode() == ClassPathMode.PATHING_JAR
+				|| parameters.getClassPathMode() == ClassPathMode.ARGUMENT && !argumentsFromFile) {
+			return parameters.getClassPathMode();
+		}
+
+		final JavaRuntime javaRuntime = JavaRuntime.forExecutable(javaExecutable);
+		if (javaRuntime.isAtLeast(MINIMUM_VERSION_ARGUMENT_FILE)) {
+			return ClassPathMode.ARGUMENT_FILE;
+		}
+		if (parameters.getClassPathMode() == ClassPathMode.ARGUMENT) {
+			return ClassPathMode.ARGUMENT;
+		}
+
+		final Log log = parameters.getLog();
+		if (log.isWarnEnabled()) {
+			log.warn(Strings.format(
+					"Java argument files require Java 9 or later. Passing the class path as argument instead. Java version of %s: %s",
+					javaExecutable,
+					javaRuntime.getVersion().orElse(UNKNOWN_VERSION)));
+		}
+		return ClassPathMode.ARGUMENT;
+	}
+
+	/**
+	 * Creates a plain Java command equivalent to running an application in-process
+	 * for logging purposes.
+	 *
+	 * @param parameters     the parameters object of {@link RunMojo}
+	 * @param javaExecutable the path to the Java executable
+	 * @param classPath      the class path files
+	 * @param mainClass      the main class
+	 * @return the command
+	 * @throws IOException if any IO failure occurred
+	 */
+	private static List<String> getInProcessCommand(final Parameters parameters,
+			final Path javaExecutable,
+			final List<Path> classPath,
+			final String mainClass) throws IOException {
+		final List<String> command = new ArrayList<>();
+		command.add(javaExecutable.toString());
+		command.addAll(new ClassPathFiles(parameters.getCacheDirectory().resolve(CLASS_PATH_DIRECTORY),
+				ClassPathMode.ARGUMENT,
+				parameters.getClassPathFormat()).getJavaArguments(emptyList(), classPath));
+		command.add(mainClass);
+		command.addAll(parameters.getArguments());
+		return command;
+	}
+
+	/**
+	 * Creates the JVM options of launched JVMs, consisting of the options requested
+	 * by the root JARs manifest, sizing options and launch profile options. User
+	 * given options are appended later on, as they might contain placeholders of
+	 * replicas.
+	 *
+	 * @param parameters     the parameters object of {@link RunMojo}
+	 * @param javaExecutable the path to the Java executable
+	 * @param launchPlan     the launch plan
+	 * @param module         the root module if launching on the module path
+	 * @return JVM options
+	 * @throws IOException if any IO failure occurred
+	 */
+	private static List<String> getJavaOptions(final Parameters parameters,
+			final Path javaExecutable,
+			final LaunchPlan launchPlan,
+			final Optional<String> module) throws IOException {
+		final List<String> javaOptions = new ArrayList<>();
+		javaOptions.addAll(getManifestOptions(parameters, javaExecutable, launchPlan, module));
+		javaOptions.addAll(getSizingOptions(parameters, javaExecutable));
+		javaOptions.addAll(getLaunchProfileOptions(parameters, javaExecutable, javaOptions));
+		return javaOptions;
+	}
+
+	/**
+	 * Creates the command of a launched JVM. User given JVM options and application
+	 * arguments are passed through {@code substitution} before, so that
+	 * placeholders of replicas are replaced before writing any Java argument file.
+	 * JVM options and application arguments are passed using a temporary Java
+	 * argument file if arguments or Java options are read from a file.
+	 *
+	 * @param parameters     the parameters object of {@link RunMojo}
+	 * @param classPathFiles the class path files helper
+	 * @param prefix         the Java executable and options preceding any Java
+	 *                       argument file
+	 * @param javaOptions    the JVM options besides the user given ones
+	 * @param classPath      the class path files
+	 * @param mainArguments  the main class or module arguments
+	 * @param substitution   replaces placeholders of user given values
+	 * @return the command
+	 * @throws IOException if any IO failure occurred
+	 */
+	private static List<String> getProcessCommand(final Parameters parameters,
+			final ClassPathFiles classPathFiles,
+			final List<String> prefix,
+			final List<String> javaOptions,
+			final List<Path> classPath,
+			final List<String> mainArguments,
+			final UnaryOperator<String> substitution) throws IOException {
+		final List<String> processJavaOptions = new ArrayList<>(javaOptions);
+		parameters.getJavaOptions().stream().map(substitution).forEach(processJavaOptions::add);
+		final List<String> applicationArguments = new ArrayList<>(mainArguments);
+		parameters.getArguments().stream().map(substitution).forEach(applicationArguments::add);
+
+		final List<String> command = new ArrayList<>(prefix);
+		if ((parameters.getArgumentsFile().isPresent() || parameters.getJavaOptionsFile().isPresent())
+				&& parameters.getWorkerPoolSize() == 0) {
+			command.addAll(classPathFiles.getJavaArguments(processJavaOptions, classPath, applicationArguments));
+		} else {
+			command.addAll(classPathFiles.getJavaArguments(processJavaOptions, classPath));
+			command.addAll(applicationArguments);
+		}
+		return command;
+	}
+
+	/**
+	 * Creates the commands of {@link Parameters#getReplicas()} replicas, replacing
+	 * placeholders of user given JVM options and application arguments per replica.
+	 *
+	 * @param parameters     the parameters object of {@link RunMojo}
+	 * @param classPathFiles the class path files helper
+	 * @param prefix         the Java executable and options preceding any Java
+	 *                       argument file
+	 * @param javaOptions    the JVM options besides the user given ones
+	 * @param classPath      the class path files
+	 * @param mainArguments  the main class or module arguments
+	 * @return the commands in order of replicas or an empty list if not running
+	 *         replicas
+	 * @throws IOException if any IO failure occurred
+	 */
+	private static List<List<String>> getReplicaCommands(final Parameters parameters,
+			final ClassPathFiles classPathFiles,
+			final List<String> prefix,
+			final List<String> javaOptions,
+			final List<Path> classPath,
+			final List<String> mainArguments) throws IOException {
+		final int replicas = parameters.getReplicas() > 1 ? parameters.getReplicas() : 0;
+		final List<List<String>> commands = new ArrayList<>(replicas);
+		for (int replica = 0; replica < replicas; replica += 1) {
+			final int number = replica;
+			commands.add(getProcessCommand(parameters,
+					classPathFiles,
+					prefix,
+					javaOptions,
+					classPath,
+					mainArguments,
+					value -> Replicas.substitute(value, number, parameters.getReplicaBasePort())));
+		}
+		return unmodifiableList(commands);
+	}
+
+	/**
+	 * Creates the command to start worker JVMs. The worker classes are appended to
+	 * the class path.
+	 *
+	 * @param parameters     the parameters object of {@link RunMojo}
+	 * @param javaExecutable the path to the Java executable
+	 * @param classPathFiles the class path files helper
+	 * @param javaOptions    the JVM options besides the user given ones
+	 * @param classPath      the class path files
+	 * @param mainClass      the main class
+	 * @return the worker command
+	 * @throws IOException if any IO failure occurred
+	 */
+	private static List<String> getWorkerCommand(final Parameters parameters,
+			final Path javaExecutable,
+			final ClassPathFiles classPathFiles,
+			final List<String> javaOptions,
+			final List<Path> classPath,
+			final String mainClass) throws IOException {
+		final List<Path> workerClassPath = new ArrayList<>(classPath);
+		workerClassPath.add(Worker.getClassPath());
+		final List<String> workerJavaOptions = new ArrayList<>(javaOptions);
+		workerJavaOptions.addAll(parameters.getJavaOptions());
+
+		final List<String> command = new ArrayList<>();
+		command.add(javaExecutable.toString());
+		command.addAll(classPathFiles.getJavaArguments(workerJavaOptions, workerClassPath));
+		command.add(JarRunnerWorker.class.getName());
+		command.add(mainClass);
+		return command;
+	}
+
+	/**
+	 * Determines the class data sharing archive to record or use, if class data
+	 * sharing is requested.
+	 *
+	 * <p>
+	 * Missing archives are recorded only if {@code recordMissing} is {@code true},
+	 * as the recorded archive needs to be stored as soon as the launched JVM
+	 * stopped.
+	 *
+	 * @param parameters     the parameters object of {@link RunMojo}
+	 * @param javaExecutable the path to the Java executable
+	 * @param classPath      the class path files
+	 * @param recordMissing  {@code true} to record a missing archive
+	 * @return the archive or empty if class data sharing is not requested or not
+	 *         supported
+	 * @throws IOException if any IO failure occurred
+	 */
+	private static Optional<ClassDataSharing.Archive> getClassDataSharingArchive(final Parameters parameters,
+			final Path javaExecutable,
+			final List<Path> classPath,
+			final boolean recordMissing) throws IOException {
+		if (!isClassDataSharing(parameters, javaExecutable)) {
+			return Optional.empty();
+		}
+		final JavaRuntime javaRuntime = JavaRuntime.forExecutable(javaExecutable);
+		if (!ClassDataSharing.isSupported(javaRuntime)) {
+			final Log log = parameters.getLog();
+			if (log.isWarnEnabled()) {
+				log.warn(Strings.format("Class data sharing archives require Java 13 or later. Java version of %s: %s",
+						javaExecutable,
+						javaRuntime.getVersion().orElse(UNKNOWN_VERSION)));
+			}
+			return Optional.empty();
+		}
+		return Optional.of(
+				new ClassDataSharing(javaRuntime, parameters.getCacheDirectory().resolve(CLASS_DATA_SHARING_DIRECTORY))
+						.getArchive(ClassPathFiles.toClassPath(classPath, parameters.getClassPathFormat()),
+								classPath,
+								recordMissing));
+	}
+
+	/**
+	 * Creates the JVM options requested by the root artifacts JAR manifest, which
+	 * the Java launcher would honor for {@code java -jar} only. Packages are opened
+	 * and exported to {@code module} if launching on the module path.
+	 *
+	 * @param parameters     the parameters object of {@link RunMojo}
+	 * @param javaExecutable the path to the Java executable
+	 * @param launchPlan     the launch plan
+	 * @param module         the root module if launching on the module path
+	 * @return JVM options
+	 * @throws IOException if any IO failure occurred
+	 */
+	private static List<String> getManifestOptions(final Parameters parameters,
+			final Path javaExecutable,
+			final LaunchPlan launchPlan,
+			final Optional<String> module) throws IOException {
+		final JarMetadata jarMetadata = getJarMetadataIndex(parameters).get(launchPlan.getRootFile());
+		final Log log = parameters.getLog();
+		if (jarMetadata.getLauncherAgentClass().isPresent() && log.isWarnEnabled()) {
+			log.warn(Strings.format(
+					"The launcher agent class %s of the root JARs manifest is not started, as it is supported by \"java -jar\" only.",
+					jarMetadata.getLauncherAgentClass().get()));
+		}
+
+		final List<String> javaOptions = jarMetadata.getJavaOptions(module);
+		if (javaOptions.isEmpty()) {
+			return javaOptions;
+		}
+		final JavaRuntime javaRuntime = JavaRuntime.forExecutable(javaExecutable);
+		if (!javaRuntime.isAtLeast(MINIMUM_VERSION_ADD_OPENS)) {
+			if (log.isWarnEnabled()) {
+				log.warn(Strings.format(
+						"Opening and exporting packages as requested by the root JARs manifest requires Java 9 or later. Java version of %s: %s",
+						javaExecutable,
+						javaRuntime.getVersion().orElse(UNKNOWN_VERSION)));
+			}
+			return emptyList();
+		}
+		return javaOptions;
+	}
+
+	/**
+	 * Checks if class data sharing archives shall be used, either as requested by
+	 * the user or by the startup launch profile if supported.
+	 *
+	 * @param parameters     the parameters object
+	 * @param javaExecutable the Java executable to launch
+	 * @return {@code true} if class data sharing archives shall be used
+	 * @throws IOException if any IO failure occurred
+	 */
+	private static boolean isClassDataSharing(final Parameters parameters, final Path javaExecutable)
+			throws IOException {
+		return parameters.isClassDataSharing()
+				|| parameters.getLaunchProfile() == LaunchProfile.STARTUP
+						&& ClassDataSharing.isSupported(JavaRuntime.forExecutable(javaExecutable));
+	}
+
+	/**
+	 * Determines the JVM options to size launched JVMs as given by
+	 * {@link Parameters#getJvmSizing()}.
+	 *
+	 * <p>
+	 * The memory left by the Maven JVM inside the current container or machine is
+	 * split between all JVMs launched at the same time, which are the replicas or
+	 * worker JVMs. Options given by the user take precedence, so that sizing
+	 * options of the same kind are left out.
+	 *
+	 * @param parameters     the parameters object
+	 * @param javaExecutable the Java executable to launch
+	 * @return the JVM options
+	 * @throws IOException if any IO failure occurred
+	 */
+	private static List<String> getSizingOptions(final Parameters parameters, final Path javaExecutable)
+			throws IOException {
+		final JvmSizing sizing = parameters.getJvmSizing();
+		if (sizing == JvmSizing.NONE) {
+			return emptyList();
+		}
+		final ContainerLimits limits = ContainerLimits.read();
+		final long mavenFootprint = ContainerLimits.getMavenFootprint();
+		final int instances = Math.max(1, Math.max(parameters.getReplicas(), parameters.getWorkerPoolSize()));
+		final long heap = (limits.getMemory() - mavenFootprint) / instances * sizing.getHeapPercentage() / 100;
+		final int processors = Math.max(1, limits.getProcessors() / instances);
+		final List<String> userOptions = parameters.getJavaOptions();
+		final Log log = parameters.getLog();
+
+		final List<String> options = new ArrayList<>();
+		if (!hasOption(userOptions, HEAP_OPTION_PREFIXES)) {
+			if (heap < MINIMUM_HEAP) {
+				if (log.isWarnEnabled()) {
+					log.warn(Strings.format(
+							"Not enough memory left by the Maven JVM to size launched JVMs. Memory: %d MB, Maven JVM: %d MB",
+							limits.getMemory() / MEGABYTE,
+							mavenFootprint / MEGABYTE));
+				}
+			} else {
+				options.add(MAXIMUM_HEAP_OPTION_PREFIX + heap / MEGABYTE + "m");
+			}
+		}
+		final JavaRuntime javaRuntime = JavaRuntime.forExecutable(javaExecutable);
+		if (javaRuntime.isAtLeast(MINIMUM_VERSION_ACTIVE_PROCESSOR_COUNT)
+				&& !hasOption(userOptions, singletonList(ACTIVE_PROCESSOR_COUNT_OPTION_PREFIX))) {
+			options.add(ACTIVE_PROCESSOR_COUNT_OPTION_PREFIX + processors);
+		}
+		if (!hasGarbageCollectorOption(userOptions)) {
+			sizing.getGarbageCollectorOption(javaRuntime).ifPresent(options::add);
+		}
+
+		if (log.isDebugEnabled()) {
+			log.debug(Strings.format("Sizing %d launched JVMs for %d MB and %d CPUs: %s",
+					instances,
+					limits.getMemory() / MEGABYTE,
+					limits.getProcessors(),
+					String.join(OPTIONS_SEPARATOR, options)));
+		}
+		return options;
+	}
+
+	/**
+	 * Checks if any option of {@code options} starts with any of {@code prefixes}.
+	 *
+	 * @param options  the options to check
+	 * @param prefixes the prefixes to look for
+	 * @return {@code true} if a matching option is given
+	 */
+	private static boolean hasOption(final List<String> options, final List<String> prefixes) {
+		return options.stream().anyMatch(option -> prefixes.stream().anyMatch(option::startsWith));
+	}
+
+	/**
+	 * Determines the JVM options of {@link Parameters#getLaunchProfile()}, dropping
+	 * options not supported by the Java executable.
+	 *
+	 * <p>
+	 * The garbage collector of the profile is left out if {@code javaOptions} or
+	 * the user given options select one already.
+	 *
+	 * @param parameters     the parameters object
+	 * @param javaExecutable the Java executable to launch
+	 * @param javaOptions    the JVM options collected so far
+	 * @return the JVM options
+	 * @throws IOException if any IO failure occurred
+	 */
+	private static List<String> getLaunchProfileOptions(final Parameters parameters,
+			final Path javaExecutable,
+			final List<String> javaOptions) throws IOException {
+		final JavaRuntime javaRuntime = JavaRuntime.forExecutable(javaExecutable);
+		final List<String> options = new ArrayList<>(parameters.getLaunchProfile().getJavaOptions(javaRuntime));
+		if (hasGarbageCollectorOption(javaOptions) || hasGarbageCollectorOption(parameters.getJavaOptions())) {
+			options.remove(LaunchProfile.STARTUP_GARBAGE_COLLECTOR_OPTION);
+		}
+
+		final List<String> supportedOptions
+				= new SupportedJvmOptions(parameters.getCacheDirectory().resolve(JVM_OPTIONS_DIRECTORY))
+						.filter(javaRuntime, options);
+		final Log log = parameters.getLog();
+		if (supportedOptions.size() < options.size() && log.isDebugEnabled()) {
+			final List<String> unsupportedOptions = new ArrayList<>(options);
+			unsupportedOptions.removeAll(supportedOptions);
+			log.debug(Strings.format("Dropping JVM options not supported by %s: %s",
+					javaExecutable,
+					String.join(OPTIONS_SEPARATOR, unsupportedOptions)));
+		}
+		return supportedOptions;
+	}
+
+	/**
+	 * Checks if any option of {@code options} selects a garbage collector.
+	 *
+	 * @param options the options to check
+	 * @return {@code true} if a garbage collector is selected
+	 */
+	private static boolean hasGarbageCollectorOption(final List<String> options) {
+		return options.stream()
+				.anyMatch(option -> option.startsWith(GARBAGE_COLLECTOR_OPTION_PREFIX)
+						&& option.endsWith(GARBAGE_COLLECTOR_OPTION_SUFFIX));
+	}
+
+	/**
+	 * Determines the Java executable of a minimal runtime image for the class path
+	 * of {@code launchPlan}, building the image if required.
+	 *
+	 * <p>
+	 * In case runtime images are not supported by {@code javaExecutable} or
+	 * building fails, a warning is logged and {@code javaExecutable} is returned.
+	 *
+	 * @param parameters     the parameters object
+	 * @param javaExecutable the Java executable to build the image from
+	 * @param launchPlan     the launch plan
+	 * @return the Java executable to launch
+	 * @throws IOException if any IO failure occurred
+	 */
+	private static Path getRuntimeImageExecutable(final Parameters parameters,
+			final Path javaExecutable,
+			final LaunchPlan launchPlan) throws IOException {
+		final JavaRuntime javaRuntime = JavaRuntime.forExecutable(javaExecutable);
+		if (!RuntimeImages.isSupported(javaRuntime)) {
+			final Log log = parameters.getLog();
+			if (log.isWarnEnabled()) {
+				log.warn(Strings.format(
+						"Runtime images require Java 11 or later. Java version of %s: %s. Using it without image.",
+						javaExecutable,
+						javaRuntime.getVersion().orElse(UNKNOWN_VERSION)));
+			}
+			return javaExecutable;
+		}
+		return new RuntimeImages(parameters.getLog(), parameters.getCacheDirectory().resolve(RUNTIME_IMAGES_DIRECTORY))
+				.getJavaExecutable(javaRuntime, launchPlan.getClassPath(), parameters.getRuntimeImageModules());
+	}
+
+	/**
+	 * Creates the index of JAR metadata inside the cache directory.
+	 *
+	 * @param parameters the parameters object
+	 * @return the index of JAR metadata
+	 */
+	private static JarMetadataIndex getJarMetadataIndex(final Parameters parameters) {
+		return new JarMetadataIndex(parameters.getCacheDirectory().resolve(JAR_METADATA_DIRECTORY));
+	}
+
+	/**
+	 * Splits the class path of {@code launchPlan} into a module path and a class
+	 * path if launching on the module path is requested and possible.
 	 *
 	 * <p>
-	 * The following code has already been prepared for maven-resolver-util v2:
+	 * Worker JVMs and in-process applications always use the class path.
 	 *
-	 * <pre>
-	 * final NodeListGenerator nodeListGenerator = new NodeListGenerator();
-	 * dependencyResult.getRoot().accept(new PreorderDependencyNodeConsumerVisitor(nodeListGenerator));
-	 * final String classPath = nodeListGenerator.getClassPath();
-	 * </pre>
+	 * @param parameters     the parameters object
+	 * @param javaExecutable the Java executable to launch
+	 * @param launchPlan     the launch plan
+	 * @return the module path or empty to launch on the class path
+	 * @throws IOException if any IO failure occurred
+	 */
+	private static Optional<ModulePath> getModulePath(final Parameters parameters,
+			final Path javaExecutable,
+			final LaunchPlan launchPlan) throws IOException {
+		if (!parameters.isModulePath() || parameters.isInProcess() || parameters.getWorkerPoolSize() > 0) {
+			return Optional.empty();
+		}
+
+		final Log log = parameters.getLog();
+		final JavaRuntime javaRuntime = JavaRuntime.forExecutable(javaExecutable);
+		if (!javaRuntime.isAtLeast(MINIMUM_VERSION_MODULE_PATH)) {
+			if (log.isWarnEnabled()) {
+				log.warn(Strings.format(
+						"The module path requires Java 9 or later. Launching on the class path instead. Java version of %s: %s",
+						javaExecutable,
+						javaRuntime.getVersion().orElse(UNKNOWN_VERSION)));
+			}
+			return Optional.empty();
+		}
+
+		final Optional<ModulePath> modulePath = ModulePath.of(launchPlan, getJarMetadataIndex(parameters));
+		if (!modulePath.isPresent() && log.isDebugEnabled()) {
+			log.debug(Strings.format("%s is not modular. Launching on the class path.", launchPlan.getRootFile()));
+		}
+		return modulePath;
+	}
+
+	/**
+	 * Consolidates {@code classPath} into a single JAR if requested.
+	 *
+	 * @param parameters the parameters object
+	 * @param classPath  the class path files
+	 * @return the class path files to launch with
+	 * @throws IOException if any IO failure occurred
+	 */
+	private static List<Path> getClassPath(final Parameters parameters, final List<Path> classPath) throws IOException {
+		return parameters.isConsolidateClassPath()
+				? new ConsolidatedClassPath(parameters.getCacheDirectory().resolve(CONSOLIDATED_CLASS_PATH_DIRECTORY),
+						getJarMetadataIndex(parameters)).consolidate(classPath)
+				: classPath;
+	}
+
+	/**
+	 * Trims the class path of {@code launchPlan} to the JARs reachable from
+	 * {@code mainClass} if requested.
 	 *
-	 * @param dependencyResult Resolved dependencies
-	 * @param classPathFormat  formatter value allowing modifying the class path
-	 * @return class path string
+	 * @param parameters the parameters object
+	 * @param launchPlan the launch plan
+	 * @param mainClass  the main class
+	 * @return the launch plan to launch
+	 * @throws IOException if any IO failure occurred
 	 */
-	private static String getClassPath(final DependencyResult dependencyResult,
-			final Optional<String> classPathFormat) {
-		final PreorderNodeListGenerator preorderNodeListGenerator = new PreorderNodeListGenerator();
-		dependencyResult.getRoot().accept(preorderNodeListGenerator);
-		final String classPath = preorderNodeListGenerator.getClassPath();
-		return classPathFormat.map(format -> String.format(format, classPath)).orElse(classPath);
+	private static LaunchPlan getTrimmedLaunchPlan(final Parameters parameters,
+			final LaunchPlan launchPlan,
+			final String mainClass) throws IOException {
+		if (!parameters.isTrimClassPath()) {
+			return launchPlan;
+		}
+
+		final List<Path> classPath
+				= new ReachableClassPath(parameters.getCacheDirectory().resolve(REACHABLE_CLASS_PATH_DIRECTORY))
+						.trim(launchPlan.getClassPath(), launchPlan.getRootFile(), mainClass);
+		final Log log = parameters.getLog();
+		if (log.isDebugEnabled()) {
+			log.debug(Strings.format("Trimmed class path from %d to %d files.",
+					launchPlan.getClassPath().size(),
+					classPath.size()));
+		}
+		return new LaunchPlan(classPath, launchPlan.getRootFile(), launchPlan.getMainClass());
 	}
 
 	/**
@@ -82,33 +751,123 @@ public final class JarRunner {
 	 * manifest.
 	 *
 	 * @param mainClassParameter the main class to execute as per user input
-	 * @param dependencyResult   Resolved dependencies
+	 * @param launchPlan         the launch plan
 	 * @return main class to call
-	 * @throws IOException          if any IO failure occurred
 	 * @throws MojoFailureException if no main class is given and the artifacts JAR
 	 *                              does not contain a main class in its manifest
 	 */
-	private static String getMainClass(final Optional<String> mainClassParameter,
-			final DependencyResult dependencyResult) throws IOException, MojoFailureException {
+	private static String getMainClass(final Optional<String> mainClassParameter, final LaunchPlan launchPlan)
+			throws MojoFailureException {
 		// by Argument
 		if (mainClassParameter.isPresent()) {
 			return mainClassParameter.get();
 		}
 
 		// by Manifest
-		final Path jarFile = dependencyResult.getRoot().getArtifact().getFile().toPath();
-		try (JarInputStream jarInputStream = new JarInputStream(Files.newInputStream(jarFile))) {
-			final String mainClass = jarInputStream.getManifest().getMainAttributes().getValue(Name.MAIN_CLASS);
-			if (!Strings.isBlank(mainClass)) {
-				return mainClass;
-			}
+		if (launchPlan.getMainClass().isPresent()) {
+			return launchPlan.getMainClass().get();
 		}
 
 		// fail
 		throw new MojoFailureException(Strings.format(
 				"Could not find a %s entry inside the root JARs [%s] manifest. You can provide a main class yourself using -DmainClass=...",
 				Name.MAIN_CLASS.toString(),
-				jarFile.toAbsolutePath()));
+				launchPlan.getRootFile().toAbsolutePath()));
+	}
+
+	/**
+	 * Determines the launch plan for the artifact given by user argument.
+	 *
+	 * <p>
+	 * If given by user argument, the launch plan is loaded from an existing lock
+	 * file without collecting dependencies. Else, if enabled by user argument, the
+	 * launch plan is loaded from the launch plan cache. Else dependencies are
+	 * resolved and the resulting launch plan is stored to the lock file or the
+	 * launch plan cache for later use.
+	 *
+	 * @param parameters the parameters object of {@link RunMojo}
+	 * @param timings    the timings to add phase durations to
+	 * @return the launch plan
+	 * @throws DependencyResolutionException if resolving dependencies failed
+	 * @throws IOException                   if any IO failure occurred
+	 */
+	public static LaunchPlan getLaunchPlan(final Parameters parameters, final LaunchTimings timings)
+			throws DependencyResolutionException, IOException {
+		final List<RemoteRepository> repositories
+				= timings.measure(Phase.REPOSITORIES, () -> getRepositories(parameters));
+		final ResolutionKey key = new ResolutionKey(parameters.getArtifact(),
+				repositories,
+				parameters.getScopes().stream().map(DependencyScope::getValue).collect(toList()),
+				parameters.getExclusions(),
+				parameters.getOptionalDependencies());
+		if (parameters.getLockFile().isPresent()) {
+			return getLockedLaunchPlan(parameters, timings, key, repositories);
+		}
+		if (!parameters.isLaunchPlanCache() || !LaunchPlanCache.isCacheable(parameters.getArtifact())) {
+			final DependencyResult dependencyResult = resolveDependencies(parameters, timings, key, repositories);
+			return timings.measure(Phase.MANIFEST,
+					() -> LaunchPlan.fromDependencyResult(dependencyResult, getJarMetadataIndex(parameters)));
+		}
+
+		final LaunchPlanCache launchPlanCache
+				= new LaunchPlanCache(parameters.getCacheDirectory().resolve(LAUNCH_PLAN_CACHE_DIRECTORY));
+		final Optional<LaunchPlan> cachedLaunchPlan
+				= timings.measure(Phase.LAUNCH_PLAN_CACHE, () -> launchPlanCache.load(key));
+		if (cachedLaunchPlan.isPresent()) {
+			return cachedLaunchPlan.get();
+		}
+
+		final DependencyResult dependencyResult = resolveDependencies(parameters, timings, key, repositories);
+		final LaunchPlan launchPlan = timings.measure(Phase.MANIFEST,
+				() -> LaunchPlan.fromDependencyResult(dependencyResult, getJarMetadataIndex(parameters)));
+		if (LaunchPlanCache.isCacheable(dependencyResult.getRoot())) {
+			timings.measure(Phase.LAUNCH_PLAN_CACHE, () -> {
+				launchPlanCache.store(key, launchPlan);
+				return null;
+			});
+		}
+		return launchPlan;
+	}
+
+	/**
+	 * Determines the launch plan using the lock file given by user argument.
+	 *
+	 * <p>
+	 * If the lock file exists and shall not be updated, the launch plan is loaded
+	 * from it without collecting dependencies. Else dependencies are resolved and
+	 * the lock file is written.
+	 *
+	 * @param parameters   the parameters object of {@link RunMojo}
+	 * @param timings      the timings to add phase durations to
+	 * @param key          the resolution key
+	 * @param repositories the list of repositories to resolve from
+	 * @return the launch plan
+	 * @throws DependencyResolutionException if resolving dependencies failed
+	 * @throws IOException                   if resolving locked artifacts failed or
+	 *                                       any IO failure occurred
+	 */
+	private static LaunchPlan getLockedLaunchPlan(final Parameters parameters,
+			final LaunchTimings timings,
+			final ResolutionKey key,
+			final List<RemoteRepository> repositories) throws DependencyResolutionException, IOException {
+		final LockFile lockFile = new LockFile(parameters.getLockFile().get(),
+				new ChecksumIndex(parameters.getCacheDirectory().resolve(CHECKSUMS_DIRECTORY)));
+		if (!parameters.isUpdateLockFile() && lockFile.exists()) {
+			return timings.measure(Phase.LOCK_FILE,
+					() -> lockFile.load(key,
+							parameters.getRepositorySystem(),
+							parameters.getRepositorySystemSession(),
+							repositories));
+		}
+
+		final DependencyResult dependencyResult = resolveDependencies(parameters, timings, key, repositories);
+		final LaunchPlan launchPlan = timings.measure(Phase.MANIFEST,
+				() -> LaunchPlan.fromDependencyResult(dependencyResult, getJarMetadataIndex(parameters)));
+		timings.measure(Phase.LOCK_FILE, () -> {
+			lockFile.store(key, dependencyResult, launchPlan);
+			return null;
+		});
+		return launchPlan;
 	}
 
 	/**
@@ -157,42 +916,138 @@ public final class JarRunner {
 	/**
 	 * Resolves the dependencies for the artifact given by user argument.
 	 *
-	 * @param parameters the parameters object of {@link RunMojo}
+	 * <p>
+	 * Results are cached per Maven session, so that multiple executions (e.g. in
+	 * parallel reactor builds) resolve equal artifacts only once.
+	 *
+	 * <p>
+	 * Collecting the dependency graph and resolving its artifacts are done as
+	 * separate steps, so that their durations can be measured separately.
+	 *
+	 * <p>
+	 * Exclusions are set on the root dependency, so that excluded dependencies and
+	 * their dependencies are not collected at all. Optional dependencies are
+	 * selected using a copy of the repository system session.
+	 *
+	 * <p>
+	 * If enabled by user argument, repositories are ordered by their latency before
+	 * collecting, while {@code key} still refers to the unordered repositories.
+	 *
+	 * @param parameters   the parameters object of {@link RunMojo}
+	 * @param timings      the timings to add phase durations to
+	 * @param key          the resolution key
+	 * @param repositories the list of repositories to resolve from
 	 * @return the resolved dependencies
 	 * @throws DependencyResolutionException if resolving dependencies failed
 	 */
-	private static DependencyResult resolveDependencies(final Parameters parameters)
-			throws DependencyResolutionException {
-		final Dependency dependency = new Dependency(parameters.getArtifact(), DependencyScope.COMPILE.getValue());
-		final CollectRequest collectRequest = new CollectRequest(dependency, getRepositories(parameters));
-		final Collection<String> includedScopes
-				= asList(DependencyScope.COMPILE.getValue(), DependencyScope.RUNTIME.getValue());
-		final DependencyRequest dependencyRequest
-				= new DependencyRequest(collectRequest, new ScopeDependencyFilter(includedScopes, null));
-		return parameters.getRepositorySystem()
-				.resolveDependencies(parameters.getRepositorySystemSession(), dependencyRequest);
+	private static DependencyResult resolveDependencies(final Parameters parameters,
+			final LaunchTimings timings,
+			final ResolutionKey key,
+			final List<RemoteRepository> repositories) throws DependencyResolutionException {
+		return DependencyResultCache.forSession(parameters.getRepositorySystemSession()).get(key, () -> {
+			final Dependency dependency = new Dependency(parameters.getArtifact(),
+					DependencyScope.COMPILE.getValue(),
+					false,
+					parameters.getExclusions());
+			final CollectRequest collectRequest
+					= new CollectRequest(dependency, getOrderedRepositories(parameters, timings, repositories));
+			final DependencyFilter dependencyFilter = new ScopeDependencyFilter(key.getScopes(), null);
+			final RepositorySystemSession collectSession = getCollectSession(parameters);
+
+			final CollectResult collectResult;
+			try {
+				collectResult = timings.measure(Phase.COLLECT,
+						() -> parameters.getRepositorySystem().collectDependencies(collectSession, collectRequest));
+			} catch (final DependencyCollectionException e) {
+				throw new DependencyResolutionException(
+						new DependencyResult(new DependencyRequest(collectRequest, dependencyFilter)),
+						e);
+			}
+
+			final DependencyRequest dependencyRequest = new DependencyRequest(collectResult.getRoot(), dependencyFilter)
+					.setCollectRequest(collectRequest);
+			return timings.measure(Phase.DOWNLOAD,
+					() -> parameters.getRepositorySystem()
+							.resolveDependencies(parameters.getRepositorySystemSession(), dependencyRequest));
+		});
+	}
+
+	/**
+	 * Orders {@code repositories} by their latency and skips unresponsive
+	 * repositories if enabled by user argument.
+	 *
+	 * @param parameters   the parameters object of {@link RunMojo}
+	 * @param timings      the timings to add phase durations to
+	 * @param repositories the list of repositories
+	 * @return the ordered list of repositories
+	 */
+	private static List<RemoteRepository> getOrderedRepositories(final Parameters parameters,
+			final LaunchTimings timings,
+			final List<RemoteRepository> repositories) {
+		if (!parameters.isRepositoryProbing()) {
+			return repositories;
+		}
+		final RepositoryLatencies repositoryLatencies = new RepositoryLatencies(parameters.getLog(),
+				parameters.getRepositorySystemSession().getProxySelector(),
+				parameters.getCacheDirectory().resolve(REPOSITORY_LATENCIES_DIRECTORY));
+		return timings.measure(Phase.REPOSITORY_PROBING, () -> repositoryLatencies.order(repositories));
 	}
 
 	/**
-	 * Causes the current thread to wait, if necessary, until {@code process} has
-	 * terminated. This method returns immediately if {@code process} already
-	 * terminated. If {@code process} has not yet terminated, the calling thread
-	 * will be blocked until {@code process} exits.
+	 * Creates the repository system session to collect dependencies with. Test and
+	 * provided dependencies of dependencies are skipped and exclusions are applied
+	 * just like Maven does, while optional dependencies are selected as given by
+	 * user argument. Test and provided dependencies of the artifact itself are
+	 * collected, so that the user given scopes can include them.
 	 *
-	 * @param process the process to wait for
-	 * @return exit value of {@code process} (By convention, the value 0 indicates
-	 *         normal termination.)
+	 * @param parameters the parameters object of {@link RunMojo}
+	 * @return the repository system session to collect dependencies with
 	 */
-	@SuppressWarnings("java:S2142")
-	private static int waitForWithoutInterrupting(final Process process) {
-		try {
-			return process.waitFor();
-		} catch (@SuppressWarnings("unused") final InterruptedException ignore) {
-			// Instead of rethrowing the InterruptedException we destroy the subprocess and
-			// wait for it to end.
-			process.destroy();
-			return waitForWithoutInterrupting(process);
+	private static RepositorySystemSession getCollectSession(final Parameters parameters) {
+		final List<DependencySelector> selectors = new ArrayList<>();
+		selectors.add(new TransitiveScopeDependencySelector());
+		parameters.getOptionalDependencies().createSelector().ifPresent(selectors::add);
+		selectors.add(new ExclusionDependencySelector());
+
+		return new DefaultRepositorySystemSession(parameters.getRepositorySystemSession())
+				.setDependencySelector(new AndDependencySelector(selectors));
+	}
+
+	/**
+	 * Creates the failure message for an application stopped with a non-zero exit
+	 * value, mentioning the last captured lines.
+	 *
+	 * @param exitStatus the exit value
+	 * @param tail       the last captured lines
+	 * @return the failure message
+	 */
+	private static String getFailureMessage(final int exitStatus, final OutputTail tail) {
+		final StringBuilder message
+				= new StringBuilder(Strings.format("The application stopped with exit value %d.", exitStatus));
+		final List<String> lines = tail.getLines();
+		if (!lines.isEmpty()) {
+			message.append(" Last lines of output:");
+			for (final String line : lines) {
+				message.append(System.lineSeparator()).append(line);
+			}
 		}
+		return message.toString();
+	}
+
+	/**
+	 * Determines how to redirect an output stream of the application.
+	 *
+	 * @param file    the file to redirect to
+	 * @param rotate  {@code true} if the file is rotated by a drainer
+	 * @param capture {@code true} if the stream is captured into the Maven log
+	 *                unless redirected to a file
+	 * @return the redirect
+	 */
+	private static Redirect getOutputRedirect(final Optional<Path> file, final boolean rotate, final boolean capture) {
+		if (!file.isPresent()) {
+			return capture ? Redirect.PIPE : Redirect.INHERIT;
+		}
+		return rotate ? Redirect.PIPE : Redirect.appendTo(file.get().toFile());
 	}
 
 	/**
@@ -203,26 +1058,80 @@ public final class JarRunner {
 	 */
 	Parameters parameters;
 
+	/**
+	 * The class data sharing archive used or recorded by the launched JVM
+	 *
+	 * @return the class data sharing archive or empty if class data sharing is not
+	 *         used
+	 */
+	Optional<ClassDataSharing.Archive> classDataSharingArchive;
+
+	/**
+	 * The application prepared to run inside the Maven JVM
+	 *
+	 * @return the in-process application or empty if not running in-process
+	 */
+	Optional<InProcessApplication> inProcessApplication;
+
+	/**
+	 * The class path files helper, which created the Java argument files of the
+	 * prepared commands
+	 *
+	 * @return the class path files helper or empty if running in-process
+	 */
+	Optional<ClassPathFiles> classPathFiles;
+
 	/**
 	 * The command prepared to launch the artifact in a new JVM
 	 *
+	 * <p>
+	 * When running in-process, this is a plain Java command equivalent to the
+	 * in-process application, which is used for logging only.
+	 *
 	 * @return the process builder
 	 */
 	ProcessBuilder processBuilder;
 
+	/**
+	 * The durations of the launch phases
+	 *
+	 * @return the launch timings
+	 */
+	LaunchTimings timings;
+
+	/**
+	 * The command prepared to start worker JVMs for the artifact
+	 *
+	 * @return the worker command
+	 */
+	List<String> workerCommand;
+
+	/**
+	 * The commands of replicas with placeholders replaced
+	 *
+	 * @return the commands in order of replicas or an empty list if not running
+	 *         replicas
+	 */
+	List<List<String>> replicaCommands;
+
 	/**
 	 * Prepares a command (in form of an internal {@link ProcessBuilder}) to launch
 	 * a new JVM based on a given artifact with optional arguments.
 	 *
 	 * <p>
 	 * The given artifacts dependencies are resolved and a fully qualified class
-	 * path is created.
+	 * path is created. If enabled, a cached launch plan is used instead.
 	 *
 	 * <p>
 	 * The main class to execute can either be specified by argument or is taken
 	 * from the artifacts JAR.
 	 *
+	 * <p>
+	 * Durations of dependency resolution and command building are added to
+	 * {@code timings}.
+	 *
 	 * @param parameters the parameters used to create the command
+	 * @param timings    the timings to add phase durations to
 	 * @throws DependencyResolutionException if resolving dependencies failed
 	 * @throws IOException                   if any IO failure occurred
 	 * @throws MojoFailureException          either if no main class is given and
@@ -231,45 +1140,374 @@ public final class JarRunner {
 	 *                                       started application stopped with an
 	 *                                       exit value not equal to zero
 	 */
-	@SuppressFBWarnings(value = "COMMAND_INJECTION", justification = "command injection expected")
-	public JarRunner(final Parameters parameters)
+	@SuppressFBWarnings(value = { "COMMAND_INJECTION", "STT_TOSTRING_STORED_IN_FIELD" },
+			justification = "command injection expected and paths are part of commands")
+	public JarRunner(final Parameters parameters, final LaunchTimings timings)
 			throws DependencyResolutionException, MojoFailureException, IOException {
 		this.parameters = parameters;
+		this.timings = timings;
 
 		// Resolve Dependencies
-		final DependencyResult dependencyResult = resolveDependencies(parameters);
+		final LaunchPlan launchPlan = getLaunchPlan(parameters, timings);
+
+		// Runtime Image
+		final Path javaExecutable = parameters.isRuntimeImage() && !parameters.isInProcess()
+				? timings.measure(Phase.RUNTIME_IMAGE,
+						() -> getRuntimeImageExecutable(parameters,
+								getJavaExecutable(parameters.getJavaPath()),
+								launchPlan))
+				: getJavaExecutable(parameters.getJavaPath());
 
 		// Build Java execution command
-		final List<String> commands = new ArrayList<>();
-		commands.add(getJavaExecutable(parameters.getJavaPath()).toString());
-		commands.addAll(parameters.getJavaOptions());
-		commands.add("-classpath");
-		commands.add(getClassPath(dependencyResult, parameters.getClassPathFormat()));
-		commands.add(getMainClass(parameters.getMainClass(), dependencyResult));
-		commands.addAll(parameters.getArguments());
+		final long commandStart = System.nanoTime();
+		final String mainClass = getMainClass(parameters.getMainClass(), launchPlan);
+		final LaunchPlan trimmedLaunchPlan = getTrimmedLaunchPlan(parameters, launchPlan, mainClass);
+		final Optional<ModulePath> modulePath = getModulePath(parameters, javaExecutable, trimmedLaunchPlan);
+		final List<Path> classPath = getClassPath(parameters,
+				modulePath.map(ModulePath::getClassPath).orElseGet(trimmedLaunchPlan::getClassPath));
+		classPathFiles = parameters.isInProcess()
+				? Optional.empty()
+				: Optional.of(getClassPathFiles(parameters, javaExecutable));
 
-		// Build Java process
-		processBuilder = new ProcessBuilder(commands);
-		parameters.getWorkingDirectory().map(Path::toFile).ifPresent(processBuilder::directory);
+		if (parameters.isInProcess()) {
+			// Build in-process application, skipping JVM options of launched JVMs
+			inProcessApplication = Optional.of(new InProcessApplication(classPath,
+					mainClass,
+					parameters.getArguments(),
+					parameters.getInputFile(),
+					parameters.getOutputFile(),
+					parameters.getErrorFile()));
+			classDataSharingArchive = Optional.empty();
+			processBuilder = new ProcessBuilder(getInProcessCommand(parameters, javaExecutable, classPath, mainClass));
+			workerCommand = emptyList();
+			replicaCommands = emptyList();
+		} else {
+			// Build Java process
+			final List<String> javaOptions
+					= getJavaOptions(parameters, javaExecutable, launchPlan, modulePath.map(ModulePath::getModule));
+			final List<String> processJavaOptions = new ArrayList<>(javaOptions);
+			modulePath.map(ModulePath::getJavaOptions).ifPresent(processJavaOptions::addAll);
+			final List<String> mainArguments = modulePath.map(path -> path.getMainArguments(mainClass))
+					.orElseGet(() -> singletonList(mainClass));
+			inProcessApplication = Optional.empty();
+			classDataSharingArchive = getClassDataSharingArchive(parameters,
+					javaExecutable,
+					classPath,
+					!parameters.isRunAsync() && parameters.getWorkerPoolSize() == 0);
+			final List<String> prefix = new ArrayList<>();
+			prefix.add(javaExecutable.toString());
+			classDataSharingArchive.map(ClassDataSharing.Archive::getJavaOptions).ifPresent(prefix::addAll);
+			processBuilder = new ProcessBuilder(getProcessCommand(parameters,
+					classPathFiles.get(),
+					prefix,
+					processJavaOptions,
+					classPath,
+					mainArguments,
+					UnaryOperator.identity()));
+			parameters.getWorkingDirectory().map(Path::toFile).ifPresent(processBuilder::directory);
+			replicaCommands = getReplicaCommands(parameters,
+					classPathFiles.get(),
+					prefix,
+					processJavaOptions,
+					classPath,
+					mainArguments);
+
+			// Build worker command
+			workerCommand = parameters.getWorkerPoolSize() > 0
+					? getWorkerCommand(parameters,
+							javaExecutable,
+							classPathFiles.get(),
+							javaOptions,
+							classPath,
+							mainClass)
+					: emptyList();
+		}
+		timings.add(Phase.COMMAND, System.nanoTime() - commandStart);
 	}
 
 	/**
 	 * Launches a new JVM based on the instances command.
 	 *
-	 * @throws IOException if any IO failure occurred
+	 * <p>
+	 * In case the application stops with an exit value not equal to zero, either
+	 * the Maven JVM is terminated or a {@link MojoFailureException} is thrown,
+	 * depending on {@link Parameters#getExitMode()}. Timings are reported before.
+	 *
+	 * <p>
+	 * Temporary Java argument files are deleted as soon as the launched JVMs
+	 * stopped. Asynchronously run applications leave them to be deleted as soon as
+	 * the Maven JVM stops.
+	 *
+	 * @throws IOException          if any IO failure occurred
+	 * @throws MojoFailureException if the started application stopped with an exit
+	 *                              value not equal to zero
 	 */
 	@SuppressWarnings("PMD.DoNotTerminateVM")
 	@SuppressFBWarnings(value = { "COMMAND_INJECTION", "DM_EXIT" },
 			justification = "command is meant to be injected and exit code need to be passed")
-	public void execute() throws IOException {
+	public void execute() throws IOException, MojoFailureException {
+		final LaunchTimings timings = getTimings();
+		final List<StreamDrainer> drainers = new ArrayList<>();
+		final OutputTail tail = new OutputTail(getParameters().getOutputTailLines());
 		if (getParameters().isRunAsync()) {
-			getProcessBuilder().start();
+			timings.measure(Phase.SPAWN, () -> start(drainers, tail));
+			timings.report(getParameters(), OptionalInt.empty());
 		} else {
-			final int exitStatus = waitForWithoutInterrupting(getProcessBuilder().inheritIO().start());
+			final int exitStatus;
+			try {
+				exitStatus = runSynchronously(drainers, tail);
+			} finally {
+				deleteTemporaryFiles();
+			}
+			timings.report(getParameters(), OptionalInt.of(exitStatus));
 			if (exitStatus != 0) {
-				System.exit(exitStatus);
+				if (getParameters().getExitMode().isTerminatingVm()) {
+					System.exit(exitStatus);
+				}
+				throw new MojoFailureException(getFailureMessage(exitStatus, tail));
+			}
+		}
+	}
+
+	/**
+	 * Runs the application in-process, inside a worker JVM, as replicas or inside a
+	 * new JVM and waits for it to stop.
+	 *
+	 * @param drainers the list to add started drainers to
+	 * @param tail     the tail to add captured lines to
+	 * @return exit value of the application
+	 * @throws IOException          if any IO failure occurred
+	 * @throws MojoFailureException if the main class could not be loaded
+	 */
+	private int runSynchronously(final List<StreamDrainer> drainers, final OutputTail tail)
+			throws IOException, MojoFailureException {
+		final LaunchTimings timings = getTimings();
+		final int exitStatus;
+		if (getParameters().isInProcess()) {
+			final long runStart = System.nanoTime();
+			exitStatus = runInProcess();
+			timings.add(Phase.RUN, System.nanoTime() - runStart);
+		} else if (getParameters().getWorkerPoolSize() > 0) {
+			exitStatus = timings.measure(Phase.RUN,
+					() -> WorkerPool
+							.forCommand(getWorkerCommand(),
+									getParameters().getWorkingDirectory(),
+									getParameters().getWorkerPoolSize(),
+									getParameters().getWorkerMaxUses())
+							.run(getParameters().getArguments()));
+		} else if (getParameters().getReplicas() > 1) {
+			exitStatus = runReplicas(drainers, tail);
+			for (final StreamDrainer drainer : drainers) {
+				drainer.await();
 			}
+			storeClassDataSharingArchive();
+		} else {
+			final Process process = timings.measure(Phase.SPAWN, () -> start(drainers, tail));
+			exitStatus = timings.measure(Phase.RUN, () -> Processes.waitForWithoutInterrupting(process));
+			for (final StreamDrainer drainer : drainers) {
+				drainer.await();
+			}
+			storeClassDataSharingArchive();
+		}
+		return exitStatus;
+	}
+
+	/**
+	 * Deletes the temporary Java argument files of the prepared commands. This
+	 * method is expected to be called as soon as the launched JVMs stopped.
+	 *
+	 * @throws IOException if deleting any file failed
+	 */
+	public void deleteTemporaryFiles() throws IOException {
+		if (getClassPathFiles().isPresent()) {
+			getClassPathFiles().get().deleteTemporaryFiles();
+		}
+	}
+
+	/**
+	 * Moves the class data sharing archive recorded by the launched JVM into place.
+	 * This method is expected to be called as soon as the launched JVM stopped.
+	 *
+	 * @throws IOException if any IO failure occurred
+	 */
+	public void storeClassDataSharingArchive() throws IOException {
+		if (getClassDataSharingArchive().isPresent()) {
+			getClassDataSharingArchive().get().store();
+		}
+	}
+
+	/**
+	 * Starts the application in a new JVM, redirecting its streams as given by the
+	 * parameters.
+	 *
+	 * <p>
+	 * Streams not redirected to files are either captured into the Maven log or
+	 * inherited. The input stream of asynchronously run applications is closed
+	 * instead, as it would compete with the Maven JVM. Captured streams and output
+	 * and error files to rotate are drained by background threads, which are added
+	 * to {@code drainers}.
+	 *
+	 * @param drainers the list to add started drainers to
+	 * @param tail     the tail to add captured lines to
+	 * @return the started process
+	 * @throws IOException if any IO failure occurred
+	 */
+	private Process start(final List<StreamDrainer> drainers, final OutputTail tail) throws IOException {
+		return start(getProcessBuilder(), OptionalInt.empty(), drainers, tail);
+	}
+
+	/**
+	 * Starts {@code processBuilder}, redirecting its streams as given by the
+	 * parameters.
+	 *
+	 * <p>
+	 * For replicas placeholders of file paths and the output prefix are replaced
+	 * and captured lines are prefixed by the replicas number unless another prefix
+	 * is given.
+	 *
+	 * @param processBuilder the process to start
+	 * @param replica        the replicas number or empty if not running replicas
+	 * @param drainers       the list to add started drainers to
+	 * @param tail           the tail to add captured lines to
+	 * @return the started process
+	 * @throws IOException if any IO failure occurred
+	 */
+	private Process start(final ProcessBuilder processBuilder,
+			final OptionalInt replica,
+			final List<StreamDrainer> drainers,
+			final OutputTail tail) throws IOException {
+		final Parameters parameters = getParameters();
+		final UnaryOperator<String> substitution = replica.isPresent()
+				? value -> Replicas.substitute(value, replica.getAsInt(), parameters.getReplicaBasePort())
+				: UnaryOperator.identity();
+		final Optional<Path> outputFile
+				= parameters.getOutputFile().map(file -> Paths.get(substitution.apply(file.toString())));
+		final Optional<Path> errorFile
+				= parameters.getErrorFile().map(file -> Paths.get(substitution.apply(file.toString())));
+		final Optional<String> prefix = replica.isPresent()
+				? Optional.of(substitution.apply(parameters.getOutputPrefix().orElse(REPLICA_PREFIX_DEFAULT)))
+				: parameters.getOutputPrefix();
+
+		final boolean rotate = parameters.getOutputMaxSize() > 0;
+		final boolean capture = parameters.isCaptureOutput();
+		final boolean mergeError = errorFile.isPresent() && errorFile.equals(outputFile);
+		final Redirect inputRedirect = parameters.getInputFile()
+				.map(file -> Redirect.from(file.toFile()))
+				.orElse(parameters.isRunAsync() ? Redirect.PIPE : Redirect.INHERIT);
+
+		final Process process = processBuilder.redirectInput(inputRedirect)
+				.redirectOutput(getOutputRedirect(outputFile, rotate, capture))
+				.redirectError(getOutputRedirect(errorFile, rotate, capture))
+				.redirectErrorStream(mergeError)
+				.start();
+		if (inputRedirect == Redirect.PIPE) {
+			process.getOutputStream().close();
+		}
+		if (rotate) {
+			outputFile.ifPresent(file -> drainers.add(RotatingFileDrainer.start(process.getInputStream(),
+					file,
+					parameters.getOutputMaxSize(),
+					parameters.getOutputMaxFiles())));
+			if (!mergeError) {
+				errorFile.ifPresent(file -> drainers.add(RotatingFileDrainer.start(process.getErrorStream(),
+						file,
+						parameters.getOutputMaxSize(),
+						parameters.getOutputMaxFiles())));
+			}
+		}
+		if (capture && !outputFile.isPresent()) {
+			drainers.add(LogDrainer.start(process
+					.getInputStream(), "output", parameters.getLog(), parameters.getOutputLevel(), prefix, tail));
+		}
+		if (capture && !errorFile.isPresent()) {
+			drainers.add(LogDrainer.start(process
+					.getErrorStream(), "error", parameters.getLog(), parameters.getErrorLevel(), prefix, tail));
+		}
+		return process;
+	}
+
+	/**
+	 * Starts {@link Parameters#getReplicas()} replicas of the application and waits
+	 * for all of them to stop.
+	 *
+	 * <p>
+	 * If any replica fails to start, already started replicas are destroyed.
+	 * Replicas stopping with an exit value not equal to zero are logged. A missing
+	 * class data sharing archive is recorded by the first replica only.
+	 *
+	 * @param drainers the list to add started drainers to
+	 * @param tail     the tail to add captured lines to
+	 * @return the first exit value not equal to zero or zero
+	 * @throws IOException if any IO failure occurred
+	 */
+	@SuppressFBWarnings(value = "COMMAND_INJECTION", justification = "command is meant to be injected")
+	private int runReplicas(final List<StreamDrainer> drainers, final OutputTail tail) throws IOException {
+		final Parameters parameters = getParameters();
+		final int replicas = parameters.getReplicas();
+		final List<String> cpuLists
+				= parameters.isReplicaCpuPinning() ? Replicas.getCpuLists(parameters.getLog(), replicas) : emptyList();
+
+		final List<Process> processes = new ArrayList<>(replicas);
+		getTimings().measure(Phase.SPAWN, () -> {
+			try {
+				for (int replica = 0; replica < replicas; replica += 1) {
+					final List<String> command = new ArrayList<>(getReplicaCommands().get(replica));
+					if (replica > 0) {
+						getClassDataSharingArchive().filter(archive -> archive.getRecordingFile().isPresent())
+								.ifPresent(archive -> command.removeAll(archive.getJavaOptions()));
+					}
+					final ProcessBuilder replicaBuilder = new ProcessBuilder(
+							Replicas.getCommand(command, cpuLists.isEmpty() ? "" : cpuLists.get(replica)))
+							.directory(getProcessBuilder().directory());
+					processes.add(start(replicaBuilder, OptionalInt.of(replica), drainers, tail));
+				}
+			} catch (final IOException e) {
+				processes.forEach(Process::destroy);
+				throw e;
+			}
+			return processes;
+		});
+
+		return getTimings().measure(Phase.RUN, () -> {
+			int firstExitStatus = 0;
+			for (int replica = 0; replica < replicas; replica += 1) {
+				final int exitStatus = Processes.waitForWithoutInterrupting(processes.get(replica));
+				if (exitStatus != 0) {
+					if (firstExitStatus == 0) {
+						firstExitStatus = exitStatus;
+					}
+					if (parameters.getLog().isErrorEnabled()) {
+						parameters.getLog()
+								.error(Strings.format("Replica %d stopped with exit value %d.", replica, exitStatus));
+					}
+				}
+			}
+			return firstExitStatus;
+		});
+	}
+
+	/**
+	 * Runs the application inside the Maven JVM.
+	 *
+	 * <p>
+	 * Options concerning the launched JVM only are ignored with a warning.
+	 *
+	 * @return exit value of the application
+	 * @throws IOException          if any IO failure occurred
+	 * @throws MojoFailureException if the main class could not be loaded
+	 */
+	private int runInProcess() throws IOException, MojoFailureException {
+		final Log log = getParameters().getLog();
+		final boolean jvmOptionsGiven = getParameters().getJavaPath().isPresent()
+				|| !getParameters().getJavaOptions().isEmpty()
+				|| getParameters().getWorkingDirectory().isPresent()
+				|| getParameters().isClassDataSharing()
+				|| getParameters().isRuntimeImage();
+		if (jvmOptionsGiven && log.isWarnEnabled()) {
+			log.warn(
+					"Java path, Java options, working directory, class data sharing and runtime images are ignored when running in-process.");
 		}
+		return getInProcessApplication().get().run();
 	}
 
 	/**
@@ -0,0 +1,205 @@
+package de.larssh.maven.jarrunner;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.Map;
+import java.util.Optional;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+/**
+ * Main class of pre-started worker JVMs, which run an application multiple
+ * times without paying JVM startup and class loading on each run.
+ *
+ * <p>
+ * The worker loads and initializes the applications main class, connects to the
+ * Maven JVM and waits for requests. Each request contains the arguments to run
+ * the applications main method with. The response contains the exit status.
+ * Calls to {@link System#exit(int)} stop the worker, in which case the Maven
+ * JVM takes the workers exit value.
+ *
+ * <p>
+ * Standard streams of workers are inherited from the Maven JVM. This class is
+ * loaded inside worker JVMs and must therefore not depend on any classes
+ * outside the JDK at runtime.
+ */
+@SuppressWarnings({ "PMD.AvoidPrintStackTrace", "PMD.ClassNamingConventions", "PMD.SystemPrintln" })
+public final class JarRunnerWorker {
+	/**
+	 * Exit status of runs that stopped because of an uncaught exception
+	 */
+	private static final int EXIT_STATUS_UNCAUGHT_EXCEPTION = 1;
+
+	/**
+	 * Name of the main method
+	 */
+	private static final String MAIN_METHOD_NAME = "main";
+
+	/**
+	 * Name of the environment variable containing the token, which is used to
+	 * authenticate the worker against the Maven JVM
+	 */
+	private static final String TOKEN_ENVIRONMENT_VARIABLE = "JAR_RUNNER_WORKER_TOKEN";
+
+	/**
+	 * Maximum number of bytes of strings read from the Maven JVM
+	 */
+	private static final int MAX_STRING_BYTES = 64 * 1024 * 1024;
+
+	/**
+	 * Loads the applications main class, connects to the Maven JVM and handles
+	 * requests until the connection is closed.
+	 *
+	 * <p>
+	 * Arguments: the applications main class and the port to connect to
+	 *
+	 * @param args the applications main class and the port to connect to
+	 * @throws IOException                  if communicating with the Maven JVM
+	 *                                      failed
+	 * @throws ReflectiveOperationException if loading the main method failed
+	 */
+	@SuppressWarnings({ "checkstyle:UncommentedMain", "PMD.AvoidAccessibilityAlteration" })
+	@SuppressFBWarnings(value = { "RFI_SET_ACCESSIBLE", "UNENCRYPTED_SOCKET", "DP_DO_INSIDE_DO_PRIVILEGED" },
+			justification = "communicating with the Maven JVM via loopback and the main class does not need to be public")
+	public static void main(final String[] args) throws IOException, ReflectiveOperationException {
+		final Method mainMethod = Class.forName(args[0]).getDeclaredMethod(MAIN_METHOD_NAME, String[].class);
+		if (!Modifier.isStatic(mainMethod.getModifiers())) {
+			throw new NoSuchMethodException(String.format("The main method of class %s is not static.", args[0]));
+		}
+		mainMethod.setAccessible(true);
+
+		try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), Integer.parseInt(args[1]));
+				DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+				DataOutputStream output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+			writeString(output, System.getenv(TOKEN_ENVIRONMENT_VARIABLE));
+			output.flush();
+
+			Optional<String[]> arguments = readArguments(input);
+			while (arguments.isPresent()) {
+				final int exitStatus = invoke(mainMethod, arguments.get());
+				System.out.flush();
+				System.err.flush();
+
+				output.writeInt(exitStatus);
+				output.flush();
+				arguments = readArguments(input);
+			}
+		}
+	}
+
+	/**
+	 * Invokes {@code mainMethod} with {@code arguments}.
+	 *
+	 * @param mainMethod the main method
+	 * @param arguments  the arguments
+	 * @return exit status of the run
+	 * @throws IllegalAccessException if the main method is not accessible
+	 */
+	@SuppressFBWarnings(
+			value = { "IMC_IMMATURE_CLASS_PRINTSTACKTRACE", "INFORMATION_EXPOSURE_THROUGH_AN_ERROR_MESSAGE" },
+			justification = "printing uncaught exceptions the same way as the Java launcher does")
+	private static int invoke(final Method mainMethod, final String... arguments) throws IllegalAccessException {
+		try {
+			mainMethod.invoke(null, (Object) arguments);
+			return 0;
+		} catch (final InvocationTargetException e) {
+			System.err.print("Exception in thread \"main\" ");
+			e.getCause().printStackTrace();
+			return EXIT_STATUS_UNCAUGHT_EXCEPTION;
+		}
+	}
+
+	/**
+	 * Reads the arguments of the next request.
+	 *
+	 * @param input the input to read from
+	 * @return the arguments or empty if the connection has been closed or reset
+	 * @throws IOException if reading failed
+	 */
+	private static Optional<String[]> readArguments(final DataInput input) throws IOException {
+		final int count;
+		try {
+			count = input.readInt();
+		} catch (@SuppressWarnings("unused") final EOFException | SocketException e) {
+			return Optional.empty();
+		}
+
+		if (count < 0) {
+			throw new IOException(String.format("Invalid number of arguments %d.", count));
+		}
+		final String[] arguments = new String[count];
+		for (int index = 0; index < count; index += 1) {
+			arguments[index] = readString(input, MAX_STRING_BYTES);
+		}
+		return Optional.of(arguments);
+	}
+
+	/**
+	 * Puts the authentication token into the environment variables of a worker JVM.
+	 *
+	 * @param environment the environment variables of a worker JVM
+	 * @param token       the authentication token
+	 */
+	public static void putToken(final Map<String, String> environment, final String token) {
+		environment.put(TOKEN_ENVIRONMENT_VARIABLE, token);
+	}
+
+	/**
+	 * Reads a string written by {@link #writeString(DataOutput, String)}.
+	 *
+	 * <p>
+	 * In contrast to {@link DataInput#readUTF()} the length limit is given by the
+	 * caller, so that no buffer is allocated for invalid or hostile lengths.
+	 *
+	 * @param input    the input to read from
+	 * @param maxBytes maximum number of bytes of the string
+	 * @return the string
+	 * @throws IOException if reading failed or the length is negative or exceeds
+	 *                     {@code maxBytes}
+	 */
+	public static String readString(final DataInput input, final int maxBytes) throws IOException {
+		final int length = input.readInt();
+		if (length < 0 || length > maxBytes) {
+			throw new IOException(String.format("Invalid string length %d.", length));
+		}
+		final byte[] bytes = new byte[length];
+		input.readFully(bytes);
+		return new String(bytes, UTF_8);
+	}
+
+	/**
+	 * Writes {@code value} in a format readable by
+	 * {@link #readString(DataInput, int)}. {@code null} is written as empty string.
+	 *
+	 * @param output the output to write to
+	 * @param value  the string
+	 * @throws IOException if writing failed
+	 */
+	public static void writeString(final DataOutput output, @Nullable final String value) throws IOException {
+		final byte[] bytes = value == null ? new byte[0] : value.getBytes(UTF_8);
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+
+	/**
+	 * Utility class
+	 */
+	private JarRunnerWorker() {
+		// utility class
+	}
+}
@@ -0,0 +1,127 @@
+package de.larssh.maven.jarrunner;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import de.larssh.utils.Optionals;
+import de.larssh.utils.SystemUtils;
+import de.larssh.utils.text.Patterns;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Describes the Java runtime a Java executable belongs to.
+ *
+ * <p>
+ * The version of the Java runtime is taken from the current JVM if the
+ * executable belongs to it. Else the {@code release} file of the Java home
+ * directory is read, so that no additional process needs to be started.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class JavaRuntime {
+	/**
+	 * Name of the file inside Java home directories describing the release
+	 */
+	private static final String RELEASE_FILE_NAME = "release";
+
+	/**
+	 * Pattern to find the version inside the release file
+	 */
+	private static final Pattern RELEASE_FILE_VERSION_PATTERN
+			= Pattern.compile("^JAVA_VERSION=\"(?<version>[^\"]+)\"$", Pattern.MULTILINE);
+
+	/**
+	 * Pattern to find the feature version (formerly major version) inside a version
+	 * string
+	 */
+	private static final Pattern FEATURE_VERSION_PATTERN = Pattern.compile("^(1\\.)?(?<feature>\\d+)");
+
+	/**
+	 * Describes the Java runtime of {@code executable}.
+	 *
+	 * @param executable path to the Java executable
+	 * @return the Java runtime
+	 * @throws IOException if reading the release file failed
+	 */
+	public static JavaRuntime forExecutable(final Path executable) throws IOException {
+		if (executable.equals(SystemUtils.getJavaExecutable())) {
+			return new JavaRuntime(executable, Optionals.ofNonBlank(System.getProperty(SystemUtils.JAVA_VERSION)));
+		}
+		return new JavaRuntime(executable, readReleaseVersion(executable));
+	}
+
+	/**
+	 * Reads the Java version out of the {@code release} file next to the Java home
+	 * directory of {@code executable}.
+	 *
+	 * <p>
+	 * Symbolic links such as {@code /usr/bin/java} are resolved first, so the Java
+	 * home directory is found relative to the actual executable.
+	 *
+	 * @param executable path to the Java executable
+	 * @return the Java version or empty if no release file was found
+	 * @throws IOException if reading the release file failed
+	 */
+	private static Optional<String> readReleaseVersion(final Path executable) throws IOException {
+		final Path realExecutable = Files.exists(executable) ? executable.toRealPath() : executable.toAbsolutePath();
+		final Path binDirectory = realExecutable.getParent();
+		final Path homeDirectory = binDirectory == null ? null : binDirectory.getParent();
+		if (homeDirectory == null) {
+			return Optional.empty();
+		}
+
+		final Path releaseFile = homeDirectory.resolve(RELEASE_FILE_NAME);
+		if (!Files.isRegularFile(releaseFile)) {
+			return Optional.empty();
+		}
+		return Patterns.find(RELEASE_FILE_VERSION_PATTERN, new String(Files.readAllBytes(releaseFile), UTF_8))
+				.map(matcher -> matcher.group("version"));
+	}
+
+	/**
+	 * Path to the Java executable
+	 *
+	 * @return path to the Java executable
+	 */
+	Path executable;
+
+	/**
+	 * Java version string, e.g. "1.8.0_392" or "17.0.9"
+	 *
+	 * @return Java version string or empty if unknown
+	 */
+	Optional<String> version;
+
+	/**
+	 * Determines the feature version (formerly major version) of this runtime, e.g.
+	 * 8 or 17.
+	 *
+	 * @return feature version or empty if unknown
+	 */
+	public OptionalInt getFeatureVersion() {
+		final Optional<Matcher> matcher = getVersion().flatMap(value -> Patterns.find(FEATURE_VERSION_PATTERN, value));
+		return matcher.isPresent()
+				? OptionalInt.of(Integer.parseInt(matcher.get().group("feature")))
+				: OptionalInt.empty();
+	}
+
+	/**
+	 * Checks if the feature version of this runtime is known and at least
+	 * {@code featureVersion}.
+	 *
+	 * @param featureVersion the minimum feature version
+	 * @return {@code true} if this runtime is at least of {@code featureVersion}
+	 */
+	public boolean isAtLeast(final int featureVersion) {
+		return getFeatureVersion().orElse(0) >= featureVersion;
+	}
+}
@@ -0,0 +1,93 @@
+package de.larssh.maven.jarrunner;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+import de.larssh.utils.text.Strings;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Profiles to size launched JVMs based on the memory and CPUs left by the Maven
+ * JVM inside the current container or machine.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum JvmSizing {
+	/**
+	 * Launched JVMs size themselves.
+	 */
+	NONE(0, javaRuntime -> Optional.empty()),
+
+	/**
+	 * Large heap and the parallel garbage collector for batch processing
+	 */
+	THROUGHPUT(75, javaRuntime -> Optional.of("-XX:+UseParallelGC")),
+
+	/**
+	 * Heap leaving headroom for a concurrent garbage collector: ZGC (Java 15 and
+	 * later) or G1
+	 */
+	LATENCY(70,
+			javaRuntime -> Optional
+					.of(javaRuntime.isAtLeast(JvmSizing.MINIMUM_VERSION_ZGC) ? "-XX:+UseZGC" : "-XX:+UseG1GC")),
+
+	/**
+	 * Small heap and the serial garbage collector for short-running tools
+	 */
+	SMALL_FOOTPRINT(50, javaRuntime -> Optional.of("-XX:+UseSerialGC"));
+
+	/**
+	 * Minimum Java version supporting ZGC for production use
+	 */
+	private static final int MINIMUM_VERSION_ZGC = 15;
+
+	/**
+	 * Determines the JVM sizing profile by its name, ignoring case. Dashes can be
+	 * used instead of underscores.
+	 *
+	 * @param name the profiles name or {@code null}
+	 * @return the profile or {@link #NONE} if {@code name} is blank
+	 * @throws IllegalArgumentException if {@code name} is unknown
+	 */
+	public static JvmSizing fromName(@Nullable final String name) {
+		if (name == null || Strings.isBlank(name)) {
+			return NONE;
+		}
+		final String normalizedName = name.replace('-', '_');
+		for (final JvmSizing jvmSizing : values()) {
+			if (Strings.equalsIgnoreCaseAscii(jvmSizing.name(), normalizedName)) {
+				return jvmSizing;
+			}
+		}
+		throw new IllegalArgumentException(Strings.format(
+				"Unknown JVM sizing given. Allowed values: \"none\", \"throughput\", \"latency\" or \"small-footprint\". Given: \"%s\"",
+				name));
+	}
+
+	/**
+	 * Percentage of the memory left per launched JVM to use as maximum heap
+	 *
+	 * @return heap percentage
+	 */
+	int heapPercentage;
+
+	/**
+	 * Determines the option selecting a garbage collector for a Java runtime
+	 *
+	 * @return function determining the garbage collector option
+	 */
+	Function<JavaRuntime, Optional<String>> garbageCollector;
+
+	/**
+	 * Determines the option selecting the garbage collector of this profile for
+	 * {@code javaRuntime}.
+	 *
+	 * @param javaRuntime the Java runtime to launch
+	 * @return the garbage collector option or empty
+	 */
+	public Optional<String> getGarbageCollectorOption(final JavaRuntime javaRuntime) {
+		return getGarbageCollector().apply(javaRuntime);
+	}
+}
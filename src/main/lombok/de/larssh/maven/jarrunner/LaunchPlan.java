@@ -0,0 +1,77 @@
+package de.larssh.maven.jarrunner;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.stream.Collectors.toList;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import org.eclipse.aether.resolution.DependencyResult;
+import org.eclipse.aether.util.graph.visitor.PreorderNodeListGenerator;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The result of a dependency resolution, reduced to the information required to
+ * launch an artifact.
+ *
+ * <p>
+ * Launch plans can be created either from a {@link DependencyResult} or loaded
+ * from a {@link LaunchPlanCache}.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+public final class LaunchPlan {
+	/**
+	 * Creates a launch plan based on resolved dependencies.
+	 *
+	 * <p>
+	 * The following code has already been prepared for maven-resolver-util v2:
+	 *
+	 * <pre>
+	 * final NodeListGenerator nodeListGenerator = new NodeListGenerator();
+	 * dependencyResult.getRoot().accept(new PreorderDependencyNodeConsumerVisitor(nodeListGenerator));
+	 * final List&lt;File&gt; files = nodeListGenerator.getFiles();
+	 * </pre>
+	 *
+	 * @param dependencyResult Resolved dependencies
+	 * @param jarMetadataIndex the index of JAR metadata
+	 * @return the launch plan
+	 * @throws IOException if reading the root artifacts JAR manifest failed
+	 */
+	public static LaunchPlan fromDependencyResult(final DependencyResult dependencyResult,
+			final JarMetadataIndex jarMetadataIndex) throws IOException {
+		final PreorderNodeListGenerator preorderNodeListGenerator = new PreorderNodeListGenerator();
+		dependencyResult.getRoot().accept(preorderNodeListGenerator);
+		final List<Path> classPath = preorderNodeListGenerator.getFiles().stream().map(File::toPath).collect(toList());
+
+		final Path rootFile = dependencyResult.getRoot().getArtifact().getFile().toPath();
+		return new LaunchPlan(unmodifiableList(classPath), rootFile, jarMetadataIndex.get(rootFile).getMainClass());
+	}
+
+	/**
+	 * Files of the class path in order
+	 *
+	 * @return files of the class path in order
+	 */
+	List<Path> classPath;
+
+	/**
+	 * File of the root artifact
+	 *
+	 * @return file of the root artifact
+	 */
+	Path rootFile;
+
+	/**
+	 * Main class as given by the root artifacts JAR manifest
+	 *
+	 * @return main class as given by the root artifacts JAR manifest
+	 */
+	Optional<String> mainClass;
+}
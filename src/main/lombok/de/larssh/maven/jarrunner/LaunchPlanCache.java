@@ -0,0 +1,285 @@
+package de.larssh.maven.jarrunner;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableList;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.util.graph.visitor.PreorderNodeListGenerator;
+import org.eclipse.aether.version.VersionConstraint;
+
+import de.larssh.utils.Optionals;
+import de.larssh.utils.text.Strings;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Persistent on-disk cache of {@link LaunchPlan} objects, keyed by
+ * {@link ResolutionKey}.
+ *
+ * <p>
+ * Each launch plan is stored as properties file. The size and last modified
+ * time of each class path file are stored, too. A cached launch plan is
+ * considered valid only if all of its files are still unchanged.
+ */
+@Getter
+@RequiredArgsConstructor
+public final class LaunchPlanCache {
+	/**
+	 * File extension of cached launch plans
+	 */
+	private static final String FILE_EXTENSION = ".properties";
+
+	/**
+	 * Format version of cached launch plans
+	 */
+	private static final String FORMAT_VERSION = "2";
+
+	/**
+	 * Property key of the format version
+	 */
+	private static final String KEY_FORMAT_VERSION = "formatVersion";
+
+	/**
+	 * Property key of the resolution key
+	 */
+	private static final String KEY_RESOLUTION = "resolution";
+
+	/**
+	 * Property key of the root artifacts file
+	 */
+	private static final String KEY_ROOT_FILE = "rootFile";
+
+	/**
+	 * Property key of the main class
+	 */
+	private static final String KEY_MAIN_CLASS = "mainClass";
+
+	/**
+	 * Property key format of class path files
+	 */
+	private static final String KEY_CLASS_PATH = "classPath.%d";
+
+	/**
+	 * Property key format of class path file sizes
+	 */
+	private static final String KEY_CLASS_PATH_SIZE = "classPath.%d.size";
+
+	/**
+	 * Property key format of class path file modification times
+	 */
+	private static final String KEY_CLASS_PATH_LAST_MODIFIED = "classPath.%d.lastModified";
+
+	/**
+	 * Version keywords, which are resolved using remote metadata
+	 */
+	private static final List<String> VERSION_KEYWORDS = unmodifiableList(asList("LATEST", "RELEASE"));
+
+	/**
+	 * Launch plan files loaded or stored inside the current JVM
+	 *
+	 * <p>
+	 * Long-lived JVMs, such as the Maven Daemon (mvnd), keep this plugins classes
+	 * loaded across builds. Therefore launch plans are read from disk only once as
+	 * long as they are unchanged. Class path files are validated nevertheless.
+	 */
+	private static final FileMemo<Properties> LOADED_PROPERTIES = new FileMemo<>(256);
+
+	/**
+	 * Checks if the resolution of {@code artifact} is expected to be stable, so
+	 * that it can be cached.
+	 *
+	 * <p>
+	 * Snapshots, version ranges and the keywords {@code LATEST} and {@code RELEASE}
+	 * are not cacheable.
+	 *
+	 * @param artifact the artifact to check
+	 * @return {@code true} if the resolution of {@code artifact} can be cached
+	 */
+	public static boolean isCacheable(final Artifact artifact) {
+		final String version = artifact.getVersion();
+		return !artifact.isSnapshot()
+				&& !VERSION_KEYWORDS.contains(version)
+				&& version.indexOf('[') == -1
+				&& version.indexOf('(') == -1;
+	}
+
+	/**
+	 * Checks if the resolution of the dependency graph below {@code root} is
+	 * expected to be stable, so that its launch plan can be cached.
+	 *
+	 * <p>
+	 * Graphs containing snapshots or dependencies selected out of version ranges or
+	 * by the keywords {@code LATEST} and {@code RELEASE} are not cacheable, as
+	 * resolving them again might result in other files.
+	 *
+	 * @param root the root node of the resolved dependency graph
+	 * @return {@code true} if the launch plan of {@code root} can be cached
+	 */
+	public static boolean isCacheable(final DependencyNode root) {
+		final PreorderNodeListGenerator preorderNodeListGenerator = new PreorderNodeListGenerator();
+		root.accept(preorderNodeListGenerator);
+		for (final DependencyNode node : preorderNodeListGenerator.getNodes()) {
+			final VersionConstraint versionConstraint = node.getVersionConstraint();
+			if (node.getArtifact() != null && node.getArtifact().isSnapshot()
+					|| versionConstraint != null
+							&& (versionConstraint.getRange() != null
+									|| versionConstraint.getVersion() != null
+											&& VERSION_KEYWORDS.contains(versionConstraint.getVersion().toString()))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Checks if {@code file} still has the given size and modification time.
+	 *
+	 * @param file         the file to check
+	 * @param size         the expected size
+	 * @param lastModified the expected modification time in milliseconds
+	 * @return {@code true} if the file exists and is unchanged
+	 * @throws IOException if any IO failure occurred
+	 */
+	private static boolean isUnchanged(final Path file,
+			@Nullable final String size,
+			@Nullable final String lastModified) throws IOException {
+		return Files.isRegularFile(file)
+				&& Long.toString(Files.size(file)).equals(size)
+				&& Long.toString(Files.getLastModifiedTime(file).toMillis()).equals(lastModified);
+	}
+
+	/**
+	 * Loads the properties of {@code file}, preferring the in-memory copy of
+	 * earlier loads inside the same JVM.
+	 *
+	 * @param file the launch plan file
+	 * @return the properties or empty if {@code file} does not exist
+	 * @throws IOException if any IO failure occurred
+	 */
+	private static Optional<Properties> loadProperties(final Path file) throws IOException {
+		final Optional<Properties> loadedProperties = LOADED_PROPERTIES.get(file);
+		if (loadedProperties.isPresent()) {
+			return loadedProperties;
+		}
+		if (!Files.isRegularFile(file)) {
+			return Optional.empty();
+		}
+
+		final Properties properties = new Properties();
+		try (Reader reader = Files.newBufferedReader(file, UTF_8)) {
+			properties.load(reader);
+		}
+		LOADED_PROPERTIES.put(file, properties);
+		return Optional.of(properties);
+	}
+
+	/**
+	 * Directory to store cached launch plans in
+	 *
+	 * @return directory to store cached launch plans in
+	 */
+	Path directory;
+
+	/**
+	 * Loads the launch plan for {@code key}, if one was stored before and all of
+	 * its files are still unchanged.
+	 *
+	 * @param key the resolution key
+	 * @return the cached launch plan or empty
+	 * @throws IOException if any IO failure occurred
+	 */
+	@SuppressFBWarnings(value = "PATH_TRAVERSAL_IN",
+			justification = "paths are read from files written by this plugin and validated before use")
+	public Optional<LaunchPlan> load(final ResolutionKey key) throws IOException {
+		final Optional<Properties> loadedProperties = loadProperties(getFile(key));
+		if (!loadedProperties.isPresent()) {
+			return Optional.empty();
+		}
+
+		final Properties properties = loadedProperties.get();
+		if (!FORMAT_VERSION.equals(properties.getProperty(KEY_FORMAT_VERSION))
+				|| !key.toString().equals(properties.getProperty(KEY_RESOLUTION))
+				|| properties.getProperty(KEY_ROOT_FILE) == null) {
+			return Optional.empty();
+		}
+
+		final List<Path> classPath = new ArrayList<>();
+		String classPathFile = properties.getProperty(Strings.format(KEY_CLASS_PATH, 0));
+		while (classPathFile != null) {
+			final int index = classPath.size();
+			final Path path = Paths.get(classPathFile);
+			if (!isUnchanged(path,
+					properties.getProperty(Strings.format(KEY_CLASS_PATH_SIZE, index)),
+					properties.getProperty(Strings.format(KEY_CLASS_PATH_LAST_MODIFIED, index)))) {
+				return Optional.empty();
+			}
+			classPath.add(path);
+			classPathFile = properties.getProperty(Strings.format(KEY_CLASS_PATH, index + 1));
+		}
+
+		final Path rootFile = Paths.get(properties.getProperty(KEY_ROOT_FILE));
+		if (!Files.isRegularFile(rootFile)) {
+			return Optional.empty();
+		}
+		return Optional.of(new LaunchPlan(unmodifiableList(classPath),
+				rootFile,
+				Optionals.ofNonBlank(properties.getProperty(KEY_MAIN_CLASS))));
+	}
+
+	/**
+	 * Stores {@code launchPlan} for {@code key}, replacing any previously stored
+	 * launch plan.
+	 *
+	 * <p>
+	 * The file is written to a temporary file first and moved afterwards, so
+	 * concurrent readers never see partially written launch plans.
+	 *
+	 * @param key        the resolution key
+	 * @param launchPlan the launch plan to store
+	 * @throws IOException if any IO failure occurred
+	 */
+	public void store(final ResolutionKey key, final LaunchPlan launchPlan) throws IOException {
+		final Properties properties = new Properties();
+		properties.setProperty(KEY_FORMAT_VERSION, FORMAT_VERSION);
+		properties.setProperty(KEY_RESOLUTION, key.toString());
+		properties.setProperty(KEY_ROOT_FILE, launchPlan.getRootFile().toString());
+		launchPlan.getMainClass().ifPresent(mainClass -> properties.setProperty(KEY_MAIN_CLASS, mainClass));
+
+		final List<Path> classPath = launchPlan.getClassPath();
+		final int size = classPath.size();
+		for (int index = 0; index < size; index += 1) {
+			final Path file = classPath.get(index);
+			properties.setProperty(Strings.format(KEY_CLASS_PATH, index), file.toString());
+			properties.setProperty(Strings.format(KEY_CLASS_PATH_SIZE, index), Long.toString(Files.size(file)));
+			properties.setProperty(Strings.format(KEY_CLASS_PATH_LAST_MODIFIED, index),
+					Long.toString(Files.getLastModifiedTime(file).toMillis()));
+		}
+
+		AtomicFiles.write(getFile(key), properties);
+		LOADED_PROPERTIES.put(getFile(key), properties);
+	}
+
+	/**
+	 * Determines the path of the file to store the launch plan for {@code key} in.
+	 *
+	 * @param key the resolution key
+	 * @return the file path
+	 */
+	private Path getFile(final ResolutionKey key) {
+		return getDirectory().resolve(key.getHash() + FILE_EXTENSION);
+	}
+}
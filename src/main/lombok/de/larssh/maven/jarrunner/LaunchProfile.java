@@ -0,0 +1,108 @@
+package de.larssh.maven.jarrunner;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import de.larssh.utils.Finals;
+import de.larssh.utils.text.Strings;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Sets of JVM options tuning launched JVMs for a kind of application.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum LaunchProfile {
+	/**
+	 * Launched JVMs use their default settings.
+	 */
+	DEFAULT(javaRuntime -> emptyList()),
+
+	/**
+	 * Tunes launched JVMs for short-running command line tools, which stop within a
+	 * few seconds.
+	 *
+	 * <p>
+	 * The optimizing JIT compiler is disabled, the serial garbage collector and the
+	 * default CDS archive are used, the code cache is limited to 32 MiB, which
+	 * suffices for code compiled by the client compiler only, and performance data
+	 * are not written to disk. The heap is left untouched, so that memory hungry
+	 * tools keep working. Up to Java 12 remote bytecode verification is disabled,
+	 * too, as it is deprecated later on.
+	 */
+	STARTUP(LaunchProfile::getStartupOptions);
+
+	/**
+	 * Java version deprecating disabling bytecode verification
+	 */
+	private static final int DEPRECATED_VERSION_BYTECODE_VERIFICATION = 13;
+
+	/**
+	 * Option selecting the garbage collector of {@link #STARTUP}
+	 */
+	public static final String STARTUP_GARBAGE_COLLECTOR_OPTION = Finals.constant("-XX:+UseSerialGC");
+
+	/**
+	 * Determines the launch profile by its name, ignoring case.
+	 *
+	 * @param name the launch profiles name or {@code null}
+	 * @return the launch profile or {@link #DEFAULT} if {@code name} is blank
+	 * @throws IllegalArgumentException if {@code name} is unknown
+	 */
+	public static LaunchProfile fromName(@Nullable final String name) {
+		if (name == null || Strings.isBlank(name)) {
+			return DEFAULT;
+		}
+		for (final LaunchProfile launchProfile : values()) {
+			if (Strings.equalsIgnoreCaseAscii(launchProfile.name(), name)) {
+				return launchProfile;
+			}
+		}
+		throw new IllegalArgumentException(Strings.format(
+				"Unknown launch profile given. Allowed values: \"default\" or \"startup\". Given: \"%s\"",
+				name));
+	}
+
+	/**
+	 * Creates the options of {@link #STARTUP} for {@code javaRuntime}.
+	 *
+	 * @param javaRuntime the Java runtime to launch
+	 * @return the JVM options
+	 */
+	private static List<String> getStartupOptions(final JavaRuntime javaRuntime) {
+		final List<String> options = new ArrayList<>();
+		options.add("-XX:TieredStopAtLevel=1");
+		options.add(STARTUP_GARBAGE_COLLECTOR_OPTION);
+		options.add("-Xshare:auto");
+		options.add("-XX:ReservedCodeCacheSize=32m");
+		options.add("-XX:-UsePerfData");
+		if (!javaRuntime.isAtLeast(DEPRECATED_VERSION_BYTECODE_VERIFICATION)) {
+			options.add("-XX:-BytecodeVerificationRemote");
+		}
+		return unmodifiableList(options);
+	}
+
+	/**
+	 * Creates the JVM options of a profile for a Java runtime
+	 *
+	 * @return function creating JVM options
+	 */
+	Function<JavaRuntime, List<String>> options;
+
+	/**
+	 * Creates the JVM options of this profile for {@code javaRuntime}. Options are
+	 * not yet validated against the Java runtime.
+	 *
+	 * @param javaRuntime the Java runtime to launch
+	 * @return the JVM options
+	 */
+	public List<String> getJavaOptions(final JavaRuntime javaRuntime) {
+		return getOptions().apply(javaRuntime);
+	}
+}
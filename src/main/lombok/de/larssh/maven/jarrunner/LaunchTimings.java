@@ -0,0 +1,278 @@
+package de.larssh.maven.jarrunner;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.OptionalInt;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.maven.plugin.logging.Log;
+
+import de.larssh.utils.text.Strings;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Durations of the phases of a single launch.
+ *
+ * <p>
+ * Phases are measured using {@link #measure(Phase, Action)}. Phases, which are
+ * skipped (e.g. because of caches) are not contained. Measuring the same phase
+ * multiple times sums up its durations.
+ *
+ * <p>
+ * Timings are written to the Maven log at debug level and optionally appended
+ * to a timings file as single line JSON objects (JSON Lines), so that each
+ * launch adds one line.
+ */
+@Getter
+public final class LaunchTimings {
+	/**
+	 * Nanoseconds per millisecond
+	 */
+	private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+	/**
+	 * Lock guarding appending to timings files inside the current JVM
+	 */
+	private static final Lock TIMINGS_FILE_LOCK = new ReentrantLock();
+
+	/**
+	 * Escapes {@code value} to be used as JSON string.
+	 *
+	 * @param value the value to escape
+	 * @return the quoted and escaped JSON string
+	 */
+	@SuppressWarnings("PMD.AvoidLiteralsInIfCondition")
+	private static String toJsonString(final String value) {
+		final StringBuilder builder = new StringBuilder(value.length() + 2).append('"');
+		for (final char character : value.toCharArray()) {
+			if (character == '"' || character == '\\') {
+				builder.append('\\').append(character);
+			} else if (character < ' ') {
+				builder.append(Strings.format("\\u%04x", (int) character));
+			} else {
+				builder.append(character);
+			}
+		}
+		return builder.append('"').toString();
+	}
+
+	/**
+	 * Formats {@code nanos} as milliseconds with three fraction digits.
+	 *
+	 * @param nanos duration in nanoseconds
+	 * @return formatted milliseconds
+	 */
+	private static String toMillis(final long nanos) {
+		return String.format(Locale.ROOT, "%.3f", nanos / NANOS_PER_MILLI);
+	}
+
+	/**
+	 * Appends {@code line} to {@code file}, creating it if necessary.
+	 *
+	 * @param file the timings file
+	 * @param line the line to append
+	 * @throws IOException if writing the timings file failed
+	 */
+	@SuppressFBWarnings(value = "MDM_WAIT_WITHOUT_TIMEOUT", justification = "the lock is held for a short time only")
+	private static void append(final Path file, final String line) throws IOException {
+		TIMINGS_FILE_LOCK.lock();
+		try {
+			Files.write(file,
+					(line + System.lineSeparator()).getBytes(UTF_8),
+					StandardOpenOption.CREATE,
+					StandardOpenOption.APPEND);
+		} finally {
+			TIMINGS_FILE_LOCK.unlock();
+		}
+	}
+
+	/**
+	 * Durations in nanoseconds by phase
+	 *
+	 * @return durations in nanoseconds by phase
+	 */
+	Map<Phase, Long> durations = new EnumMap<>(Phase.class);
+
+	/**
+	 * Adds {@code nanos} to the duration of {@code phase}.
+	 *
+	 * @param phase the phase
+	 * @param nanos duration in nanoseconds
+	 */
+	public void add(final Phase phase, final long nanos) {
+		durations.merge(phase, nanos, Long::sum);
+	}
+
+	/**
+	 * Runs {@code action} and adds its duration to {@code phase}, even if
+	 * {@code action} fails.
+	 *
+	 * @param <T>    the type of the actions result
+	 * @param <E>    the type of exception thrown by {@code action}
+	 * @param phase  the phase to measure
+	 * @param action the action to run
+	 * @return the actions result
+	 * @throws E if {@code action} failed
+	 */
+	public <T, E extends Exception> T measure(final Phase phase, final Action<T, E> action) throws E {
+		final long start = System.nanoTime();
+		try {
+			return action.run();
+		} finally {
+			add(phase, System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * Writes the timings to the Maven log at debug level and appends them to the
+	 * timings file of {@code parameters}, if given.
+	 *
+	 * @param parameters the parameters object of {@link RunMojo}
+	 * @param exitStatus exit value of the application or empty if unknown
+	 * @throws IOException if writing the timings file failed
+	 */
+	public void report(final Parameters parameters, final OptionalInt exitStatus) throws IOException {
+		final Log log = parameters.getLog();
+		if (log.isDebugEnabled()) {
+			for (final Entry<Phase, Long> entry : durations.entrySet()) {
+				log.debug(Strings
+						.format("Duration of phase %s: %s ms", entry.getKey().getValue(), toMillis(entry.getValue())));
+			}
+		}
+
+		if (parameters.getTimingsFile().isPresent()) {
+			append(parameters.getTimingsFile().get(), toJson(parameters, exitStatus));
+		}
+	}
+
+	/**
+	 * Creates a single line JSON object describing the timings.
+	 *
+	 * @param parameters the parameters object of {@link RunMojo}
+	 * @param exitStatus exit value of the application or empty if unknown
+	 * @return JSON object
+	 */
+	private String toJson(final Parameters parameters, final OptionalInt exitStatus) {
+		final StringBuilder builder = new StringBuilder();
+		builder.append("{\"timestamp\":")
+				.append(toJsonString(Instant.now().toString()))
+				.append(",\"artifact\":")
+				.append(toJsonString(parameters.getArtifact().toString()))
+				.append(",\"exitValue\":")
+				.append(exitStatus.isPresent() ? Integer.toString(exitStatus.getAsInt()) : "null")
+				.append(",\"durations\":{");
+		boolean first = true;
+		for (final Entry<Phase, Long> entry : durations.entrySet()) {
+			if (!first) {
+				builder.append(',');
+			}
+			builder.append(toJsonString(entry.getKey().getValue())).append(':').append(toMillis(entry.getValue()));
+			first = false;
+		}
+		return builder.append("}}").toString();
+	}
+
+	/**
+	 * Phases of a launch in chronological order
+	 */
+	@Getter
+	@RequiredArgsConstructor
+	public enum Phase {
+		/**
+		 * Parsing user arguments
+		 */
+		PARAMETERS("parameters"),
+
+		/**
+		 * Merging user argument and system repositories
+		 */
+		REPOSITORIES("repositories"),
+
+		/**
+		 * Loading the launch plan from the launch plan cache
+		 */
+		LAUNCH_PLAN_CACHE("launchPlanCache"),
+
+		/**
+		 * Loading the launch plan from or storing it to the lock file
+		 */
+		LOCK_FILE("lockFile"),
+
+		/**
+		 * Probing and ordering repositories by their latency
+		 */
+		REPOSITORY_PROBING("repositoryProbing"),
+
+		/**
+		 * Collecting the dependency graph
+		 */
+		COLLECT("collect"),
+
+		/**
+		 * Resolving and downloading artifacts
+		 */
+		DOWNLOAD("download"),
+
+		/**
+		 * Reading the root artifacts JAR manifest
+		 */
+		MANIFEST("manifest"),
+
+		/**
+		 * Building or looking up the runtime image
+		 */
+		RUNTIME_IMAGE("runtimeImage"),
+
+		/**
+		 * Building the command, including class data sharing and class path files
+		 */
+		COMMAND("command"),
+
+		/**
+		 * Starting the process
+		 */
+		SPAWN("spawn"),
+
+		/**
+		 * Running the application until it stopped
+		 */
+		RUN("run");
+
+		/**
+		 * Name of the phase inside log messages and timings files
+		 *
+		 * @return name of the phase
+		 */
+		String value;
+	}
+
+	/**
+	 * Action to measure
+	 *
+	 * @param <T> the type of the actions result
+	 * @param <E> the type of exception thrown by the action
+	 */
+	@FunctionalInterface
+	public interface Action<T, E extends Exception> {
+		/**
+		 * Runs the action.
+		 *
+		 * @return the actions result
+		 * @throws E if the action failed
+		 */
+		T run() throws E;
+	}
+}
@@ -0,0 +1,308 @@
+package de.larssh.maven.jarrunner;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.unmodifiableList;
+import static java.util.stream.Collectors.toList;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResolutionException;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.eclipse.aether.resolution.DependencyResult;
+import org.eclipse.aether.util.artifact.ArtifactIdUtils;
+import org.eclipse.aether.util.graph.visitor.PreorderNodeListGenerator;
+
+import de.larssh.utils.text.Strings;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Lock file describing a fully resolved launch plan: the exact coordinates of
+ * all class path artifacts in order, the repository each artifact was
+ * downloaded from, the SHA-256 checksum of each file and the main class of the
+ * root artifacts manifest.
+ *
+ * <p>
+ * Launches using a lock file skip collecting the dependency graph. Files
+ * missing in the local repository are resolved by their exact coordinates.
+ * Checksums of all files are verified, so that launches are reproducible across
+ * machines. Checksums are taken from the {@link ChecksumIndex}, so that only
+ * files changed since their last verification, such as freshly downloaded
+ * files, are hashed again.
+ *
+ * <p>
+ * Lock files are written in a stable, line based properties format, so that
+ * they can be put under version control.
+ */
+@Getter
+@RequiredArgsConstructor
+public final class LockFile {
+	/**
+	 * Comment at the beginning of lock files
+	 */
+	private static final String HEADER
+			= "# Lock file of the JAR Runner Maven Plugin. Update it using -DupdateLockFile=true";
+
+	/**
+	 * Format of a single line of lock files
+	 */
+	private static final String LINE_FORMAT = "%s=%s%n";
+
+	/**
+	 * Format version of lock files
+	 */
+	private static final String FORMAT_VERSION = "1";
+
+	/**
+	 * Property key of the format version
+	 */
+	private static final String KEY_FORMAT_VERSION = "formatVersion";
+
+	/**
+	 * Property key of the request, which the lock file was written for
+	 */
+	private static final String KEY_REQUEST = "request";
+
+	/**
+	 * Property key of the main class
+	 */
+	private static final String KEY_MAIN_CLASS = "mainClass";
+
+	/**
+	 * Property key format of artifact coordinates
+	 */
+	private static final String KEY_ARTIFACT = "artifact.%d";
+
+	/**
+	 * Property key format of the repository IDs of artifacts
+	 */
+	private static final String KEY_ARTIFACT_REPOSITORY = "artifact.%d.repository";
+
+	/**
+	 * Property key format of the SHA-256 checksums of artifacts
+	 */
+	private static final String KEY_ARTIFACT_SHA256 = "artifact.%d.sha256";
+
+	/**
+	 * Format of the request, which a lock file was written for
+	 */
+	private static final String REQUEST_FORMAT = "%s;%s;%s;%s";
+
+	/**
+	 * Separator of list values inside the request
+	 */
+	private static final String REQUEST_LIST_SEPARATOR = ",";
+
+	/**
+	 * Creates the request string of {@code key}, which consists of the requested
+	 * artifact coordinates, scopes, exclusions and handling of optional
+	 * dependencies. Repositories are not part of the request, as they might differ
+	 * between machines.
+	 *
+	 * @param key the resolution key
+	 * @return the request string
+	 */
+	private static String getRequest(final ResolutionKey key) {
+		return Strings.format(REQUEST_FORMAT,
+				key.getArtifact(),
+				String.join(REQUEST_LIST_SEPARATOR, key.getScopes()),
+				String.join(REQUEST_LIST_SEPARATOR, key.getExclusions()),
+				key.getOptionalDependencies().name());
+	}
+
+	/**
+	 * Determines the repositories to resolve a missing file from. Files are
+	 * resolved from the repository they were downloaded from, if it is still part
+	 * of {@code repositories}, else from all repositories.
+	 *
+	 * @param repositories the repositories to resolve missing files from
+	 * @param repositoryId the ID of the locked repository or {@code null}
+	 * @return the repositories to resolve from
+	 */
+	private static List<RemoteRepository> getRepositories(final List<RemoteRepository> repositories,
+			@Nullable final String repositoryId) {
+		final List<RemoteRepository> lockedRepositories
+				= repositories.stream().filter(repository -> repository.getId().equals(repositoryId)).collect(toList());
+		return lockedRepositories.isEmpty() ? repositories : lockedRepositories;
+	}
+
+	/**
+	 * Path of the lock file
+	 *
+	 * @return path of the lock file
+	 */
+	Path file;
+
+	/**
+	 * Index of the checksums of class path files
+	 *
+	 * @return index of the checksums of class path files
+	 */
+	ChecksumIndex checksumIndex;
+
+	/**
+	 * Checks if the lock file exists.
+	 *
+	 * @return {@code true} if the lock file exists
+	 */
+	public boolean exists() {
+		return Files.isRegularFile(getFile());
+	}
+
+	/**
+	 * Loads the launch plan of the lock file, resolving files missing in the local
+	 * repository by their exact coordinates and verifying the checksums of all
+	 * files.
+	 *
+	 * @param key                     the resolution key of the requested launch
+	 * @param repositorySystem        the repository system
+	 * @param repositorySystemSession the repository system session
+	 * @param repositories            the repositories to resolve missing files from
+	 * @return the launch plan
+	 * @throws IOException              if the lock file is malformed, resolving
+	 *                                  missing files failed, a checksum does not
+	 *                                  match or any IO failure occurred
+	 * @throws IllegalArgumentException if the lock file was written for another
+	 *                                  request
+	 */
+	public LaunchPlan load(final ResolutionKey key,
+			final RepositorySystem repositorySystem,
+			final RepositorySystemSession repositorySystemSession,
+			final List<RemoteRepository> repositories) throws IOException {
+		final Properties properties = new Properties();
+		try (Reader reader = Files.newBufferedReader(getFile(), UTF_8)) {
+			properties.load(reader);
+		}
+		if (!FORMAT_VERSION.equals(properties.getProperty(KEY_FORMAT_VERSION))) {
+			throw new IOException(Strings.format("The lock file \"%s\" uses an unsupported format.", getFile()));
+		}
+		if (!getRequest(key).equals(properties.getProperty(KEY_REQUEST))) {
+			throw new IllegalArgumentException(Strings.format(
+					"The lock file \"%s\" was written for another artifact or other resolution arguments. Update it using -DupdateLockFile=true. Locked: \"%s\", requested: \"%s\"",
+					getFile(),
+					properties.getProperty(KEY_REQUEST),
+					getRequest(key)));
+		}
+
+		// Files of the local repository
+		final Path localRepository
+				= repositorySystemSession.getLocalRepositoryManager().getRepository().getBasedir().toPath();
+		final List<Path> files = new ArrayList<>();
+		final List<Integer> missingIndexes = new ArrayList<>();
+		final List<ArtifactRequest> artifactRequests = new ArrayList<>();
+		for (int index = 0; properties.containsKey(Strings.format(KEY_ARTIFACT, index)); index += 1) {
+			final Artifact artifact = new DefaultArtifact(properties.getProperty(Strings.format(KEY_ARTIFACT, index)));
+			final Path localFile = localRepository
+					.resolve(repositorySystemSession.getLocalRepositoryManager().getPathForLocalArtifact(artifact));
+			files.add(localFile);
+			if (!Files.isRegularFile(localFile)) {
+				missingIndexes.add(index);
+				artifactRequests.add(new ArtifactRequest(artifact,
+						getRepositories(repositories,
+								properties.getProperty(Strings.format(KEY_ARTIFACT_REPOSITORY, index))),
+						null));
+			}
+		}
+		if (files.isEmpty()) {
+			throw new IOException(Strings.format("The lock file \"%s\" contains no artifacts.", getFile()));
+		}
+
+		// Missing files
+		if (!artifactRequests.isEmpty()) {
+			final List<ArtifactResult> artifactResults;
+			try {
+				artifactResults = repositorySystem.resolveArtifacts(repositorySystemSession, artifactRequests);
+			} catch (final ArtifactResolutionException e) {
+				throw new IOException(
+						Strings.format("Resolving the artifacts of the lock file \"%s\" failed.", getFile()),
+						e);
+			}
+			for (int index = 0; index < artifactResults.size(); index += 1) {
+				files.set(missingIndexes.get(index), artifactResults.get(index).getArtifact().getFile().toPath());
+			}
+		}
+
+		// Checksums
+		for (int index = 0; index < files.size(); index += 1) {
+			final String expectedChecksum = properties.getProperty(Strings.format(KEY_ARTIFACT_SHA256, index));
+			final String checksum = getChecksumIndex().get(files.get(index));
+			if (!checksum.equals(expectedChecksum)) {
+				throw new IOException(Strings.format(
+						"The checksum of \"%s\" does not match the lock file \"%s\". Expected: %s, actual: %s",
+						files.get(index),
+						getFile(),
+						expectedChecksum,
+						checksum));
+			}
+		}
+		return new LaunchPlan(unmodifiableList(files),
+				files.get(0),
+				Optional.ofNullable(properties.getProperty(KEY_MAIN_CLASS)));
+	}
+
+	/**
+	 * Stores the launch plan of {@code dependencyResult} using a temporary file,
+	 * which is moved afterwards, so concurrent readers never see partially written
+	 * lock files.
+	 *
+	 * @param key              the resolution key
+	 * @param dependencyResult the resolved dependencies
+	 * @param launchPlan       the launch plan of {@code dependencyResult}
+	 * @throws IOException if any IO failure occurred
+	 */
+	public void store(final ResolutionKey key, final DependencyResult dependencyResult, final LaunchPlan launchPlan)
+			throws IOException {
+		final Map<String, String> repositoryIds = new HashMap<>();
+		for (final ArtifactResult artifactResult : dependencyResult.getArtifactResults()) {
+			if (artifactResult.getArtifact() != null && artifactResult.getRepository() instanceof RemoteRepository) {
+				repositoryIds.put(ArtifactIdUtils.toId(artifactResult.getArtifact()),
+						artifactResult.getRepository().getId());
+			}
+		}
+
+		final StringBuilder content = new StringBuilder(HEADER).append(System.lineSeparator());
+		content.append(Strings.format(LINE_FORMAT, KEY_FORMAT_VERSION, FORMAT_VERSION));
+		content.append(Strings.format(LINE_FORMAT, KEY_REQUEST, getRequest(key)));
+		launchPlan.getMainClass()
+				.ifPresent(mainClass -> content.append(Strings.format(LINE_FORMAT, KEY_MAIN_CLASS, mainClass)));
+
+		final PreorderNodeListGenerator preorderNodeListGenerator = new PreorderNodeListGenerator();
+		dependencyResult.getRoot().accept(preorderNodeListGenerator);
+		int index = 0;
+		for (final DependencyNode node : preorderNodeListGenerator.getNodes()) {
+			final Artifact artifact = node.getArtifact();
+			if (artifact != null && artifact.getFile() != null) {
+				final String id = ArtifactIdUtils.toId(artifact);
+				content.append(Strings.format(LINE_FORMAT, Strings.format(KEY_ARTIFACT, index), id));
+				if (repositoryIds.containsKey(id)) {
+					content.append(Strings.format(LINE_FORMAT,
+							Strings.format(KEY_ARTIFACT_REPOSITORY, index),
+							repositoryIds.get(id)));
+				}
+				content.append(Strings.format(LINE_FORMAT,
+						Strings.format(KEY_ARTIFACT_SHA256, index),
+						getChecksumIndex().get(artifact.getFile().toPath())));
+				index += 1;
+			}
+		}
+
+		AtomicFiles.write(getFile(), outputStream -> outputStream.write(content.toString().getBytes(UTF_8)));
+	}
+}
@@ -0,0 +1,167 @@
+package de.larssh.maven.jarrunner;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.Optional;
+
+import org.apache.maven.plugin.logging.Log;
+
+import lombok.Getter;
+
+/**
+ * Drains a stream of a process into the Maven log on a background thread, line
+ * by line.
+ *
+ * <p>
+ * Lines are limited to a maximum length, so that memory usage is bounded even
+ * for output without line breaks. Longer lines are split. The log is written by
+ * the draining thread itself, so that a slow log slows down the process instead
+ * of buffering its output.
+ */
+@Getter
+public final class LogDrainer extends StreamDrainer {
+	/**
+	 * Size of the character buffer
+	 */
+	private static final int BUFFER_SIZE = 8192;
+
+	/**
+	 * Maximum number of characters per logged line
+	 */
+	private static final int MAX_LINE_LENGTH = 8192;
+
+	/**
+	 * Separator of lines
+	 */
+	private static final char LINE_FEED = '\n';
+
+	/**
+	 * Character ignored at the end of lines
+	 */
+	private static final char CARRIAGE_RETURN = '\r';
+
+	/**
+	 * Starts draining {@code inputStream} into {@code log} on a new daemon thread.
+	 *
+	 * @param inputStream the stream to drain
+	 * @param name        the name of the drained stream
+	 * @param log         the Maven log
+	 * @param level       the level to log lines with
+	 * @param prefix      the prefix of each logged line
+	 * @param tail        the tail to add lines to
+	 * @return the started drainer
+	 */
+	public static LogDrainer start(final InputStream inputStream,
+			final String name,
+			final Log log,
+			final LogLevel level,
+			final Optional<String> prefix,
+			final OutputTail tail) {
+		final LogDrainer drainer = new LogDrainer(inputStream, log, level, prefix, tail);
+		drainer.start(name);
+		return drainer;
+	}
+
+	/**
+	 * Maven Log
+	 *
+	 * @return Maven Log
+	 */
+	Log log;
+
+	/**
+	 * The level to log lines with
+	 *
+	 * @return the log level
+	 */
+	LogLevel level;
+
+	/**
+	 * The prefix of each logged line
+	 *
+	 * @return the prefix
+	 */
+	Optional<String> prefix;
+
+	/**
+	 * The tail to add lines to
+	 *
+	 * @return the tail
+	 */
+	OutputTail tail;
+
+	/**
+	 * Creates a drainer, which still needs to be started.
+	 *
+	 * @param inputStream the stream to drain
+	 * @param log         the Maven log
+	 * @param level       the level to log lines with
+	 * @param prefix      the prefix of each logged line
+	 * @param tail        the tail to add lines to
+	 */
+	private LogDrainer(final InputStream inputStream,
+			final Log log,
+			final LogLevel level,
+			final Optional<String> prefix,
+			final OutputTail tail) {
+		super(inputStream);
+		this.log = log;
+		this.level = level;
+		this.prefix = prefix;
+		this.tail = tail;
+	}
+
+	/**
+	 * Logs the lines of {@code stream} until it ends.
+	 *
+	 * @param stream the stream to drain
+	 * @throws IOException if any IO failure occurred
+	 */
+	@Override
+	protected void drain(final InputStream stream) throws IOException {
+		final StringBuilder line = new StringBuilder();
+		final char[] buffer = new char[BUFFER_SIZE];
+		try (Reader reader = new InputStreamReader(stream, Charset.defaultCharset())) {
+			int length = reader.read(buffer);
+			while (length != -1) {
+				for (int index = 0; index < length; index += 1) {
+					final char character = buffer[index];
+					if (character == LINE_FEED) {
+						flush(line);
+					} else {
+						line.append(character);
+						if (line.length() >= MAX_LINE_LENGTH) {
+							flush(line);
+						}
+					}
+				}
+				length = reader.read(buffer);
+			}
+		}
+		if (line.length() > 0) {
+			flush(line);
+		}
+	}
+
+	/**
+	 * Logs and clears {@code line}, ignoring a carriage return at its end.
+	 *
+	 * @param line the current line
+	 */
+	private void flush(final StringBuilder line) {
+		final int length = line.length();
+		if (length > 0 && line.charAt(length - 1) == CARRIAGE_RETURN) {
+			line.setLength(length - 1);
+		}
+		final String message = getPrefix().orElse("") + line;
+		line.setLength(0);
+
+		getTail().add(message);
+		if (getLevel().isEnabled(getLog())) {
+			getLevel().log(getLog(), message);
+		}
+	}
+}
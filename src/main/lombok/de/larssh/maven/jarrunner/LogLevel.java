@@ -0,0 +1,94 @@
+package de.larssh.maven.jarrunner;
+
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+import org.apache.maven.plugin.logging.Log;
+
+import de.larssh.utils.text.Strings;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Levels of the Maven log to write captured application output to.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum LogLevel {
+	/**
+	 * Debug level, shown with {@code --debug} only
+	 */
+	DEBUG(Log::isDebugEnabled, Log::debug),
+
+	/**
+	 * Info level, hidden by {@code --quiet}
+	 */
+	INFO(Log::isInfoEnabled, Log::info),
+
+	/**
+	 * Warning level
+	 */
+	WARN(Log::isWarnEnabled, Log::warn),
+
+	/**
+	 * Error level
+	 */
+	ERROR(Log::isErrorEnabled, Log::error);
+
+	/**
+	 * Determines the log level by its name, ignoring case.
+	 *
+	 * @param name         the log levels name or {@code null}
+	 * @param defaultLevel the log level to return if {@code name} is blank
+	 * @return the log level
+	 * @throws IllegalArgumentException if {@code name} is unknown
+	 */
+	public static LogLevel fromName(@Nullable final String name, final LogLevel defaultLevel) {
+		if (name == null || Strings.isBlank(name)) {
+			return defaultLevel;
+		}
+		for (final LogLevel logLevel : values()) {
+			if (Strings.equalsIgnoreCaseAscii(logLevel.name(), name)) {
+				return logLevel;
+			}
+		}
+		throw new IllegalArgumentException(Strings.format(
+				"Unknown log level given. Allowed values: \"debug\", \"info\", \"warn\" or \"error\". Given: \"%s\"",
+				name));
+	}
+
+	/**
+	 * Checks if the level is enabled for a log
+	 *
+	 * @return predicate checking if the level is enabled
+	 */
+	Predicate<Log> enabled;
+
+	/**
+	 * Writes a message to a log
+	 *
+	 * @return consumer writing a message to a log
+	 */
+	BiConsumer<Log, CharSequence> writer;
+
+	/**
+	 * Checks if this level is enabled for {@code log}.
+	 *
+	 * @param log the Maven log
+	 * @return {@code true} if messages of this level are written
+	 */
+	public boolean isEnabled(final Log log) {
+		return getEnabled().test(log);
+	}
+
+	/**
+	 * Writes {@code message} to {@code log} using this level.
+	 *
+	 * @param log     the Maven log
+	 * @param message the message to write
+	 */
+	public void log(final Log log, final CharSequence message) {
+		getWriter().accept(log, message);
+	}
+}
@@ -0,0 +1,205 @@
+package de.larssh.maven.jarrunner;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableList;
+import static java.util.stream.Collectors.joining;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import de.larssh.utils.text.Strings;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Splits the class path of a launch plan into a module path and a class path to
+ * launch modular applications using {@code --module-path} and {@code --module}.
+ *
+ * <p>
+ * JARs containing a module descriptor or naming an automatic module are put on
+ * the module path. Non-modular JARs required by modules of the module path are
+ * put on the module path as automatic modules named after their file names, as
+ * modules cannot read the class path. All others stay on the class path. All
+ * modules of the module path are resolved, so that JARs of the class path can
+ * read them.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ModulePath {
+	/**
+	 * Java option to set the module path
+	 */
+	private static final String MODULE_PATH_OPTION = "--module-path";
+
+	/**
+	 * Java option to add root modules
+	 */
+	private static final String ADD_MODULES_OPTION = "--add-modules";
+
+	/**
+	 * Value of {@link #ADD_MODULES_OPTION} resolving all modules of the module path
+	 */
+	private static final String ALL_MODULE_PATH = "ALL-MODULE-PATH";
+
+	/**
+	 * Java option to launch the main class of a module
+	 */
+	private static final String MODULE_OPTION = "--module";
+
+	/**
+	 * File extension of JAR files
+	 */
+	private static final String JAR_EXTENSION = ".jar";
+
+	/**
+	 * Separator of automatic module name parts
+	 */
+	private static final String MODULE_NAME_SEPARATOR = ".";
+
+	/**
+	 * Pattern matching the version part of JAR file names, as stripped by the Java
+	 * module system when deriving automatic module names
+	 */
+	private static final Pattern VERSION_PATTERN = Pattern.compile("-(\\d+(\\.|$))");
+
+	/**
+	 * Pattern matching characters that are invalid inside automatic module names
+	 */
+	private static final Pattern INVALID_CHARACTERS_PATTERN = Pattern.compile("[^A-Za-z0-9]");
+
+	/**
+	 * Pattern matching repeated dots
+	 */
+	private static final Pattern REPEATED_DOTS_PATTERN = Pattern.compile("\\.{2,}");
+
+	/**
+	 * Pattern matching leading and trailing dots
+	 */
+	private static final Pattern OUTER_DOTS_PATTERN = Pattern.compile("^\\.|\\.$");
+
+	/**
+	 * Derives the name of the automatic module of a non-modular JAR from its file
+	 * name the way the Java module system does.
+	 *
+	 * @param file the JAR file
+	 * @return the automatic module name
+	 */
+	static String getAutomaticModuleName(final Path file) {
+		String name = file.getFileName().toString();
+		if (name.endsWith(JAR_EXTENSION)) {
+			name = name.substring(0, name.length() - JAR_EXTENSION.length());
+		}
+		final Matcher matcher = VERSION_PATTERN.matcher(name);
+		if (matcher.find()) {
+			name = name.substring(0, matcher.start());
+		}
+		name = Strings.replaceAll(name, INVALID_CHARACTERS_PATTERN, MODULE_NAME_SEPARATOR);
+		name = Strings.replaceAll(name, REPEATED_DOTS_PATTERN, MODULE_NAME_SEPARATOR);
+		return Strings.replaceAll(name, OUTER_DOTS_PATTERN, "");
+	}
+
+	/**
+	 * Splits the class path of {@code launchPlan} into a module path and a class
+	 * path.
+	 *
+	 * @param launchPlan       the launch plan
+	 * @param jarMetadataIndex the index of JAR metadata
+	 * @return the module path or empty if the root artifact is not modular
+	 * @throws IOException if reading JAR files failed
+	 */
+	public static Optional<ModulePath> of(final LaunchPlan launchPlan, final JarMetadataIndex jarMetadataIndex)
+			throws IOException {
+		final Optional<String> module = jarMetadataIndex.get(launchPlan.getRootFile()).getModuleName();
+		if (!module.isPresent()) {
+			return Optional.empty();
+		}
+
+		// Modules and the modules they require
+		final Set<Path> modularFiles = new HashSet<>();
+		final Set<String> modules = new HashSet<>();
+		final Set<String> requiredModules = new HashSet<>();
+		for (final Path file : launchPlan.getClassPath()) {
+			final JarMetadata jarMetadata = jarMetadataIndex.get(file);
+			if (file.equals(launchPlan.getRootFile()) || jarMetadata.getModuleName().isPresent()) {
+				modularFiles.add(file);
+				jarMetadata.getModuleName().ifPresent(modules::add);
+				requiredModules.addAll(jarMetadata.getRequiredModules());
+			}
+		}
+
+		// Non-modular JARs required as automatic modules
+		for (final Path file : launchPlan.getClassPath()) {
+			if (!modularFiles.contains(file) && Files.isRegularFile(file)) {
+				final String automaticModule = getAutomaticModuleName(file);
+				if (requiredModules.contains(automaticModule) && modules.add(automaticModule)) {
+					modularFiles.add(file);
+				}
+			}
+		}
+
+		final List<Path> modulePath = new ArrayList<>();
+		final List<Path> classPath = new ArrayList<>();
+		for (final Path file : launchPlan.getClassPath()) {
+			if (modularFiles.contains(file)) {
+				modulePath.add(file);
+			} else {
+				classPath.add(file);
+			}
+		}
+		return Optional.of(new ModulePath(module.get(), unmodifiableList(modulePath), unmodifiableList(classPath)));
+	}
+
+	/**
+	 * Name of the root artifacts module
+	 *
+	 * @return name of the root artifacts module
+	 */
+	String module;
+
+	/**
+	 * Files of the module path in order
+	 *
+	 * @return files of the module path in order
+	 */
+	List<Path> modulePath;
+
+	/**
+	 * Files of the class path in order, which are not modular
+	 *
+	 * @return files of the class path in order
+	 */
+	List<Path> classPath;
+
+	/**
+	 * Creates the JVM options to pass the module path.
+	 *
+	 * @return JVM options
+	 */
+	public List<String> getJavaOptions() {
+		return asList(MODULE_PATH_OPTION,
+				getModulePath().stream().map(Path::toString).collect(joining(File.pathSeparator)),
+				ADD_MODULES_OPTION,
+				ALL_MODULE_PATH);
+	}
+
+	/**
+	 * Creates the arguments launching {@code mainClass} of the root artifacts
+	 * module.
+	 *
+	 * @param mainClass the main class
+	 * @return arguments replacing the main class
+	 */
+	public List<String> getMainArguments(final String mainClass) {
+		return asList(MODULE_OPTION, getModule() + "/" + mainClass);
+	}
+}
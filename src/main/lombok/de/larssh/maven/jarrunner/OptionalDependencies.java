@@ -0,0 +1,75 @@
+package de.larssh.maven.jarrunner;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.eclipse.aether.collection.DependencySelector;
+import org.eclipse.aether.util.graph.selector.OptionalDependencySelector;
+
+import de.larssh.utils.text.Strings;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Ways to handle optional dependencies while collecting dependencies.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum OptionalDependencies {
+	/**
+	 * Optional dependencies of the artifact itself are included, while optional
+	 * dependencies of its dependencies are not. This equals the behavior of Maven.
+	 */
+	DIRECT(() -> Optional.of(new OptionalDependencySelector())),
+
+	/**
+	 * All optional dependencies are included.
+	 */
+	ALL(Optional::empty),
+
+	/**
+	 * No optional dependencies are included.
+	 */
+	NONE(() -> Optional.of(new RequiredDependencySelector()));
+
+	/**
+	 * Determines the way to handle optional dependencies by its name, ignoring
+	 * case.
+	 *
+	 * @param name the name or {@code null}
+	 * @return the way to handle optional dependencies or {@link #DIRECT} if
+	 *         {@code name} is blank
+	 * @throws IllegalArgumentException if {@code name} is unknown
+	 */
+	public static OptionalDependencies fromName(@Nullable final String name) {
+		if (name == null || Strings.isBlank(name)) {
+			return DIRECT;
+		}
+		for (final OptionalDependencies optionalDependencies : values()) {
+			if (Strings.equalsIgnoreCaseAscii(optionalDependencies.name(), name)) {
+				return optionalDependencies;
+			}
+		}
+		throw new IllegalArgumentException(Strings.format(
+				"Unknown optional dependencies handling given. Allowed values: \"direct\", \"all\" or \"none\". Given: \"%s\"",
+				name));
+	}
+
+	/**
+	 * Creates the dependency selector rejecting optional dependencies
+	 *
+	 * @return function creating the dependency selector
+	 */
+	Supplier<Optional<DependencySelector>> selector;
+
+	/**
+	 * Creates a dependency selector rejecting the optional dependencies to exclude.
+	 *
+	 * @return the dependency selector or empty if all optional dependencies are
+	 *         included
+	 */
+	public Optional<DependencySelector> createSelector() {
+		return getSelector().get();
+	}
+}
@@ -0,0 +1,61 @@
+package de.larssh.maven.jarrunner;
+
+import static java.util.Collections.unmodifiableList;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Keeps the last lines of captured application output in memory, so that they
+ * can be mentioned in failure messages.
+ *
+ * <p>
+ * Lines of multiple streams may be added concurrently.
+ */
+public final class OutputTail {
+	/**
+	 * Maximum number of lines to keep
+	 */
+	int maxLines;
+
+	/**
+	 * The kept lines, oldest first
+	 */
+	Deque<String> lines = new ArrayDeque<>();
+
+	/**
+	 * Creates an empty tail.
+	 *
+	 * @param maxLines maximum number of lines to keep
+	 */
+	public OutputTail(final int maxLines) {
+		this.maxLines = maxLines;
+	}
+
+	/**
+	 * Adds {@code line}, dropping the oldest line if the maximum number of lines is
+	 * reached.
+	 *
+	 * @param line the line to add
+	 */
+	public synchronized void add(final String line) {
+		if (maxLines < 1) {
+			return;
+		}
+		if (lines.size() >= maxLines) {
+			lines.removeFirst();
+		}
+		lines.addLast(line);
+	}
+
+	/**
+	 * Returns a copy of the kept lines, oldest first.
+	 *
+	 * @return the kept lines
+	 */
+	public synchronized List<String> getLines() {
+		return unmodifiableList(new ArrayList<>(lines));
+	}
+}
@@ -0,0 +1,81 @@
+package de.larssh.maven.jarrunner;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.maven.plugin.MojoFailureException;
+
+import de.larssh.utils.SneakyException;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+/**
+ * Runs tasks concurrently with bounded parallelism, as used for batch runs and
+ * prefetching.
+ */
+@SuppressWarnings("PMD.DoNotUseThreads")
+public final class ParallelTasks {
+	/**
+	 * Runs {@code tasks} using a thread pool of at most {@code parallelism} threads
+	 * and waits for them to finish.
+	 *
+	 * <p>
+	 * {@link IOException} and {@link MojoFailureException} of tasks are rethrown as
+	 * is, while other exceptions are rethrown sneaky.
+	 *
+	 * @param <T>         the result type
+	 * @param parallelism the maximum number of tasks to run concurrently
+	 * @param tasks       the tasks to run
+	 * @return results in order of {@code tasks}
+	 * @throws IOException          if any task failed with an IO failure
+	 * @throws MojoFailureException if any task failed with a Mojo failure
+	 */
+	@SuppressWarnings("PMD.PreserveStackTrace")
+	@SuppressFBWarnings(value = { "EXS_EXCEPTION_SOFTENING_NO_CONSTRAINTS", "LEST_LOST_EXCEPTION_STACK_TRACE" },
+			justification = "rethrowing the original exception of the running thread")
+	public static <T> List<T> invokeAll(final int parallelism, final List<Callable<T>> tasks)
+			throws IOException, MojoFailureException {
+		final ExecutorService executorService
+				= Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, tasks.size())));
+		try {
+			final List<Future<T>> futures = new ArrayList<>(tasks.size());
+			for (final Callable<T> task : tasks) {
+				futures.add(executorService.submit(task));
+			}
+
+			final List<T> results = new ArrayList<>(futures.size());
+			for (final Future<T> future : futures) {
+				try {
+					results.add(future.get());
+				} catch (final ExecutionException e) {
+					final Throwable cause = e.getCause();
+					if (cause instanceof IOException) {
+						throw (IOException) cause;
+					}
+					if (cause instanceof MojoFailureException) {
+						throw (MojoFailureException) cause;
+					}
+					throw new SneakyException(cause);
+				} catch (final InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new SneakyException(e);
+				}
+			}
+			return results;
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	/**
+	 * Utility class
+	 */
+	private ParallelTasks() {
+		// utility class
+	}
+}
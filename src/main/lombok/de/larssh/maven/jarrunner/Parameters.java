@@ -1,7 +1,9 @@
 package de.larssh.maven.jarrunner;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.unmodifiableList;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.file.Path;
@@ -9,15 +11,18 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.logging.Log;
 import org.eclipse.aether.RepositorySystem;
 import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.Exclusion;
 import org.eclipse.aether.repository.Authentication;
 import org.eclipse.aether.repository.RemoteRepository;
 import org.eclipse.aether.util.repository.AuthenticationBuilder;
@@ -37,8 +42,46 @@ import lombok.RequiredArgsConstructor;
  * of {@link RunMojo}.
  */
 @Getter
-@SuppressWarnings("PMD.DataClass")
+@SuppressWarnings("PMD.GodClass")
 public final class Parameters {
+	/**
+	 * Name of the cache directory inside the local repository
+	 */
+	private static final String CACHE_DIRECTORY_DEFAULT = ".cache";
+
+	/**
+	 * Name of this plugins cache directory inside {@link #CACHE_DIRECTORY_DEFAULT}
+	 */
+	private static final String CACHE_DIRECTORY_NAME_DEFAULT = "jar-runner-maven-plugin";
+
+	/**
+	 * Number of runs per worker JVM before it is recycled
+	 */
+	private static final int WORKER_MAX_USES_DEFAULT = 100;
+
+	/**
+	 * Number of rotated output and error files to keep
+	 */
+	private static final int OUTPUT_MAX_FILES_DEFAULT = 5;
+
+	/**
+	 * Number of last captured lines to mention in case of non-zero exit values
+	 */
+	private static final int OUTPUT_TAIL_LINES_DEFAULT = 20;
+
+	/**
+	 * Value of exclusions matching any group ID, artifact ID, classifier or
+	 * extension
+	 */
+	private static final String EXCLUSION_WILDCARD = "*";
+
+	/**
+	 * Dependency scopes to include into the class path unless given by user
+	 * argument
+	 */
+	private static final List<DependencyScope> SCOPES_DEFAULT
+			= unmodifiableList(asList(DependencyScope.COMPILE, DependencyScope.RUNTIME));
+
 	/**
 	 * Format for repository IDs of user argument repositories without ID.
 	 */
@@ -61,6 +104,87 @@ public final class Parameters {
 	private static final Pattern REPOSITORY_USER_INFO_PATTERN
 			= Pattern.compile("^(?<userName>.*?)(:(?<converter>base64|plain):(?<password>.*))?$");
 
+	/**
+	 * Creates an {@link Artifact} based on the artifact coordinates of a user
+	 * argument.
+	 *
+	 * @param artifact artifact coordinates
+	 * @return the artifact
+	 * @throws IllegalArgumentException if {@code artifact} is blank
+	 */
+	private static Artifact getArtifact(@Nullable final String artifact) {
+		if (artifact == null || Strings.isBlank(artifact)) {
+			throw new IllegalArgumentException("Either an artifact or a batch file must be given.");
+		}
+		return new DefaultArtifact(artifact);
+	}
+
+	/**
+	 * Determines the default directory to store cached files in, which is a sub
+	 * directory of the local repository.
+	 *
+	 * @param repositorySystemSession Aether Repository System Session
+	 * @return default cache directory
+	 */
+	private static Path getDefaultCacheDirectory(final RepositorySystemSession repositorySystemSession) {
+		return repositorySystemSession.getLocalRepository()
+				.getBasedir()
+				.toPath()
+				.resolve(CACHE_DIRECTORY_DEFAULT)
+				.resolve(CACHE_DIRECTORY_NAME_DEFAULT);
+	}
+
+	/**
+	 * Creates a list of {@link Exclusion} based on a list of
+	 * {@code groupId:artifactId} strings of a user argument. Group and artifact IDs
+	 * can be replaced by {@code *} to match any value.
+	 *
+	 * @param exclusions list of {@code groupId:artifactId} strings
+	 * @return list of exclusions
+	 * @throws IllegalArgumentException if an exclusion is malformed
+	 */
+	private static List<Exclusion> getExclusions(final List<String> exclusions) {
+		final List<Exclusion> result = new ArrayList<>(exclusions.size());
+		for (final String exclusion : exclusions) {
+			final String[] parts = exclusion.split(":", -1);
+			if (parts.length != 2 || !isExclusionPart(parts[0]) || !isExclusionPart(parts[1])) {
+				throw new IllegalArgumentException(Strings.format(
+						"Exclusions must be given as \"groupId:artifactId\", each either without \"*\" or \"*\" only. Given: \"%s\"",
+						exclusion));
+			}
+			result.add(new Exclusion(parts[0], parts[1], EXCLUSION_WILDCARD, EXCLUSION_WILDCARD));
+		}
+		return unmodifiableList(result);
+	}
+
+	/**
+	 * Checks if {@code part} is a valid group or artifact ID of an exclusion.
+	 *
+	 * @param part the group or artifact ID
+	 * @return {@code true} if {@code part} is valid
+	 */
+	private static boolean isExclusionPart(final String part) {
+		return EXCLUSION_WILDCARD.equals(part) || !part.isEmpty() && !part.contains(EXCLUSION_WILDCARD);
+	}
+
+	/**
+	 * Creates a list of {@link DependencyScope} based on a list of scope values of
+	 * a user argument.
+	 *
+	 * @param scopes list of scope values
+	 * @return list of scopes or the default scopes if {@code scopes} is empty
+	 */
+	private static List<DependencyScope> getScopes(final List<String> scopes) {
+		if (scopes.isEmpty()) {
+			return SCOPES_DEFAULT;
+		}
+		final List<DependencyScope> result = new ArrayList<>(scopes.size());
+		for (final String scope : scopes) {
+			result.add(DependencyScope.fromValue(scope));
+		}
+		return unmodifiableList(result);
+	}
+
 	/**
 	 * Creates a list of {@link RemoteRepository} based on a list of repository URI
 	 * strings of a user argument.
@@ -137,6 +261,37 @@ public final class Parameters {
 		return new AuthenticationBuilder().addUsername(userName).addPassword(password).build();
 	}
 
+	/**
+	 * Appends the arguments of {@code file} to {@code arguments}, if given.
+	 *
+	 * @param arguments list of arguments to append to
+	 * @param file      file to read arguments from
+	 * @return {@code arguments}
+	 */
+	@SuppressFBWarnings(value = "EXS_EXCEPTION_SOFTENING_NO_CONSTRAINTS",
+			justification = "converting checked to unchecked exceptions that must not be thrown")
+	private static List<String> appendArgumentsFile(final List<String> arguments, final Optional<Path> file) {
+		if (file.isPresent()) {
+			try {
+				arguments.addAll(ArgumentsFile.read(file.get()));
+			} catch (final IOException e) {
+				throw new SneakyException(e);
+			}
+		}
+		return arguments;
+	}
+
+	/**
+	 * Checks if {@code file} is either not given or contains the replica
+	 * placeholder, so that each replica writes its own file.
+	 *
+	 * @param file the file path
+	 * @return {@code true} if no file is shared between replicas
+	 */
+	private static boolean isPerReplica(final Optional<Path> file) {
+		return !file.isPresent() || file.get().toString().contains(Replicas.REPLICA_PLACEHOLDER);
+	}
+
 	/**
 	 * Parses {@code argument} into a list of arguments. The character sequences
 	 * {@code ,} and {@code ],[} are used to separate arguments from each other
@@ -145,7 +300,7 @@ public final class Parameters {
 	 * @param argument the argument value to split
 	 * @return a list of splitted arguments
 	 */
-	private static List<String> parseArgumentList(@Nullable final String argument) {
+	public static List<String> parseArgumentList(@Nullable final String argument) {
 		final List<String> arguments = new ArrayList<>();
 		if (argument != null) {
 			final Matcher matcher = PARSE_ARGUMENT_LIST_PATTERN.matcher(argument);
@@ -180,12 +335,30 @@ public final class Parameters {
 	 * List of arguments for the to-be-executed application
 	 *
 	 * <p>
+	 * Arguments of the arguments file are appended.
+	 *
+	 * <p>
 	 * Default: none
 	 *
 	 * @return List of arguments for the to-be-executed application
 	 */
 	List<String> arguments;
 
+	/**
+	 * File to read further arguments for the to-be-executed application from
+	 *
+	 * <p>
+	 * The file contains one argument per line or arguments separated by NUL
+	 * characters. No escaping is applied. If possible, the arguments are passed to
+	 * the application using a Java argument file.
+	 *
+	 * <p>
+	 * Default: none
+	 *
+	 * @return File to read further arguments from
+	 */
+	Optional<Path> argumentsFile;
+
 	/**
 	 * Artifact to load
 	 *
@@ -196,6 +369,65 @@ public final class Parameters {
 	 */
 	Artifact artifact;
 
+	/**
+	 * Use class data sharing archives to reduce the startup time of the launched
+	 * JVM
+	 *
+	 * <p>
+	 * If this argument equals "true" an archive is recorded on first launch of a
+	 * class path and used on later launches. Archives are stored inside the cache
+	 * directory. Requires Java 13 or later.
+	 *
+	 * <p>
+	 * Default: false
+	 *
+	 * @return {@code true} if class data sharing archives shall be used
+	 */
+	boolean classDataSharing;
+
+	/**
+	 * Capture the applications output and error streams into the Maven log
+	 *
+	 * <p>
+	 * If this argument equals "true" streams not redirected to files are written to
+	 * the Maven log line by line, so that "--quiet", "--log-file" and the Maven
+	 * Daemon (mvnd) apply. Cannot be combined with "runAsync", "inProcess" or
+	 * "workerPoolSize".
+	 *
+	 * <p>
+	 * Default: false
+	 *
+	 * @return {@code true} if the application output shall be captured
+	 */
+	boolean captureOutput;
+
+	/**
+	 * Way to pass the class path to launched JVMs
+	 *
+	 * <p>
+	 * "argument" passes the class path as command line argument. "argument-file"
+	 * passes the class path using a Java argument file (Java 9 and later) and
+	 * "pathing-jar" passes the class path using a JAR containing a manifest
+	 * Class-Path attribute only. Both files are stored inside the cache directory
+	 * and keep command lines short for large class paths.
+	 *
+	 * <p>
+	 * Default: argument
+	 *
+	 * @return Class Path Mode
+	 */
+	ClassPathMode classPathMode;
+
+	/**
+	 * Directory to store cached files in
+	 *
+	 * <p>
+	 * Default: the local repositorys subdirectory ".cache/jar-runner-maven-plugin"
+	 *
+	 * @return Directory to store cached files in
+	 */
+	Path cacheDirectory;
+
 	/**
 	 * Formatter value that allows modifying the class path. Substring "%s" is
 	 * replaced with the generated class path.
@@ -207,6 +439,45 @@ public final class Parameters {
 	 */
 	Optional<String> classPathFormat;
 
+	/**
+	 * File to redirect the applications standard error stream to
+	 *
+	 * <p>
+	 * Output is appended to the file. If equal to the output file, both streams are
+	 * merged into it.
+	 *
+	 * <p>
+	 * Default: none
+	 *
+	 * @return File to redirect the standard error stream to
+	 */
+	Optional<Path> errorFile;
+
+	/**
+	 * Log level of captured error stream lines
+	 *
+	 * <p>
+	 * Default: warn
+	 *
+	 * @return Log level of captured error stream lines
+	 */
+	LogLevel errorLevel;
+
+	/**
+	 * Handling of non-zero exit values of synchronously launched applications
+	 *
+	 * <p>
+	 * "exit" terminates the Maven JVM passing the applications exit value, while
+	 * "fail" fails the Maven execution and keeps the Maven JVM running. "auto"
+	 * behaves like "fail" inside the Maven Daemon (mvnd) and like "exit" else.
+	 *
+	 * <p>
+	 * Default: auto
+	 *
+	 * @return Exit Mode
+	 */
+	ExitMode exitMode;
+
 	/**
 	 * Ignore system repositories
 	 *
@@ -217,6 +488,33 @@ public final class Parameters {
 	 */
 	boolean ignoreSystemRepositories;
 
+	/**
+	 * File to read the applications standard input stream from
+	 *
+	 * <p>
+	 * Default: none
+	 *
+	 * @return File to read the standard input stream from
+	 */
+	Optional<Path> inputFile;
+
+	/**
+	 * Run application inside the Maven JVM
+	 *
+	 * <p>
+	 * If this argument equals "true" no new JVM is launched. Instead the
+	 * application is loaded by an isolated class loader and its main method is
+	 * invoked inside the Maven JVM. Java path, Java options, working directory and
+	 * class data sharing are ignored. Calls to System.exit cannot be trapped
+	 * in-process and stop the Maven JVM. Cannot be combined with "runAsync".
+	 *
+	 * <p>
+	 * Default: false
+	 *
+	 * @return {@code true} if the application shall run inside the Maven JVM
+	 */
+	boolean inProcess;
+
 	/**
 	 * Path to the Java executable
 	 *
@@ -231,12 +529,201 @@ public final class Parameters {
 	 * List of options for the Java VM
 	 *
 	 * <p>
+	 * Options of the Java options file are appended.
+	 *
+	 * <p>
 	 * Default: none
 	 *
 	 * @return List of options for the Java VM
 	 */
 	List<String> javaOptions;
 
+	/**
+	 * File to read further options for the Java VM from
+	 *
+	 * <p>
+	 * The file contains one option per line or options separated by NUL characters.
+	 * No escaping is applied.
+	 *
+	 * <p>
+	 * Default: none
+	 *
+	 * @return File to read further options for the Java VM from
+	 */
+	Optional<Path> javaOptionsFile;
+
+	/**
+	 * Profile to size launched JVMs based on the memory and CPUs left by the Maven
+	 * JVM
+	 *
+	 * <p>
+	 * "throughput", "latency" and "small-footprint" set the maximum heap, the
+	 * number of processors and the garbage collector of launched JVMs based on the
+	 * limits of the current container or machine. "none" lets launched JVMs size
+	 * themselves.
+	 *
+	 * <p>
+	 * Default: none
+	 *
+	 * @return JVM sizing profile
+	 */
+	JvmSizing jvmSizing;
+
+	/**
+	 * Set of JVM options tuning launched JVMs for a kind of application
+	 *
+	 * <p>
+	 * "startup" tunes launched JVMs for short-running command line tools and
+	 * enables class data sharing archives if supported. Options not supported by
+	 * the Java executable are dropped.
+	 *
+	 * <p>
+	 * Default: default
+	 *
+	 * @return Launch profile
+	 */
+	LaunchProfile launchProfile;
+
+	/**
+	 * Launch applications using a minimal runtime image
+	 *
+	 * <p>
+	 * The JDK modules required by the class path are determined using "jdeps" and a
+	 * runtime image containing only those modules is built using "jlink" once per
+	 * Java executable and class path.
+	 *
+	 * <p>
+	 * Default: false
+	 *
+	 * @return {@code true} if applications shall be launched using a runtime image
+	 */
+	boolean runtimeImage;
+
+	/**
+	 * Additional JDK modules to add to runtime images
+	 *
+	 * @return additional modules
+	 */
+	List<String> runtimeImageModules;
+
+	/**
+	 * Launch modular applications on the module path
+	 *
+	 * <p>
+	 * Modular root artifacts are launched using "--module-path" and "--module".
+	 * Non-modular dependencies stay on the class path.
+	 *
+	 * <p>
+	 * Default: false
+	 *
+	 * @return {@code true} if modular applications shall be launched on the module
+	 *         path
+	 */
+	boolean modulePath;
+
+	/**
+	 * Merge the class path into a single JAR
+	 *
+	 * <p>
+	 * Unsigned JARs of the class path are merged into a single uncompressed JAR
+	 * once per set of class path files.
+	 *
+	 * <p>
+	 * Default: false
+	 *
+	 * @return {@code true} if the class path shall be merged into a single JAR
+	 */
+	boolean consolidateClassPath;
+
+	/**
+	 * Drop JARs not reachable from the main class from the class path
+	 *
+	 * <p>
+	 * Reachability is analyzed statically once per main class and class path files.
+	 *
+	 * <p>
+	 * Default: false
+	 *
+	 * @return {@code true} if unreachable JARs shall be dropped
+	 */
+	boolean trimClassPath;
+
+	/**
+	 * Dependency scopes to include into the class path
+	 *
+	 * <p>
+	 * Default: compile, runtime
+	 *
+	 * @return dependency scopes to include
+	 */
+	List<DependencyScope> scopes;
+
+	/**
+	 * Dependencies to exclude from resolution including their dependencies
+	 *
+	 * @return dependencies to exclude
+	 */
+	List<Exclusion> exclusions;
+
+	/**
+	 * Handling of optional dependencies
+	 *
+	 * <p>
+	 * Default: DIRECT
+	 *
+	 * @return handling of optional dependencies
+	 */
+	OptionalDependencies optionalDependencies;
+
+	/**
+	 * Probe repositories and order them by latency
+	 *
+	 * <p>
+	 * HTTP repositories are probed at most once an hour. Repositories are ordered
+	 * by their average latency for collecting dependencies, while unresponsive
+	 * repositories are skipped temporarily.
+	 *
+	 * <p>
+	 * Default: false
+	 *
+	 * @return {@code true} if repositories shall be ordered by latency
+	 */
+	boolean repositoryProbing;
+
+	/**
+	 * Lock file to launch from or to write the resolved launch plan to
+	 *
+	 * @return lock file
+	 */
+	Optional<Path> lockFile;
+
+	/**
+	 * Resolve dependencies and rewrite the lock file even if it exists
+	 *
+	 * <p>
+	 * Default: false
+	 *
+	 * @return {@code true} if the lock file shall be rewritten
+	 */
+	boolean updateLockFile;
+
+	/**
+	 * Cache the launch plan of fixed artifact versions on disk
+	 *
+	 * <p>
+	 * If this argument equals "true" the resolved class path and main class are
+	 * stored inside the cache directory. Later runs with equal artifact,
+	 * repositories, scopes, exclusions and optional dependencies handling skip
+	 * dependency resolution as long as all class path files are unchanged.
+	 * Snapshots, version ranges, "LATEST" and "RELEASE" are never cached.
+	 *
+	 * <p>
+	 * Default: false
+	 *
+	 * @return {@code true} if launch plans shall be cached
+	 */
+	boolean launchPlanCache;
+
 	/**
 	 * Main class to execute
 	 *
@@ -247,6 +734,13 @@ public final class Parameters {
 	 */
 	Optional<String> mainClass;
 
+	/**
+	 * Maven Log
+	 *
+	 * @return Maven Log
+	 */
+	Log log;
+
 	/**
 	 * Maven Session
 	 *
@@ -254,6 +748,119 @@ public final class Parameters {
 	 */
 	MavenSession mavenSession;
 
+	/**
+	 * File to redirect the applications standard output stream to
+	 *
+	 * <p>
+	 * Output is appended to the file without passing the Maven JVM, unless rotation
+	 * is enabled.
+	 *
+	 * <p>
+	 * Default: none
+	 *
+	 * @return File to redirect the standard output stream to
+	 */
+	Optional<Path> outputFile;
+
+	/**
+	 * Maximum number of rotated output and error files to keep
+	 *
+	 * <p>
+	 * Default: 5
+	 *
+	 * @return Maximum number of rotated files
+	 */
+	int outputMaxFiles;
+
+	/**
+	 * Maximum size of output and error files in bytes before rotating them
+	 *
+	 * <p>
+	 * If this argument is greater than zero, the streams are drained by background
+	 * threads of the Maven JVM, which rotate the files as soon as they would exceed
+	 * this size.
+	 *
+	 * <p>
+	 * Default: 0 (no rotation)
+	 *
+	 * @return Maximum size of output and error files in bytes
+	 */
+	long outputMaxSize;
+
+	/**
+	 * Log level of captured output stream lines
+	 *
+	 * <p>
+	 * Default: info
+	 *
+	 * @return Log level of captured output stream lines
+	 */
+	LogLevel outputLevel;
+
+	/**
+	 * Prefix of captured lines
+	 *
+	 * <p>
+	 * Default: none
+	 *
+	 * @return Prefix of captured lines
+	 */
+	Optional<String> outputPrefix;
+
+	/**
+	 * Number of last captured lines to mention in case of non-zero exit values
+	 *
+	 * <p>
+	 * Default: 20
+	 *
+	 * @return Number of last captured lines to mention
+	 */
+	int outputTailLines;
+
+	/**
+	 * Number of replicas of the application to start
+	 *
+	 * <p>
+	 * If this argument is greater than one, the application is started multiple
+	 * times concurrently. The placeholder "{replica}" inside arguments, Java
+	 * options, output and error file paths and the output prefix is replaced by the
+	 * replicas number, starting at zero.
+	 *
+	 * <p>
+	 * Default: 1
+	 *
+	 * @return Number of replicas
+	 */
+	int replicas;
+
+	/**
+	 * Port of the first replica
+	 *
+	 * <p>
+	 * If given, the placeholder "{port}" is replaced by this port plus the replicas
+	 * number.
+	 *
+	 * <p>
+	 * Default: none
+	 *
+	 * @return Port of the first replica
+	 */
+	OptionalInt replicaBasePort;
+
+	/**
+	 * Pin replicas to disjoint sets of CPUs
+	 *
+	 * <p>
+	 * The CPUs the Maven JVM may run on are split evenly between replicas, which
+	 * are started using "taskset". Supported on Linux only.
+	 *
+	 * <p>
+	 * Default: false
+	 *
+	 * @return {@code true} if replicas shall be pinned to CPUs
+	 */
+	boolean replicaCpuPinning;
+
 	/**
 	 * List of Maven repository URLs
 	 *
@@ -299,7 +906,9 @@ public final class Parameters {
 	 *
 	 * <p>
 	 * If this argument equals "true" the JAR Runner instance stops right after
-	 * starting the application. The applications stream will not be inherited.
+	 * starting the application. Its output and error streams are either inherited
+	 * or redirected to files, so that they never block. Its input stream is closed
+	 * unless redirected from a file.
 	 *
 	 * <p>
 	 * Default: false
@@ -308,6 +917,21 @@ public final class Parameters {
 	 */
 	boolean runAsync;
 
+	/**
+	 * File to append launch phase durations to
+	 *
+	 * <p>
+	 * If given, a single line JSON object containing the timestamp, artifact, exit
+	 * value and the durations of all launch phases in milliseconds is appended for
+	 * each launch.
+	 *
+	 * <p>
+	 * Default: none
+	 *
+	 * @return File to append launch phase durations to
+	 */
+	Optional<Path> timingsFile;
+
 	/**
 	 * Working Directory for the to-be-executed application
 	 *
@@ -318,6 +942,37 @@ public final class Parameters {
 	 */
 	Optional<Path> workingDirectory;
 
+	/**
+	 * Number of runs per worker JVM before it is recycled
+	 *
+	 * <p>
+	 * Worker JVMs stopping by calling System.exit are recycled after each run.
+	 *
+	 * <p>
+	 * Default: 100
+	 *
+	 * @return Number of runs per worker JVM
+	 */
+	int workerMaxUses;
+
+	/**
+	 * Number of pre-started worker JVMs to keep idle
+	 *
+	 * <p>
+	 * If this argument is greater than zero, the application is run inside
+	 * pre-started worker JVMs, which already loaded the main class. Worker JVMs are
+	 * kept per command and working directory as long as the Maven JVM runs. This
+	 * pays off for applications launched multiple times inside a single build or
+	 * inside the Maven Daemon (mvnd). Cannot be combined with "runAsync" or
+	 * "inProcess".
+	 *
+	 * <p>
+	 * Default: 0
+	 *
+	 * @return Number of pre-started worker JVMs to keep idle
+	 */
+	int workerPoolSize;
+
 	/**
 	 * Constructor taking injected system objects and user arguments of
 	 * {@link RunMojo}.
@@ -326,6 +981,7 @@ public final class Parameters {
 	 * Arguments are validated and converted from Maven argument types to property
 	 * types.
 	 *
+	 * @param log                      Maven Log
 	 * @param mavenSession             Maven Session
 	 * @param repositorySystem         Aether Repository System
 	 * @param repositorySystemSession  Aether Repository System Session
@@ -339,11 +995,52 @@ public final class Parameters {
 	 * @param repositories             List of Repositories
 	 * @param ignoreSystemRepositories Ignore System Repositories
 	 * @param workingDirectory         Working Directory
+	 * @param cacheDirectory           Cache Directory
+	 * @param launchPlanCache          Cache launch plans
+	 * @param exitMode                 Exit Mode
+	 * @param classDataSharing         Use class data sharing archives
+	 * @param inProcess                Run application inside the Maven JVM
+	 * @param workerPoolSize           Number of pre-started worker JVMs
+	 * @param workerMaxUses            Number of runs per worker JVM
+	 * @param classPathMode            Class Path Mode
+	 * @param timingsFile              Timings File
+	 * @param argumentsFile            Arguments File
+	 * @param javaOptionsFile          Java Options File
+	 * @param outputFile               Output File
+	 * @param errorFile                Error File
+	 * @param inputFile                Input File
+	 * @param outputMaxSize            Maximum size of output files
+	 * @param outputMaxFiles           Maximum number of rotated output files
+	 * @param captureOutput            Capture output into the Maven log
+	 * @param outputPrefix             Prefix of captured lines
+	 * @param outputLevel              Log level of captured output lines
+	 * @param errorLevel               Log level of captured error lines
+	 * @param outputTailLines          Number of captured lines to mention
+	 * @param replicas                 Number of replicas
+	 * @param replicaBasePort          Port of the first replica
+	 * @param replicaCpuPinning        Pin replicas to CPUs
+	 * @param jvmSizing                JVM sizing profile
+	 * @param launchProfile            Launch profile
+	 * @param runtimeImage             Launch using a runtime image
+	 * @param runtimeImageModules      Additional modules of runtime images
+	 * @param modulePath               Launch on the module path
+	 * @param consolidateClassPath     Merge the class path into a single JAR
+	 * @param trimClassPath            Drop unreachable JARs from the class path
+	 * @param scopes                   Dependency scopes to include
+	 * @param exclusions               Dependencies to exclude
+	 * @param optionalDependencies     Handling of optional dependencies
+	 * @param repositoryProbing        Order repositories by latency
+	 * @param lockFile                 Lock file
+	 * @param updateLockFile           Rewrite the lock file
 	 */
-	@SuppressWarnings({ "checkstyle:ParameterNumber", "PMD.ExcessiveParameterList" })
+	@SuppressWarnings({
+			"checkstyle:ExecutableStatementCount",
+			"checkstyle:ParameterNumber",
+			"PMD.ExcessiveParameterList" })
 	@SuppressFBWarnings(value = "EI_EXPOSE_REP2",
 			justification = "the Maven session is stored for a single plugin run only")
-	public Parameters(final MavenSession mavenSession,
+	public Parameters(final Log log,
+			final MavenSession mavenSession,
 			final RepositorySystem repositorySystem,
 			final RepositorySystemSession repositorySystemSession,
 			@Nullable final String artifact,
@@ -355,20 +1052,194 @@ public final class Parameters {
 			@Nullable final String javaOptions,
 			@Nullable final String repositories,
 			final boolean ignoreSystemRepositories,
-			@Nullable final String workingDirectory) {
+			@Nullable final String workingDirectory,
+			@Nullable final String cacheDirectory,
+			final boolean launchPlanCache,
+			@Nullable final String exitMode,
+			final boolean classDataSharing,
+			final boolean inProcess,
+			final int workerPoolSize,
+			@Nullable final Integer workerMaxUses,
+			@Nullable final String classPathMode,
+			@Nullable final String timingsFile,
+			@Nullable final String argumentsFile,
+			@Nullable final String javaOptionsFile,
+			@Nullable final String outputFile,
+			@Nullable final String errorFile,
+			@Nullable final String inputFile,
+			final long outputMaxSize,
+			@Nullable final Integer outputMaxFiles,
+			final boolean captureOutput,
+			@Nullable final String outputPrefix,
+			@Nullable final String outputLevel,
+			@Nullable final String errorLevel,
+			@Nullable final Integer outputTailLines,
+			@Nullable final Integer replicas,
+			@Nullable final Integer replicaBasePort,
+			final boolean replicaCpuPinning,
+			@Nullable final String jvmSizing,
+			@Nullable final String launchProfile,
+			final boolean runtimeImage,
+			@Nullable final String runtimeImageModules,
+			final boolean modulePath,
+			final boolean consolidateClassPath,
+			final boolean trimClassPath,
+			@Nullable final String scopes,
+			@Nullable final String exclusions,
+			@Nullable final String optionalDependencies,
+			final boolean repositoryProbing,
+			@Nullable final String lockFile,
+			final boolean updateLockFile) {
+		this.log = log;
 		this.mavenSession = mavenSession;
 		this.repositorySystem = repositorySystem;
 		this.repositorySystemSession = repositorySystemSession;
-		this.artifact = new DefaultArtifact(artifact);
+		this.artifact = getArtifact(artifact);
 		this.mainClass = Optionals.ofNonBlank(mainClass);
-		this.arguments = unmodifiableList(parseArgumentList(arguments));
+		this.argumentsFile = Optionals.ofNonBlank(argumentsFile).map(Paths::get);
+		this.arguments = unmodifiableList(appendArgumentsFile(parseArgumentList(arguments), this.argumentsFile));
 		this.runAsync = runAsync;
 		this.classPathFormat = Optionals.ofNonBlank(classPathFormat);
 		this.javaPath = Optionals.ofNonBlank(javaPath).map(Paths::get);
-		this.javaOptions = unmodifiableList(parseArgumentList(javaOptions));
+		this.javaOptionsFile = Optionals.ofNonBlank(javaOptionsFile).map(Paths::get);
+		this.javaOptions = unmodifiableList(appendArgumentsFile(parseArgumentList(javaOptions), this.javaOptionsFile));
 		this.repositories = getRepositories(parseArgumentList(repositories));
 		this.ignoreSystemRepositories = ignoreSystemRepositories;
 		this.workingDirectory = Optionals.ofNonBlank(workingDirectory).map(Paths::get);
+		this.cacheDirectory = Optionals.ofNonBlank(cacheDirectory)
+				.map(Paths::get)
+				.orElseGet(() -> getDefaultCacheDirectory(repositorySystemSession));
+		this.launchPlanCache = launchPlanCache;
+		this.exitMode = ExitMode.fromName(exitMode);
+		this.classDataSharing = classDataSharing;
+		this.inProcess = inProcess;
+		this.workerPoolSize = workerPoolSize;
+		this.workerMaxUses = workerMaxUses == null ? WORKER_MAX_USES_DEFAULT : workerMaxUses;
+		this.classPathMode = ClassPathMode.fromName(classPathMode);
+		this.timingsFile = Optionals.ofNonBlank(timingsFile).map(Paths::get);
+		this.outputFile = Optionals.ofNonBlank(outputFile).map(Paths::get);
+		this.errorFile = Optionals.ofNonBlank(errorFile).map(Paths::get);
+		this.inputFile = Optionals.ofNonBlank(inputFile).map(Paths::get);
+		this.outputMaxSize = outputMaxSize;
+		this.outputMaxFiles = outputMaxFiles == null ? OUTPUT_MAX_FILES_DEFAULT : outputMaxFiles;
+		this.captureOutput = captureOutput;
+		this.outputPrefix = Optional.ofNullable(outputPrefix).filter(prefix -> !prefix.isEmpty());
+		this.outputLevel = LogLevel.fromName(outputLevel, LogLevel.INFO);
+		this.errorLevel = LogLevel.fromName(errorLevel, LogLevel.WARN);
+		this.outputTailLines = outputTailLines == null ? OUTPUT_TAIL_LINES_DEFAULT : outputTailLines;
+		this.replicas = replicas == null ? 1 : replicas;
+		this.replicaBasePort = replicaBasePort == null ? OptionalInt.empty() : OptionalInt.of(replicaBasePort);
+		this.replicaCpuPinning = replicaCpuPinning;
+		this.jvmSizing = JvmSizing.fromName(jvmSizing);
+		this.launchProfile = LaunchProfile.fromName(launchProfile);
+		this.runtimeImage = runtimeImage;
+		this.runtimeImageModules = unmodifiableList(parseArgumentList(runtimeImageModules));
+		this.modulePath = modulePath;
+		this.consolidateClassPath = consolidateClassPath;
+		this.trimClassPath = trimClassPath;
+		this.scopes = getScopes(parseArgumentList(scopes));
+		this.exclusions = getExclusions(parseArgumentList(exclusions));
+		this.optionalDependencies = OptionalDependencies.fromName(optionalDependencies);
+		this.repositoryProbing = repositoryProbing;
+		this.lockFile = Optionals.ofNonBlank(lockFile).map(Paths::get);
+		this.updateLockFile = updateLockFile;
+		validate();
+	}
+
+	/**
+	 * Validates combinations of arguments.
+	 *
+	 * @throws IllegalArgumentException if arguments cannot be combined
+	 */
+	@SuppressFBWarnings(value = "WEM_WEAK_EXCEPTION_MESSAGING", justification = "message is clear without values")
+	private void validate() {
+		if (runAsync && inProcess) {
+			throw new IllegalArgumentException("Running asynchronously cannot be combined with running in-process.");
+		}
+		if (workerPoolSize > 0) {
+			validateWorkerPool();
+		}
+		validateRedirects();
+		if (captureOutput && (runAsync || inProcess || workerPoolSize > 0)) {
+			throw new IllegalArgumentException(
+					"Capturing output cannot be combined with running asynchronously, running in-process or worker JVMs.");
+		}
+		validateReplicas();
+	}
+
+	/**
+	 * Validates arguments of replicas.
+	 *
+	 * @throws IllegalArgumentException if arguments are invalid or cannot be
+	 *                                  combined
+	 */
+	@SuppressFBWarnings(value = "WEM_WEAK_EXCEPTION_MESSAGING", justification = "message is clear without values")
+	private void validateReplicas() {
+		if (replicas < 1) {
+			throw new IllegalArgumentException(
+					Strings.format("At least one replica must be started. Given: %d", replicas));
+		}
+		if (replicas > 1 && (runAsync || inProcess || workerPoolSize > 0)) {
+			throw new IllegalArgumentException(
+					"Replicas cannot be combined with running asynchronously, running in-process or worker JVMs.");
+		}
+		if (replicas > 1 && outputMaxSize > 0 && !(isPerReplica(outputFile) && isPerReplica(errorFile))) {
+			throw new IllegalArgumentException(
+					"Rotated output and error files of replicas must contain the placeholder \"{replica}\".");
+		}
+	}
+
+	/**
+	 * Validates arguments of redirected streams.
+	 *
+	 * @throws IllegalArgumentException if arguments are invalid or cannot be
+	 *                                  combined
+	 */
+	@SuppressFBWarnings(value = "WEM_WEAK_EXCEPTION_MESSAGING", justification = "message is clear without values")
+	private void validateRedirects() {
+		if (workerPoolSize > 0 && isRedirecting()) {
+			throw new IllegalArgumentException("Redirecting streams cannot be combined with worker JVMs.");
+		}
+		if ((runAsync || inProcess) && outputMaxSize > 0) {
+			throw new IllegalArgumentException(
+					"Rotating output files cannot be combined with running asynchronously or running in-process.");
+		}
+		if (outputMaxSize < 0) {
+			throw new IllegalArgumentException(
+					Strings.format("The maximum output size must not be negative. Given: %d", outputMaxSize));
+		}
+		if (outputMaxFiles < 0) {
+			throw new IllegalArgumentException(Strings
+					.format("The maximum number of rotated files must not be negative. Given: %d", outputMaxFiles));
+		}
+	}
+
+	/**
+	 * Determines if any of the applications streams is redirected to or from a
+	 * file.
+	 *
+	 * @return {@code true} if any stream is redirected
+	 */
+	public boolean isRedirecting() {
+		return outputFile.isPresent() || errorFile.isPresent() || inputFile.isPresent();
+	}
+
+	/**
+	 * Validates arguments of worker JVMs.
+	 *
+	 * @throws IllegalArgumentException if arguments are invalid or cannot be
+	 *                                  combined
+	 */
+	@SuppressFBWarnings(value = "WEM_WEAK_EXCEPTION_MESSAGING", justification = "message is clear without values")
+	private void validateWorkerPool() {
+		if (runAsync || inProcess) {
+			throw new IllegalArgumentException(
+					"Worker JVMs cannot be combined with running asynchronously or running in-process.");
+		}
+		if (workerMaxUses < 1) {
+			throw new IllegalArgumentException(
+					Strings.format("Workers must allow at least one run. Given: %d", workerMaxUses));
+		}
 	}
 
 	/**
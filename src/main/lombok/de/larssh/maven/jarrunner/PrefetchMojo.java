@@ -0,0 +1,339 @@
+package de.larssh.maven.jarrunner;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.inject.Inject;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+
+import de.larssh.utils.Nullables;
+import de.larssh.utils.text.Strings;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.NonFinal;
+
+/**
+ * Mojo to resolve the dependencies of multiple artifacts concurrently without
+ * launching any application, e.g. to populate the local repository of CI
+ * images.
+ *
+ * <p>
+ * Artifacts are given as list or using a file in the format of batch files of
+ * {@link RunMojo}, so that the batch file of later runs can be prefetched as
+ * is.
+ *
+ * <p>
+ * This mojo is thread safe. Dependencies of equal artifacts are resolved only
+ * once per Maven session, even when executed concurrently.
+ */
+@RequiredArgsConstructor(onConstructor_ = { @Inject })
+@Mojo(name = "prefetch", requiresProject = false, threadSafe = true)
+public class PrefetchMojo extends AbstractMojo {
+	/**
+	 * Maven Session
+	 */
+	@NonFinal
+	@Nullable
+	@Parameter(defaultValue = "${session}", readonly = true)
+	MavenSession mavenSession = null;
+
+	/**
+	 * Aether Repository System
+	 */
+	RepositorySystem repositorySystem;
+
+	/**
+	 * Aether Repository System Session
+	 */
+	@NonFinal
+	@Nullable
+	@Parameter(defaultValue = "${repositorySystemSession}", readonly = true)
+	RepositorySystemSession repositorySystemSession = null;
+
+	/**
+	 * List of artifacts to prefetch
+	 *
+	 * <p>
+	 * Use "," to separate multiple artifacts from each other.
+	 *
+	 * <p>
+	 * Required, unless an artifacts file is given.
+	 */
+	@NonFinal
+	@Nullable
+	@Parameter(property = "artifacts")
+	String artifacts = null;
+
+	/**
+	 * Path to a file describing further artifacts to prefetch
+	 *
+	 * <p>
+	 * The file uses the format of the user argument "batchFile" of the goal "run".
+	 * Main classes and arguments are ignored.
+	 *
+	 * <p>
+	 * Default: none
+	 */
+	@NonFinal
+	@Nullable
+	@Parameter(property = "artifactsFile")
+	String artifactsFile = null;
+
+	/**
+	 * Maximum number of artifacts to resolve concurrently
+	 *
+	 * <p>
+	 * Default: number of available processors
+	 */
+	@NonFinal
+	@Nullable
+	@Parameter(property = "prefetchParallelism")
+	Integer prefetchParallelism = null;
+
+	/**
+	 * List of Maven repository URLs
+	 *
+	 * <p>
+	 * Uses the same format as the user argument "repositories" of the goal "run".
+	 *
+	 * <p>
+	 * Default: none
+	 */
+	@NonFinal
+	@Nullable
+	@Parameter(property = "repositories")
+	String repositories = null;
+
+	/**
+	 * Ignore system repositories
+	 *
+	 * <p>
+	 * Default: false
+	 */
+	@NonFinal
+	@Parameter(property = "ignoreSystemRepositories")
+	boolean ignoreSystemRepositories = false;
+
+	/**
+	 * Directory to store cached files in
+	 *
+	 * <p>
+	 * Default: the local repositorys subdirectory ".cache/jar-runner-maven-plugin"
+	 */
+	@NonFinal
+	@Nullable
+	@Parameter(property = "cacheDirectory")
+	String cacheDirectory = null;
+
+	/**
+	 * Cache the launch plan of fixed artifact versions on disk
+	 *
+	 * <p>
+	 * If this argument equals "true" the resolved class path and main class are
+	 * stored inside the cache directory, so that later runs using the same
+	 * resolution settings skip dependency resolution.
+	 *
+	 * <p>
+	 * Default: false
+	 */
+	@NonFinal
+	@Parameter(property = "launchPlanCache")
+	boolean launchPlanCache = false;
+
+	/**
+	 * File to append resolution phase durations to
+	 *
+	 * <p>
+	 * If given, a single line JSON object containing the timestamp, artifact and
+	 * the durations of all resolution phases in milliseconds is appended for each
+	 * artifact.
+	 *
+	 * <p>
+	 * Default: none
+	 */
+	@NonFinal
+	@Nullable
+	@Parameter(property = "timingsFile")
+	String timingsFile = null;
+
+	/**
+	 * Dependency scopes to include
+	 *
+	 * <p>
+	 * Uses the same format as the user argument "scopes" of the goal "run".
+	 *
+	 * <p>
+	 * Default: compile,runtime
+	 */
+	@NonFinal
+	@Nullable
+	@Parameter(property = "scopes")
+	String scopes = null;
+
+	/**
+	 * Dependencies to exclude from resolution including their dependencies
+	 *
+	 * <p>
+	 * Uses the same format as the user argument "exclusions" of the goal "run".
+	 */
+	@NonFinal
+	@Nullable
+	@Parameter(property = "exclusions")
+	String exclusions = null;
+
+	/**
+	 * Handling of optional dependencies
+	 *
+	 * <p>
+	 * Either "direct", "all" or "none".
+	 *
+	 * <p>
+	 * Default: direct
+	 */
+	@NonFinal
+	@Nullable
+	@Parameter(property = "optionalDependencies")
+	String optionalDependencies = null;
+
+	/**
+	 * Probe repositories and order them by latency
+	 *
+	 * <p>
+	 * Default: false
+	 */
+	@NonFinal
+	@Parameter(property = "repositoryProbing")
+	boolean repositoryProbing = false;
+
+	/** {@inheritDoc} */
+	@Override
+	@SuppressWarnings({
+			"checkstyle:IllegalCatch",
+			"PMD.AvoidCatchingGenericException",
+			"PMD.AvoidRethrowingException" })
+	@SuppressFBWarnings(value = { "REC_CATCH_EXCEPTION", "WEM_WEAK_EXCEPTION_MESSAGING" },
+			justification = "catching any exception at execution root")
+	public void execute() throws MojoExecutionException, MojoFailureException {
+		try {
+			final Set<String> artifactArguments = new LinkedHashSet<>(Parameters.parseArgumentList(artifacts));
+			if (artifactsFile != null && !Strings.isBlank(artifactsFile)) {
+				for (final BatchEntry entry : BatchEntry.read(Paths.get(artifactsFile))) {
+					artifactArguments.add(entry.getArtifact());
+				}
+			}
+			artifactArguments.removeIf(Strings::isBlank);
+			if (artifactArguments.isEmpty()) {
+				throw new IllegalArgumentException(
+						"Missing artifacts to prefetch. Use -Dartifacts=... or -DartifactsFile=...");
+			}
+
+			final List<Parameters> parameters = new ArrayList<>(artifactArguments.size());
+			for (final String artifactArgument : artifactArguments) {
+				parameters.add(createParameters(artifactArgument));
+			}
+			new Prefetcher(getLog(),
+					prefetchParallelism == null ? Runtime.getRuntime().availableProcessors() : prefetchParallelism,
+					parameters).execute();
+		} catch (final MojoFailureException e) {
+			throw e;
+		} catch (final Exception e) {
+			throw new MojoExecutionException("Unexpected exception thrown.", e);
+		}
+	}
+
+	/**
+	 * Creates the parameters object for the artifact given by
+	 * {@code artifactArgument}, combined with the resolution related user
+	 * arguments. Arguments of launching applications keep their defaults.
+	 *
+	 * @param artifactArgument Artifact
+	 * @return the parameters object
+	 */
+	private Parameters createParameters(final String artifactArgument) {
+		return new Parameters(getLog(),
+				Nullables.orElseThrow(mavenSession),
+				Nullables.orElseThrow(repositorySystem),
+				Nullables.orElseThrow(repositorySystemSession),
+				artifactArgument,
+				null,
+				null,
+				false,
+				null,
+				null,
+				null,
+				repositories,
+				ignoreSystemRepositories,
+				null,
+				cacheDirectory,
+				launchPlanCache,
+				null,
+				false,
+				false,
+				0,
+				null,
+				null,
+				timingsFile,
+				null,
+				null,
+				null,
+				null,
+				null,
+				0,
+				null,
+				false,
+				null,
+				null,
+				null,
+				null,
+				null,
+				null,
+				false,
+				null,
+				null,
+				false,
+				null,
+				false,
+				false,
+				false,
+				scopes,
+				exclusions,
+				optionalDependencies,
+				repositoryProbing,
+				null,
+				false);
+	}
+
+	/**
+	 * This dummy method forces IDE automatisms to keep fields non-final.
+	 */
+	@SuppressWarnings({ "PMD.NullAssignment", "PMD.UnusedPrivateMethod" })
+	@SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD", justification = "dummy method")
+	private void nonFinalDummy() {
+		mavenSession = null;
+		repositorySystemSession = null;
+		artifacts = null;
+		artifactsFile = null;
+		prefetchParallelism = null;
+		repositories = null;
+		ignoreSystemRepositories = false;
+		cacheDirectory = null;
+		launchPlanCache = false;
+		timingsFile = null;
+		scopes = null;
+		exclusions = null;
+		optionalDependencies = null;
+		repositoryProbing = false;
+	}
+}
@@ -0,0 +1,211 @@
+package de.larssh.maven.jarrunner;
+
+import static java.util.Collections.emptyList;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugin.logging.Log;
+import org.eclipse.aether.resolution.DependencyResolutionException;
+
+import de.larssh.utils.text.Strings;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Resolves the dependencies of multiple artifacts concurrently with bounded
+ * parallelism, without launching any application.
+ *
+ * <p>
+ * Resolutions share the caches of the Maven session, so that artifacts with
+ * common dependencies read their descriptors only once. The launch plan cache
+ * is filled if enabled, so that later runs skip resolution.
+ */
+@Getter
+@RequiredArgsConstructor
+public final class Prefetcher {
+	/**
+	 * Resolves the dependencies of a single artifact.
+	 *
+	 * @param prefetchParameters the parameters of the artifact
+	 * @return the result of the artifact
+	 * @throws IOException if writing the timings file failed
+	 */
+	private static Result prefetch(final Parameters prefetchParameters) throws IOException {
+		final LaunchTimings timings = new LaunchTimings();
+		final long start = System.nanoTime();
+		Optional<String> failure;
+		List<Path> files;
+		try {
+			files = JarRunner.getLaunchPlan(prefetchParameters, timings).getClassPath();
+			failure = Optional.empty();
+		} catch (final DependencyResolutionException | IOException e) {
+			files = emptyList();
+			failure = Optional.of(e.getMessage());
+		}
+		final long duration = System.nanoTime() - start;
+		timings.report(prefetchParameters, OptionalInt.empty());
+		return new Result(prefetchParameters.getArtifact().toString(), files, duration, failure);
+	}
+
+	/**
+	 * Calculates the total size of {@code files}.
+	 *
+	 * @param files the files
+	 * @return the total size in bytes
+	 * @throws IOException if any IO failure occurred
+	 */
+	private static long size(final Iterable<Path> files) throws IOException {
+		long size = 0;
+		for (final Path file : files) {
+			if (Files.isRegularFile(file)) {
+				size += Files.size(file);
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Maven Log
+	 *
+	 * @return Maven Log
+	 */
+	Log log;
+
+	/**
+	 * Maximum number of artifacts to resolve concurrently
+	 *
+	 * @return maximum number of artifacts to resolve concurrently
+	 */
+	int parallelism;
+
+	/**
+	 * Parameters objects of the artifacts to prefetch
+	 *
+	 * @return parameters objects of the artifacts to prefetch
+	 */
+	List<Parameters> parameters;
+
+	/**
+	 * Resolves the dependencies of all artifacts and waits for them to finish.
+	 * Afterwards the duration, number of files and their size are logged per
+	 * artifact in order.
+	 *
+	 * <p>
+	 * Artifacts failing to resolve do not stop other artifacts from being resolved.
+	 *
+	 * @throws IOException          if any IO failure occurred
+	 * @throws MojoFailureException if resolving any artifact failed
+	 */
+	public void execute() throws IOException, MojoFailureException {
+		final long start = System.nanoTime();
+		final List<Result> results = prefetchAll();
+
+		final Set<Path> files = new HashSet<>();
+		int failures = 0;
+		for (final Result result : results) {
+			logResult(result);
+			if (result.getFailure().isPresent()) {
+				failures += 1;
+			} else {
+				files.addAll(result.getFiles());
+			}
+		}
+		if (failures > 0) {
+			throw new MojoFailureException(
+					Strings.format("%d of %d artifacts could not be prefetched.", failures, results.size()));
+		}
+		if (getLog().isInfoEnabled()) {
+			getLog().info(Strings.format("Prefetched %d artifacts with %d files and %d bytes in %d ms.",
+					results.size(),
+					files.size(),
+					size(files),
+					TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+		}
+	}
+
+	/**
+	 * Resolves all artifacts using a thread pool of {@link #getParallelism()}
+	 * threads and waits for them to finish.
+	 *
+	 * @return results in order of {@link #getParameters()}
+	 * @throws IOException          if any IO failure occurred
+	 * @throws MojoFailureException never, as failures are part of the results
+	 */
+	private List<Result> prefetchAll() throws IOException, MojoFailureException {
+		final List<Callable<Result>> tasks = new ArrayList<>(getParameters().size());
+		for (final Parameters prefetchParameters : getParameters()) {
+			tasks.add(() -> prefetch(prefetchParameters));
+		}
+		return ParallelTasks.invokeAll(getParallelism(), tasks);
+	}
+
+	/**
+	 * Writes the duration, number of files and their size or the failure of
+	 * {@code result} to the Maven log.
+	 *
+	 * @param result the result of an artifact
+	 * @throws IOException if any IO failure occurred
+	 */
+	private void logResult(final Result result) throws IOException {
+		if (result.getFailure().isPresent()) {
+			if (getLog().isErrorEnabled()) {
+				getLog().error(Strings.format("Prefetching %s failed after %d ms: %s",
+						result.getArtifact(),
+						TimeUnit.NANOSECONDS.toMillis(result.getDuration()),
+						result.getFailure().get()));
+			}
+		} else if (getLog().isInfoEnabled()) {
+			getLog().info(Strings.format("Prefetched %s: %d files, %d bytes, %d ms",
+					result.getArtifact(),
+					result.getFiles().size(),
+					size(result.getFiles()),
+					TimeUnit.NANOSECONDS.toMillis(result.getDuration())));
+		}
+	}
+
+	/**
+	 * Result of a single artifact
+	 */
+	@Getter
+	@RequiredArgsConstructor
+	private static final class Result {
+		/**
+		 * The artifact coordinates
+		 *
+		 * @return the artifact coordinates
+		 */
+		String artifact;
+
+		/**
+		 * The resolved files of the artifact and its dependencies
+		 *
+		 * @return the resolved files
+		 */
+		List<Path> files;
+
+		/**
+		 * Duration of the resolution in nanoseconds
+		 *
+		 * @return duration of the resolution in nanoseconds
+		 */
+		long duration;
+
+		/**
+		 * The failure message or empty if resolving succeeded
+		 *
+		 * @return the failure message
+		 */
+		Optional<String> failure;
+	}
+}
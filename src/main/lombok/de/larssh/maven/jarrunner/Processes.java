@@ -0,0 +1,35 @@
+package de.larssh.maven.jarrunner;
+
+/**
+ * Helper methods to handle started processes.
+ */
+public final class Processes {
+	/**
+	 * Causes the current thread to wait, if necessary, until {@code process} has
+	 * terminated. This method returns immediately if {@code process} already
+	 * terminated. If {@code process} has not yet terminated, the calling thread
+	 * will be blocked until {@code process} exits.
+	 *
+	 * @param process the process to wait for
+	 * @return exit value of {@code process} (By convention, the value 0 indicates
+	 *         normal termination.)
+	 */
+	@SuppressWarnings("java:S2142")
+	public static int waitForWithoutInterrupting(final Process process) {
+		try {
+			return process.waitFor();
+		} catch (@SuppressWarnings("unused") final InterruptedException ignore) {
+			// Instead of rethrowing the InterruptedException we destroy the subprocess and
+			// wait for it to end.
+			process.destroy();
+			return waitForWithoutInterrupting(process);
+		}
+	}
+
+	/**
+	 * Utility class
+	 */
+	private Processes() {
+		// utility class
+	}
+}
@@ -0,0 +1,291 @@
+package de.larssh.maven.jarrunner;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+import static java.util.stream.Collectors.toList;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.regex.Pattern;
+
+import de.larssh.utils.text.SplitLimit;
+import de.larssh.utils.text.Strings;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Trims a class path to the JARs containing classes reachable from a main
+ * class.
+ *
+ * <p>
+ * Reachability is analyzed statically: starting at the main class, all classes
+ * referenced by the constant pools of reachable classes are reachable, just
+ * like string literals looking like class names. Providers listed inside
+ * {@code META-INF/services} files are reachable as soon as their service is.
+ * JARs without classes, directories and the root artifact are always kept.
+ * Classes loaded by names computed at runtime cannot be found.
+ *
+ * <p>
+ * Results are stored inside a directory per main class and class path files,
+ * including their sizes and modification times, and kept in memory as long as
+ * the Maven JVM runs.
+ */
+@Getter
+@RequiredArgsConstructor
+public final class ReachableClassPath {
+	/**
+	 * File extension of stored results
+	 */
+	private static final String FILE_EXTENSION = ".txt";
+
+	/**
+	 * Format of the string to hash per class path file
+	 */
+	private static final String KEY_FORMAT = "%s%n%d%n%d%n";
+
+	/**
+	 * File extension of class files
+	 */
+	private static final String CLASS_FILE_EXTENSION = ".class";
+
+	/**
+	 * Prefix of service files
+	 */
+	private static final String SERVICES_PREFIX = "META-INF/services/";
+
+	/**
+	 * Prefix of versioned entries of multi-release JARs
+	 */
+	private static final String VERSIONS_PREFIX = "META-INF/versions/";
+
+	/**
+	 * Pattern matching line separators inside service files
+	 */
+	private static final Pattern LINE_SEPARATOR_PATTERN = Pattern.compile("\\R");
+
+	/**
+	 * Pattern matching comments inside service files
+	 */
+	private static final Pattern COMMENT_PATTERN = Pattern.compile("#.*");
+
+	/**
+	 * Kept class path files by result file, kept as long as the Maven JVM runs
+	 */
+	private static final FileMemo<List<Path>> LOADED_CLASS_PATHS = new FileMemo<>(256);
+
+	/**
+	 * Size of the byte buffer used to read service files
+	 */
+	private static final int BUFFER_SIZE = 1024;
+
+	/**
+	 * Determines the internal class name of a class file entry.
+	 *
+	 * @param name the entries name
+	 * @return the internal class name
+	 */
+	private static String toClassName(final String name) {
+		final String className = name.substring(0, name.length() - CLASS_FILE_EXTENSION.length());
+		if (!className.startsWith(VERSIONS_PREFIX)) {
+			return className;
+		}
+		final int slash = className.indexOf('/', VERSIONS_PREFIX.length());
+		return slash == -1 ? className : className.substring(slash + 1);
+	}
+
+	/**
+	 * Analyzes the class path files containing classes reachable from
+	 * {@code mainClass}.
+	 *
+	 * @param classPath the class path files
+	 * @param mainClass the binary name of the main class
+	 * @return files containing reachable classes, without classes or not being JARs
+	 * @throws IOException if reading JARs failed
+	 */
+	@SuppressWarnings("PMD.CloseResource")
+	private static Set<Path> getReachableFiles(final List<Path> classPath, final String mainClass) throws IOException {
+		final Set<Path> reachableFiles = new HashSet<>();
+		final Map<Path, JarFile> jarFiles = new LinkedHashMap<>();
+		try {
+			// Index classes and services
+			final Map<String, Path> classFiles = new HashMap<>();
+			final Map<String, List<String>> services = new HashMap<>();
+			for (final Path path : classPath) {
+				if (Files.isRegularFile(path)) {
+					final JarFile jarFile = new JarFile(path.toFile(), false);
+					jarFiles.put(path, jarFile);
+					if (!index(path, jarFile, classFiles, services)) {
+						reachableFiles.add(path);
+					}
+				} else {
+					reachableFiles.add(path);
+				}
+			}
+
+			// Walk reachable classes
+			final Set<String> visitedClasses = new HashSet<>();
+			final Deque<String> pendingClasses = new ArrayDeque<>();
+			pendingClasses.add(mainClass.replace('.', '/'));
+			while (!pendingClasses.isEmpty()) {
+				final String className = pendingClasses.poll();
+				if (visitedClasses.add(className)) {
+					// services might be part of the JDK
+					pendingClasses.addAll(services.getOrDefault(className, emptyList()));
+
+					final Path path = classFiles.get(className);
+					if (path != null) {
+						reachableFiles.add(path);
+						final JarFile jarFile = jarFiles.get(path);
+						final JarEntry entry = jarFile.getJarEntry(className + CLASS_FILE_EXTENSION);
+						if (entry != null) {
+							try (DataInputStream inputStream = new DataInputStream(jarFile.getInputStream(entry))) {
+								pendingClasses.addAll(ConstantPool.read(inputStream).getReferencedClassNames());
+							}
+						}
+					}
+				}
+			}
+			return reachableFiles;
+		} finally {
+			for (final JarFile jarFile : jarFiles.values()) {
+				jarFile.close();
+			}
+		}
+	}
+
+	/**
+	 * Reads the UTF-8 content of {@code inputStream}.
+	 *
+	 * @param inputStream the input stream
+	 * @return the content
+	 * @throws IOException if reading failed
+	 */
+	private static String readString(final InputStream inputStream) throws IOException {
+		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		final byte[] buffer = new byte[BUFFER_SIZE];
+		int length = inputStream.read(buffer);
+		while (length != -1) {
+			outputStream.write(buffer, 0, length);
+			length = inputStream.read(buffer);
+		}
+		return new String(outputStream.toByteArray(), UTF_8);
+	}
+
+	/**
+	 * Adds the classes of {@code jarFile} to {@code classFiles} unless already
+	 * contained and the providers of its service files to {@code services}.
+	 *
+	 * @param path       the path of {@code jarFile}
+	 * @param jarFile    the JAR file
+	 * @param classFiles files by internal class name
+	 * @param services   providers by internal service name
+	 * @return {@code true} if {@code jarFile} contains classes
+	 * @throws IOException if reading failed
+	 */
+	private static boolean index(final Path path,
+			final JarFile jarFile,
+			final Map<String, Path> classFiles,
+			final Map<String, List<String>> services) throws IOException {
+		boolean containsClasses = false;
+		final Enumeration<JarEntry> entries = jarFile.entries();
+		while (entries.hasMoreElements()) {
+			final JarEntry entry = entries.nextElement();
+			final String name = entry.getName();
+			if (name.endsWith(CLASS_FILE_EXTENSION)) {
+				containsClasses = true;
+				classFiles.putIfAbsent(toClassName(name), path);
+			} else if (name.startsWith(SERVICES_PREFIX) && !entry.isDirectory()) {
+				final List<String> providers
+						= services.computeIfAbsent(name.substring(SERVICES_PREFIX.length()).replace('.', '/'),
+								service -> new ArrayList<>());
+				try (InputStream inputStream = jarFile.getInputStream(entry)) {
+					for (final String line : LINE_SEPARATOR_PATTERN.split(readString(inputStream),
+							SplitLimit.NO_LIMIT)) {
+						final String provider = Strings.replaceFirst(line, COMMENT_PATTERN, "").trim();
+						if (!provider.isEmpty()) {
+							providers.add(provider.replace('.', '/'));
+						}
+					}
+				}
+			}
+		}
+		return containsClasses;
+	}
+
+	/**
+	 * Directory to store results in
+	 *
+	 * @return directory to store results in
+	 */
+	Path directory;
+
+	/**
+	 * Trims {@code classPath} to the files containing classes reachable from
+	 * {@code mainClass}.
+	 *
+	 * @param classPath the class path files
+	 * @param rootFile  the file of the root artifact, which is always kept
+	 * @param mainClass the binary name of the main class
+	 * @return the trimmed class path in order of {@code classPath}
+	 * @throws IOException if any IO failure occurred
+	 */
+	public List<Path> trim(final List<Path> classPath, final Path rootFile, final String mainClass) throws IOException {
+		final StringBuilder key = new StringBuilder(mainClass).append('\n');
+		for (final Path file : classPath) {
+			key.append(Strings.format(KEY_FORMAT,
+					file.toAbsolutePath(),
+					Files.isRegularFile(file) ? Files.size(file) : 0,
+					Files.getLastModifiedTime(file).toMillis()));
+		}
+		final Path file = getDirectory().resolve(Hashes.sha256(key.toString()) + FILE_EXTENSION);
+
+		final Optional<List<Path>> loadedClassPath = LOADED_CLASS_PATHS.get(file);
+		if (loadedClassPath.isPresent()) {
+			return loadedClassPath.get();
+		}
+		if (Files.isRegularFile(file)) {
+			final List<Path> storedClassPath
+					= unmodifiableList(Files.readAllLines(file, UTF_8).stream().map(Paths::get).collect(toList()));
+			LOADED_CLASS_PATHS.put(file, storedClassPath);
+			return storedClassPath;
+		}
+
+		final Set<Path> reachableFiles = getReachableFiles(classPath, mainClass);
+		final List<Path> trimmedClassPath = classPath.stream()
+				.filter(path -> path.equals(rootFile) || reachableFiles.contains(path))
+				.collect(toList());
+		store(file, trimmedClassPath);
+		return unmodifiableList(trimmedClassPath);
+	}
+
+	/**
+	 * Stores {@code classPath} inside {@code file} using {@link AtomicFiles}.
+	 *
+	 * @param file      the result file
+	 * @param classPath the trimmed class path
+	 * @throws IOException if any IO failure occurred
+	 */
+	private void store(final Path file, final List<Path> classPath) throws IOException {
+		AtomicFiles.writeLines(file, classPath);
+		LOADED_CLASS_PATHS.put(file, unmodifiableList(new ArrayList<>(classPath)));
+	}
+}
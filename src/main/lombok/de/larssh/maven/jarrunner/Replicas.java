@@ -0,0 +1,198 @@
+package de.larssh.maven.jarrunner;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.unmodifiableList;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.maven.plugin.logging.Log;
+
+import de.larssh.utils.Finals;
+import de.larssh.utils.text.SplitLimit;
+import de.larssh.utils.text.Strings;
+
+/**
+ * Helpers to launch multiple replicas of an application, each optionally pinned
+ * to its own set of CPUs.
+ *
+ * <p>
+ * Replicas are numbered starting at zero. The placeholders {@code {replica}}
+ * and {@code {port}} are replaced by the replicas number and port inside user
+ * given values only, such as Java options and application arguments, but never
+ * inside generated parts of the command, such as class path entries.
+ */
+public final class Replicas {
+	/**
+	 * Placeholder for the replicas number
+	 */
+	public static final String REPLICA_PLACEHOLDER = Finals.constant("{replica}");
+
+	/**
+	 * Placeholder for the replicas port
+	 */
+	public static final String PORT_PLACEHOLDER = Finals.constant("{port}");
+
+	/**
+	 * Process status file of the current process on Linux
+	 */
+	private static final Path PROCESS_STATUS_FILE = Paths.get("/proc/self/status");
+
+	/**
+	 * Pattern of the line listing the CPUs the current process may run on
+	 */
+	private static final Pattern CPUS_ALLOWED_LIST_PATTERN
+			= Pattern.compile("^Cpus_allowed_list:\\s*(?<list>\\S+)\\s*$", Pattern.MULTILINE);
+
+	/**
+	 * Command to run a process pinned to a list of CPUs on Linux
+	 */
+	private static final String TASKSET_COMMAND = "taskset";
+
+	/**
+	 * Option of {@link #TASKSET_COMMAND} to pass a list of CPUs
+	 */
+	private static final String TASKSET_CPU_LIST_OPTION = "--cpu-list";
+
+	/**
+	 * Replaces the placeholders inside {@code value}.
+	 *
+	 * @param value    the value containing placeholders
+	 * @param replica  the replicas number
+	 * @param basePort the port of the first replica
+	 * @return {@code value} with placeholders replaced
+	 */
+	public static String substitute(final String value, final int replica, final OptionalInt basePort) {
+		final String substituted = value.replace(REPLICA_PLACEHOLDER, Integer.toString(replica));
+		return basePort.isPresent()
+				? substituted.replace(PORT_PLACEHOLDER, Integer.toString(basePort.getAsInt() + replica))
+				: substituted;
+	}
+
+	/**
+	 * Creates the command of a replica based on {@code command}, pinning it to
+	 * {@code cpuList} if given. Placeholders are expected to be replaced already.
+	 *
+	 * @param command the command of the replica
+	 * @param cpuList CPUs to pin the replica to in the format of
+	 *                {@code taskset --cpu-list} or an empty string
+	 * @return the pinned command of the replica
+	 */
+	public static List<String> getCommand(final List<String> command, final String cpuList) {
+		final List<String> replicaCommand = new ArrayList<>(command.size() + 3);
+		if (!cpuList.isEmpty()) {
+			replicaCommand.add(TASKSET_COMMAND);
+			replicaCommand.add(TASKSET_CPU_LIST_OPTION);
+			replicaCommand.add(cpuList);
+		}
+		replicaCommand.addAll(command);
+		return replicaCommand;
+	}
+
+	/**
+	 * Splits the CPUs the Maven JVM may run on into {@code replicas} disjoint CPU
+	 * lists in the format of {@code taskset --cpu-list}.
+	 *
+	 * <p>
+	 * If there are more replicas than CPUs, each replica is pinned to a single CPU
+	 * and CPUs are shared. On other operating systems than Linux, pinning is not
+	 * supported and empty strings are returned.
+	 *
+	 * @param log      Maven Log
+	 * @param replicas number of replicas
+	 * @return a CPU list per replica
+	 * @throws IOException if reading the allowed CPUs failed
+	 */
+	public static List<String> getCpuLists(final Log log, final int replicas) throws IOException {
+		if (!Files.isRegularFile(PROCESS_STATUS_FILE)) {
+			if (log.isWarnEnabled()) {
+				log.warn("Pinning replicas to CPUs is supported on Linux only. Replicas are not pinned.");
+			}
+			final List<String> cpuLists = new ArrayList<>(replicas);
+			for (int replica = 0; replica < replicas; replica += 1) {
+				cpuLists.add("");
+			}
+			return unmodifiableList(cpuLists);
+		}
+
+		final List<Integer> cpus
+				= getAllowedCpus(new String(Files.readAllBytes(PROCESS_STATUS_FILE), UTF_8), Runtime.getRuntime());
+		if (replicas > cpus.size() && log.isWarnEnabled()) {
+			log.warn(Strings.format("Starting %d replicas on %d CPUs. Replicas share CPUs.", replicas, cpus.size()));
+		}
+		return getCpuLists(cpus, replicas);
+	}
+
+	/**
+	 * Splits {@code cpus} into {@code replicas} disjoint CPU lists in the format of
+	 * {@code taskset --cpu-list}. If there are more replicas than CPUs, each
+	 * replica gets a single CPU and CPUs are shared.
+	 *
+	 * @param cpus     the CPUs to split
+	 * @param replicas number of replicas
+	 * @return a CPU list per replica
+	 */
+	static List<String> getCpuLists(final List<Integer> cpus, final int replicas) {
+		final List<String> cpuLists = new ArrayList<>(replicas);
+		final int size = cpus.size();
+		for (int replica = 0; replica < replicas; replica += 1) {
+			if (replicas > size) {
+				cpuLists.add(Integer.toString(cpus.get(replica % size)));
+			} else {
+				final StringBuilder cpuList = new StringBuilder();
+				for (int index = replica * size / replicas; index < (replica + 1) * size / replicas; index += 1) {
+					if (cpuList.length() > 0) {
+						cpuList.append(',');
+					}
+					cpuList.append(cpus.get(index));
+				}
+				cpuLists.add(cpuList.toString());
+			}
+		}
+		return unmodifiableList(cpuLists);
+	}
+
+	/**
+	 * Determines the CPUs a process may run on based on its process status. All
+	 * processors of {@code runtime} are used if the status does not list them.
+	 *
+	 * @param processStatus the content of the process status file
+	 * @param runtime       the runtime to fall back to
+	 * @return list of CPU numbers
+	 */
+	static List<Integer> getAllowedCpus(final String processStatus, final Runtime runtime) {
+		final Matcher matcher = CPUS_ALLOWED_LIST_PATTERN.matcher(processStatus);
+		final List<Integer> cpus = new ArrayList<>();
+		if (matcher.find()) {
+			for (final String range : matcher.group("list").split(",", SplitLimit.NO_LIMIT)) {
+				final int separator = range.indexOf('-');
+				final int first = Integer.parseInt(separator == -1 ? range : range.substring(0, separator));
+				final int last = separator == -1 ? first : Integer.parseInt(range.substring(separator + 1));
+				for (int cpu = first; cpu <= last; cpu += 1) {
+					cpus.add(cpu);
+				}
+			}
+		}
+		if (cpus.isEmpty()) {
+			final int processors = runtime.availableProcessors();
+			for (int cpu = 0; cpu < processors; cpu += 1) {
+				cpus.add(cpu);
+			}
+		}
+		return cpus;
+	}
+
+	/**
+	 * Utility class
+	 */
+	private Replicas() {
+		// utility class
+	}
+}
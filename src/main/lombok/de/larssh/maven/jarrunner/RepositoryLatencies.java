@@ -0,0 +1,456 @@
+package de.larssh.maven.jarrunner;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableList;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.plugin.logging.Log;
+import org.eclipse.aether.repository.ProxySelector;
+import org.eclipse.aether.repository.RemoteRepository;
+
+import de.larssh.utils.text.Strings;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Latency and failure history of remote repositories, which is used to order
+ * repositories by their responsiveness.
+ *
+ * <p>
+ * HTTP repositories are probed using a {@code HEAD} request to their URL. Any
+ * HTTP response counts as responsive, including authentication errors. The
+ * latency is averaged over the probes of a repository. Responsive repositories
+ * are probed again after an hour, while unresponsive repositories are skipped
+ * and probed again after a back-off time, which doubles with each failed probe.
+ * Repositories of other protocols are not probed and never skipped.
+ *
+ * <p>
+ * The history is stored inside a properties file per repository URL and kept in
+ * memory as long as the Maven JVM runs.
+ */
+@Getter
+@RequiredArgsConstructor
+@SuppressWarnings("PMD.DoNotUseThreads")
+public final class RepositoryLatencies {
+	/**
+	 * File extension of stored histories
+	 */
+	private static final String FILE_EXTENSION = ".properties";
+
+	/**
+	 * Property key of the repository URL
+	 */
+	private static final String KEY_URL = "url";
+
+	/**
+	 * Property key of the average latency in milliseconds
+	 */
+	private static final String KEY_LATENCY = "latency";
+
+	/**
+	 * Property key of the number of consecutive failed probes
+	 */
+	private static final String KEY_FAILURES = "failures";
+
+	/**
+	 * Property key of the time of the last probe in milliseconds
+	 */
+	private static final String KEY_PROBED = "probed";
+
+	/**
+	 * Protocols of repositories to probe
+	 */
+	private static final List<String> PROBED_PROTOCOLS = unmodifiableList(asList("http", "https"));
+
+	/**
+	 * Separator of URL path segments
+	 */
+	private static final String URL_PATH_SEPARATOR = "/";
+
+	/**
+	 * Connect and read timeout of probes in milliseconds
+	 */
+	private static final int PROBE_TIMEOUT = 3000;
+
+	/**
+	 * Time in milliseconds after which responsive repositories are probed again
+	 */
+	private static final long PROBE_INTERVAL = TimeUnit.HOURS.toMillis(1);
+
+	/**
+	 * Time in milliseconds to skip repositories after their first failed probe
+	 */
+	private static final long BACK_OFF_MIN = TimeUnit.MINUTES.toMillis(1);
+
+	/**
+	 * Maximum time in milliseconds to skip unresponsive repositories
+	 */
+	private static final long BACK_OFF_MAX = TimeUnit.HOURS.toMillis(1);
+
+	/**
+	 * Maximum number of times the back-off time is doubled, so that shifting cannot
+	 * overflow
+	 */
+	private static final int BACK_OFF_MAX_DOUBLINGS = 6;
+
+	/**
+	 * Weight of earlier probes when averaging latencies
+	 */
+	private static final int LATENCY_HISTORY_WEIGHT = 3;
+
+	/**
+	 * Histories by file, kept as long as the Maven JVM runs
+	 */
+	private static final FileMemo<History> LOADED_HISTORIES = new FileMemo<>(256);
+
+	/**
+	 * Checks if {@code repository} is probed.
+	 *
+	 * @param repository the repository
+	 * @return {@code true} if {@code repository} is an HTTP repository
+	 */
+	private static boolean isProbed(final RemoteRepository repository) {
+		return PROBED_PROTOCOLS.contains(repository.getProtocol().toLowerCase(Locale.ROOT));
+	}
+
+	/**
+	 * Maven Log
+	 *
+	 * @return Maven Log
+	 */
+	Log log;
+
+	/**
+	 * Proxy selector of the repository system session
+	 *
+	 * @return proxy selector of the repository system session
+	 */
+	ProxySelector proxySelector;
+
+	/**
+	 * Directory to store histories in
+	 *
+	 * @return directory to store histories in
+	 */
+	Path directory;
+
+	/**
+	 * Orders {@code repositories} by their average latency and removes
+	 * repositories, which did not respond lately. Repositories due for probing are
+	 * probed concurrently before.
+	 *
+	 * <p>
+	 * Repositories of equal latency keep their order. If no repository responded
+	 * lately, {@code repositories} is returned as is, so that resolution fails with
+	 * the usual errors.
+	 *
+	 * @param repositories the repositories to order
+	 * @return the ordered repositories
+	 */
+	public List<RemoteRepository> order(final List<RemoteRepository> repositories) {
+		final long now = System.currentTimeMillis();
+		final List<History> histories = new ArrayList<>(repositories.size());
+		final Map<Integer, Future<History>> probes = new HashMap<>();
+		final ExecutorService executorService = Executors.newCachedThreadPool();
+		try {
+			for (final RemoteRepository repository : repositories) {
+				final History history = load(repository);
+				if (isProbed(repository) && history.isDue(now)) {
+					probes.put(histories.size(),
+							executorService.submit((Callable<History>) () -> probe(repository, history)));
+				}
+				histories.add(history);
+			}
+			for (final Map.Entry<Integer, Future<History>> probe : probes.entrySet()) {
+				histories.set(probe.getKey(), probe.getValue().get());
+			}
+		} catch (final ExecutionException e) {
+			warn(Strings.format("Probing repositories failed. %s", e.getCause().getMessage()));
+			return repositories;
+		} catch (@SuppressWarnings("unused") final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return repositories;
+		} finally {
+			executorService.shutdownNow();
+		}
+
+		final List<Integer> indexes = new ArrayList<>(repositories.size());
+		for (int index = 0; index < repositories.size(); index += 1) {
+			final History history = histories.get(index);
+			if (history.getFailures() == 0) {
+				indexes.add(index);
+			} else {
+				warn(Strings.format("Skipping repository %s (%s) after %d failed probes.",
+						repositories.get(index).getId(),
+						repositories.get(index).getUrl(),
+						history.getFailures()));
+			}
+		}
+		if (indexes.isEmpty()) {
+			return repositories;
+		}
+		indexes.sort(Comparator.comparingLong(index -> histories.get(index).getLatency()));
+
+		final List<RemoteRepository> orderedRepositories = new ArrayList<>(indexes.size());
+		for (final int index : indexes) {
+			orderedRepositories.add(repositories.get(index));
+		}
+		if (getLog().isDebugEnabled()) {
+			for (final int index : indexes) {
+				getLog().debug(Strings.format("Repository %s: %d ms",
+						repositories.get(index).getId(),
+						histories.get(index).getLatency()));
+			}
+		}
+		return unmodifiableList(orderedRepositories);
+	}
+
+	/**
+	 * Probes {@code repository} and stores the updated history.
+	 *
+	 * @param repository the repository to probe
+	 * @param history    the history of {@code repository}
+	 * @return the updated history
+	 */
+	private History probe(final RemoteRepository repository, final History history) {
+		final long start = System.nanoTime();
+		History probedHistory;
+		try {
+			request(repository);
+			probedHistory = history.withLatency(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+		} catch (final IOException e) {
+			if (getLog().isDebugEnabled()) {
+				getLog().debug(Strings.format("Probing repository %s failed: %s", repository.getId(), e.getMessage()));
+			}
+			probedHistory = history.withFailure();
+		}
+
+		try {
+			store(repository, probedHistory);
+		} catch (final IOException e) {
+			warn(Strings.format("Storing the latency of repository %s failed. %s", repository.getId(), e.getMessage()));
+		}
+		return probedHistory;
+	}
+
+	/**
+	 * Sends a {@code HEAD} request to the URL of {@code repository} using the proxy
+	 * selected for it.
+	 *
+	 * @param repository the repository to request
+	 * @throws IOException if no HTTP response was received in time
+	 */
+	@SuppressFBWarnings(value = "URLCONNECTION_SSRF_FD", justification = "repository URLs are given by the user")
+	private void request(final RemoteRepository repository) throws IOException {
+		final String url = repository.getUrl().endsWith(URL_PATH_SEPARATOR)
+				? repository.getUrl()
+				: repository.getUrl() + URL_PATH_SEPARATOR;
+		final URLConnection connection = new URL(url).openConnection(getProxy(repository));
+		if (!(connection instanceof HttpURLConnection)) {
+			throw new IOException(Strings.format("%s is no HTTP URL.", url));
+		}
+
+		final HttpURLConnection httpConnection = (HttpURLConnection) connection;
+		try {
+			httpConnection.setConnectTimeout(PROBE_TIMEOUT);
+			httpConnection.setReadTimeout(PROBE_TIMEOUT);
+			httpConnection.setInstanceFollowRedirects(false);
+			httpConnection.setUseCaches(false);
+			httpConnection.setRequestMethod("HEAD");
+			httpConnection.getResponseCode();
+		} finally {
+			httpConnection.disconnect();
+		}
+	}
+
+	/**
+	 * Determines the proxy to probe {@code repository} with.
+	 *
+	 * @param repository the repository
+	 * @return the proxy or {@link Proxy#NO_PROXY}
+	 */
+	private Proxy getProxy(final RemoteRepository repository) {
+		final org.eclipse.aether.repository.Proxy proxy
+				= Optional.ofNullable(repository.getProxy()).orElseGet(() -> getProxySelector().getProxy(repository));
+		return proxy == null
+				? Proxy.NO_PROXY
+				: new Proxy(Proxy.Type.HTTP, InetSocketAddress.createUnresolved(proxy.getHost(), proxy.getPort()));
+	}
+
+	/**
+	 * Loads the history of {@code repository}, preferring the in-memory copy of
+	 * earlier loads inside the same JVM.
+	 *
+	 * @param repository the repository
+	 * @return the history or an empty history if none was stored or it cannot be
+	 *         read
+	 */
+	private History load(final RemoteRepository repository) {
+		final Path file = getFile(repository);
+		final Optional<History> loadedHistory = LOADED_HISTORIES.get(file);
+		if (loadedHistory.isPresent()) {
+			return loadedHistory.get();
+		}
+		if (!Files.isRegularFile(file)) {
+			return History.EMPTY;
+		}
+
+		final Properties properties = new Properties();
+		try (Reader reader = Files.newBufferedReader(file, UTF_8)) {
+			properties.load(reader);
+		} catch (final IOException e) {
+			warn(Strings.format("Reading the latency of repository %s failed. %s", repository.getId(), e.getMessage()));
+			return History.EMPTY;
+		}
+		if (!repository.getUrl().equals(properties.getProperty(KEY_URL))) {
+			return History.EMPTY;
+		}
+
+		try {
+			final History history = new History(Long.parseLong(properties.getProperty(KEY_LATENCY)),
+					Integer.parseInt(properties.getProperty(KEY_FAILURES)),
+					Long.parseLong(properties.getProperty(KEY_PROBED)));
+			LOADED_HISTORIES.put(file, history);
+			return history;
+		} catch (@SuppressWarnings("unused") final NumberFormatException e) {
+			return History.EMPTY;
+		}
+	}
+
+	/**
+	 * Stores {@code history} of {@code repository} using a temporary file, which is
+	 * moved afterwards, so concurrent readers never see partially written files.
+	 *
+	 * @param repository the repository
+	 * @param history    the history to store
+	 * @throws IOException if any IO failure occurred
+	 */
+	private void store(final RemoteRepository repository, final History history) throws IOException {
+		final Properties properties = new Properties();
+		properties.setProperty(KEY_URL, repository.getUrl());
+		properties.setProperty(KEY_LATENCY, Long.toString(history.getLatency()));
+		properties.setProperty(KEY_FAILURES, Integer.toString(history.getFailures()));
+		properties.setProperty(KEY_PROBED, Long.toString(history.getProbed()));
+
+		final Path file = getFile(repository);
+		AtomicFiles.write(file, properties);
+		LOADED_HISTORIES.put(file, history);
+	}
+
+	/**
+	 * Determines the path of the file to store the history of {@code repository}
+	 * in.
+	 *
+	 * @param repository the repository
+	 * @return the file path
+	 */
+	private Path getFile(final RemoteRepository repository) {
+		return getDirectory().resolve(Hashes.sha256(repository.getUrl()) + FILE_EXTENSION);
+	}
+
+	/**
+	 * Writes {@code message} to the Maven log at warning level.
+	 *
+	 * @param message the message
+	 */
+	private void warn(final String message) {
+		if (getLog().isWarnEnabled()) {
+			getLog().warn(message);
+		}
+	}
+
+	/**
+	 * Latency and failure history of a repository
+	 */
+	@Getter
+	@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+	private static final class History {
+		/**
+		 * History of repositories, which were not probed yet
+		 */
+		private static final History EMPTY = new History(0, 0, 0);
+
+		/**
+		 * Average latency in milliseconds
+		 *
+		 * @return average latency in milliseconds
+		 */
+		long latency;
+
+		/**
+		 * Number of consecutive failed probes
+		 *
+		 * @return number of consecutive failed probes
+		 */
+		int failures;
+
+		/**
+		 * Time of the last probe in milliseconds
+		 *
+		 * @return time of the last probe in milliseconds
+		 */
+		long probed;
+
+		/**
+		 * Checks if the repository is due for probing at {@code now}.
+		 *
+		 * @param now the current time in milliseconds
+		 * @return {@code true} if the repository shall be probed
+		 */
+		public boolean isDue(final long now) {
+			if (getFailures() == 0) {
+				return this == EMPTY || now - getProbed() >= PROBE_INTERVAL;
+			}
+			return now - getProbed() >= Math.min(BACK_OFF_MIN << Math.min(getFailures() - 1, BACK_OFF_MAX_DOUBLINGS),
+					BACK_OFF_MAX);
+		}
+
+		/**
+		 * Creates the history after a successful probe.
+		 *
+		 * @param probeLatency the latency of the probe in milliseconds
+		 * @return the updated history
+		 */
+		public History withLatency(final long probeLatency) {
+			final long averageLatency = this == EMPTY || getFailures() > 0
+					? probeLatency
+					: (getLatency() * LATENCY_HISTORY_WEIGHT + probeLatency) / (LATENCY_HISTORY_WEIGHT + 1);
+			return new History(averageLatency, 0, System.currentTimeMillis());
+		}
+
+		/**
+		 * Creates the history after a failed probe.
+		 *
+		 * @return the updated history
+		 */
+		public History withFailure() {
+			return new History(getLatency(), getFailures() + 1, System.currentTimeMillis());
+		}
+	}
+}
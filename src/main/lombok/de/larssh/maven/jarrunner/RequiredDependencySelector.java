@@ -0,0 +1,27 @@
+package de.larssh.maven.jarrunner;
+
+import org.eclipse.aether.collection.DependencyCollectionContext;
+import org.eclipse.aether.collection.DependencySelector;
+import org.eclipse.aether.graph.Dependency;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Dependency selector rejecting optional dependencies on all levels, including
+ * the optional dependencies of the root artifact.
+ */
+@EqualsAndHashCode
+public final class RequiredDependencySelector implements DependencySelector {
+	/** {@inheritDoc} */
+	@Override
+	public boolean selectDependency(@Nullable final Dependency dependency) {
+		return dependency == null || !dependency.isOptional();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public DependencySelector deriveChildSelector(@Nullable final DependencyCollectionContext context) {
+		return this;
+	}
+}
@@ -0,0 +1,113 @@
+package de.larssh.maven.jarrunner;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.stream.Collectors.toList;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.graph.Exclusion;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.util.artifact.ArtifactIdUtils;
+
+import de.larssh.utils.text.Strings;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Key identifying a dependency resolution by its artifact coordinates, the
+ * effective list of repositories, the included scopes, the exclusions and the
+ * handling of optional dependencies.
+ *
+ * <p>
+ * Two resolutions with equal keys are expected to result in the same class
+ * path, as long as the artifacts version is fixed.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public final class ResolutionKey {
+	/**
+	 * Format of a repositories string representation
+	 */
+	private static final String REPOSITORY_FORMAT = "%s=%s";
+
+	/**
+	 * Format of an exclusions string representation
+	 */
+	private static final String EXCLUSION_FORMAT = "%s:%s";
+
+	/**
+	 * Artifact coordinates
+	 *
+	 * @return artifact coordinates
+	 */
+	String artifact;
+
+	/**
+	 * Repository IDs and URLs in order
+	 *
+	 * @return repository IDs and URLs in order
+	 */
+	List<String> repositories;
+
+	/**
+	 * Included dependency scopes
+	 *
+	 * @return included dependency scopes
+	 */
+	List<String> scopes;
+
+	/**
+	 * Excluded group and artifact IDs
+	 *
+	 * @return excluded group and artifact IDs
+	 */
+	List<String> exclusions;
+
+	/**
+	 * Handling of optional dependencies
+	 *
+	 * @return handling of optional dependencies
+	 */
+	OptionalDependencies optionalDependencies;
+
+	/**
+	 * Creates a key for the resolution of {@code artifact} using
+	 * {@code repositories}, {@code scopes}, {@code exclusions} and
+	 * {@code optionalDependencies}.
+	 *
+	 * @param artifact             the artifact to resolve
+	 * @param repositories         the effective list of repositories
+	 * @param scopes               the included dependency scopes
+	 * @param exclusions           the excluded dependencies
+	 * @param optionalDependencies the handling of optional dependencies
+	 */
+	public ResolutionKey(final Artifact artifact,
+			final Collection<RemoteRepository> repositories,
+			final Collection<String> scopes,
+			final Collection<Exclusion> exclusions,
+			final OptionalDependencies optionalDependencies) {
+		this.artifact = ArtifactIdUtils.toId(artifact);
+		this.repositories = unmodifiableList(repositories.stream()
+				.map(repository -> Strings.format(REPOSITORY_FORMAT, repository.getId(), repository.getUrl()))
+				.collect(toList()));
+		this.scopes = unmodifiableList(new ArrayList<>(scopes));
+		this.exclusions = unmodifiableList(exclusions.stream()
+				.map(exclusion -> Strings.format(EXCLUSION_FORMAT, exclusion.getGroupId(), exclusion.getArtifactId()))
+				.collect(toList()));
+		this.optionalDependencies = optionalDependencies;
+	}
+
+	/**
+	 * Calculates a hash of this key, which can be used as file name.
+	 *
+	 * @return the hexadecimal hash string
+	 */
+	public String getHash() {
+		return Hashes.sha256(toString());
+	}
+}
@@ -0,0 +1,147 @@
+package de.larssh.maven.jarrunner;
+
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import lombok.Getter;
+
+/**
+ * Drains a stream of a process into a file on a background thread, rotating the
+ * file as soon as it would exceed a maximum size.
+ *
+ * <p>
+ * Rotated files are named after the file with a numeric suffix, while
+ * {@code .1} is the most recent one. Files exceeding the maximum number of
+ * rotated files are deleted. Already existing content is appended to.
+ */
+@Getter
+public final class RotatingFileDrainer extends StreamDrainer {
+	/**
+	 * Size of the byte buffer
+	 */
+	private static final int BUFFER_SIZE = 8192;
+
+	/**
+	 * Starts draining {@code inputStream} into {@code file} on a new daemon thread.
+	 *
+	 * @param inputStream the stream to drain
+	 * @param file        the file to write to
+	 * @param maxSize     maximum size of {@code file} in bytes
+	 * @param maxFiles    maximum number of rotated files to keep
+	 * @return the started drainer
+	 */
+	public static RotatingFileDrainer start(final InputStream inputStream,
+			final Path file,
+			final long maxSize,
+			final int maxFiles) {
+		final RotatingFileDrainer drainer = new RotatingFileDrainer(inputStream, file, maxSize, maxFiles);
+		drainer.start(file.getFileName().toString());
+		return drainer;
+	}
+
+	/**
+	 * The file to write to
+	 *
+	 * @return the file to write to
+	 */
+	Path file;
+
+	/**
+	 * Maximum size of {@link #getFile()} in bytes
+	 *
+	 * @return maximum size in bytes
+	 */
+	long maxSize;
+
+	/**
+	 * Maximum number of rotated files to keep
+	 *
+	 * @return maximum number of rotated files
+	 */
+	int maxFiles;
+
+	/**
+	 * Creates a drainer, which still needs to be started.
+	 *
+	 * @param inputStream the stream to drain
+	 * @param file        the file to write to
+	 * @param maxSize     maximum size of {@code file} in bytes
+	 * @param maxFiles    maximum number of rotated files to keep
+	 */
+	private RotatingFileDrainer(final InputStream inputStream,
+			final Path file,
+			final long maxSize,
+			final int maxFiles) {
+		super(inputStream);
+		this.file = file;
+		this.maxSize = maxSize;
+		this.maxFiles = maxFiles;
+	}
+
+	/**
+	 * Copies {@code stream} into the file until it ends.
+	 *
+	 * @param stream the stream to drain
+	 * @throws IOException if any IO failure occurred
+	 */
+	@Override
+	protected void drain(final InputStream stream) throws IOException {
+		final byte[] buffer = new byte[BUFFER_SIZE];
+		long size = Files.exists(getFile()) ? Files.size(getFile()) : 0;
+		OutputStream outputStream = Files.newOutputStream(getFile(), CREATE, APPEND);
+		try {
+			int length = stream.read(buffer);
+			while (length != -1) {
+				if (size > 0 && size + length > getMaxSize()) {
+					outputStream.close();
+					rotate();
+					outputStream = Files.newOutputStream(getFile(), CREATE, APPEND);
+					size = 0;
+				}
+				outputStream.write(buffer, 0, length);
+				size += length;
+				length = stream.read(buffer);
+			}
+		} finally {
+			outputStream.close();
+		}
+	}
+
+	/**
+	 * Moves the file and already rotated files to the next rotated file name,
+	 * deleting the oldest one.
+	 *
+	 * @throws IOException if any IO failure occurred
+	 */
+	private void rotate() throws IOException {
+		if (getMaxFiles() < 1) {
+			Files.delete(getFile());
+			return;
+		}
+		Files.deleteIfExists(getRotatedFile(getMaxFiles()));
+		for (int index = getMaxFiles() - 1; index > 0; index -= 1) {
+			final Path rotatedFile = getRotatedFile(index);
+			if (Files.exists(rotatedFile)) {
+				Files.move(rotatedFile, getRotatedFile(index + 1), REPLACE_EXISTING);
+			}
+		}
+		Files.move(getFile(), getRotatedFile(1), REPLACE_EXISTING);
+	}
+
+	/**
+	 * Returns the path of the rotated file with number {@code index}.
+	 *
+	 * @param index the number of the rotated file, starting at one
+	 * @return the path of the rotated file
+	 */
+	private Path getRotatedFile(final int index) {
+		return getFile().resolveSibling(getFile().getFileName() + "." + index);
+	}
+}
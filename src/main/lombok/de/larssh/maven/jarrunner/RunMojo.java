@@ -1,5 +1,11 @@
 package de.larssh.maven.jarrunner;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
 import javax.inject.Inject;
 
 import org.apache.maven.execution.MavenSession;
@@ -11,7 +17,9 @@ import org.apache.maven.plugins.annotations.Parameter;
 import org.eclipse.aether.RepositorySystem;
 import org.eclipse.aether.RepositorySystemSession;
 
+import de.larssh.maven.jarrunner.LaunchTimings.Phase;
 import de.larssh.utils.Nullables;
+import de.larssh.utils.text.Strings;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import lombok.RequiredArgsConstructor;
@@ -27,9 +35,17 @@ import lombok.experimental.NonFinal;
  * <p>
  * The main class to execute can either be specified by argument or is taken
  * from the artifacts JAR.
+ *
+ * <p>
+ * Multiple applications can be run concurrently using a batch file.
+ *
+ * <p>
+ * This mojo is thread safe. Dependencies of equal artifacts are resolved only
+ * once per Maven session, even when executed concurrently.
  */
+@SuppressWarnings("PMD.TooManyFields")
 @RequiredArgsConstructor(onConstructor_ = { @Inject })
-@Mojo(name = "run", requiresProject = false)
+@Mojo(name = "run", requiresProject = false, threadSafe = true)
 public class RunMojo extends AbstractMojo {
 	/**
 	 * Maven Session
@@ -54,10 +70,13 @@ public class RunMojo extends AbstractMojo {
 
 	/**
 	 * Artifact to load
+	 *
+	 * <p>
+	 * Required, unless a batch file is given.
 	 */
 	@NonFinal
 	@Nullable
-	@Parameter(property = "artifact", required = true)
+	@Parameter(property = "artifact")
 	String artifact = null;
 
 	/**
@@ -82,12 +101,32 @@ public class RunMojo extends AbstractMojo {
 	@Parameter(property = "arguments")
 	String arguments = null;
 
+	/**
+	 * File to read further arguments for the to-be-executed application from
+	 *
+	 * <p>
+	 * The file contains one argument per line or arguments separated by NUL
+	 * characters (e.g. as written by "git diff --name-only -z"). No escaping is
+	 * applied. Arguments are appended to the ones given by "arguments". Using Java
+	 * 9 or later, arguments are passed to the application using a Java argument
+	 * file, so that command line length limits do not apply.
+	 *
+	 * <p>
+	 * Default: none
+	 */
+	@NonFinal
+	@Nullable
+	@Parameter(property = "argumentsFile")
+	String argumentsFile = null;
+
 	/**
 	 * Run application asynchronously
 	 *
 	 * <p>
 	 * If this argument equals "true" the JAR Runner instance stops right after
-	 * starting the application. The applications streams will not be inherited.
+	 * starting the application. Its output and error streams are either inherited
+	 * or redirected to files, so that they never block. Its input stream is closed
+	 * unless redirected from a file.
 	 *
 	 * <p>
 	 * Default: false
@@ -130,6 +169,23 @@ public class RunMojo extends AbstractMojo {
 	@Parameter(property = "javaOptions")
 	String javaOptions = null;
 
+	/**
+	 * File to read further options for the Java VM from
+	 *
+	 * <p>
+	 * The file contains one option per line or options separated by NUL characters.
+	 * No escaping is applied. Options are appended to the ones given by
+	 * "javaOptions". Using Java 9 or later, options are passed using a Java
+	 * argument file.
+	 *
+	 * <p>
+	 * Default: none
+	 */
+	@NonFinal
+	@Nullable
+	@Parameter(property = "javaOptionsFile")
+	String javaOptionsFile = null;
+
 	/**
 	 * List of Maven repository URLs
 	 *
@@ -178,6 +234,595 @@ public class RunMojo extends AbstractMojo {
 	@Parameter(property = "workingDirectory")
 	String workingDirectory = null;
 
+	/**
+	 * Directory to store cached files in
+	 *
+	 * <p>
+	 * Default: the local repositorys subdirectory ".cache/jar-runner-maven-plugin"
+	 */
+	@NonFinal
+	@Nullable
+	@Parameter(property = "cacheDirectory")
+	String cacheDirectory = null;
+
+	/**
+	 * Cache the launch plan of fixed artifact versions on disk
+	 *
+	 * <p>
+	 * If this argument equals "true" the resolved class path and main class are
+	 * stored inside the cache directory. Later runs with equal artifact,
+	 * repositories, scopes, exclusions and optional dependencies handling skip
+	 * dependency resolution as long as all class path files are unchanged.
+	 * Snapshots, version ranges, "LATEST" and "RELEASE" are never cached, neither
+	 * for the artifact itself nor for any of its dependencies.
+	 *
+	 * <p>
+	 * Default: false
+	 */
+	@NonFinal
+	@Parameter(property = "launchPlanCache")
+	boolean launchPlanCache = false;
+
+	/**
+	 * Handling of non-zero exit values of synchronously launched applications
+	 *
+	 * <p>
+	 * "exit" terminates the Maven JVM passing the applications exit value, while
+	 * "fail" fails the Maven execution and keeps the Maven JVM running. "auto"
+	 * behaves like "fail" inside the Maven Daemon (mvnd) and like "exit" else.
+	 *
+	 * <p>
+	 * Default: auto
+	 */
+	@NonFinal
+	@Nullable
+	@Parameter(property = "exitMode")
+	String exitMode = null;
+
+	/**
+	 * Use class data sharing archives to reduce the startup time of the launched
+	 * JVM
+	 *
+	 * <p>
+	 * If this argument equals "true" an archive is recorded on first launch of a
+	 * class path and used on later launches. Archives are stored inside the cache
+	 * directory. Asynchronously launched applications do not record archives and
+	 * worker JVMs do not use archives. Requires Java 13 or later.
+	 *
+	 * <p>
+	 * Default: false
+	 */
+	@NonFinal
+	@Parameter(property = "classDataSharing")
+	boolean classDataSharing = false;
+
+	/**
+	 * Run application inside the Maven JVM
+	 *
+	 * <p>
+	 * If this argument equals "true" no new JVM is launched. Instead the
+	 * application is loaded by an isolated class loader and its main method is
+	 * invoked inside the Maven JVM. Java path, Java options, working directory and
+	 * class data sharing are ignored. Calls to System.exit cannot be trapped
+	 * in-process and stop the Maven JVM. Cannot be combined with "runAsync".
+	 *
+	 * <p>
+	 * Default: false
+	 */
+	@NonFinal
+	@Parameter(property = "inProcess")
+	boolean inProcess = false;
+
+	/**
+	 * Number of pre-started worker JVMs to keep idle
+	 *
+	 * <p>
+	 * If this argument is greater than zero, the application is run inside
+	 * pre-started worker JVMs, which already loaded the main class. Worker JVMs are
+	 * kept per command and working directory as long as the Maven JVM runs. This
+	 * pays off for applications launched multiple times inside a single build or
+	 * inside the Maven Daemon (mvnd) only, as the first run starts the workers.
+	 * Cannot be combined with "runAsync" or "inProcess".
+	 *
+	 * <p>
+	 * Default: 0
+	 */
+	@NonFinal
+	@Parameter(property = "workerPoolSize")
+	int workerPoolSize = 0;
+
+	/**
+	 * Number of runs per worker JVM before it is recycled
+	 *
+	 * <p>
+	 * Worker JVMs stopping by calling System.exit are recycled after each run.
+	 *
+	 * <p>
+	 * Default: 100
+	 */
+	@NonFinal
+	@Nullable
+	@Parameter(property = "workerMaxUses")
+	Integer workerMaxUses = null;
+
+	/**
+	 * Way to pass the class path to launched JVMs
+	 *
+	 * <p>
+	 * "argument" passes the class path as command line argument. "argument-file"
+	 * passes the class path using a Java argument file (Java 9 and later) and
+	 * "pathing-jar" passes the class path using a JAR containing a manifest
+	 * Class-Path attribute only. Both files are stored inside the cache directory
+	 * and keep command lines short for large class paths.
+	 *
+	 * <p>
+	 * Default: argument
+	 */
+	@NonFinal
+	@Nullable
+	@Parameter(property = "classPathMode")
+	String classPathMode = null;
+
+	/**
+	 * File to append launch phase durations to
+	 *
+	 * <p>
+	 * If given, a single line JSON object containing the timestamp, artifact, exit
+	 * value and the durations of all launch phases in milliseconds is appended for
+	 * each launch. Durations are written to the debug log in any case.
+	 *
+	 * <p>
+	 * Default: none
+	 */
+	@NonFinal
+	@Nullable
+	@Parameter(property = "timingsFile")
+	String timingsFile = null;
+
+	/**
+	 * Path to a file to redirect the applications standard output stream to
+	 *
+	 * <p>
+	 * Output is appended to the file by the operating system, so that it does not
+	 * pass the Maven JVM unless "outputMaxSize" is given. In-process applications
+	 * write to the file using redirected standard streams of their threads. Cannot
+	 * be combined with "workerPoolSize".
+	 *
+	 * <p>
+	 * Default: none (inherited)
+	 */
+	@NonFinal
+	@Nullable
+	@Parameter(property = "outputFile")
+	String outputFile = null;
+
+	/**
+	 * Path to a file to redirect the applications standard error stream to
+	 *
+	 * <p>
+	 * If equal to "outputFile", both streams are merged into that file. Cannot be
+	 * combined with "workerPoolSize".
+	 *
+	 * <p>
+	 * Default: none (inherited)
+	 */
+	@NonFinal
+	@Nullable
+	@Parameter(property = "errorFile")
+	String errorFile = null;
+
+	/**
+	 * Path to a file to read the applications standard input stream from
+	 *
+	 * <p>
+	 * Cannot be combined with "workerPoolSize".
+	 *
+	 * <p>
+	 * Default: none (inherited or closed for asynchronous applications)
+	 */
+	@NonFinal
+	@Nullable
+	@Parameter(property = "inputFile")
+	String inputFile = null;
+
+	/**
+	 * Maximum size of output and error files in bytes before rotating them
+	 *
+	 * <p>
+	 * If this argument is greater than zero, the streams are drained into the files
+	 * by background threads of the Maven JVM. Files are rotated to ".1", ".2" and
+	 * so on as soon as they would exceed this size. Draining stops with the Maven
+	 * JVM, therefore this cannot be combined with "runAsync". Cannot be combined
+	 * with "inProcess" either.
+	 *
+	 * <p>
+	 * Default: 0 (no rotation)
+	 */
+	@NonFinal
+	@Parameter(property = "outputMaxSize")
+	long outputMaxSize = 0;
+
+	/**
+	 * Maximum number of rotated output and error files to keep
+	 *
+	 * <p>
+	 * Default: 5
+	 */
+	@NonFinal
+	@Nullable
+	@Parameter(property = "outputMaxFiles")
+	Integer outputMaxFiles = null;
+
+	/**
+	 * Capture the applications output and error streams into the Maven log
+	 *
+	 * <p>
+	 * If this argument equals "true" streams not redirected to files are written to
+	 * the Maven log line by line by background threads, so that "--quiet",
+	 * "--log-file" and the Maven Daemon (mvnd) apply. The last lines are mentioned
+	 * in case of non-zero exit values. Cannot be combined with "runAsync",
+	 * "inProcess" or "workerPoolSize".
+	 *
+	 * <p>
+	 * Default: false
+	 */
+	@NonFinal
+	@Parameter(property = "captureOutput")
+	boolean captureOutput = false;
+
+	/**
+	 * Prefix of captured lines
+	 *
+	 * <p>
+	 * Default: none
+	 */
+	@NonFinal
+	@Nullable
+	@Parameter(property = "outputPrefix")
+	String outputPrefix = null;
+
+	/**
+	 * Log level of captured output stream lines: "debug", "info", "warn" or "error"
+	 *
+	 * <p>
+	 * Default: info
+	 */
+	@NonFinal
+	@Nullable
+	@Parameter(property = "outputLevel")
+	String outputLevel = null;
+
+	/**
+	 * Log level of captured error stream lines: "debug", "info", "warn" or "error"
+	 *
+	 * <p>
+	 * Default: warn
+	 */
+	@NonFinal
+	@Nullable
+	@Parameter(property = "errorLevel")
+	String errorLevel = null;
+
+	/**
+	 * Number of last captured lines to mention in case of non-zero exit values
+	 *
+	 * <p>
+	 * Default: 20
+	 */
+	@NonFinal
+	@Nullable
+	@Parameter(property = "outputTailLines")
+	Integer outputTailLines = null;
+
+	/**
+	 * Number of replicas of the application to start
+	 *
+	 * <p>
+	 * If this argument is greater than one, the application is started multiple
+	 * times concurrently and the Maven execution waits for all replicas to stop.
+	 * The placeholder "{replica}" inside arguments, Java options, output and error
+	 * file paths and the output prefix is replaced by the replicas number, starting
+	 * at zero. This includes arguments and Java options read from files. Captured
+	 * lines are prefixed by the replicas number unless "outputPrefix" is given.
+	 * Cannot be combined with "runAsync", "inProcess" or "workerPoolSize".
+	 *
+	 * <p>
+	 * Default: 1
+	 */
+	@NonFinal
+	@Nullable
+	@Parameter(property = "replicas")
+	Integer replicas = null;
+
+	/**
+	 * Port of the first replica
+	 *
+	 * <p>
+	 * If given, the placeholder "{port}" is replaced by this port plus the replicas
+	 * number.
+	 *
+	 * <p>
+	 * Default: none
+	 */
+	@NonFinal
+	@Nullable
+	@Parameter(property = "replicaBasePort")
+	Integer replicaBasePort = null;
+
+	/**
+	 * Pin replicas to disjoint sets of CPUs
+	 *
+	 * <p>
+	 * If this argument equals "true" the CPUs the Maven JVM may run on are split
+	 * evenly between replicas, which are started using "taskset". Supported on
+	 * Linux only.
+	 *
+	 * <p>
+	 * Default: false
+	 */
+	@NonFinal
+	@Parameter(property = "replicaCpuPinning")
+	boolean replicaCpuPinning = false;
+
+	/**
+	 * Profile to size launched JVMs based on the memory and CPUs left by the Maven
+	 * JVM
+	 *
+	 * <p>
+	 * "throughput", "latency" and "small-footprint" read the memory and CPU limits
+	 * of the current container (cgroup v2 or v1) or machine, subtract the memory of
+	 * the Maven JVM and split the rest between replicas or worker JVMs. The maximum
+	 * heap, the number of processors (Java 10 and later) and a garbage collector
+	 * are set unless given by "javaOptions". "throughput" uses 75% of the memory
+	 * and the parallel garbage collector, "latency" uses 70% and ZGC (Java 15 and
+	 * later) or G1 and "small-footprint" uses 50% and the serial garbage collector.
+	 * Ignored for in-process applications.
+	 *
+	 * <p>
+	 * Default: none
+	 */
+	@NonFinal
+	@Nullable
+	@Parameter(property = "jvmSizing")
+	String jvmSizing = null;
+
+	/**
+	 * Set of JVM options tuning launched JVMs for a kind of application
+	 *
+	 * <p>
+	 * "startup" tunes launched JVMs for command line tools stopping within a few
+	 * seconds: the optimizing JIT compiler is disabled, the serial garbage
+	 * collector and class data sharing archives are used, the code cache is limited
+	 * to 32 MiB and performance data are not written. The heap is not changed.
+	 * Options not supported by the Java executable are dropped, which is validated
+	 * once per Java executable. Options given by "javaOptions" take precedence.
+	 * Ignored for in-process applications.
+	 *
+	 * <p>
+	 * Default: default
+	 */
+	@NonFinal
+	@Nullable
+	@Parameter(property = "launchProfile")
+	String launchProfile = null;
+
+	/**
+	 * Launch applications using a minimal runtime image
+	 *
+	 * <p>
+	 * If this argument equals "true" the JDK modules required by the class path are
+	 * determined using "jdeps" and a runtime image containing only those modules is
+	 * built using "jlink" of the given Java executable (Java 11 and later). Images
+	 * are stored inside the cache directory per Java executable and class path, so
+	 * that they are built once. Images contain a class data sharing archive of the
+	 * JDK classes. If building the image fails, the given Java executable is used.
+	 * Ignored for in-process applications.
+	 *
+	 * <p>
+	 * Default: false
+	 */
+	@NonFinal
+	@Parameter(property = "runtimeImage")
+	boolean runtimeImage = false;
+
+	/**
+	 * Additional JDK modules to add to runtime images
+	 *
+	 * <p>
+	 * Modules loaded using reflection or service loaders cannot be found by
+	 * "jdeps". Use "," to separate multiple modules from each other.
+	 */
+	@NonFinal
+	@Nullable
+	@Parameter(property = "runtimeImageModules")
+	String runtimeImageModules = null;
+
+	/**
+	 * Launch modular applications on the module path
+	 *
+	 * <p>
+	 * If this argument equals "true" and the root artifact contains a module
+	 * descriptor or names an automatic module, it is launched using "--module-path"
+	 * and "--module". Dependencies containing a module descriptor or naming an
+	 * automatic module are put on the module path, just like non-modular
+	 * dependencies required by modules, which become automatic modules named after
+	 * their file names. All others stay on the class path. Requires Java 9 or
+	 * later. Non-modular root artifacts, worker JVMs and in-process applications
+	 * use the class path.
+	 *
+	 * <p>
+	 * Default: false
+	 */
+	@NonFinal
+	@Parameter(property = "modulePath")
+	boolean modulePath = false;
+
+	/**
+	 * Merge the class path into a single JAR
+	 *
+	 * <p>
+	 * If this argument equals "true" the JARs of the class path are merged into a
+	 * single uncompressed JAR inside the cache directory, so that launched JVMs
+	 * open and search one file only. Entries of earlier JARs take precedence and
+	 * service files are concatenated. Signed JARs and JARs with a "Class-Path"
+	 * manifest attribute are not merged. The JAR is reused as long as the class
+	 * path files are unchanged.
+	 *
+	 * <p>
+	 * Default: false
+	 */
+	@NonFinal
+	@Parameter(property = "consolidateClassPath")
+	boolean consolidateClassPath = false;
+
+	/**
+	 * Drop JARs not reachable from the main class from the class path
+	 *
+	 * <p>
+	 * If this argument equals "true" the class files reachable from the main class
+	 * are analyzed statically, following constant pool references, string literals
+	 * looking like class names and service providers inside "META-INF/services".
+	 * JARs not containing any reachable class are dropped from the class path. JARs
+	 * without classes and the root artifact are always kept. The result is stored
+	 * inside the cache directory per main class and class path files.
+	 *
+	 * <p>
+	 * Classes loaded using names computed at runtime cannot be found. Do not use
+	 * this argument for applications loading plugins that way.
+	 *
+	 * <p>
+	 * Default: false
+	 */
+	@NonFinal
+	@Parameter(property = "trimClassPath")
+	boolean trimClassPath = false;
+
+	/**
+	 * Dependency scopes to include into the class path
+	 *
+	 * <p>
+	 * Use "," to separate multiple scopes from each other. Allowed values are
+	 * "compile", "provided", "runtime", "test" and "system". Dependencies of the
+	 * scopes "provided" and "test" are included for the artifact itself only, as
+	 * Maven does not resolve them transitively.
+	 *
+	 * <p>
+	 * Default: compile,runtime
+	 */
+	@NonFinal
+	@Nullable
+	@Parameter(property = "scopes")
+	String scopes = null;
+
+	/**
+	 * Dependencies to exclude from resolution including their dependencies
+	 *
+	 * <p>
+	 * Exclusions are given as "groupId:artifactId". Use "," to separate multiple
+	 * exclusions from each other. Group and artifact IDs can be replaced by "*" to
+	 * exclude any value.
+	 */
+	@NonFinal
+	@Nullable
+	@Parameter(property = "exclusions")
+	String exclusions = null;
+
+	/**
+	 * Handling of optional dependencies
+	 *
+	 * <p>
+	 * "direct" includes the optional dependencies of the artifact itself, but not
+	 * those of its dependencies, just like Maven does. "all" includes all optional
+	 * dependencies, while "none" includes no optional dependencies at all.
+	 *
+	 * <p>
+	 * Default: direct
+	 */
+	@NonFinal
+	@Nullable
+	@Parameter(property = "optionalDependencies")
+	String optionalDependencies = null;
+
+	/**
+	 * Probe repositories and order them by latency
+	 *
+	 * <p>
+	 * If this argument equals "true" HTTP repositories are probed using a HEAD
+	 * request at most once an hour and their latency and failures are stored inside
+	 * the cache directory. Dependencies are collected from repositories in order of
+	 * their average latency. Repositories, which did not respond, are skipped for a
+	 * back-off time doubling with each failed probe up to an hour.
+	 *
+	 * <p>
+	 * Default: false
+	 */
+	@NonFinal
+	@Parameter(property = "repositoryProbing")
+	boolean repositoryProbing = false;
+
+	/**
+	 * Lock file to launch from or to write the resolved launch plan to
+	 *
+	 * <p>
+	 * If the lock file exists, the exact artifacts listed inside are launched
+	 * without collecting the dependency graph. Files missing in the local
+	 * repository are resolved by their exact coordinates and the checksums of all
+	 * files are verified. Else dependencies are resolved and the lock file is
+	 * written, containing the exact coordinates, repository IDs and checksums of
+	 * all class path files and the main class. Cannot be combined with batch files.
+	 *
+	 * <p>
+	 * Default: none
+	 */
+	@NonFinal
+	@Nullable
+	@Parameter(property = "lockFile")
+	String lockFile = null;
+
+	/**
+	 * Resolve dependencies and rewrite the lock file even if it exists
+	 *
+	 * <p>
+	 * Default: false
+	 */
+	@NonFinal
+	@Parameter(property = "updateLockFile")
+	boolean updateLockFile = false;
+
+	/**
+	 * Path to a batch file describing multiple applications to run concurrently
+	 *
+	 * <p>
+	 * Each non-blank line describes one application. Lines starting with "#" are
+	 * ignored. Values are separated by semicolon: the artifact, the optional main
+	 * class and the optional arguments. Arguments use the same format as the user
+	 * argument "arguments". The user arguments "artifact", "mainClass" and
+	 * "arguments" are ignored, while all other user arguments apply to all
+	 * applications. Cannot be combined with "runAsync", "inProcess",
+	 * "workerPoolSize", "replicas", redirected streams or "lockFile".
+	 *
+	 * <p>
+	 * Example line: com.puppycrawl.tools:checkstyle:9.3;;--version
+	 *
+	 * <p>
+	 * Default: none
+	 */
+	@NonFinal
+	@Nullable
+	@Parameter(property = "batchFile")
+	String batchFile = null;
+
+	/**
+	 * Maximum number of applications of a batch file to run concurrently
+	 *
+	 * <p>
+	 * Default: number of available processors
+	 */
+	@NonFinal
+	@Nullable
+	@Parameter(property = "batchParallelism")
+	Integer batchParallelism = null;
+
 	/** {@inheritDoc} */
 	@Override
 	@SuppressWarnings({
@@ -188,36 +833,116 @@ public class RunMojo extends AbstractMojo {
 			justification = "catching any exception at execution root")
 	public void execute() throws MojoExecutionException, MojoFailureException {
 		try {
-			final JarRunner jarRunner = new JarRunner(new Parameters(Nullables.orElseThrow(mavenSession),
-					Nullables.orElseThrow(repositorySystem),
-					Nullables.orElseThrow(repositorySystemSession),
-					artifact,
-					mainClass,
-					arguments,
-					runAsync,
-					classPathFormat,
-					javaPath,
-					javaOptions,
-					repositories,
-					ignoreSystemRepositories,
-					workingDirectory));
-
-			if (getLog().isInfoEnabled()) {
-				getLog().info("Command: " + jarRunner.getCommandLine());
+			if (batchFile == null || Strings.isBlank(batchFile)) {
+				final LaunchTimings timings = new LaunchTimings();
+				final JarRunner jarRunner = new JarRunner(
+						timings.measure(Phase.PARAMETERS, () -> createParameters(artifact, mainClass, arguments)),
+						timings);
+				if (getLog().isInfoEnabled()) {
+					getLog().info("Command: " + jarRunner.getCommandLine());
+				}
+				jarRunner.execute();
+			} else {
+				executeBatch(Paths.get(batchFile));
 			}
-
-			jarRunner.execute();
-		} catch (final MojoFailureException e) {
+		} catch (final MojoExecutionException | MojoFailureException e) {
 			throw e;
 		} catch (final Exception e) {
 			throw new MojoExecutionException("Unexpected exception thrown.", e);
 		}
 	}
 
+	/**
+	 * Runs all applications of {@code file} concurrently.
+	 *
+	 * @param file the batch file
+	 * @throws IOException            if any IO failure occurred
+	 * @throws MojoExecutionException if arguments cannot be combined with batch
+	 *                                runs
+	 * @throws MojoFailureException   if any application stopped with an exit value
+	 *                                not equal to zero
+	 */
+	private void executeBatch(final Path file) throws IOException, MojoExecutionException, MojoFailureException {
+		final List<BatchEntry> entries = BatchEntry.read(file);
+		final List<Parameters> parameters = new ArrayList<>(entries.size());
+		for (final BatchEntry entry : entries) {
+			parameters.add(createParameters(entry.getArtifact(), entry.getMainClass(), entry.getArguments()));
+		}
+		new BatchRunner(getLog(),
+				parameters,
+				batchParallelism == null ? Runtime.getRuntime().availableProcessors() : batchParallelism,
+				ExitMode.fromName(exitMode)).execute();
+	}
+
+	/**
+	 * Creates the parameters object for the application given by
+	 * {@code artifactArgument}, combined with all other user arguments.
+	 *
+	 * @param artifactArgument  Artifact
+	 * @param mainClassArgument Main Class
+	 * @param argumentsArgument Arguments
+	 * @return the parameters object
+	 */
+	private Parameters createParameters(@Nullable final String artifactArgument,
+			@Nullable final String mainClassArgument,
+			@Nullable final String argumentsArgument) {
+		return new Parameters(getLog(),
+				Nullables.orElseThrow(mavenSession),
+				Nullables.orElseThrow(repositorySystem),
+				Nullables.orElseThrow(repositorySystemSession),
+				artifactArgument,
+				mainClassArgument,
+				argumentsArgument,
+				runAsync,
+				classPathFormat,
+				javaPath,
+				javaOptions,
+				repositories,
+				ignoreSystemRepositories,
+				workingDirectory,
+				cacheDirectory,
+				launchPlanCache,
+				exitMode,
+				classDataSharing,
+				inProcess,
+				workerPoolSize,
+				workerMaxUses,
+				classPathMode,
+				timingsFile,
+				argumentsFile,
+				javaOptionsFile,
+				outputFile,
+				errorFile,
+				inputFile,
+				outputMaxSize,
+				outputMaxFiles,
+				captureOutput,
+				outputPrefix,
+				outputLevel,
+				errorLevel,
+				outputTailLines,
+				replicas,
+				replicaBasePort,
+				replicaCpuPinning,
+				jvmSizing,
+				launchProfile,
+				runtimeImage,
+				runtimeImageModules,
+				modulePath,
+				consolidateClassPath,
+				trimClassPath,
+				scopes,
+				exclusions,
+				optionalDependencies,
+				repositoryProbing,
+				lockFile,
+				updateLockFile);
+	}
+
 	/**
 	 * This dummy method forces IDE automatisms to keep fields non-final.
 	 */
-	@SuppressWarnings({ "PMD.NullAssignment", "PMD.UnusedPrivateMethod" })
+	@SuppressWarnings({ "checkstyle:ExecutableStatementCount", "PMD.NullAssignment", "PMD.UnusedPrivateMethod" })
 	@SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD", justification = "dummy method")
 	private void nonFinalDummy() {
 		mavenSession = null;
@@ -232,5 +957,44 @@ public class RunMojo extends AbstractMojo {
 		repositories = null;
 		ignoreSystemRepositories = false;
 		workingDirectory = null;
+		cacheDirectory = null;
+		launchPlanCache = false;
+		exitMode = null;
+		classDataSharing = false;
+		inProcess = false;
+		workerPoolSize = 0;
+		workerMaxUses = null;
+		classPathMode = null;
+		timingsFile = null;
+		argumentsFile = null;
+		javaOptionsFile = null;
+		outputFile = null;
+		errorFile = null;
+		inputFile = null;
+		outputMaxSize = 0;
+		outputMaxFiles = null;
+		captureOutput = false;
+		outputPrefix = null;
+		outputLevel = null;
+		errorLevel = null;
+		outputTailLines = null;
+		replicas = null;
+		replicaBasePort = null;
+		replicaCpuPinning = false;
+		jvmSizing = null;
+		launchProfile = null;
+		runtimeImage = false;
+		runtimeImageModules = null;
+		modulePath = false;
+		consolidateClassPath = false;
+		trimClassPath = false;
+		scopes = null;
+		exclusions = null;
+		optionalDependencies = null;
+		repositoryProbing = false;
+		lockFile = null;
+		updateLockFile = false;
+		batchFile = null;
+		batchParallelism = null;
 	}
 }
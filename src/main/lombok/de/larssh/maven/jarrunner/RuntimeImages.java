@@ -0,0 +1,323 @@
+package de.larssh.maven.jarrunner;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.apache.maven.plugin.logging.Log;
+
+import de.larssh.utils.text.SplitLimit;
+import de.larssh.utils.text.Strings;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Minimal Java runtime images containing the JDK modules required by a class
+ * path only.
+ *
+ * <p>
+ * Required modules are determined using {@code jdeps} and images are built
+ * using {@code jlink} of the JDK a Java executable belongs to. Images are
+ * stored inside a directory per Java executable, its version and modification
+ * time, the class path and additional modules, so that they are built once.
+ * Images contain a default CDS archive, which is generated by {@code jlink}
+ * starting with Java 19 and dumped by the images JVM before.
+ */
+@Getter
+@RequiredArgsConstructor
+public final class RuntimeImages {
+	/**
+	 * Minimum Java version supporting printing module dependencies while ignoring
+	 * missing dependencies
+	 */
+	private static final int MINIMUM_VERSION = 11;
+
+	/**
+	 * Minimum Java version supporting generating CDS archives while linking
+	 */
+	private static final int MINIMUM_VERSION_GENERATE_CDS_ARCHIVE = 19;
+
+	/**
+	 * Option to let a JVM dump the default CDS archive of its runtime
+	 */
+	private static final String DUMP_CDS_ARCHIVE_OPTION = "-Xshare:dump";
+
+	/**
+	 * Format of the string to hash for image directory names
+	 */
+	private static final String KEY_FORMAT = "%s%n%s%n%d%n%s%n%s";
+
+	/**
+	 * Module required by every Java application
+	 */
+	private static final String BASE_MODULE = "java.base";
+
+	/**
+	 * Name of the directory containing executables inside Java home directories
+	 */
+	private static final String BIN_DIRECTORY = "bin";
+
+	/**
+	 * File extension of executables on Windows
+	 */
+	private static final String WINDOWS_EXECUTABLE_EXTENSION = ".exe";
+
+	/**
+	 * Separator of module names
+	 */
+	private static final String MODULES_SEPARATOR = ",";
+
+	/**
+	 * Pattern matching line separators inside tool output
+	 */
+	private static final Pattern LINE_SEPARATOR_PATTERN = Pattern.compile("\\R");
+
+	/**
+	 * Size of the byte buffer used to read tool output
+	 */
+	private static final int BUFFER_SIZE = 8192;
+
+	/**
+	 * Checks if runtime images can be built for {@code javaRuntime}.
+	 *
+	 * @param javaRuntime the Java runtime
+	 * @return {@code true} if runtime images are supported
+	 */
+	public static boolean isSupported(final JavaRuntime javaRuntime) {
+		return javaRuntime.isAtLeast(MINIMUM_VERSION);
+	}
+
+	/**
+	 * Runs {@code command} and returns its output.
+	 *
+	 * @param command the command to run
+	 * @return the output and error stream content
+	 * @throws IOException if starting the command failed or it stopped with an exit
+	 *                     value not equal to zero
+	 */
+	@SuppressFBWarnings(value = "COMMAND_INJECTION", justification = "command is meant to be injected")
+	private static String run(final List<String> command) throws IOException {
+		final Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+		process.getOutputStream().close();
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		try (InputStream inputStream = process.getInputStream()) {
+			final byte[] buffer = new byte[BUFFER_SIZE];
+			int length = inputStream.read(buffer);
+			while (length != -1) {
+				output.write(buffer, 0, length);
+				length = inputStream.read(buffer);
+			}
+		}
+		final int exitStatus = Processes.waitForWithoutInterrupting(process);
+		final String content = new String(output.toByteArray(), UTF_8);
+		if (exitStatus != 0) {
+			throw new IOException(
+					Strings.format("%s stopped with exit value %d: %s", command.get(0), exitStatus, content.trim()));
+		}
+		return content;
+	}
+
+	/**
+	 * Deletes {@code directory} including its content.
+	 *
+	 * @param directory the directory to delete
+	 * @throws IOException if any IO failure occurred
+	 */
+	private static void deleteRecursively(final Path directory) throws IOException {
+		if (!Files.exists(directory)) {
+			return;
+		}
+		final List<Path> paths;
+		try (Stream<Path> stream = Files.walk(directory)) {
+			paths = stream.sorted(Comparator.reverseOrder()).collect(toList());
+		}
+		for (final Path path : paths) {
+			Files.delete(path);
+		}
+	}
+
+	/**
+	 * Maven Log
+	 *
+	 * @return Maven Log
+	 */
+	Log log;
+
+	/**
+	 * Directory to store images in
+	 *
+	 * @return directory to store images in
+	 */
+	Path directory;
+
+	/**
+	 * Determines the Java executable of a runtime image for {@code classPath},
+	 * building the image if it does not exist yet.
+	 *
+	 * <p>
+	 * In case the image cannot be built, a warning is logged and the executable of
+	 * {@code javaRuntime} is returned.
+	 *
+	 * @param javaRuntime the Java runtime to build the image from
+	 * @param classPath   the class path of the application
+	 * @param modules     additional modules to include
+	 * @return the Java executable of the image or of {@code javaRuntime}
+	 * @throws IOException if reading the Java executable failed
+	 */
+	public Path getJavaExecutable(final JavaRuntime javaRuntime, final List<Path> classPath, final List<String> modules)
+			throws IOException {
+		final Path executable = javaRuntime.getExecutable().toAbsolutePath();
+		final Path image = getDirectory().resolve(Hashes.sha256(Strings.format(KEY_FORMAT,
+				executable,
+				javaRuntime.getVersion().orElse(""),
+				Files.getLastModifiedTime(executable).toMillis(),
+				classPath.stream().map(Path::toString).collect(joining(File.pathSeparator)),
+				String.join(MODULES_SEPARATOR, modules))));
+		final Path imageExecutable = image.resolve(BIN_DIRECTORY).resolve(executable.getFileName());
+		if (Files.isRegularFile(imageExecutable)) {
+			return imageExecutable;
+		}
+
+		try {
+			build(javaRuntime, classPath, modules, image);
+			return imageExecutable;
+		} catch (final IOException e) {
+			if (getLog().isWarnEnabled()) {
+				getLog().warn(Strings
+						.format("Building a runtime image failed. Using %s instead. %s", executable, e.getMessage()));
+			}
+			return executable;
+		}
+	}
+
+	/**
+	 * Builds the runtime image for {@code classPath} inside {@code image}.
+	 *
+	 * <p>
+	 * The image is built inside a temporary directory, which is moved afterwards,
+	 * so concurrent launches never see partially built images.
+	 *
+	 * @param javaRuntime the Java runtime to build the image from
+	 * @param classPath   the class path of the application
+	 * @param modules     additional modules to include
+	 * @param image       the directory of the image
+	 * @throws IOException if determining modules or building the image failed
+	 */
+	private void build(final JavaRuntime javaRuntime,
+			final List<Path> classPath,
+			final List<String> modules,
+			final Path image) throws IOException {
+		final Set<String> requiredModules = new TreeSet<>(getRequiredModules(javaRuntime, classPath));
+		requiredModules.addAll(modules);
+		if (getLog().isInfoEnabled()) {
+			getLog().info(Strings.format("Building runtime image with modules %s",
+					String.join(MODULES_SEPARATOR, requiredModules)));
+		}
+
+		final List<String> command = new ArrayList<>();
+		command.add(getTool(javaRuntime, "jlink").toString());
+		command.add("--add-modules");
+		command.add(String.join(MODULES_SEPARATOR, requiredModules));
+		command.add("--strip-debug");
+		command.add("--no-header-files");
+		command.add("--no-man-pages");
+		final boolean generateCdsArchive = javaRuntime.isAtLeast(MINIMUM_VERSION_GENERATE_CDS_ARCHIVE);
+		if (generateCdsArchive) {
+			command.add("--generate-cds-archive");
+		}
+
+		Files.createDirectories(getDirectory());
+		final Path temporaryDirectory
+				= Files.createTempDirectory(getDirectory(), Strings.format("%s.", image.getFileName()));
+		try {
+			final Path temporaryImage = temporaryDirectory.resolve(image.getFileName());
+			command.add("--output");
+			command.add(temporaryImage.toString());
+			run(command);
+			if (!generateCdsArchive) {
+				run(Arrays.asList(temporaryImage.resolve(BIN_DIRECTORY)
+						.resolve(javaRuntime.getExecutable().getFileName())
+						.toString(), DUMP_CDS_ARCHIVE_OPTION));
+			}
+			try {
+				Files.move(temporaryImage, image, StandardCopyOption.ATOMIC_MOVE);
+			} catch (@SuppressWarnings("unused") final FileAlreadyExistsException | DirectoryNotEmptyException e) {
+				// built concurrently
+			}
+		} finally {
+			deleteRecursively(temporaryDirectory);
+		}
+	}
+
+	/**
+	 * Determines the JDK modules required by {@code classPath} using {@code jdeps}.
+	 *
+	 * @param javaRuntime the Java runtime to analyze with
+	 * @param classPath   the class path of the application
+	 * @return the required modules
+	 * @throws IOException if running {@code jdeps} failed
+	 */
+	private List<String> getRequiredModules(final JavaRuntime javaRuntime, final List<Path> classPath)
+			throws IOException {
+		final List<String> command = new ArrayList<>();
+		command.add(getTool(javaRuntime, "jdeps").toString());
+		command.add("--print-module-deps");
+		command.add("--ignore-missing-deps");
+		command.add("-quiet");
+		command.add("--multi-release");
+		command.add(Integer.toString(javaRuntime.getFeatureVersion().orElse(MINIMUM_VERSION)));
+		command.add("--class-path");
+		command.add(classPath.stream().map(Path::toString).collect(joining(File.pathSeparator)));
+		classPath.stream().map(Path::toString).forEach(command::add);
+
+		final List<String> requiredModules = new ArrayList<>();
+		requiredModules.add(BASE_MODULE);
+		final String[] lines = LINE_SEPARATOR_PATTERN.split(run(command).trim(), SplitLimit.NO_LIMIT);
+		for (final String module : lines[lines.length - 1].split(MODULES_SEPARATOR, SplitLimit.NO_LIMIT)) {
+			if (!Strings.isBlank(module)) {
+				requiredModules.add(module.trim());
+			}
+		}
+		return requiredModules;
+	}
+
+	/**
+	 * Determines the path of a JDK tool next to the Java executable of
+	 * {@code javaRuntime}.
+	 *
+	 * @param javaRuntime the Java runtime
+	 * @param name        the tools name without file extension
+	 * @return the path of the tool
+	 * @throws IOException if the tool does not exist, e.g. for JREs
+	 */
+	private static Path getTool(final JavaRuntime javaRuntime, final String name) throws IOException {
+		final Path executable = javaRuntime.getExecutable().toAbsolutePath();
+		final String extension = executable.getFileName().toString().endsWith(WINDOWS_EXECUTABLE_EXTENSION)
+				? WINDOWS_EXECUTABLE_EXTENSION
+				: "";
+		final Path tool = executable.resolveSibling(name + extension);
+		if (!Files.isRegularFile(tool)) {
+			throw new IOException(Strings.format("%s not found. Runtime images require a JDK.", tool));
+		}
+		return tool;
+	}
+}
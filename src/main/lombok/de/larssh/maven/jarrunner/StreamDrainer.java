@@ -0,0 +1,108 @@
+package de.larssh.maven.jarrunner;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import de.larssh.utils.SneakyException;
+import de.larssh.utils.text.Strings;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import lombok.Getter;
+
+/**
+ * Drains a stream of a process on a background thread.
+ *
+ * <p>
+ * Reading blocks the draining thread only, so that the process is slowed down
+ * by its consumer as soon as the pipe buffer is full, but never stalls.
+ */
+@Getter
+public abstract class StreamDrainer {
+	/**
+	 * Format of the drainer threads name
+	 */
+	private static final String THREAD_NAME_FORMAT = "jar-runner-drainer-%s";
+
+	/**
+	 * The stream to drain
+	 *
+	 * @return the stream to drain
+	 */
+	InputStream inputStream;
+
+	/**
+	 * The task draining the stream
+	 *
+	 * @return the task draining the stream
+	 */
+	FutureTask<Void> task;
+
+	/**
+	 * Creates a drainer, which still needs to be started.
+	 *
+	 * @param inputStream the stream to drain
+	 */
+	protected StreamDrainer(final InputStream inputStream) {
+		this.inputStream = inputStream;
+		task = new FutureTask<>(this::run, null);
+	}
+
+	/**
+	 * Starts draining on a new daemon thread.
+	 *
+	 * @param name the name of the drained stream, used for the threads name
+	 */
+	protected void start(final String name) {
+		final Thread thread = new Thread(getTask(), Strings.format(THREAD_NAME_FORMAT, name));
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Waits for the stream to end and all content to be consumed.
+	 *
+	 * <p>
+	 * In case the current thread is interrupted, waiting is stopped and the
+	 * interrupted state is restored.
+	 *
+	 * @throws IOException if draining failed
+	 */
+	@SuppressWarnings("PMD.PreserveStackTrace")
+	@SuppressFBWarnings(value = { "EXS_EXCEPTION_SOFTENING_NO_CONSTRAINTS", "LEST_LOST_EXCEPTION_STACK_TRACE" },
+			justification = "rethrowing the original exception of the draining thread")
+	public void await() throws IOException {
+		try {
+			getTask().get();
+		} catch (final ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof SneakyException && cause.getCause() instanceof IOException) {
+				throw (IOException) cause.getCause();
+			}
+			throw new SneakyException(cause);
+		} catch (@SuppressWarnings("unused") final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Drains the stream and closes it afterwards.
+	 */
+	@SuppressFBWarnings(value = "EXS_EXCEPTION_SOFTENING_NO_CONSTRAINTS",
+			justification = "converting checked to unchecked exceptions that must not be thrown")
+	private void run() {
+		try (InputStream stream = getInputStream()) {
+			drain(stream);
+		} catch (final IOException e) {
+			throw new SneakyException(e);
+		}
+	}
+
+	/**
+	 * Consumes {@code stream} until it ends.
+	 *
+	 * @param stream the stream to drain
+	 * @throws IOException if any IO failure occurred
+	 */
+	protected abstract void drain(InputStream stream) throws IOException;
+}
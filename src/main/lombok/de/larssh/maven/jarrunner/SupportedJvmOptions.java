@@ -0,0 +1,144 @@
+package de.larssh.maven.jarrunner;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.unmodifiableList;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import de.larssh.utils.text.Strings;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Determines which JVM options are supported by a Java executable.
+ *
+ * <p>
+ * Options are validated by starting the executable with the options and
+ * {@code -version}. In case the JVM does not start, each option is validated on
+ * its own. Results are stored inside a directory per executable, its last
+ * modified time and the list of options, and kept in memory as long as the
+ * Maven JVM runs.
+ */
+@Getter
+@RequiredArgsConstructor
+public final class SupportedJvmOptions {
+	/**
+	 * File extension of stored results
+	 */
+	private static final String FILE_EXTENSION = ".txt";
+
+	/**
+	 * Format of the string to hash for result file names
+	 */
+	private static final String KEY_FORMAT = "%s%n%d%n%s";
+
+	/**
+	 * Option to let a JVM print its version and stop
+	 */
+	private static final String VERSION_OPTION = "-version";
+
+	/**
+	 * Size of the byte buffer used to discard the output of validation runs
+	 */
+	private static final int BUFFER_SIZE = 1024;
+
+	/**
+	 * Supported options by result file, kept as long as the Maven JVM runs
+	 */
+	private static final FileMemo<List<String>> LOADED_OPTIONS = new FileMemo<>(64);
+
+	/**
+	 * Directory to store results in
+	 *
+	 * @return directory to store results in
+	 */
+	Path directory;
+
+	/**
+	 * Filters {@code options} by the options supported by {@code javaRuntime}.
+	 *
+	 * @param javaRuntime the Java runtime to validate against
+	 * @param options     the options to validate
+	 * @return the supported options in order of {@code options}
+	 * @throws IOException if any IO failure occurred
+	 */
+	public List<String> filter(final JavaRuntime javaRuntime, final List<String> options) throws IOException {
+		if (options.isEmpty()) {
+			return options;
+		}
+		final Path executable = javaRuntime.getExecutable().toAbsolutePath();
+		final Path file = getDirectory().resolve(Hashes.sha256(Strings.format(KEY_FORMAT,
+				executable,
+				Files.getLastModifiedTime(executable).toMillis(),
+				String.join("\n", options))) + FILE_EXTENSION);
+
+		final Optional<List<String>> loadedOptions = LOADED_OPTIONS.get(file);
+		if (loadedOptions.isPresent()) {
+			return loadedOptions.get();
+		}
+		if (Files.isRegularFile(file)) {
+			final List<String> storedOptions = unmodifiableList(Files.readAllLines(file, UTF_8));
+			LOADED_OPTIONS.put(file, storedOptions);
+			return storedOptions;
+		}
+
+		final List<String> supportedOptions = new ArrayList<>(options.size());
+		if (isSupported(executable, options)) {
+			supportedOptions.addAll(options);
+		} else {
+			for (final String option : options) {
+				if (isSupported(executable, singletonList(option))) {
+					supportedOptions.add(option);
+				}
+			}
+		}
+		store(file, supportedOptions);
+		return unmodifiableList(supportedOptions);
+	}
+
+	/**
+	 * Checks if a JVM starts using {@code executable} and {@code options}.
+	 *
+	 * @param executable the Java executable
+	 * @param options    the options to validate
+	 * @return {@code true} if the JVM started and stopped successfully
+	 * @throws IOException if starting the executable failed
+	 */
+	@SuppressFBWarnings(value = "COMMAND_INJECTION", justification = "command is meant to be injected")
+	private static boolean isSupported(final Path executable, final List<String> options) throws IOException {
+		final List<String> command = new ArrayList<>(options.size() + 2);
+		command.add(executable.toString());
+		command.addAll(options);
+		command.add(VERSION_OPTION);
+
+		final Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+		process.getOutputStream().close();
+		try (InputStream inputStream = process.getInputStream()) {
+			final byte[] buffer = new byte[BUFFER_SIZE];
+			while (inputStream.read(buffer) != -1) {
+				// discard output
+			}
+		}
+		return Processes.waitForWithoutInterrupting(process) == 0;
+	}
+
+	/**
+	 * Stores {@code options} inside {@code file} using {@link AtomicFiles}.
+	 *
+	 * @param file    the result file
+	 * @param options the supported options
+	 * @throws IOException if any IO failure occurred
+	 */
+	private void store(final Path file, final List<String> options) throws IOException {
+		AtomicFiles.writeLines(file, options);
+		LOADED_OPTIONS.put(file, unmodifiableList(new ArrayList<>(options)));
+	}
+}
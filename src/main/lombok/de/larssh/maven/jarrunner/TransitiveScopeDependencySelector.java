@@ -0,0 +1,71 @@
+package de.larssh.maven.jarrunner;
+
+import static java.util.Arrays.asList;
+
+import java.util.List;
+
+import org.eclipse.aether.collection.DependencyCollectionContext;
+import org.eclipse.aether.collection.DependencySelector;
+import org.eclipse.aether.graph.Dependency;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Dependency selector rejecting dependencies of the scopes "provided" and
+ * "test" of dependencies, just like Maven does, while all dependencies of the
+ * root artifact are selected. The included scopes are filtered later on.
+ *
+ * <p>
+ * {@link org.eclipse.aether.util.graph.selector.ScopeDependencySelector} treats
+ * the dependencies of the root artifact as transitive already, as soon as the
+ * root artifact is collected as dependency, which rejected "provided" and
+ * "test" dependencies of the root artifact.
+ */
+@EqualsAndHashCode
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class TransitiveScopeDependencySelector implements DependencySelector {
+	/**
+	 * Depth of dependencies of the root artifact
+	 */
+	private static final int DIRECT_DEPENDENCY_DEPTH = 1;
+
+	/**
+	 * Scopes not included transitively
+	 */
+	private static final List<String> NON_TRANSITIVE_SCOPES
+			= asList(DependencyScope.PROVIDED.getValue(), DependencyScope.TEST.getValue());
+
+	/**
+	 * Depth of the dependencies to select, starting at {@code 0} for the root
+	 * artifact
+	 *
+	 * @return depth of the dependencies to select
+	 */
+	int depth;
+
+	/**
+	 * Dependency selector rejecting dependencies of the scopes "provided" and
+	 * "test" of dependencies, while all dependencies of the root artifact are
+	 * selected.
+	 */
+	public TransitiveScopeDependencySelector() {
+		this(0);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean selectDependency(@Nullable final Dependency dependency) {
+		return dependency == null
+				|| depth <= DIRECT_DEPENDENCY_DEPTH
+				|| !NON_TRANSITIVE_SCOPES.contains(dependency.getScope());
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public DependencySelector deriveChildSelector(@Nullable final DependencyCollectionContext context) {
+		return depth > DIRECT_DEPENDENCY_DEPTH ? this : new TransitiveScopeDependencySelector(depth + 1);
+	}
+}
@@ -0,0 +1,289 @@
+package de.larssh.maven.jarrunner;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import de.larssh.utils.SneakyException;
+import de.larssh.utils.text.Strings;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.NonFinal;
+
+/**
+ * Pre-started JVM running {@link JarRunnerWorker}, which runs an application
+ * multiple times.
+ *
+ * <p>
+ * The worker connects to a loopback server socket of the Maven JVM and
+ * authenticates using a random token, which is passed as environment variable.
+ * The connection is accepted lazily on first use, so that the worker is able to
+ * start up in the meantime.
+ *
+ * <p>
+ * Instances are not thread safe. {@link WorkerPool} hands out each worker to a
+ * single thread at a time.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class Worker {
+	/**
+	 * Number of random bytes of authentication tokens
+	 */
+	private static final int TOKEN_BYTES = 32;
+
+	/**
+	 * Milliseconds to wait for a worker to connect
+	 */
+	private static final long CONNECT_TIMEOUT_MILLIS = 60_000;
+
+	/**
+	 * Milliseconds to wait for a worker to connect before checking if it is still
+	 * alive
+	 */
+	private static final int ACCEPT_TIMEOUT_MILLIS = 100;
+
+	/**
+	 * Milliseconds to wait for an accepted connection to send its authentication
+	 * token
+	 */
+	private static final int TOKEN_TIMEOUT_MILLIS = 1_000;
+
+	/**
+	 * Random number generator for authentication tokens
+	 */
+	private static final SecureRandom RANDOM = new SecureRandom();
+
+	/**
+	 * Starts a new worker JVM.
+	 *
+	 * @param command          the command to start the worker JVM, excluding the
+	 *                         port to connect to
+	 * @param workingDirectory the working directory of the worker JVM
+	 * @return the started worker
+	 * @throws IOException if starting the worker failed
+	 */
+	@SuppressWarnings("PMD.CloseResource")
+	@SuppressFBWarnings(value = { "COMMAND_INJECTION", "UNENCRYPTED_SERVER_SOCKET" },
+			justification = "command injection expected and listening on loopback only")
+	public static Worker start(final List<String> command, final Optional<Path> workingDirectory) throws IOException {
+		final byte[] tokenBytes = new byte[TOKEN_BYTES];
+		RANDOM.nextBytes(tokenBytes);
+		final String token = Base64.getUrlEncoder().withoutPadding().encodeToString(tokenBytes);
+
+		final ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+		try {
+			serverSocket.setSoTimeout(ACCEPT_TIMEOUT_MILLIS);
+
+			final List<String> commandWithPort = new ArrayList<>(command);
+			commandWithPort.add(Integer.toString(serverSocket.getLocalPort()));
+			final ProcessBuilder processBuilder = new ProcessBuilder(commandWithPort).inheritIO();
+			JarRunnerWorker.putToken(processBuilder.environment(), token);
+			workingDirectory.map(Path::toFile).ifPresent(processBuilder::directory);
+
+			return new Worker(processBuilder.start(), serverSocket, token);
+		} catch (final IOException e) {
+			serverSocket.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Determines the path of the JAR or directory containing
+	 * {@link JarRunnerWorker}, which needs to be appended to the class path of
+	 * worker JVMs.
+	 *
+	 * @return path of the JAR or directory containing {@link JarRunnerWorker}
+	 */
+	@SuppressFBWarnings(value = { "EXS_EXCEPTION_SOFTENING_NO_CONSTRAINTS", "PATH_TRAVERSAL_IN" },
+			justification = "converting checked to unchecked exceptions that must not be thrown and the path is not user input")
+	public static Path getClassPath() {
+		try {
+			return Paths.get(JarRunnerWorker.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+		} catch (final URISyntaxException e) {
+			throw new SneakyException(e);
+		}
+	}
+
+	/**
+	 * Worker process
+	 *
+	 * @return worker process
+	 */
+	Process process;
+
+	/**
+	 * Server socket the worker connects to, closed after the connection has been
+	 * accepted
+	 *
+	 * @return server socket
+	 */
+	ServerSocket serverSocket;
+
+	/**
+	 * Token the worker authenticates with
+	 */
+	@Getter(AccessLevel.NONE)
+	String token;
+
+	/**
+	 * Connection to the worker or {@code null} if not accepted yet
+	 */
+	@NonFinal
+	@Nullable
+	@Getter(AccessLevel.NONE)
+	Socket socket = null;
+
+	/**
+	 * Number of runs handled by this worker
+	 *
+	 * @return number of runs
+	 */
+	@NonFinal
+	int uses = 0;
+
+	/**
+	 * Checks if the worker process is still running.
+	 *
+	 * @return {@code true} if the worker process is still running
+	 */
+	public boolean isAlive() {
+		return getProcess().isAlive();
+	}
+
+	/**
+	 * Runs the application inside the worker and waits for it to stop.
+	 *
+	 * <p>
+	 * If the application calls {@link System#exit(int)}, the worker stops and its
+	 * exit value is returned.
+	 *
+	 * @param arguments the arguments for the application
+	 * @return exit value of the application (By convention, the value 0 indicates
+	 *         normal termination.)
+	 * @throws IOException if communicating with the worker failed
+	 */
+	@SuppressWarnings("PMD.CloseResource")
+	public int run(final Collection<String> arguments) throws IOException {
+		uses += 1;
+
+		final Socket connection = connect();
+		final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(connection.getOutputStream()));
+		output.writeInt(arguments.size());
+		for (final String argument : arguments) {
+			JarRunnerWorker.writeString(output, argument);
+		}
+		output.flush();
+
+		try {
+			return new DataInputStream(connection.getInputStream()).readInt();
+		} catch (@SuppressWarnings("unused") final EOFException e) {
+			return Processes.waitForWithoutInterrupting(getProcess());
+		}
+	}
+
+	/**
+	 * Accepts the connection of the worker, if not accepted yet.
+	 *
+	 * @return the connection
+	 * @throws IOException if accepting the connection failed or the worker did not
+	 *                     authenticate correctly
+	 */
+	@SuppressFBWarnings(value = "UNENCRYPTED_SOCKET", justification = "listening on loopback only")
+	private Socket connect() throws IOException {
+		final Socket existingSocket = socket;
+		if (existingSocket != null) {
+			return existingSocket;
+		}
+
+		try (ServerSocket closingServerSocket = getServerSocket()) {
+			final long timeout = System.currentTimeMillis() + CONNECT_TIMEOUT_MILLIS;
+			while (System.currentTimeMillis() < timeout) {
+				final Optional<Socket> acceptedSocket = accept(closingServerSocket);
+				if (acceptedSocket.isPresent()) {
+					socket = acceptedSocket.get();
+					return acceptedSocket.get();
+				}
+			}
+			throw new IOException(
+					Strings.format("The worker did not connect within %d milliseconds.", CONNECT_TIMEOUT_MILLIS));
+		}
+	}
+
+	/**
+	 * Accepts a single connection and checks its authentication token.
+	 *
+	 * <p>
+	 * Any local process is able to connect. Therefore reading the token is limited
+	 * in time and length, and connections failing to send it are closed.
+	 *
+	 * @param serverSocket the server socket to accept from
+	 * @return the authenticated connection or empty if no connection has been
+	 *         accepted in time or the token did not match
+	 * @throws IOException if the worker stopped before connecting or accepting the
+	 *                     connection failed
+	 */
+	@SuppressFBWarnings(value = "UNENCRYPTED_SOCKET", justification = "listening on loopback only")
+	@SuppressWarnings("PMD.CloseResource")
+	private Optional<Socket> accept(final ServerSocket serverSocket) throws IOException {
+		final Socket acceptedSocket;
+		try {
+			acceptedSocket = serverSocket.accept();
+		} catch (final SocketTimeoutException e) {
+			if (!isAlive()) {
+				throw new IOException(
+						Strings.format("The worker stopped with exit value %d before connecting.",
+								getProcess().exitValue()),
+						e);
+			}
+			return Optional.empty();
+		}
+
+		try {
+			acceptedSocket.setSoTimeout(TOKEN_TIMEOUT_MILLIS);
+			if (token.equals(
+					JarRunnerWorker.readString(new DataInputStream(acceptedSocket.getInputStream()), token.length()))) {
+				acceptedSocket.setSoTimeout(0);
+				return Optional.of(acceptedSocket);
+			}
+		} catch (@SuppressWarnings("unused") final IOException e) {
+			// handled like a token mismatch
+		}
+		acceptedSocket.close();
+		return Optional.empty();
+	}
+
+	/**
+	 * Stops the worker process and closes its connection.
+	 *
+	 * @throws IOException if closing the connection failed
+	 */
+	@SuppressWarnings("PMD.CloseResource")
+	public void destroy() throws IOException {
+		getProcess().destroy();
+		getServerSocket().close();
+
+		final Socket existingSocket = socket;
+		if (existingSocket != null) {
+			existingSocket.close();
+		}
+	}
+}
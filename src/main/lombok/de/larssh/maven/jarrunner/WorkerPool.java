@@ -0,0 +1,209 @@
+package de.larssh.maven.jarrunner;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Pool of pre-started worker JVMs per worker command and working directory.
+ *
+ * <p>
+ * Pools live as long as the Maven JVM, so that repeated launches of the same
+ * application inside a single build or inside the Maven Daemon (mvnd) find an
+ * idle worker, which already started up and loaded the applications main class.
+ * Idle workers are started as soon as a pool is created, so that the first run
+ * takes one of them instead of starting an additional worker. Therefore the
+ * first run of a pool still pays for JVM startup. Only later runs gain.
+ *
+ * <p>
+ * After a run, replacements of stopped or recycled workers are started in the
+ * background. Workers are recycled after a given number of runs.
+ *
+ * <p>
+ * Workers stop on their own as soon as the Maven JVM stops.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class WorkerPool {
+	/**
+	 * Pools by worker command, working directory, size and maximum number of runs
+	 * per worker
+	 */
+	private static final ConcurrentMap<List<String>, WorkerPool> POOLS = new ConcurrentHashMap<>();
+
+	/**
+	 * Returns the pool for {@code command} and {@code workingDirectory}, creating
+	 * and filling it with idle workers if necessary.
+	 *
+	 * @param command          the command to start worker JVMs
+	 * @param workingDirectory the working directory of worker JVMs
+	 * @param size             number of idle workers to keep pre-started
+	 * @param maxUses          number of runs per worker before it is recycled
+	 * @return the worker pool
+	 * @throws IOException if starting a worker failed
+	 */
+	public static WorkerPool forCommand(final List<String> command,
+			final Optional<Path> workingDirectory,
+			final int size,
+			final int maxUses) throws IOException {
+		final List<String> key = new ArrayList<>(command);
+		key.add(workingDirectory.map(Path::toString).orElse(""));
+		key.add(Integer.toString(size));
+		key.add(Integer.toString(maxUses));
+		final WorkerPool pool
+				= POOLS.computeIfAbsent(key, k -> new WorkerPool(command, workingDirectory, size, maxUses));
+		pool.fillIdleWorkers();
+		return pool;
+	}
+
+	/**
+	 * Command to start worker JVMs
+	 *
+	 * @return command to start worker JVMs
+	 */
+	List<String> command;
+
+	/**
+	 * Working directory of worker JVMs
+	 *
+	 * @return working directory of worker JVMs
+	 */
+	Optional<Path> workingDirectory;
+
+	/**
+	 * Number of idle workers to keep pre-started
+	 *
+	 * @return number of idle workers
+	 */
+	int size;
+
+	/**
+	 * Number of runs per worker before it is recycled
+	 *
+	 * @return number of runs per worker
+	 */
+	int maxUses;
+
+	/**
+	 * Idle workers
+	 */
+	@Getter(AccessLevel.NONE)
+	BlockingQueue<Worker> idleWorkers = new LinkedBlockingQueue<>();
+
+	/**
+	 * Lock guarding checking the number of idle workers and adding to them, so that
+	 * concurrent runs do not exceed the pools size
+	 */
+	@Getter(AccessLevel.NONE)
+	Lock idleWorkersLock = new ReentrantLock();
+
+	/**
+	 * Runs the application inside an idle worker and waits for it to stop. If no
+	 * worker is idle, a new one is started.
+	 *
+	 * <p>
+	 * Afterwards the worker is returned to the pool, if it is still running and did
+	 * not reach the maximum number of runs. Missing idle workers are started for
+	 * later runs, so that they can start up while the Maven build continues.
+	 *
+	 * @param arguments the arguments for the application
+	 * @return exit value of the application (By convention, the value 0 indicates
+	 *         normal termination.)
+	 * @throws IOException if starting or communicating with a worker failed
+	 */
+	public int run(final List<String> arguments) throws IOException {
+		final Optional<Worker> idleWorker = pollIdleWorker();
+		final Worker worker = idleWorker.isPresent() ? idleWorker.get() : startWorker();
+
+		final int exitStatus;
+		try {
+			exitStatus = worker.run(arguments);
+		} catch (final IOException e) {
+			worker.destroy();
+			throw e;
+		}
+
+		if (!worker.isAlive() || worker.getUses() >= getMaxUses() || !offerIdleWorker(worker)) {
+			worker.destroy();
+		}
+		fillIdleWorkers();
+		return exitStatus;
+	}
+
+	/**
+	 * Returns {@code worker} to the idle workers unless the pools size is reached.
+	 *
+	 * @param worker the worker
+	 * @return {@code true} if {@code worker} has been returned to the idle workers
+	 */
+	@SuppressFBWarnings(value = "MDM_WAIT_WITHOUT_TIMEOUT", justification = "the lock is held for a short time only")
+	private boolean offerIdleWorker(final Worker worker) {
+		idleWorkersLock.lock();
+		try {
+			if (idleWorkers.size() >= getSize()) {
+				return false;
+			}
+			idleWorkers.add(worker);
+			return true;
+		} finally {
+			idleWorkersLock.unlock();
+		}
+	}
+
+	/**
+	 * Takes an idle worker out of the pool. Workers, which stopped in the meantime,
+	 * are discarded.
+	 *
+	 * @return an idle worker or empty if no worker is idle
+	 * @throws IOException if discarding a stopped worker failed
+	 */
+	private Optional<Worker> pollIdleWorker() throws IOException {
+		Worker worker = idleWorkers.poll();
+		while (worker != null && !worker.isAlive()) {
+			worker.destroy();
+			worker = idleWorkers.poll();
+		}
+		return Optional.ofNullable(worker);
+	}
+
+	/**
+	 * Starts idle workers until the pools size is reached.
+	 *
+	 * @throws IOException if starting a worker failed
+	 */
+	@SuppressFBWarnings(value = "MDM_WAIT_WITHOUT_TIMEOUT",
+			justification = "the lock is held while starting processes only, not while waiting for them")
+	private void fillIdleWorkers() throws IOException {
+		idleWorkersLock.lock();
+		try {
+			while (idleWorkers.size() < getSize()) {
+				idleWorkers.add(startWorker());
+			}
+		} finally {
+			idleWorkersLock.unlock();
+		}
+	}
+
+	/**
+	 * Starts a new worker.
+	 *
+	 * @return the started worker
+	 * @throws IOException if starting the worker failed
+	 */
+	private Worker startWorker() throws IOException {
+		return Worker.start(getCommand(), getWorkingDirectory());
+	}
+}
@@ -0,0 +1,86 @@
+package de.larssh.maven.jarrunner;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * {@link ArgumentsFile}
+ */
+@NoArgsConstructor(access = AccessLevel.PACKAGE)
+@SuppressWarnings({ "checkstyle:MagicNumber", "PMD.JUnitAssertionsShouldIncludeMessage" })
+public class ArgumentsFileTest {
+	/**
+	 * Writes {@code content} to a file inside {@code directory} and reads its
+	 * arguments.
+	 *
+	 * @param directory the directory to write to
+	 * @param content   the files content
+	 * @return the arguments
+	 * @throws IOException if any IO failure occurred
+	 */
+	private static List<String> read(final Path directory, final String content) throws IOException {
+		final Path file = Files.createTempFile(directory, "arguments-", ".txt");
+		Files.write(file, content.getBytes(UTF_8));
+		return ArgumentsFile.read(file);
+	}
+
+	/**
+	 * {@link ArgumentsFile#read(Path)} with line separated files
+	 *
+	 * @param directory temporary directory
+	 * @throws IOException if any IO failure occurred
+	 */
+	@Test
+	void testReadLines(@TempDir final Path directory) throws IOException {
+		assertEquals(asList("a", "b c", "d"), read(directory, "a\nb c\nd"));
+		assertEquals(asList("a", "b"), read(directory, "a\r\nb\r\n"));
+		assertEquals(asList("a", "b"), read(directory, "\n\na\n\nb\n\n"));
+		assertEquals(asList("a\rb", "\"c\\d\""), read(directory, "a\rb\n\"c\\d\"\n"));
+		assertEquals(asList("single"), read(directory, "single"));
+		assertEquals(emptyList(), read(directory, ""));
+	}
+
+	/**
+	 * {@link ArgumentsFile#read(Path)} with NUL separated files
+	 *
+	 * @param directory temporary directory
+	 * @throws IOException if any IO failure occurred
+	 */
+	@Test
+	void testReadNul(@TempDir final Path directory) throws IOException {
+		assertEquals(asList("a", "b\nc", "d\r"), read(directory, "a\0b\nc\0d\r\0"));
+		assertEquals(asList("a", "b"), read(directory, "\0a\0\0b"));
+	}
+
+	/**
+	 * {@link ArgumentsFile#read(Path)} with arguments spanning multiple buffers
+	 *
+	 * @param directory temporary directory
+	 * @throws IOException if any IO failure occurred
+	 */
+	@Test
+	void testReadLarge(@TempDir final Path directory) throws IOException {
+		final List<String> expected = new ArrayList<>();
+		final StringBuilder content = new StringBuilder();
+		for (int index = 0; index < 5000; index += 1) {
+			final String argument = "src/main/java/com/example/File" + index + ".java";
+			expected.add(argument);
+			content.append(argument).append("\r\n");
+		}
+		assertEquals(expected, read(directory, content.toString()));
+	}
+}
@@ -0,0 +1,73 @@
+package de.larssh.maven.jarrunner;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * {@link ChecksumIndex}
+ */
+@NoArgsConstructor(access = AccessLevel.PACKAGE)
+@SuppressWarnings("PMD.JUnitAssertionsShouldIncludeMessage")
+public class ChecksumIndexTest {
+	/**
+	 * Counts the files inside {@code directory}.
+	 *
+	 * @param directory the directory
+	 * @return number of files
+	 * @throws IOException if any IO failure occurred
+	 */
+	private static long count(final Path directory) throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.count();
+		}
+	}
+
+	/**
+	 * {@link ChecksumIndex#get(Path)}
+	 *
+	 * @param directory temporary directory
+	 * @throws IOException if any IO failure occurred
+	 */
+	@Test
+	void testGet(@TempDir final Path directory) throws IOException {
+		final Path file = directory.resolve("file.txt");
+		Files.write(file, "abc".getBytes(UTF_8));
+		final Path indexDirectory = directory.resolve("checksums");
+
+		final String checksum = "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+		assertEquals(checksum, new ChecksumIndex(indexDirectory).get(file));
+		assertEquals(1, count(indexDirectory));
+
+		// stored checksums
+		assertEquals(checksum, new ChecksumIndex(indexDirectory).get(file));
+		assertEquals(1, count(indexDirectory));
+
+		// changed files
+		Files.write(file, "abcd".getBytes(UTF_8));
+		assertEquals("88d4266fd4e6338d13b845fcf289579d209c897823b9217da3e161936f031589",
+				new ChecksumIndex(indexDirectory).get(file));
+		assertEquals(2, count(indexDirectory));
+
+		// replaced files keeping size and modification time
+		final FileTime lastModifiedTime = Files.getLastModifiedTime(file);
+		final Path replacement = Files.write(directory.resolve("replacement.txt"), "abce".getBytes(UTF_8));
+		Files.setLastModifiedTime(replacement, lastModifiedTime);
+		Files.move(replacement, file, StandardCopyOption.REPLACE_EXISTING);
+		assertEquals("84e73dc50f2be9000ab2a87f8026c1f45e1fec954af502e9904031645b190d4f",
+				new ChecksumIndex(indexDirectory).get(file));
+		assertEquals(3, count(indexDirectory));
+	}
+}
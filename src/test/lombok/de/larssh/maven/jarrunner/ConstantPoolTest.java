@@ -0,0 +1,111 @@
+package de.larssh.maven.jarrunner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * {@link ConstantPool}
+ */
+@NoArgsConstructor(access = AccessLevel.PACKAGE)
+@SuppressWarnings({ "checkstyle:MagicNumber", "PMD.JUnitAssertionsShouldIncludeMessage" })
+public class ConstantPoolTest {
+	/**
+	 * Reads the constant pool of {@link Sample}.
+	 *
+	 * @return the constant pool
+	 * @throws IOException if any IO failure occurred
+	 */
+	private static ConstantPool readSample() throws IOException {
+		try (InputStream inputStream = ConstantPoolTest.class.getResourceAsStream("ConstantPoolTest$Sample.class")) {
+			return ConstantPool.read(new DataInputStream(inputStream));
+		}
+	}
+
+	/**
+	 * {@link ConstantPool#getReferencedClassNames()}
+	 *
+	 * @throws IOException if any IO failure occurred
+	 */
+	@Test
+	void testGetReferencedClassNames() throws IOException {
+		final Set<String> names = readSample().getReferencedClassNames();
+
+		// referenced classes
+		assertTrue(names.contains("de/larssh/maven/jarrunner/ConstantPoolTest$Sample"));
+		assertTrue(names.contains("java/util/concurrent/ConcurrentHashMap"));
+
+		// classes inside descriptors and signatures
+		assertTrue(names.contains("java/time/Duration"));
+		assertTrue(names.contains("java/lang/CharSequence"));
+
+		// string literals looking like class names
+		assertTrue(names.contains("java/sql/Driver"));
+		assertFalse(names.contains("not a class name"));
+		assertFalse(names.stream().anyMatch(name -> name.startsWith("[")));
+	}
+
+	/**
+	 * {@link ConstantPool#getUtf8(int)} and {@link ConstantPool#getModuleName(int)}
+	 *
+	 * @throws IOException if any IO failure occurred
+	 */
+	@Test
+	void testGetUtf8() throws IOException {
+		final ConstantPool constantPool = readSample();
+		assertEquals(Optional.empty(), constantPool.getUtf8(0));
+		assertEquals(Optional.empty(), constantPool.getUtf8(Integer.MAX_VALUE));
+		assertEquals(Optional.empty(), constantPool.getModuleName(1));
+	}
+
+	/**
+	 * {@link ConstantPool#read(DataInputStream)} with malformed class files
+	 */
+	@Test
+	void testReadMalformed() {
+		assertThrows(IOException.class,
+				() -> ConstantPool.read(new DataInputStream(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4 }))));
+		assertThrows(IOException.class,
+				() -> ConstantPool.read(new DataInputStream(new ByteArrayInputStream(new byte[] { 1, 2 }))));
+	}
+
+	/**
+	 * Class to read the constant pool of
+	 */
+	@SuppressWarnings({ "checkstyle:HiddenField", "PMD.UnusedPrivateField", "unused" })
+	private static final class Sample {
+		/**
+		 * Field referencing a class using its descriptor only
+		 */
+		private final Duration duration = null;
+
+		/**
+		 * Field referencing a class using its signature only
+		 */
+		private final Optional<CharSequence> value = Optional.empty();
+
+		/**
+		 * Method referencing classes using instructions and string literals
+		 *
+		 * @return referenced values
+		 */
+		Object[] references() {
+			return new Object[] { new ConcurrentHashMap<>(), "java.sql.Driver", "not a class name", new int[0] };
+		}
+	}
+}
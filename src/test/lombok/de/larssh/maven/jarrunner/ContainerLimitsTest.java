@@ -0,0 +1,55 @@
+package de.larssh.maven.jarrunner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
+
+import org.junit.jupiter.api.Test;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * {@link ContainerLimits}
+ */
+@NoArgsConstructor(access = AccessLevel.PACKAGE)
+@SuppressWarnings({ "checkstyle:MagicNumber", "PMD.JUnitAssertionsShouldIncludeMessage" })
+public class ContainerLimitsTest {
+	/**
+	 * {@link ContainerLimits#parseMemoryLimit(String)}
+	 */
+	@Test
+	void testParseMemoryLimit() {
+		assertEquals(OptionalLong.of(536_870_912L), ContainerLimits.parseMemoryLimit("536870912"));
+		assertEquals(OptionalLong.of(9_223_372_036_854_771_712L),
+				ContainerLimits.parseMemoryLimit("9223372036854771712"));
+		assertEquals(OptionalLong.empty(), ContainerLimits.parseMemoryLimit("max"));
+		assertThrows(NumberFormatException.class, () -> ContainerLimits.parseMemoryLimit("unknown"));
+	}
+
+	/**
+	 * {@link ContainerLimits#parseCpuMax(String)}
+	 */
+	@Test
+	void testParseCpuMax() {
+		assertEquals(OptionalDouble.of(2), ContainerLimits.parseCpuMax("200000 100000"));
+		assertEquals(OptionalDouble.of(0.5), ContainerLimits.parseCpuMax("50000\t100000\n"));
+		assertEquals(OptionalDouble.empty(), ContainerLimits.parseCpuMax("max 100000"));
+		assertEquals(OptionalDouble.empty(), ContainerLimits.parseCpuMax("200000"));
+		assertEquals(OptionalDouble.empty(), ContainerLimits.parseCpuMax("200000 0"));
+	}
+
+	/**
+	 * {@link ContainerLimits#parseCpuQuota(String, String)}
+	 */
+	@Test
+	void testParseCpuQuota() {
+		assertEquals(OptionalDouble.of(1.5), ContainerLimits.parseCpuQuota("150000", "100000"));
+		assertEquals(OptionalDouble.of(4), ContainerLimits.parseCpuQuota(" 400000\n", "100000\n"));
+		assertEquals(OptionalDouble.empty(), ContainerLimits.parseCpuQuota("-1", "100000"));
+		assertEquals(OptionalDouble.empty(), ContainerLimits.parseCpuQuota("0", "100000"));
+		assertThrows(NumberFormatException.class, () -> ContainerLimits.parseCpuQuota("max", "100000"));
+	}
+}
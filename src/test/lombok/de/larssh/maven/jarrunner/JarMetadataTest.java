@@ -0,0 +1,253 @@
+package de.larssh.maven.jarrunner;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import de.larssh.maven.jarrunner.JarMetadata.ModuleInfo;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * {@link JarMetadata}
+ */
+@NoArgsConstructor(access = AccessLevel.PACKAGE)
+@SuppressWarnings({ "checkstyle:MagicNumber", "PMD.JUnitAssertionsShouldIncludeMessage" })
+public class JarMetadataTest {
+	/**
+	 * Name of the module described by {@link #createModuleInfo()}
+	 */
+	private static final String MODULE_NAME = "a.b";
+
+	/**
+	 * Constant pool tag of UTF-8 strings
+	 */
+	private static final int CONSTANT_UTF8 = 1;
+
+	/**
+	 * Constant pool tag of classes
+	 */
+	private static final int CONSTANT_CLASS = 7;
+
+	/**
+	 * Constant pool tag of modules
+	 */
+	private static final int CONSTANT_MODULE = 19;
+
+	/**
+	 * Creates a module descriptor of module {@code a.b}, requiring
+	 * {@code java.base} (mandated), {@code java.sql} and {@code java.desktop}
+	 * (static).
+	 *
+	 * @return the module descriptor class file
+	 * @throws IOException if any IO failure occurred
+	 */
+	private static byte[] createModuleInfo() throws IOException {
+		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		try (DataOutputStream dataOutputStream = new DataOutputStream(outputStream)) {
+			dataOutputStream.writeInt(0xCAFEBABE);
+			dataOutputStream.writeShort(0);
+			dataOutputStream.writeShort(53);
+
+			// Constant pool
+			dataOutputStream.writeShort(12);
+			writeUtf8(dataOutputStream, "module-info"); // 1
+			dataOutputStream.writeByte(CONSTANT_CLASS); // 2
+			dataOutputStream.writeShort(1);
+			writeUtf8(dataOutputStream, "Module"); // 3
+			writeModule(dataOutputStream, MODULE_NAME, 4); // 4 and 5
+			writeModule(dataOutputStream, "java.base", 6); // 6 and 7
+			writeModule(dataOutputStream, "java.sql", 8); // 8 and 9
+			writeModule(dataOutputStream, "java.desktop", 10); // 10 and 11
+
+			// Access flags, this class, super class, interfaces, fields and methods
+			dataOutputStream.writeShort(0x8000);
+			dataOutputStream.writeShort(2);
+			dataOutputStream.writeShort(0);
+			dataOutputStream.writeShort(0);
+			dataOutputStream.writeShort(0);
+			dataOutputStream.writeShort(0);
+
+			// Module attribute
+			dataOutputStream.writeShort(1);
+			dataOutputStream.writeShort(3);
+			dataOutputStream.writeInt(34);
+			dataOutputStream.writeShort(5);
+			dataOutputStream.writeShort(0);
+			dataOutputStream.writeShort(0);
+			dataOutputStream.writeShort(3);
+			writeRequires(dataOutputStream, 7, 0x8000);
+			writeRequires(dataOutputStream, 9, 0);
+			writeRequires(dataOutputStream, 11, 0x0040);
+			dataOutputStream.writeShort(0);
+			dataOutputStream.writeShort(0);
+			dataOutputStream.writeShort(0);
+			dataOutputStream.writeShort(0);
+		}
+		return outputStream.toByteArray();
+	}
+
+	/**
+	 * Writes a UTF-8 constant.
+	 *
+	 * @param dataOutputStream the class file
+	 * @param value            the constants value
+	 * @throws IOException if any IO failure occurred
+	 */
+	private static void writeUtf8(final DataOutputStream dataOutputStream, final String value) throws IOException {
+		dataOutputStream.writeByte(CONSTANT_UTF8);
+		dataOutputStream.writeUTF(value);
+	}
+
+	/**
+	 * Writes a UTF-8 constant at {@code index} followed by a module constant
+	 * referencing it.
+	 *
+	 * @param dataOutputStream the class file
+	 * @param name             the module name
+	 * @param index            the constant pool index of the UTF-8 constant
+	 * @throws IOException if any IO failure occurred
+	 */
+	private static void writeModule(final DataOutputStream dataOutputStream, final String name, final int index)
+			throws IOException {
+		writeUtf8(dataOutputStream, name);
+		dataOutputStream.writeByte(CONSTANT_MODULE);
+		dataOutputStream.writeShort(index);
+	}
+
+	/**
+	 * Writes a {@code requires} entry of the module attribute.
+	 *
+	 * @param dataOutputStream the class file
+	 * @param module           the constant pool index of the required module
+	 * @param flags            the requires flags
+	 * @throws IOException if any IO failure occurred
+	 */
+	private static void writeRequires(final DataOutputStream dataOutputStream, final int module, final int flags)
+			throws IOException {
+		dataOutputStream.writeShort(module);
+		dataOutputStream.writeShort(flags);
+		dataOutputStream.writeShort(0);
+	}
+
+	/**
+	 * Writes a JAR file containing {@code manifest} and optionally a module
+	 * descriptor.
+	 *
+	 * @param file       the JAR file
+	 * @param manifest   the manifest
+	 * @param moduleInfo the module descriptor entry name or empty
+	 * @throws IOException if any IO failure occurred
+	 */
+	private static void writeJar(final Path file, final Manifest manifest, final Optional<String> moduleInfo)
+			throws IOException {
+		try (OutputStream outputStream = Files.newOutputStream(file);
+				JarOutputStream jarOutputStream = new JarOutputStream(outputStream, manifest)) {
+			if (moduleInfo.isPresent()) {
+				jarOutputStream.putNextEntry(new JarEntry(moduleInfo.get()));
+				jarOutputStream.write(createModuleInfo());
+				jarOutputStream.closeEntry();
+			}
+		}
+	}
+
+	/**
+	 * {@link JarMetadata#readModuleInfo(java.io.InputStream)}
+	 *
+	 * @throws IOException if any IO failure occurred
+	 */
+	@Test
+	void testReadModuleInfo() throws IOException {
+		final Optional<ModuleInfo> moduleInfo
+				= JarMetadata.readModuleInfo(new ByteArrayInputStream(createModuleInfo()));
+
+		assertTrue(moduleInfo.isPresent());
+		assertEquals(MODULE_NAME, moduleInfo.get().getName());
+		assertEquals(asList("java.base", "java.sql"), moduleInfo.get().getRequiredModules());
+	}
+
+	/**
+	 * {@link JarMetadata#read(Path)} with modular JARs
+	 *
+	 * @param directory temporary directory
+	 * @throws IOException if any IO failure occurred
+	 */
+	@Test
+	void testReadModular(@TempDir final Path directory) throws IOException {
+		final Manifest manifest = new Manifest();
+		manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+		manifest.getMainAttributes().put(new Attributes.Name("Automatic-Module-Name"), "ignored");
+
+		final Path file = directory.resolve("modular.jar");
+		writeJar(file, manifest, Optional.of("module-info.class"));
+		final JarMetadata metadata = JarMetadata.read(file);
+		assertEquals(Optional.of(MODULE_NAME), metadata.getModuleName());
+		assertEquals(asList("java.base", "java.sql"), metadata.getRequiredModules());
+
+		// module descriptor inside versioned directories of multi-release JARs
+		manifest.getMainAttributes().put(new Attributes.Name("Multi-Release"), "true");
+		final Path multiReleaseFile = directory.resolve("multi-release.jar");
+		writeJar(multiReleaseFile, manifest, Optional.of("META-INF/versions/9/module-info.class"));
+		final JarMetadata multiReleaseMetadata = JarMetadata.read(multiReleaseFile);
+		assertTrue(multiReleaseMetadata.isMultiRelease());
+		assertEquals(Optional.of(MODULE_NAME), multiReleaseMetadata.getModuleName());
+	}
+
+	/**
+	 * {@link JarMetadata#read(Path)} with non-modular JARs
+	 *
+	 * @param directory temporary directory
+	 * @throws IOException if any IO failure occurred
+	 */
+	@Test
+	void testReadManifest(@TempDir final Path directory) throws IOException {
+		final Manifest manifest = new Manifest();
+		manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+		manifest.getMainAttributes().put(Attributes.Name.MAIN_CLASS, "com.example.Main");
+		manifest.getMainAttributes().put(Attributes.Name.CLASS_PATH, "lib/a.jar  lib/b.jar");
+		manifest.getMainAttributes().put(new Attributes.Name("Automatic-Module-Name"), "com.example");
+		manifest.getMainAttributes().put(new Attributes.Name("Add-Opens"), "java.base/java.lang java.base/java.io");
+		manifest.getMainAttributes().put(new Attributes.Name("Add-Exports"), "java.base/sun.nio.ch");
+
+		final Path file = directory.resolve("plain.jar");
+		writeJar(file, manifest, Optional.empty());
+		final JarMetadata metadata = JarMetadata.read(file);
+		assertEquals(Optional.of("com.example.Main"), metadata.getMainClass());
+		assertEquals(asList("lib/a.jar", "lib/b.jar"), metadata.getClassPath());
+		assertEquals(Optional.of("com.example"), metadata.getModuleName());
+		assertEquals(emptyList(), metadata.getRequiredModules());
+
+		assertEquals(
+				asList("--add-opens=java.base/java.lang=ALL-UNNAMED",
+						"--add-opens=java.base/java.io=ALL-UNNAMED",
+						"--add-exports=java.base/sun.nio.ch=ALL-UNNAMED"),
+				metadata.getJavaOptions(Optional.empty()));
+		assertEquals(
+				asList("--add-opens=java.base/java.lang=com.example",
+						"--add-opens=java.base/java.io=com.example",
+						"--add-exports=java.base/sun.nio.ch=com.example"),
+				metadata.getJavaOptions(Optional.of("com.example")));
+
+		// stored metadata
+		final Optional<JarMetadata> storedMetadata = JarMetadata.fromProperties(metadata.toProperties());
+		assertTrue(storedMetadata.isPresent());
+		assertEquals(metadata.toProperties(), storedMetadata.get().toProperties());
+	}
+}
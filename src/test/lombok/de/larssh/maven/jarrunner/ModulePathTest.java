@@ -0,0 +1,28 @@
+package de.larssh.maven.jarrunner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Paths;
+
+import org.junit.jupiter.api.Test;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * {@link ModulePath}
+ */
+@NoArgsConstructor(access = AccessLevel.PACKAGE)
+@SuppressWarnings("PMD.JUnitAssertionsShouldIncludeMessage")
+public class ModulePathTest {
+	/**
+	 * {@link ModulePath#getAutomaticModuleName(java.nio.file.Path)}
+	 */
+	@Test
+	void testGetAutomaticModuleName() {
+		assertEquals("foo.bar", ModulePath.getAutomaticModuleName(Paths.get("lib", "foo-bar-1.2.3.jar")));
+		assertEquals("guava", ModulePath.getAutomaticModuleName(Paths.get("guava-31.1-jre.jar")));
+		assertEquals("a.b.c.SNAPSHOT", ModulePath.getAutomaticModuleName(Paths.get("..a__b$c-SNAPSHOT.jar")));
+		assertEquals("commons.io", ModulePath.getAutomaticModuleName(Paths.get("commons-io.jar")));
+	}
+}
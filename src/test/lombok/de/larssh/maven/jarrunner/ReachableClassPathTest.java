@@ -0,0 +1,156 @@
+package de.larssh.maven.jarrunner;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.ServiceLoader;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * {@link ReachableClassPath}
+ */
+@NoArgsConstructor(access = AccessLevel.PACKAGE)
+@SuppressWarnings("PMD.JUnitAssertionsShouldIncludeMessage")
+public class ReachableClassPathTest {
+	/**
+	 * Reads the class file of the nested class {@code type}.
+	 *
+	 * @param type the nested class
+	 * @return the class file entry name and content
+	 * @throws IOException if any IO failure occurred
+	 */
+	private static Entry<String, byte[]> classEntry(final Class<?> type) throws IOException {
+		final String name = type.getName().replace('.', '/') + ".class";
+		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		try (InputStream inputStream = ReachableClassPathTest.class.getResourceAsStream('/' + name)) {
+			final byte[] buffer = new byte[1024];
+			for (int length = inputStream.read(buffer); length != -1; length = inputStream.read(buffer)) {
+				outputStream.write(buffer, 0, length);
+			}
+		}
+		return new SimpleImmutableEntry<>(name, outputStream.toByteArray());
+	}
+
+	/**
+	 * Writes a JAR containing {@code entries}.
+	 *
+	 * @param file    the JAR file to write
+	 * @param entries the entries
+	 * @return {@code file}
+	 * @throws IOException if any IO failure occurred
+	 */
+	@SafeVarargs
+	private static Path writeJar(final Path file, final Entry<String, byte[]>... entries) throws IOException {
+		final Map<String, byte[]> contents = new LinkedHashMap<>();
+		for (final Entry<String, byte[]> entry : entries) {
+			contents.put(entry.getKey(), entry.getValue());
+		}
+		try (OutputStream outputStream = Files.newOutputStream(file);
+				JarOutputStream jarOutputStream = new JarOutputStream(outputStream)) {
+			for (final Entry<String, byte[]> entry : contents.entrySet()) {
+				jarOutputStream.putNextEntry(new ZipEntry(entry.getKey()));
+				jarOutputStream.write(entry.getValue());
+				jarOutputStream.closeEntry();
+			}
+		}
+		return file;
+	}
+
+	/**
+	 * {@link ReachableClassPath#trim(List, Path, String)}
+	 *
+	 * @param directory temporary directory
+	 * @throws IOException if any IO failure occurred
+	 */
+	@Test
+	void testTrim(@TempDir final Path directory) throws IOException {
+		final Path root = writeJar(directory.resolve("root.jar"), classEntry(Main.class), classEntry(Service.class));
+		final Path used = writeJar(directory.resolve("used.jar"), classEntry(Used.class));
+		final Path provider = writeJar(directory.resolve("provider.jar"),
+				classEntry(Provider.class),
+				new SimpleImmutableEntry<>("META-INF/services/" + Service.class.getName(),
+						("# comment\n" + Provider.class.getName() + "\n").getBytes(UTF_8)));
+		final Path unused = writeJar(directory.resolve("unused.jar"), classEntry(Unused.class));
+		final Path resources
+				= writeJar(directory.resolve("resources.jar"), new SimpleImmutableEntry<>("resource.txt", new byte[0]));
+		final Path classes = Files.createDirectory(directory.resolve("classes"));
+		final List<Path> classPath = asList(root, used, provider, unused, resources, classes);
+
+		// reachable classes, services, JARs without classes and directories are kept
+		final List<Path> expected = asList(root, used, provider, resources, classes);
+		assertEquals(expected,
+				new ReachableClassPath(directory.resolve("cache")).trim(classPath, root, Main.class.getName()));
+
+		// stored results are read by other instances
+		assertEquals(expected,
+				new ReachableClassPath(directory.resolve("cache")).trim(classPath, root, Main.class.getName()));
+
+		// the root artifact is kept even if unreachable
+		assertEquals(asList(used, unused, resources, classes),
+				new ReachableClassPath(directory.resolve("root-cache"))
+						.trim(asList(used, unused, resources, classes), unused, Used.class.getName()));
+	}
+
+	/**
+	 * Main class referencing {@link Used} and loading {@link Service}
+	 */
+	static final class Main {
+		/**
+		 * Main method
+		 *
+		 * @param args arguments
+		 */
+		@SuppressWarnings("checkstyle:UncommentedMain")
+		public static void main(final String[] args) {
+			new Used().toString();
+			ServiceLoader.load(Service.class).iterator();
+		}
+	}
+
+	/**
+	 * Class referenced by {@link Main}
+	 */
+	static final class Used {
+		// nothing to do here
+	}
+
+	/**
+	 * Class not referenced by any other class
+	 */
+	static final class Unused {
+		// nothing to do here
+	}
+
+	/**
+	 * Service loaded by {@link Main}
+	 */
+	interface Service {
+		// nothing to do here
+	}
+
+	/**
+	 * Provider of {@link Service}, listed inside a service file only
+	 */
+	static final class Provider implements Service {
+		// nothing to do here
+	}
+}
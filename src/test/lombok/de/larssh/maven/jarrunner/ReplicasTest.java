@@ -0,0 +1,71 @@
+package de.larssh.maven.jarrunner;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.OptionalInt;
+
+import org.junit.jupiter.api.Test;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * {@link Replicas}
+ */
+@NoArgsConstructor(access = AccessLevel.PACKAGE)
+@SuppressWarnings({ "checkstyle:MagicNumber", "PMD.JUnitAssertionsShouldIncludeMessage" })
+public class ReplicasTest {
+	/**
+	 * {@link Replicas#getCpuLists(java.util.List, int)}
+	 */
+	@Test
+	void testGetCpuLists() {
+		// evenly
+		assertEquals(asList("0,1", "2,3"), Replicas.getCpuLists(asList(0, 1, 2, 3), 2));
+		assertEquals(asList("0,1,2,3"), Replicas.getCpuLists(asList(0, 1, 2, 3), 1));
+
+		// unevenly
+		assertEquals(asList("4", "5,6", "7,8"), Replicas.getCpuLists(asList(4, 5, 6, 7, 8), 3));
+
+		// more replicas than CPUs
+		assertEquals(asList("2", "3", "2", "3", "2"), Replicas.getCpuLists(asList(2, 3), 5));
+
+		// no replicas
+		assertEquals(asList(), Replicas.getCpuLists(asList(0, 1), 0));
+	}
+
+	/**
+	 * {@link Replicas#getAllowedCpus(String, Runtime)}
+	 */
+	@Test
+	void testGetAllowedCpus() {
+		final Runtime runtime = Runtime.getRuntime();
+		assertEquals(asList(0, 1, 2, 3, 8, 10, 11),
+				Replicas.getAllowedCpus(
+						"Name:\tjava\nCpus_allowed:\tff\nCpus_allowed_list:\t0-3,8,10-11\nMems_allowed:\t1\n",
+						runtime));
+		assertEquals(asList(5), Replicas.getAllowedCpus("Cpus_allowed_list:\t5\n", runtime));
+		assertEquals(runtime.availableProcessors(), Replicas.getAllowedCpus("Name:\tjava\n", runtime).size());
+	}
+
+	/**
+	 * {@link Replicas#substitute(String, int, OptionalInt)}
+	 */
+	@Test
+	void testSubstitute() {
+		assertEquals("--id=2 --port=8082",
+				Replicas.substitute("--id={replica} --port={port}", 2, OptionalInt.of(8080)));
+		assertEquals("--id=2 --port={port}",
+				Replicas.substitute("--id={replica} --port={port}", 2, OptionalInt.empty()));
+	}
+
+	/**
+	 * {@link Replicas#getCommand(java.util.List, String)}
+	 */
+	@Test
+	void testGetCommand() {
+		assertEquals(asList("java", "{replica}"), Replicas.getCommand(asList("java", "{replica}"), ""));
+		assertEquals(asList("taskset", "--cpu-list", "0,1", "java"), Replicas.getCommand(asList("java"), "0,1"));
+	}
+}
@@ -0,0 +1,232 @@
+package de.larssh.maven.jarrunner;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.util.repository.DefaultProxySelector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * {@link RepositoryLatencies}
+ */
+@NoArgsConstructor(access = AccessLevel.PACKAGE)
+@SuppressWarnings({ "checkstyle:MagicNumber", "PMD.JUnitAssertionsShouldIncludeMessage" })
+public class RepositoryLatenciesTest {
+	/**
+	 * Delay of slow repositories in milliseconds
+	 */
+	private static final long SLOW_DELAY = 500;
+
+	/**
+	 * HTTP status code of responses
+	 */
+	private static final int STATUS_CODE = 401;
+
+	/**
+	 * Number of requests to {@link #fast}
+	 */
+	private final AtomicInteger fastRequests = new AtomicInteger();
+
+	/**
+	 * Number of requests to {@link #slow}
+	 */
+	private final AtomicInteger slowRequests = new AtomicInteger();
+
+	/**
+	 * Number of requests to {@link #dead}
+	 */
+	private final AtomicInteger deadRequests = new AtomicInteger();
+
+	/**
+	 * Repository responding immediately
+	 */
+	private final HttpServer fast = startServer(exchange -> {
+		fastRequests.incrementAndGet();
+		respond(exchange);
+	});
+
+	/**
+	 * Repository responding after {@link #SLOW_DELAY}
+	 */
+	private final HttpServer slow = startServer(exchange -> {
+		slowRequests.incrementAndGet();
+		try {
+			TimeUnit.MILLISECONDS.sleep(SLOW_DELAY);
+		} catch (@SuppressWarnings("unused") final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		respond(exchange);
+	});
+
+	/**
+	 * Repository closing connections without response
+	 */
+	private final HttpServer dead = startServer(exchange -> {
+		deadRequests.incrementAndGet();
+		exchange.close();
+	});
+
+	/**
+	 * Starts an HTTP server on a random port of the loopback address.
+	 *
+	 * @param handler the request handler
+	 * @return the started HTTP server
+	 */
+	private static HttpServer startServer(final HttpHandler handler) {
+		try {
+			final HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+			server.createContext("/", handler);
+			server.start();
+			return server;
+		} catch (final IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Responds to {@code exchange} without body.
+	 *
+	 * @param exchange the HTTP exchange
+	 * @throws IOException if any IO failure occurred
+	 */
+	private static void respond(final HttpExchange exchange) throws IOException {
+		exchange.sendResponseHeaders(STATUS_CODE, -1);
+		exchange.close();
+	}
+
+	/**
+	 * Creates a repository with the URL of {@code port}.
+	 *
+	 * @param id   the repository ID
+	 * @param port the port of the loopback address
+	 * @return the repository
+	 */
+	private static RemoteRepository repository(final String id, final int port) {
+		return new RemoteRepository.Builder(id,
+				"default",
+				"http://" + InetAddress.getLoopbackAddress().getHostAddress() + ":" + port + "/maven2").build();
+	}
+
+	/**
+	 * Creates a repository referring to {@code server}.
+	 *
+	 * @param id     the repository ID
+	 * @param server the HTTP server
+	 * @return the repository
+	 */
+	private static RemoteRepository repository(final String id, final HttpServer server) {
+		return repository(id, server.getAddress().getPort());
+	}
+
+	/**
+	 * Determines a port of the loopback address nobody listens on.
+	 *
+	 * @return the closed port
+	 * @throws IOException if any IO failure occurred
+	 */
+	private static int getClosedPort() throws IOException {
+		try (ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+			return serverSocket.getLocalPort();
+		}
+	}
+
+	/**
+	 * Creates the repository latencies storing their histories in
+	 * {@code directory}.
+	 *
+	 * @param directory the directory to store histories in
+	 * @return the repository latencies
+	 */
+	private static RepositoryLatencies createRepositoryLatencies(final Path directory) {
+		return new RepositoryLatencies(new SystemStreamLog(), new DefaultProxySelector(), directory);
+	}
+
+	/**
+	 * Stops the HTTP servers.
+	 */
+	@AfterEach
+	void stopServers() {
+		fast.stop(0);
+		slow.stop(0);
+		dead.stop(0);
+	}
+
+	/**
+	 * {@link RepositoryLatencies#order(List)} ordering responsive repositories by
+	 * latency and skipping unresponsive repositories
+	 *
+	 * @param directory temporary directory
+	 */
+	@Test
+	void testOrder(@TempDir final Path directory) {
+		final RemoteRepository deadRepository = repository("dead", dead);
+		final RemoteRepository slowRepository = repository("slow", slow);
+		final RemoteRepository fastRepository = repository("fast", fast);
+		final List<RemoteRepository> repositories = asList(deadRepository, slowRepository, fastRepository);
+
+		assertEquals(asList(fastRepository, slowRepository), createRepositoryLatencies(directory).order(repositories));
+		assertEquals(1, fastRequests.get());
+		assertEquals(1, slowRequests.get());
+		final int deadProbes = deadRequests.get();
+
+		// probed repositories are not probed again until their interval or back-off
+		// time elapsed, even across Maven JVMs
+		assertEquals(asList(fastRepository, slowRepository), createRepositoryLatencies(directory).order(repositories));
+		assertEquals(1, fastRequests.get());
+		assertEquals(1, slowRequests.get());
+		assertEquals(deadProbes, deadRequests.get());
+	}
+
+	/**
+	 * {@link RepositoryLatencies#order(List)} keeping the order of repositories not
+	 * probed
+	 *
+	 * @param directory temporary directory
+	 */
+	@Test
+	void testOrderNotProbed(@TempDir final Path directory) {
+		final RemoteRepository fileRepository
+				= new RemoteRepository.Builder("file", "default", directory.toUri().toString()).build();
+		final RemoteRepository fastRepository = repository("fast", fast);
+
+		assertEquals(asList(fileRepository, fastRepository),
+				createRepositoryLatencies(directory).order(asList(fileRepository, fastRepository)));
+	}
+
+	/**
+	 * {@link RepositoryLatencies#order(List)} falling back to the given
+	 * repositories if no repository is responsive
+	 *
+	 * @param directory temporary directory
+	 * @throws IOException if any IO failure occurred
+	 */
+	@Test
+	void testOrderUnresponsive(@TempDir final Path directory) throws IOException {
+		final List<RemoteRepository> repositories
+				= asList(repository("closed", getClosedPort()), repository("dead", dead));
+
+		assertSame(repositories, createRepositoryLatencies(directory).order(repositories));
+		assertSame(repositories, createRepositoryLatencies(directory).order(repositories));
+	}
+}
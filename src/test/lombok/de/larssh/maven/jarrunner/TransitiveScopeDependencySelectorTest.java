@@ -0,0 +1,54 @@
+package de.larssh.maven.jarrunner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.collection.DependencySelector;
+import org.eclipse.aether.graph.Dependency;
+import org.junit.jupiter.api.Test;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * {@link TransitiveScopeDependencySelector}
+ */
+@NoArgsConstructor(access = AccessLevel.PACKAGE)
+@SuppressWarnings("PMD.JUnitAssertionsShouldIncludeMessage")
+public class TransitiveScopeDependencySelectorTest {
+	/**
+	 * Creates a dependency of {@code scope}.
+	 *
+	 * @param scope the dependencies scope
+	 * @return the dependency
+	 */
+	private static Dependency dependency(final DependencyScope scope) {
+		return new Dependency(new DefaultArtifact("com.example:example:1.0"), scope.getValue());
+	}
+
+	/**
+	 * {@link TransitiveScopeDependencySelector#selectDependency(Dependency)}
+	 */
+	@Test
+	void testSelectDependency() {
+		// the root artifact, collected as dependency
+		final DependencySelector root = new TransitiveScopeDependencySelector();
+		assertTrue(root.selectDependency(dependency(DependencyScope.COMPILE)));
+
+		// dependencies of the root artifact
+		final DependencySelector direct = root.deriveChildSelector(null);
+		assertTrue(direct.selectDependency(dependency(DependencyScope.COMPILE)));
+		assertTrue(direct.selectDependency(dependency(DependencyScope.PROVIDED)));
+		assertTrue(direct.selectDependency(dependency(DependencyScope.TEST)));
+
+		// transitive dependencies
+		final DependencySelector transitive = direct.deriveChildSelector(null);
+		assertTrue(transitive.selectDependency(dependency(DependencyScope.COMPILE)));
+		assertTrue(transitive.selectDependency(dependency(DependencyScope.RUNTIME)));
+		assertFalse(transitive.selectDependency(dependency(DependencyScope.PROVIDED)));
+		assertFalse(transitive.selectDependency(dependency(DependencyScope.TEST)));
+		assertEquals(transitive, transitive.deriveChildSelector(null));
+	}
+}